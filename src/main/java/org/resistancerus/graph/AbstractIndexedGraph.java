@@ -0,0 +1,222 @@
+package org.resistancerus.graph;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Base class of immutable indexed graphs. Implements read methods of Graph interface via int ids,
+ * mutation methods throw UnsupportedOperationException.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see IndexedGraph
+ */
+abstract class AbstractIndexedGraph<V> implements IndexedGraph<V> {
+
+    private final boolean directed;
+    private final boolean loopsAllowed;
+
+    AbstractIndexedGraph(final boolean directed, final boolean loopsAllowed) {
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean areLoopsAllowed() {
+        return loopsAllowed;
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        throw new UnsupportedOperationException("Indexed graph is immutable.");
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        throw new UnsupportedOperationException("Indexed graph is immutable.");
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end) {
+        throw new UnsupportedOperationException("Indexed graph is immutable.");
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
+        throw new UnsupportedOperationException("Indexed graph is immutable.");
+    }
+
+    @Override
+    public boolean removeEdge(final V start, final V end) {
+        throw new UnsupportedOperationException("Indexed graph is immutable.");
+    }
+
+    @Override
+    public long getModificationCount() {
+        return 1;
+    }
+
+    @Override
+    public boolean hasVertex(final V vertex) {
+        return vertex != null && indexOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean hasEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final int startId = indexOf(start);
+        final int endId = indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return false;
+        }
+
+        return directed
+                ? isAdjacent(startId, endId)
+                : isAdjacent(startId, endId) || isAdjacent(endId, startId);
+    }
+
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final int startId = indexOf(start);
+        final int endId = indexOf(end);
+        return startId < 0 || endId < 0 ? Double.NaN : edgeWeight(startId, endId);
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return new AbstractSet<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new IdIterator(getVertexCount()) {
+                    @Override
+                    int idAt(final int i) {
+                        return i;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return getVertexCount();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(final Object o) {
+                return hasVertex((V) o);
+            }
+        };
+    }
+
+    @Override
+    public Set<V> getAdjacentVertices(final V vertex) {
+        final int id = vertex == null ? -1 : indexOf(vertex);
+        return id < 0 ? null : adjacentVertices(id);
+    }
+
+    @Override
+    public Set<V> getIncomingVertices(final V vertex) {
+        return isDirected() ? reverse().getAdjacentVertices(vertex) : getAdjacentVertices(vertex);
+    }
+
+    @Override
+    public String toString() {
+        return "Graph: " + getVertexCount() + " vertices, " + getEdgeCount() + " adjacency entries";
+    }
+
+    /**
+     * Checks whether vertex with id target is adjacent to vertex with provided id.
+     * Implementations with sorted adjacency could override it with binary search.
+     */
+    boolean isAdjacent(final int id, final int target) {
+        final int degree = getDegree(id);
+        for (int i = 0; i < degree; i++) {
+            if (getNeighbour(id, i) == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns weight of the edge between vertices with provided ids or NaN if there is no such edge.
+     */
+    double edgeWeight(final int id, final int target) {
+        final int degree = getDegree(id);
+        for (int i = 0; i < degree; i++) {
+            if (getNeighbour(id, i) == target) {
+                return getWeight(id, i);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns a read-only view of adjacent vertices of vertex with provided id.
+     */
+    Set<V> adjacentVertices(final int id) {
+        return new AbstractSet<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new IdIterator(getDegree(id)) {
+                    @Override
+                    int idAt(final int i) {
+                        return getNeighbour(id, i);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return getDegree(id);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(final Object o) {
+                final int target = o == null ? -1 : indexOf((V) o);
+                return target >= 0 && isAdjacent(id, target);
+            }
+        };
+    }
+
+    /**
+     * Iterator converting a sequence of ids to vertices.
+     */
+    private abstract class IdIterator implements Iterator<V> {
+        private final int size;
+        private int position;
+
+        IdIterator(final int size) {
+            this.size = size;
+        }
+
+        abstract int idAt(final int i);
+
+        @Override
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        @Override
+        public V next() {
+            if (position >= size) {
+                throw new NoSuchElementException();
+            }
+            return vertexAt(idAt(position++));
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.resistancerus.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of adjacent vertices with edge weights. Uses open addressing with linear probing,
+ * weights are kept in a primitive array parallel to vertices, so no object is allocated per edge.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+final class AdjacencySet<V> extends AbstractSet<V> {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private Object[] keys;
+    private double[] weights;
+    private int size;
+
+    AdjacencySet() {
+        this(0);
+    }
+
+    AdjacencySet(final int expectedSize) {
+        keys = new Object[capacityFor(expectedSize)];
+        weights = new double[keys.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(final Object vertex) {
+        return vertex != null && slotOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean add(final V vertex) {
+        return add(vertex, 1.0);
+    }
+
+    /**
+     * Adds vertex with weight of the edge leading to it.
+     * @return false if vertex is already present, its weight is not changed in that case.
+     */
+    boolean add(final V vertex, final double weight) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex could not be null.");
+        }
+
+        int slot = hash(vertex) & (keys.length - 1);
+        Object key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(vertex)) {
+                return false;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        keys[slot] = vertex;
+        weights[slot] = weight;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object vertex) {
+        if (vertex == null) {
+            return false;
+        }
+
+        int slot = slotOf(vertex);
+        if (slot < 0) {
+            return false;
+        }
+
+        final int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (keys[next] != null) {
+            final int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                weights[slot] = weights[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = null;
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Returns weight of the edge leading to vertex or NaN if vertex is absent.
+     */
+    double getWeight(final Object vertex) {
+        final int slot = vertex == null ? -1 : slotOf(vertex);
+        return slot < 0 ? Double.NaN : weights[slot];
+    }
+
+    /**
+     * Returns a copy of this set with room for provided number of vertices.
+     */
+    AdjacencySet<V> copy(final int expectedSize) {
+        final AdjacencySet<V> result = new AdjacencySet<>(0);
+        result.size = size;
+        result.keys = keys;
+        result.weights = weights;
+
+        final int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length) {
+            result.resize(capacity);
+        } else {
+            result.keys = keys.clone();
+            result.weights = weights.clone();
+        }
+        return result;
+    }
+
+    /**
+     * Makes room for provided number of vertices without further resizing.
+     */
+    void ensureCapacity(final int expectedSize) {
+        final int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length) {
+            resize(capacity);
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private int slot = nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (slot >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                final V result = (V) keys[slot];
+                slot = nextSlot(slot + 1);
+                return result;
+            }
+        };
+    }
+
+    private int nextSlot(int slot) {
+        while (slot < keys.length && keys[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private int slotOf(final Object vertex) {
+        int slot = hash(vertex) & (keys.length - 1);
+        Object key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(vertex)) {
+                return slot;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    private void resize(final int capacity) {
+        final Object[] oldKeys = keys;
+        final double[] oldWeights = weights;
+        keys = new Object[capacity];
+        weights = new double[capacity];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = hash(oldKeys[i]) & (capacity - 1);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = oldKeys[i];
+                weights[slot] = oldWeights[i];
+            }
+        }
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < expectedSize * 4L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(final Object vertex) {
+        final int h = vertex.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,264 @@
+package org.resistancerus.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Utility class to store graphs in binary files and to load them back as memory-mapped graphs.
+ * <p>
+ * File consists of a header and 8-byte aligned sections, all numbers are big-endian:
+ * <ul>
+ *     <li>vertex dictionary: int offsets of encoded vertices followed by encoded vertices;</li>
+ *     <li>open addressing hash table from encoded vertex to its id;</li>
+ *     <li>adjacency in compressed sparse row form: int row offsets, int targets sorted by id in every row
+ *     and double weights if some weight differs from 1;</li>
+ *     <li>reversed adjacency of the same form for directed graphs.</li>
+ * </ul>
+ * Every section must fit in 2 GB.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see MappedGraph
+ */
+public abstract class BinaryGraphFormat {
+
+    static final int MAGIC = 0x47524146;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 104;
+
+    static final int DIRECTED = 1;
+    static final int LOOPS_ALLOWED = 2;
+    static final int WEIGHTED = 4;
+
+    /**
+     * Writes provided graph to file.
+     * @param graph graph to write.
+     * @param file file to write graph to, it is overwritten if exists.
+     * @param codec converts vertices to bytes.
+     */
+    public static <V> void write(final Graph<V> graph, final File file, final VertexCodec<V> codec) throws IOException {
+        if (graph == null || file == null || codec == null) {
+            throw new IllegalArgumentException("Graph, file and codec could not be null.");
+        }
+
+        final IndexedGraph<V> indexed = graph instanceof IndexedGraph
+                ? (IndexedGraph<V>) graph
+                : new CompactGraph<>(graph);
+        final int vertexCount = indexed.getVertexCount();
+
+        final byte[][] encoded = new byte[vertexCount][];
+        long dataSize = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            encoded[i] = codec.encode(indexed.vertexAt(i));
+            dataSize += encoded[i].length;
+        }
+        final int[] table = createHashTable(encoded);
+
+        final boolean weighted = isWeighted(indexed);
+        final long edgeCount = indexed.getEdgeCount();
+        final long rowsSize = 4L * (vertexCount + 1);
+
+        final long[] positions = new long[9];
+        long position = HEADER_SIZE;
+        position = positions[0] = align(position);
+        position = positions[1] = align(position + rowsSize);
+        position = positions[2] = align(position + checkSize(dataSize));
+        position = positions[3] = align(position + 4L * table.length);
+        position = positions[4] = align(position + rowsSize);
+        position = align(position + checkSize(4 * edgeCount));
+        if (weighted) {
+            positions[5] = position;
+            position = align(position + checkSize(8 * edgeCount));
+        }
+        if (indexed.isDirected()) {
+            position = positions[6] = align(position);
+            position = positions[7] = align(position + rowsSize);
+            position = align(position + 4 * edgeCount);
+            if (weighted) {
+                positions[8] = position;
+            }
+        }
+
+        int flags = weighted ? WEIGHTED : 0;
+        flags |= indexed.isDirected() ? DIRECTED : 0;
+        flags |= indexed.areLoopsAllowed() ? LOOPS_ALLOWED : 0;
+
+        try (PositionOutputStream out = new PositionOutputStream(new FileOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(flags);
+            out.writeInt(vertexCount);
+            out.writeLong(edgeCount);
+            out.writeInt(table.length);
+            out.writeInt(0);
+            for (final long sectionPosition : positions) {
+                out.writeLong(sectionPosition);
+            }
+
+            pad(out);
+            int offset = 0;
+            out.writeInt(offset);
+            for (final byte[] vertex : encoded) {
+                offset += vertex.length;
+                out.writeInt(offset);
+            }
+
+            pad(out);
+            for (final byte[] vertex : encoded) {
+                out.write(vertex);
+            }
+
+            pad(out);
+            for (final int id : table) {
+                out.writeInt(id);
+            }
+
+            writeAdjacency(out, indexed, weighted);
+            if (indexed.isDirected()) {
+                writeAdjacency(out, indexed.reverse(), weighted);
+            }
+        }
+    }
+
+    /**
+     * Maps graph file into memory. Adjacency is read straight from the mapped file, vertices are decoded on demand.
+     * @param file file written by {@link #write(Graph, File, VertexCodec)}.
+     * @param codec converts bytes to vertices, must be the same codec the file was written with.
+     * @return immutable graph backed by the file.
+     */
+    public static <V> MappedGraph<V> read(final File file, final VertexCodec<V> codec) throws IOException {
+        if (file == null || codec == null) {
+            throw new IllegalArgumentException("File and codec could not be null.");
+        }
+        return MappedGraph.map(file, codec);
+    }
+
+    /**
+     * Hash of encoded vertex. The same function is used on write and on lookup.
+     */
+    static int hash(final byte[] bytes) {
+        int h = 1;
+        for (final byte b : bytes) {
+            h = 31 * h + b;
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns open addressing table of ids + 1, 0 marks an empty slot. Table is at most half full.
+     */
+    private static int[] createHashTable(final byte[][] encoded) {
+        int capacity = 2;
+        while (capacity < encoded.length * 2L) {
+            capacity <<= 1;
+        }
+
+        final int[] table = new int[capacity];
+        for (int i = 0; i < encoded.length; i++) {
+            int slot = hash(encoded[i]) & (capacity - 1);
+            while (table[slot] != 0) {
+                if (Arrays.equals(encoded[table[slot] - 1], encoded[i])) {
+                    throw new IllegalArgumentException("Different vertices have the same encoding.");
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    static boolean isWeighted(final IndexedGraph<?> graph) {
+        for (int id = 0; id < graph.getVertexCount(); id++) {
+            for (int i = 0; i < graph.getDegree(id); i++) {
+                if (graph.getWeight(id, i) != 1.0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void writeAdjacency(final PositionOutputStream out, final IndexedGraph<?> graph, final boolean weighted)
+            throws IOException {
+        pad(out);
+        int offset = 0;
+        out.writeInt(offset);
+        for (int id = 0; id < graph.getVertexCount(); id++) {
+            offset += graph.getDegree(id);
+            out.writeInt(offset);
+        }
+
+        int[] targets = new int[16];
+        double[] weights = new double[16];
+        for (int pass = 0; pass < (weighted ? 2 : 1); pass++) {
+            pad(out);
+            for (int id = 0; id < graph.getVertexCount(); id++) {
+                final int degree = graph.getDegree(id);
+                if (degree > targets.length) {
+                    targets = new int[Math.max(degree, targets.length * 2)];
+                    weights = new double[targets.length];
+                }
+                for (int i = 0; i < degree; i++) {
+                    targets[i] = graph.getNeighbour(id, i);
+                    weights[i] = graph.getWeight(id, i);
+                }
+                CompactGraph.sortRow(targets, weights, 0, degree);
+                for (int i = 0; i < degree; i++) {
+                    if (pass == 0) {
+                        out.writeInt(targets[i]);
+                    } else {
+                        out.writeDouble(weights[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long checkSize(final long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph is too large for binary format.");
+        }
+        return size;
+    }
+
+    private static long align(final long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static void pad(final PositionOutputStream out) throws IOException {
+        while ((out.position & 7) != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Buffered data output keeping its position as long, files could be larger than 2 GB.
+     */
+    private static final class PositionOutputStream extends DataOutputStream {
+
+        private long position;
+
+        PositionOutputStream(final OutputStream out) {
+            super(new BufferedOutputStream(out, 1 << 16));
+            this.out = new FilterOutputStream(this.out) {
+                @Override
+                public void write(final int b) throws IOException {
+                    out.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    out.write(b, off, len);
+                    position += len;
+                }
+            };
+        }
+    }
+}
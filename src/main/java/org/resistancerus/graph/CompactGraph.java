@@ -0,0 +1,240 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a graph stored in compressed sparse row (CSR) form.
+ * Every vertex gets a dense int id, adjacency of vertex i is stored in targets[offsets[i] .. offsets[i + 1])
+ * sorted by id. It takes 4 bytes per adjacency entry, edge weights take 8 more bytes per entry unless all of them are 1.
+ * It is intended for read-heavy workloads. Vertices could be renumbered by reorder to make traversals cache-friendly.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createCompactGraph(Graph)
+ */
+public final class CompactGraph<V> extends AbstractIndexedGraph<V> {
+
+    private final Object[] vertices;
+    private final VertexIndex<V> index;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private volatile CompactGraph<V> reverse;
+
+    /**
+     * Takes snapshot of the graph. Adjacency of every vertex is read once, so a concurrent graph changed meanwhile
+     * gives a valid snapshot: a vertex removed meanwhile has no edges and edges to vertices added meanwhile are skipped.
+     */
+    CompactGraph(final Graph<V> graph) {
+        super(graph.isDirected(), graph.areLoopsAllowed());
+
+        vertices = graph.getVertices().toArray();
+        final int vertexCount = vertices.length;
+        index = new VertexIndex<>(vertexCount);
+        offsets = new int[vertexCount + 1];
+
+        final Set<?>[] rows = new Set<?>[vertexCount];
+        long edgeCount = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            index.put(vertexAt(i), i);
+            final Set<V> adjacentVertices = graph.getAdjacentVertices(vertexAt(i));
+            rows[i] = adjacentVertices == null ? Collections.emptySet() : adjacentVertices;
+            edgeCount += rows[i].size();
+            if (edgeCount > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Graph has too many edges for compact representation.");
+            }
+        }
+
+        int[] edgeTargets = new int[(int) edgeCount];
+        double[] edgeWeights = new double[(int) edgeCount];
+        boolean weighted = false;
+        int position = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            @SuppressWarnings("unchecked")
+            final Set<V> row = (Set<V>) rows[i];
+            for (final V adjacent : row) {
+                final int id = index.get(adjacent);
+                if (id < 0) {
+                    continue;
+                }
+                final double weight = graph.getEdgeWeight(vertexAt(i), adjacent);
+                weighted |= weight != 1.0;
+                edgeTargets[position] = id;
+                edgeWeights[position++] = weight;
+            }
+            offsets[i + 1] = position;
+            sortRow(edgeTargets, edgeWeights, offsets[i], position);
+        }
+        if (position < edgeTargets.length) {
+            edgeTargets = Arrays.copyOf(edgeTargets, position);
+            edgeWeights = Arrays.copyOf(edgeWeights, position);
+        }
+        targets = edgeTargets;
+        weights = weighted ? edgeWeights : null;
+    }
+
+    private CompactGraph(final CompactGraph<V> graph, final int[] offsets, final int[] targets, final double[] weights) {
+        super(graph.isDirected(), graph.areLoopsAllowed());
+        this.vertices = graph.vertices;
+        this.index = graph.index;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.reverse = graph;
+    }
+
+    private CompactGraph(final CompactGraph<V> graph, final int[] order) {
+        super(graph.isDirected(), graph.areLoopsAllowed());
+
+        final int vertexCount = order.length;
+        final int[] ids = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            ids[order[i]] = i;
+        }
+
+        vertices = new Object[vertexCount];
+        index = new VertexIndex<>(vertexCount);
+        offsets = new int[vertexCount + 1];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.vertices[order[i]];
+            index.put(vertexAt(i), i);
+            offsets[i + 1] = offsets[i] + graph.getDegree(order[i]);
+        }
+
+        targets = new int[graph.targets.length];
+        weights = graph.weights == null ? null : new double[graph.weights.length];
+        for (int i = 0; i < vertexCount; i++) {
+            final int from = graph.offsets[order[i]];
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                targets[j] = ids[graph.targets[from + j - offsets[i]]];
+                if (weights != null) {
+                    weights[j] = graph.weights[from + j - offsets[i]];
+                }
+            }
+            if (weights == null) {
+                Arrays.sort(targets, offsets[i], offsets[i + 1]);
+            } else {
+                sortRow(targets, weights, offsets[i], offsets[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int indexOf(final V vertex) {
+        return index.get(vertex);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V vertexAt(final int id) {
+        return (V) vertices[id];
+    }
+
+    @Override
+    public int getDegree(final int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    @Override
+    public int getNeighbour(final int id, final int i) {
+        return targets[offsets[id] + i];
+    }
+
+    @Override
+    public double getWeight(final int id, final int i) {
+        return weights == null ? 1.0 : weights[offsets[id] + i];
+    }
+
+    /**
+     * Returns graph with reversed edges. For directed graph it is built on first call and shares vertex ids with this graph.
+     */
+    @Override
+    public CompactGraph<V> reverse() {
+        if (!isDirected()) {
+            return this;
+        }
+
+        CompactGraph<V> result = reverse;
+        if (result == null) {
+            result = createReverse();
+            reverse = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns snapshot of the same graph with vertex ids renumbered in provided order. Ids of the result are still
+     * translated to the same vertices by vertexAt and indexOf, so paths calculated on it consist of original vertices.
+     * @see VertexOrdering
+     */
+    public CompactGraph<V> reorder(final VertexOrdering ordering) {
+        if (ordering == null) {
+            throw new IllegalArgumentException("Vertex ordering could not be null.");
+        }
+        return new CompactGraph<>(this, ordering.order(this));
+    }
+
+    @Override
+    boolean isAdjacent(final int id, final int target) {
+        return Arrays.binarySearch(targets, offsets[id], offsets[id + 1], target) >= 0;
+    }
+
+    @Override
+    double edgeWeight(final int id, final int target) {
+        final int position = Arrays.binarySearch(targets, offsets[id], offsets[id + 1], target);
+        return position < 0 ? Double.NaN : weights == null ? 1.0 : weights[position];
+    }
+
+    private CompactGraph<V> createReverse() {
+        final int vertexCount = vertices.length;
+        final int[] reverseOffsets = new int[vertexCount + 1];
+        for (final int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        final int[] positions = Arrays.copyOf(reverseOffsets, vertexCount);
+        final int[] reverseTargets = new int[targets.length];
+        final double[] reverseWeights = weights == null ? null : new double[weights.length];
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                final int position = positions[targets[j]]++;
+                reverseTargets[position] = i;
+                if (reverseWeights != null) {
+                    reverseWeights[position] = weights[j];
+                }
+            }
+        }
+        return new CompactGraph<>(this, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    /**
+     * Sorts adjacency row by target id keeping weights in line with targets.
+     */
+    static void sortRow(final int[] targets, final double[] weights, final int from, final int to) {
+        final long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = ((long) targets[i] << 32) | (i - from);
+        }
+        Arrays.sort(keys);
+
+        final double[] rowWeights = Arrays.copyOfRange(weights, from, to);
+        for (int i = 0; i < keys.length; i++) {
+            targets[from + i] = (int) (keys[i] >>> 32);
+            weights[from + i] = rowWeights[(int) keys[i]];
+        }
+    }
+}
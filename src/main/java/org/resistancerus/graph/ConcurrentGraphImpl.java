@@ -0,0 +1,414 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe implementation of Graph interface.
+ * Adjacency of every vertex is immutable after publication, so readers take no locks and always see a consistent
+ * adjacency of each vertex. Small adjacency is a flat set copied on write, adjacency of more than
+ * COPY_THRESHOLD vertices is a persistent map, so adding an edge to a hub creates O(log n) nodes instead of
+ * copying all its neighbours. Writers lock stripes of the vertices they change, stripes are always locked
+ * in ascending order.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+class ConcurrentGraphImpl<V> implements Graph<V> {
+
+    /**
+     * Maximal size of adjacency copied on write, bigger adjacency is kept in a persistent map
+     * until it shrinks to half of this size.
+     */
+    static final int COPY_THRESHOLD = 64;
+
+    private Logger logger = LoggerFactory.getLogger(ConcurrentGraphImpl.class);
+    private final boolean directed;
+    private final boolean loopsAllowed;
+
+    private final ConcurrentHashMap<V, VertexEntry<V>> vertices = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks;
+    private final AtomicLong modificationCount = new AtomicLong(1);
+
+    ConcurrentGraphImpl(final boolean directed, final boolean loopsAllowed) {
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+
+        int stripes = 16;
+        while (stripes < Runtime.getRuntime().availableProcessors() * 4) {
+            stripes <<= 1;
+        }
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean areLoopsAllowed() {
+        return loopsAllowed;
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return Collections.unmodifiableSet(vertices.keySet());
+    }
+
+    @Override
+    public Set<V> getAdjacentVertices(final V vertex) {
+        final VertexEntry<V> entry = vertex == null ? null : vertices.get(vertex);
+        return entry == null ? null : entry.outgoing.vertices();
+    }
+
+    @Override
+    public Set<V> getIncomingVertices(final V vertex) {
+        final VertexEntry<V> entry = vertex == null ? null : vertices.get(vertex);
+        return entry == null ? null : (directed ? entry.incoming : entry.outgoing).vertices();
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex could not be null.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        if (vertices.putIfAbsent(vertex, new VertexEntry<>(directed)) != null) {
+            logger.debug("Vertex {} already exist in the graph.", vertex);
+            return false;
+        }
+        modificationCount.incrementAndGet();
+        Instrumentation.endMutation(GraphOperation.ADD_VERTEX, started);
+
+        logger.debug("Added new vertex: {}", vertex);
+        return true;
+    }
+
+    @Override
+    public boolean hasVertex(final V vertex) {
+        return vertex != null && vertices.containsKey(vertex);
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Couldn't remove null vertex.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        while (true) {
+            final VertexEntry<V> entry = vertices.get(vertex);
+            if (entry == null) {
+                logger.error("Couldn't remove vertex which is not in graph.");
+                return false;
+            }
+
+            final Adjacency<V> outgoing = entry.outgoing;
+            final Adjacency<V> incoming = entry.incoming;
+            final int[] stripes = stripesOf(vertex, outgoing, incoming);
+            lock(stripes);
+            try {
+                if (vertices.get(vertex) != entry || entry.outgoing != outgoing || entry.incoming != incoming) {
+                    continue;
+                }
+
+                vertices.remove(vertex);
+                for (final V adjacent : outgoing.vertices()) {
+                    final VertexEntry<V> adjacentEntry = vertices.get(adjacent);
+                    if (adjacentEntry != null) {
+                        if (directed) {
+                            adjacentEntry.incoming = adjacentEntry.incoming.without(vertex);
+                        } else {
+                            adjacentEntry.outgoing = adjacentEntry.outgoing.without(vertex);
+                        }
+                    }
+                }
+                if (directed) {
+                    for (final V adjacent : incoming.vertices()) {
+                        final VertexEntry<V> adjacentEntry = vertices.get(adjacent);
+                        if (adjacentEntry != null) {
+                            adjacentEntry.outgoing = adjacentEntry.outgoing.without(vertex);
+                        }
+                    }
+                }
+                modificationCount.incrementAndGet();
+            } finally {
+                unlock(stripes);
+            }
+            Instrumentation.endMutation(GraphOperation.REMOVE_VERTEX, started);
+
+            logger.debug("Removed vertex: {}", vertex);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end) {
+        return addEdge(start, end, 1.0);
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be a non-negative number.");
+        }
+
+        if (start.equals(end) && !loopsAllowed) {
+            throw new IllegalArgumentException("Loop creation is not allowed.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        final int[] stripes = stripesOf(start, end);
+        lock(stripes);
+        try {
+            final VertexEntry<V> startEntry = vertices.get(start);
+            final VertexEntry<V> endEntry = vertices.get(end);
+            if (startEntry == null || endEntry == null) {
+                throw new IllegalArgumentException("Start or end vertex does not belong to graph.");
+            }
+
+            if (startEntry.outgoing.contains(end) || (!directed && endEntry.outgoing.contains(start))) {
+                logger.debug("Edge {} - {} already exist in the graph.", start, end);
+                return false;
+            }
+
+            startEntry.outgoing = startEntry.outgoing.with(end, weight);
+            if (directed) {
+                endEntry.incoming = endEntry.incoming.with(start, weight);
+            } else if (!start.equals(end)) {
+                endEntry.outgoing = endEntry.outgoing.with(start, weight);
+            }
+            modificationCount.incrementAndGet();
+        } finally {
+            unlock(stripes);
+        }
+        Instrumentation.endMutation(GraphOperation.ADD_EDGE, started);
+
+        logger.debug("Added edge: {} - {}", start, end);
+        return true;
+    }
+
+    @Override
+    public boolean hasEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final VertexEntry<V> startEntry = vertices.get(start);
+        final VertexEntry<V> endEntry = vertices.get(end);
+        if (startEntry == null || endEntry == null) {
+            logger.error("Start or end vertex does not belong to graph.");
+            return false;
+        }
+
+        return directed
+                ? startEntry.outgoing.contains(end)
+                : startEntry.outgoing.contains(end) || endEntry.outgoing.contains(start);
+    }
+
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final VertexEntry<V> startEntry = vertices.get(start);
+        return startEntry == null ? Double.NaN : startEntry.outgoing.getWeight(end);
+    }
+
+    @Override
+    public boolean removeEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        final int[] stripes = stripesOf(start, end);
+        lock(stripes);
+        try {
+            final VertexEntry<V> startEntry = vertices.get(start);
+            final VertexEntry<V> endEntry = vertices.get(end);
+            if (startEntry == null || endEntry == null || !startEntry.outgoing.contains(end)) {
+                logger.error("Couldn't delete not existing edge.");
+                return false;
+            }
+
+            startEntry.outgoing = startEntry.outgoing.without(end);
+            if (directed) {
+                endEntry.incoming = endEntry.incoming.without(start);
+            } else if (!start.equals(end)) {
+                endEntry.outgoing = endEntry.outgoing.without(start);
+            }
+            modificationCount.incrementAndGet();
+        } finally {
+            unlock(stripes);
+        }
+        Instrumentation.endMutation(GraphOperation.REMOVE_EDGE, started);
+
+        logger.debug("Removed edge: {} - {}", start, end);
+        return true;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "Graph: " + vertices;
+    }
+
+    private int stripeOf(final Object vertex) {
+        final int h = vertex.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (locks.length - 1);
+    }
+
+    private int[] stripesOf(final V start, final V end) {
+        final int first = stripeOf(start);
+        final int second = stripeOf(end);
+        if (first == second) {
+            return new int[] {first};
+        }
+        return first < second ? new int[] {first, second} : new int[] {second, first};
+    }
+
+    private int[] stripesOf(final V vertex, final Adjacency<V> outgoing, final Adjacency<V> incoming) {
+        final BitSet stripes = new BitSet(locks.length);
+        stripes.set(stripeOf(vertex));
+        outgoing.vertices().forEach(adjacent -> stripes.set(stripeOf(adjacent)));
+        if (incoming != null) {
+            incoming.vertices().forEach(adjacent -> stripes.set(stripeOf(adjacent)));
+        }
+        return stripes.stream().toArray();
+    }
+
+    private void lock(final int[] stripes) {
+        for (final int stripe : stripes) {
+            locks[stripe].lock();
+        }
+    }
+
+    private void unlock(final int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    /**
+     * Adjacency of a vertex. Fields are replaced by writers holding the stripe lock of the vertex,
+     * incoming vertices are kept only by directed graph.
+     */
+    private static final class VertexEntry<V> {
+        private volatile Adjacency<V> outgoing = Adjacency.empty();
+        private volatile Adjacency<V> incoming;
+
+        VertexEntry(final boolean directed) {
+            incoming = directed ? Adjacency.empty() : null;
+        }
+
+        @Override
+        public String toString() {
+            return outgoing.vertices().toString();
+        }
+    }
+
+    /**
+     * Immutable adjacency of a vertex with edge weights, either a flat set or a persistent map.
+     */
+    private static final class Adjacency<V> {
+        private static final Adjacency<?> EMPTY = new Adjacency<>(new AdjacencySet<>(), null);
+
+        private final AdjacencySet<V> small;
+        private final PersistentMap<V, Double> large;
+
+        private Adjacency(final AdjacencySet<V> small, final PersistentMap<V, Double> large) {
+            this.small = small;
+            this.large = large;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Adjacency<V> empty() {
+            return (Adjacency<V>) EMPTY;
+        }
+
+        /**
+         * Returns unmodifiable set of adjacent vertices.
+         */
+        Set<V> vertices() {
+            return small != null ? Collections.unmodifiableSet(small) : large.keySet();
+        }
+
+        boolean contains(final V vertex) {
+            return small != null ? small.contains(vertex) : large.containsKey(vertex);
+        }
+
+        double getWeight(final V vertex) {
+            if (small != null) {
+                return small.getWeight(vertex);
+            }
+            final Double weight = large.get(vertex);
+            return weight == null ? Double.NaN : weight;
+        }
+
+        /**
+         * Returns adjacency with provided vertex, which must be absent.
+         */
+        Adjacency<V> with(final V vertex, final double weight) {
+            if (large != null) {
+                return new Adjacency<>(null, large.put(vertex, weight));
+            }
+
+            if (small.size() < COPY_THRESHOLD) {
+                final AdjacencySet<V> result = small.copy(small.size() + 1);
+                result.add(vertex, weight);
+                return new Adjacency<>(result, null);
+            }
+
+            PersistentMap<V, Double> result = PersistentMap.<V, Double>empty().put(vertex, weight);
+            for (final V adjacent : small) {
+                result = result.put(adjacent, small.getWeight(adjacent));
+            }
+            return new Adjacency<>(null, result);
+        }
+
+        /**
+         * Returns adjacency without provided vertex or this adjacency if the vertex is absent.
+         */
+        Adjacency<V> without(final V vertex) {
+            if (!contains(vertex)) {
+                return this;
+            }
+
+            if (small != null) {
+                final AdjacencySet<V> result = small.copy(small.size());
+                result.remove(vertex);
+                return new Adjacency<>(result, null);
+            }
+
+            final PersistentMap<V, Double> map = large.remove(vertex);
+            if (map.size() > COPY_THRESHOLD / 2) {
+                return new Adjacency<>(null, map);
+            }
+
+            final AdjacencySet<V> result = new AdjacencySet<>(map.size());
+            for (final V adjacent : map.keySet()) {
+                result.add(adjacent, map.get(adjacent));
+            }
+            return new Adjacency<>(result, null);
+        }
+    }
+}
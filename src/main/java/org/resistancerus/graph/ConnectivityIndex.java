@@ -0,0 +1,294 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Index which proves in O(1) that there is no path between two vertices of a graph.
+ * Vertices of every weakly connected component are kept in a union-find forest. Directed graph also gets
+ * strongly connected components numbered in topological order of the condensation: a path could only lead
+ * from a component to a component with greater or equal number.
+ * Added vertices and edges are applied incrementally. A new vertex gets its topological position with its first edge:
+ * before all components if the edge leaves it, after all components otherwise, so building a graph by adding vertices
+ * with their edges keeps the order. An edge against the topological order drops the order until the index is rebuilt.
+ * Removals keep the index sound, as removing can't make a vertex reachable, but make it imprecise.
+ * The owner rebuilds an imprecise index once it has been changed by more mutations than half of the vertices and edges
+ * it was built with, so the cost of rebuilds is amortised over mutations and queries never rebuild it.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphImpl
+ */
+final class ConnectivityIndex<V> {
+
+    /**
+     * Number of mutations an imprecise index of any size is kept for.
+     */
+    static final int MIN_STALE_MUTATIONS = 64;
+    private static final int UNPLACED = Integer.MIN_VALUE;
+
+    private final boolean directed;
+    private final VertexIndex<V> index;
+    private int[] parents;
+    private int[] ranks;
+    private int size;
+
+    private int[] components;
+    private int[] order;
+    private int componentCount;
+    private int firstPosition;
+    private int lastPosition;
+    private boolean ordered;
+    private boolean precise = true;
+    private long entries;
+    private long staleMutations;
+
+    /**
+     * Creates index of an empty graph.
+     */
+    ConnectivityIndex(final boolean directed) {
+        this.directed = directed;
+        index = new VertexIndex<>(0);
+        parents = new int[16];
+        ranks = new int[parents.length];
+        if (directed) {
+            components = new int[parents.length];
+            order = new int[parents.length];
+            lastPosition = -1;
+            ordered = true;
+        }
+    }
+
+    /**
+     * Builds index of all vertices and edges of the graph.
+     */
+    ConnectivityIndex(final Graph<V> graph) {
+        final Set<V> vertices = graph.getVertices();
+        final int vertexCount = vertices.size();
+        directed = graph.isDirected();
+        index = new VertexIndex<>(vertexCount);
+        parents = new int[Math.max(16, vertexCount)];
+        ranks = new int[parents.length];
+
+        final int[] offsets = new int[vertexCount + 1];
+        for (final V vertex : vertices) {
+            index.put(vertex, size);
+            parents[size] = size;
+            offsets[size + 1] = offsets[size] + graph.getAdjacentVertices(vertex).size();
+            size++;
+        }
+        entries = vertexCount + offsets[vertexCount];
+
+        final int[] targets = new int[offsets[vertexCount]];
+        int id = 0;
+        for (final V vertex : vertices) {
+            int position = offsets[id];
+            for (final V adjacent : graph.getAdjacentVertices(vertex)) {
+                targets[position] = index.get(adjacent);
+                union(id, targets[position++]);
+            }
+            id++;
+        }
+
+        if (directed) {
+            components = new int[parents.length];
+            order = new int[parents.length];
+            findComponents(offsets, targets);
+            ordered = true;
+        }
+    }
+
+    /**
+     * Returns false if there is no path from source to destination vertex, true if the path could exist.
+     */
+    boolean mayReach(final V source, final V destination) {
+        final int sourceId = index.get(source);
+        final int destinationId = index.get(destination);
+        if (sourceId < 0 || destinationId < 0 || find(sourceId) != find(destinationId)) {
+            return false;
+        }
+        return !ordered || order[components[sourceId]] <= order[components[destinationId]];
+    }
+
+    /**
+     * Checks if the index answers as exactly as a freshly built one.
+     */
+    boolean isPrecise() {
+        return precise && (ordered || !directed);
+    }
+
+    /**
+     * Checks if the index should be rebuilt: it is imprecise and has been changed by enough mutations
+     * to amortise the rebuild.
+     */
+    boolean isStale() {
+        return staleMutations > MIN_STALE_MUTATIONS + entries / 2;
+    }
+
+    void addVertex(final V vertex) {
+        if (size == parents.length) {
+            parents = Arrays.copyOf(parents, size * 2);
+            ranks = Arrays.copyOf(ranks, size * 2);
+            if (directed) {
+                components = Arrays.copyOf(components, size * 2);
+            }
+        }
+
+        index.set(vertex, size);
+        parents[size] = size;
+        ranks[size] = 0;
+        if (directed) {
+            if (componentCount == order.length) {
+                order = Arrays.copyOf(order, Math.max(16, componentCount * 2));
+            }
+            order[componentCount] = UNPLACED;
+            components[size] = componentCount++;
+        }
+        size++;
+        entries++;
+        countMutation();
+    }
+
+    void addEdge(final V start, final V end) {
+        final int startId = index.get(start);
+        final int endId = index.get(end);
+        union(startId, endId);
+        entries++;
+        countMutation();
+        if (!directed) {
+            return;
+        }
+
+        final int startComponent = components[startId];
+        final int endComponent = components[endId];
+        if (order[startComponent] == UNPLACED) {
+            order[startComponent] = order[endComponent] == UNPLACED || startComponent == endComponent
+                    ? ++lastPosition
+                    : --firstPosition;
+        }
+        if (order[endComponent] == UNPLACED) {
+            order[endComponent] = ++lastPosition;
+        }
+        if (ordered && order[startComponent] > order[endComponent]) {
+            ordered = false;
+        }
+    }
+
+    /**
+     * Marks index imprecise after vertex or edge removal.
+     */
+    void remove() {
+        precise = false;
+        countMutation();
+    }
+
+    private void countMutation() {
+        if (!isPrecise()) {
+            staleMutations++;
+        }
+    }
+
+    private int find(int id) {
+        while (parents[id] != id) {
+            id = parents[id];
+        }
+        return id;
+    }
+
+    private void union(final int first, final int second) {
+        final int firstRoot = compress(first);
+        final int secondRoot = compress(second);
+        if (firstRoot == secondRoot) {
+            return;
+        }
+
+        if (ranks[firstRoot] < ranks[secondRoot]) {
+            parents[firstRoot] = secondRoot;
+        } else {
+            parents[secondRoot] = firstRoot;
+            if (ranks[firstRoot] == ranks[secondRoot]) {
+                ranks[firstRoot]++;
+            }
+        }
+    }
+
+    /**
+     * Returns root of the tree containing provided id, halving the path to it.
+     */
+    private int compress(int id) {
+        while (parents[id] != id) {
+            parents[id] = parents[parents[id]];
+            id = parents[id];
+        }
+        return id;
+    }
+
+    /**
+     * Finds strongly connected components via iterative Tarjan algorithm. Components are found in reverse topological
+     * order, so they are numbered from the end.
+     */
+    private void findComponents(final int[] offsets, final int[] targets) {
+        final int vertexCount = offsets.length - 1;
+        final int[] lowLinks = new int[vertexCount];
+        final int[] discovery = new int[vertexCount];
+        final int[] positions = new int[vertexCount];
+        final int[] callStack = new int[vertexCount];
+        final int[] componentStack = new int[vertexCount];
+        final boolean[] onStack = new boolean[vertexCount];
+        Arrays.fill(discovery, -1);
+        int time = 0;
+        int found = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (discovery[root] >= 0) {
+                continue;
+            }
+
+            int depth = 0;
+            int stackSize = 0;
+            callStack[depth++] = root;
+            discovery[root] = lowLinks[root] = time++;
+            positions[root] = offsets[root];
+            componentStack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                final int current = callStack[depth - 1];
+                if (positions[current] < offsets[current + 1]) {
+                    final int adjacent = targets[positions[current]++];
+                    if (discovery[adjacent] < 0) {
+                        discovery[adjacent] = lowLinks[adjacent] = time++;
+                        positions[adjacent] = offsets[adjacent];
+                        componentStack[stackSize++] = adjacent;
+                        onStack[adjacent] = true;
+                        callStack[depth++] = adjacent;
+                    } else if (onStack[adjacent]) {
+                        lowLinks[current] = Math.min(lowLinks[current], discovery[adjacent]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    final int caller = callStack[depth - 1];
+                    lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[current]);
+                }
+                if (lowLinks[current] == discovery[current]) {
+                    int member;
+                    do {
+                        member = componentStack[--stackSize];
+                        onStack[member] = false;
+                        components[member] = found;
+                    } while (member != current);
+                    found++;
+                }
+            }
+        }
+
+        componentCount = found;
+        for (int component = 0; component < found; component++) {
+            order[component] = found - 1 - component;
+        }
+        firstPosition = 0;
+        lastPosition = found - 1;
+    }
+}
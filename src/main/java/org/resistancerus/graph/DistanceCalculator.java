@@ -0,0 +1,239 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * DistanceCalculator utility class. Calculates hop distances and reachability from many sources via bit-parallel
+ * multi-source BFS: up to 64 sources are traversed at once, every vertex keeps a long mask of sources which have
+ * reached it, so one pass over an edge serves all sources of the batch. Batches of sources run in parallel.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public abstract class DistanceCalculator {
+    private static Logger logger = LoggerFactory.getLogger(DistanceCalculator.class);
+
+    private static final int BATCH_SIZE = Long.SIZE;
+
+    /**
+     * Returns hop distances between vertices of the graph. Graph is converted to a compact snapshot first.
+     * @param graph   - graph to calculate distances for.
+     * @param sources - source vertices.
+     * @param targets - target vertices.
+     * @return matrix where element [i][j] is the number of edges in a shortest path from i-th source to j-th target
+     * or -1 if there is no such path or vertex does not belong to graph.
+     * @see Graph
+     */
+    public static <V> int[][] getDistances(final Graph<V> graph,
+                                           final List<? extends V> sources,
+                                           final List<? extends V> targets) {
+        return getDistances(toIndexedGraph(graph), sources, targets);
+    }
+
+    /**
+     * Returns hop distances between vertices of the indexed graph.
+     * @param graph   - indexed graph to calculate distances for.
+     * @param sources - source vertices.
+     * @param targets - target vertices.
+     * @return matrix where element [i][j] is the number of edges in a shortest path from i-th source to j-th target
+     * or -1 if there is no such path or vertex does not belong to graph.
+     * @see IndexedGraph
+     */
+    public static <V> int[][] getDistances(final IndexedGraph<V> graph,
+                                           final List<? extends V> sources,
+                                           final List<? extends V> targets) {
+        if (graph == null || sources == null || targets == null) {
+            throw new IllegalArgumentException("Graph, sources and targets could not be null.");
+        }
+
+        final int[] sourceIds = indicesOf(graph, sources);
+        final int[] targetIds = indicesOf(graph, targets);
+
+        final int[] targetSlots = new int[graph.getVertexCount()];
+        Arrays.fill(targetSlots, -1);
+        int slotCount = 0;
+        for (final int id : targetIds) {
+            if (id >= 0 && targetSlots[id] < 0) {
+                targetSlots[id] = slotCount++;
+            }
+        }
+
+        final int[][] slotDistances = new int[sourceIds.length][slotCount];
+        for (final int[] row : slotDistances) {
+            Arrays.fill(row, -1);
+        }
+        runBatches(sourceIds.length, from -> traverse(graph, sourceIds, from, (vertex, newSources, level) -> {
+            final int slot = targetSlots[vertex];
+            if (slot >= 0) {
+                for (long bits = newSources; bits != 0; bits &= bits - 1) {
+                    slotDistances[from + Long.numberOfTrailingZeros(bits)][slot] = level;
+                }
+            }
+        }));
+
+        final int[][] result = new int[sourceIds.length][targetIds.length];
+        for (int i = 0; i < sourceIds.length; i++) {
+            for (int j = 0; j < targetIds.length; j++) {
+                result[i][j] = targetIds[j] < 0 ? -1 : slotDistances[i][targetSlots[targetIds[j]]];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns sets of vertices reachable from every source vertex of the graph. Graph is converted to a compact snapshot first.
+     * @param graph   - graph to calculate reachability for.
+     * @param sources - source vertices.
+     * @return list of sets in the order of sources, every set contains its source. Set is empty if source does not belong to graph.
+     * @see Graph
+     */
+    public static <V> List<Set<V>> getReachableVertices(final Graph<V> graph, final List<? extends V> sources) {
+        return getReachableVertices(toIndexedGraph(graph), sources);
+    }
+
+    /**
+     * Returns sets of vertices reachable from every source vertex of the indexed graph.
+     * @param graph   - indexed graph to calculate reachability for.
+     * @param sources - source vertices.
+     * @return list of sets in the order of sources, every set contains its source. Set is empty if source does not belong to graph.
+     * @see IndexedGraph
+     */
+    public static <V> List<Set<V>> getReachableVertices(final IndexedGraph<V> graph, final List<? extends V> sources) {
+        if (graph == null || sources == null) {
+            throw new IllegalArgumentException("Graph and sources could not be null.");
+        }
+
+        final int[] sourceIds = indicesOf(graph, sources);
+        final List<Set<V>> result = new ArrayList<>(sourceIds.length);
+        for (int i = 0; i < sourceIds.length; i++) {
+            result.add(new HashSet<>());
+        }
+
+        runBatches(sourceIds.length, from -> traverse(graph, sourceIds, from, (vertex, newSources, level) -> {
+            for (long bits = newSources; bits != 0; bits &= bits - 1) {
+                result.get(from + Long.numberOfTrailingZeros(bits)).add(graph.vertexAt(vertex));
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Runs bit-parallel BFS from at most 64 sources starting at provided position of sourceIds.
+     * Listener is notified once per level for every vertex reached by new sources.
+     */
+    private static void traverse(final IndexedGraph<?> graph,
+                                 final int[] sourceIds,
+                                 final int from,
+                                 final Listener listener) {
+        final int vertexCount = graph.getVertexCount();
+        final long[] seen = new long[vertexCount];
+        long[] visit = new long[vertexCount];
+        long[] visitNext = new long[vertexCount];
+        int[] frontier = new int[16];
+        int[] nextFrontier = new int[16];
+        int frontierSize = 0;
+
+        final int to = Math.min(sourceIds.length, from + BATCH_SIZE);
+        for (int i = from; i < to; i++) {
+            final int source = sourceIds[i];
+            if (source < 0) {
+                continue;
+            }
+            if (visit[source] == 0) {
+                if (frontierSize == frontier.length) {
+                    frontier = Arrays.copyOf(frontier, frontierSize * 2);
+                }
+                frontier[frontierSize++] = source;
+            }
+            seen[source] |= 1L << (i - from);
+            visit[source] |= 1L << (i - from);
+        }
+        for (int i = 0; i < frontierSize; i++) {
+            listener.onReached(frontier[i], visit[frontier[i]], 0);
+        }
+
+        for (int level = 1; frontierSize > 0; level++) {
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                final int current = frontier[i];
+                final long sources = visit[current];
+                visit[current] = 0;
+                final int degree = graph.getDegree(current);
+                for (int j = 0; j < degree; j++) {
+                    final int adjacent = graph.getNeighbour(current, j);
+                    final long newSources = sources & ~seen[adjacent];
+                    if (newSources == 0) {
+                        continue;
+                    }
+                    if (visitNext[adjacent] == 0) {
+                        if (nextSize == nextFrontier.length) {
+                            nextFrontier = Arrays.copyOf(nextFrontier, nextSize * 2);
+                        }
+                        nextFrontier[nextSize++] = adjacent;
+                    }
+                    visitNext[adjacent] |= newSources;
+                }
+            }
+
+            for (int i = 0; i < nextSize; i++) {
+                final int vertex = nextFrontier[i];
+                seen[vertex] |= visitNext[vertex];
+                listener.onReached(vertex, visitNext[vertex], level);
+            }
+
+            final long[] visitSwap = visit;
+            visit = visitNext;
+            visitNext = visitSwap;
+            final int[] frontierSwap = frontier;
+            frontier = nextFrontier;
+            nextFrontier = frontierSwap;
+            frontierSize = nextSize;
+        }
+    }
+
+    /**
+     * Runs task for every batch of 64 sources, batches run in parallel.
+     */
+    private static void runBatches(final int sourceCount, final IntConsumer task) {
+        final int batches = (sourceCount + BATCH_SIZE - 1) / BATCH_SIZE;
+        logger.debug("Running multi-source BFS from {} sources in {} batches.", sourceCount, batches);
+        IntStream.range(0, batches).parallel().forEach(batch -> task.accept(batch * BATCH_SIZE));
+    }
+
+    private static <V> IndexedGraph<V> toIndexedGraph(final Graph<V> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph could not be null.");
+        }
+        return graph instanceof IndexedGraph ? (IndexedGraph<V>) graph : new CompactGraph<>(graph);
+    }
+
+    private static <V> int[] indicesOf(final IndexedGraph<V> graph, final List<? extends V> vertices) {
+        final int[] result = new int[vertices.size()];
+        for (int i = 0; i < result.length; i++) {
+            final V vertex = vertices.get(i);
+            if (vertex == null) {
+                throw new IllegalArgumentException("Vertex could not be null.");
+            }
+            result[i] = graph.indexOf(vertex);
+            if (result[i] < 0) {
+                logger.error("Vertex {} does not belong to graph.", vertex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Receives vertices reached by traversal.
+     */
+    private interface Listener {
+        void onReached(int vertex, long newSources, int level);
+    }
+}
@@ -0,0 +1,409 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Exact hop distance index of a graph snapshot built via pruned landmark labeling.
+ * Vertices are ranked by degree, every vertex keeps a label of (hub, distance) pairs such that for any two vertices
+ * a shortest path passes through a hub common to the out-label of the first vertex and the in-label of the second one.
+ * Labels are built by BFS from every hub in rank order, a BFS does not go beyond vertices whose distance is already
+ * covered by the labels of higher ranked hubs. Hubs are processed in batches growing from 1 to a multiple of
+ * available processors, BFS of one batch run in parallel and are pruned by labels of previous batches only,
+ * which keeps labels exact at the cost of a few redundant entries. Arrays of graph size used by a BFS are taken from
+ * a pool of the build, so there are at most as many of them as BFS running at once and none is kept after the build.
+ * Distance queries merge two sorted labels and take microseconds, paths are reconstructed by following neighbours
+ * whose distance to destination decreases. Index is serializable, so it could be built once for a static graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createDistanceIndex(Graph)
+ */
+public final class DistanceIndex<V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int[] EMPTY = new int[0];
+    private static final int NONE = -1;
+
+    private static Logger logger = LoggerFactory.getLogger(DistanceIndex.class);
+
+    private final boolean directed;
+    private final Object[] vertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private final int[][] outHubs;
+    private final int[][] outDistances;
+    private final int[][] inHubs;
+    private final int[][] inDistances;
+
+    private transient VertexIndex<V> index;
+
+    DistanceIndex(final IndexedGraph<V> graph) {
+        final int vertexCount = graph.getVertexCount();
+        directed = graph.isDirected();
+        vertices = new Object[vertexCount];
+        offsets = new int[vertexCount + 1];
+        for (int id = 0; id < vertexCount; id++) {
+            vertices[id] = graph.vertexAt(id);
+            offsets[id + 1] = offsets[id] + graph.getDegree(id);
+        }
+
+        targets = new int[offsets[vertexCount]];
+        final double[] edgeWeights = new double[targets.length];
+        boolean weighted = false;
+        for (int id = 0; id < vertexCount; id++) {
+            for (int i = 0; i < graph.getDegree(id); i++) {
+                targets[offsets[id] + i] = graph.getNeighbour(id, i);
+                edgeWeights[offsets[id] + i] = graph.getWeight(id, i);
+                weighted |= edgeWeights[offsets[id] + i] != 1.0;
+            }
+        }
+        weights = weighted ? edgeWeights : null;
+
+        final Labels out = new Labels(vertexCount);
+        final Labels in = directed ? new Labels(vertexCount) : out;
+        buildLabels(graph, out, in);
+
+        outHubs = out.hubs;
+        outDistances = out.distances;
+        inHubs = in.hubs;
+        inDistances = in.distances;
+        index = createIndex();
+    }
+
+    /**
+     * Returns number of edges in a shortest path between two vertices or -1 if path does not exist
+     * or vertex does not belong to graph.
+     */
+    public int getDistance(final V source, final V destination) {
+        if (source == null || destination == null) {
+            throw new IllegalArgumentException("Source and destination vertices could not be null.");
+        }
+
+        final int sourceId = index.get(source);
+        final int destinationId = index.get(destination);
+        if (sourceId < 0 || destinationId < 0) {
+            return NONE;
+        }
+        return sourceId == destinationId ? 0 : distance(sourceId, destinationId);
+    }
+
+    /**
+     * Returns a path with minimal number of edges between two vertices or empty path if it does not exist.
+     * Path from a vertex to itself is its loop edge if the vertex has one.
+     */
+    public Path<V> getPath(final V source, final V destination) {
+        if (source == null || destination == null) {
+            throw new IllegalArgumentException("Source and destination vertices could not be null.");
+        }
+
+        final int sourceId = index.get(source);
+        final int destinationId = index.get(destination);
+        if (sourceId < 0 || destinationId < 0) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (sourceId == destinationId) {
+            final int position = edgePosition(sourceId, sourceId);
+            return position < 0 ? Path.empty() : new Path<>(new Object[] {source, source},
+                    new double[] {weights == null ? 1.0 : weights[position]});
+        }
+
+        int distance = distance(sourceId, destinationId);
+        if (distance <= 0) {
+            return Path.empty();
+        }
+
+        final Object[] pathVertices = new Object[distance + 1];
+        final double[] pathWeights = weights == null ? null : new double[distance];
+        int current = sourceId;
+        pathVertices[0] = vertices[sourceId];
+        for (int i = 1; distance > 0; i++, distance--) {
+            int next = NONE;
+            int position = offsets[current];
+            for (; position < offsets[current + 1]; position++) {
+                final int adjacent = targets[position];
+                if (adjacent == destinationId || (distance > 1 && distance(adjacent, destinationId) == distance - 1)) {
+                    next = adjacent;
+                    break;
+                }
+            }
+            pathVertices[i] = vertices[next];
+            if (pathWeights != null) {
+                pathWeights[i - 1] = weights[position];
+            }
+            current = next;
+        }
+        return new Path<>(pathVertices, pathWeights);
+    }
+
+    /**
+     * Returns number of vertices of the indexed graph.
+     */
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns total number of label entries. Memory used by the index is about 8 bytes per entry.
+     */
+    public long getLabelSize() {
+        long result = 0;
+        for (final int[] hubs : outHubs) {
+            result += hubs.length;
+        }
+        if (directed) {
+            for (final int[] hubs : inHubs) {
+                result += hubs.length;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DistanceIndex: " + vertices.length + " vertices, " + getLabelSize() + " label entries";
+    }
+
+    /**
+     * Returns distance between different vertices via labels or -1 if there is no common hub.
+     */
+    private int distance(final int source, final int destination) {
+        final int[] sourceHubs = outHubs[source];
+        final int[] sourceDistances = outDistances[source];
+        final int[] destinationHubs = inHubs[destination];
+        final int[] destinationDistances = inDistances[destination];
+
+        int result = Integer.MAX_VALUE;
+        int i = 0;
+        int j = 0;
+        while (i < sourceHubs.length && j < destinationHubs.length) {
+            if (sourceHubs[i] < destinationHubs[j]) {
+                i++;
+            } else if (sourceHubs[i] > destinationHubs[j]) {
+                j++;
+            } else {
+                result = Math.min(result, sourceDistances[i++] + destinationDistances[j++]);
+            }
+        }
+        return result == Integer.MAX_VALUE ? NONE : result;
+    }
+
+    private int edgePosition(final int start, final int end) {
+        for (int position = offsets[start]; position < offsets[start + 1]; position++) {
+            if (targets[position] == end) {
+                return position;
+            }
+        }
+        return NONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private VertexIndex<V> createIndex() {
+        final VertexIndex<V> result = new VertexIndex<>(vertices.length);
+        for (int id = 0; id < vertices.length; id++) {
+            result.put((V) vertices[id], id);
+        }
+        return result;
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        index = createIndex();
+    }
+
+    /**
+     * Runs pruned BFS from every hub in batches and appends found label entries in rank order.
+     */
+    private static void buildLabels(final IndexedGraph<?> graph, final Labels out, final Labels in) {
+        final int vertexCount = graph.getVertexCount();
+        final IndexedGraph<?> reverse = graph.reverse();
+        final int[] hubs = rankVertices(graph, reverse);
+        final int maximalBatch = Runtime.getRuntime().availableProcessors() * 16;
+        final ConcurrentLinkedQueue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+        logger.debug("Building distance index of {} vertices.", vertexCount);
+
+        int batch = 1;
+        for (int from = 0; from < vertexCount; from += batch, batch = Math.min(batch * 2, maximalBatch)) {
+            final int start = from;
+            final int end = Math.min(vertexCount, from + batch);
+            final int[][] found = new int[(end - start) * 2][];
+            IntStream.range(start, end).parallel().forEach(rank -> {
+                Workspace workspace = workspaces.poll();
+                if (workspace == null) {
+                    workspace = new Workspace(vertexCount);
+                }
+                try {
+                    found[(rank - start) * 2] = search(graph, hubs[rank], out, in, workspace);
+                    if (in != out) {
+                        found[(rank - start) * 2 + 1] = search(reverse, hubs[rank], in, out, workspace);
+                    }
+                } finally {
+                    workspaces.offer(workspace);
+                }
+            });
+
+            for (int rank = start; rank < end; rank++) {
+                in.append(rank, found[(rank - start) * 2]);
+                if (in != out) {
+                    out.append(rank, found[(rank - start) * 2 + 1]);
+                }
+            }
+        }
+
+        out.trim();
+        in.trim();
+        logger.debug("Distance index of {} vertices has {} label entries.", vertexCount, out.size + (in != out ? in.size : 0));
+    }
+
+    /**
+     * Runs BFS from hub and returns pairs of vertex and distance which are not covered by existing labels.
+     * Hub label is taken from the hub side, covered distances are checked against labels of the target side.
+     */
+    private static int[] search(final IndexedGraph<?> graph,
+                                final int hub,
+                                final Labels hubSide,
+                                final Labels targetSide,
+                                final Workspace workspace) {
+        final int[] hubDistances = workspace.hubDistances;
+        final int[] ownHubs = hubSide.hubs[hub];
+        final int[] ownDistances = hubSide.distances[hub];
+        final int ownSize = hubSide.sizes[hub];
+        for (int i = 0; i < ownSize; i++) {
+            hubDistances[ownHubs[i]] = ownDistances[i];
+        }
+
+        int[] result = new int[16];
+        int size = 0;
+        final TraversalState state = workspace.state.reset(graph.getVertexCount());
+        state.visit(hub, hub);
+        state.enqueue(hub);
+        for (int distance = 0; !state.isQueueEmpty(); distance++) {
+            for (int count = state.getQueueSize(); count > 0; count--) {
+                final int current = state.dequeue();
+                if (isCovered(targetSide, current, distance, hubDistances)) {
+                    continue;
+                }
+
+                if (size + 2 > result.length) {
+                    result = Arrays.copyOf(result, result.length * 2);
+                }
+                result[size++] = current;
+                result[size++] = distance;
+
+                final int degree = graph.getDegree(current);
+                for (int i = 0; i < degree; i++) {
+                    final int adjacent = graph.getNeighbour(current, i);
+                    if (!state.isVisited(adjacent)) {
+                        state.visit(adjacent, current);
+                        state.enqueue(adjacent);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < ownSize; i++) {
+            hubDistances[ownHubs[i]] = NONE;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static boolean isCovered(final Labels labels, final int vertex, final int distance, final int[] hubDistances) {
+        final int[] hubs = labels.hubs[vertex];
+        final int[] distances = labels.distances[vertex];
+        for (int i = labels.sizes[vertex] - 1; i >= 0; i--) {
+            final int hubDistance = hubDistances[hubs[i]];
+            if (hubDistance != NONE && hubDistance + distances[i] <= distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns vertex ids ordered by descending sum of outgoing and incoming degrees.
+     */
+    private static int[] rankVertices(final IndexedGraph<?> graph, final IndexedGraph<?> reverse) {
+        final int vertexCount = graph.getVertexCount();
+        final long[] keys = new long[vertexCount];
+        for (int id = 0; id < vertexCount; id++) {
+            final int degree = graph.getDegree(id) + (reverse == graph ? 0 : reverse.getDegree(id));
+            keys[id] = (long) (Integer.MAX_VALUE - degree) << 32 | id;
+        }
+        Arrays.sort(keys);
+
+        final int[] result = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Arrays of graph size used by one BFS at a time. Distances of hub label entries are set before a BFS
+     * and cleared after it, other elements stay -1.
+     */
+    private static final class Workspace {
+        private final int[] hubDistances;
+        private final TraversalState state = new TraversalState();
+
+        Workspace(final int vertexCount) {
+            hubDistances = new int[vertexCount];
+            Arrays.fill(hubDistances, NONE);
+        }
+    }
+
+    /**
+     * Growable labels of all vertices, hubs of every label are sorted by rank.
+     */
+    private static final class Labels {
+        private final int[][] hubs;
+        private final int[][] distances;
+        private final int[] sizes;
+        private long size;
+
+        Labels(final int vertexCount) {
+            hubs = new int[vertexCount][];
+            distances = new int[vertexCount][];
+            sizes = new int[vertexCount];
+            Arrays.fill(hubs, EMPTY);
+            Arrays.fill(distances, EMPTY);
+        }
+
+        /**
+         * Appends entries of hub with provided rank, entries are pairs of vertex and distance.
+         */
+        void append(final int rank, final int[] entries) {
+            for (int i = 0; i < entries.length; i += 2) {
+                final int vertex = entries[i];
+                final int count = sizes[vertex];
+                if (count == hubs[vertex].length) {
+                    hubs[vertex] = Arrays.copyOf(hubs[vertex], Math.max(4, count * 2));
+                    distances[vertex] = Arrays.copyOf(distances[vertex], Math.max(4, count * 2));
+                }
+                hubs[vertex][count] = rank;
+                distances[vertex][count] = entries[i + 1];
+                sizes[vertex]++;
+            }
+            size += entries.length / 2;
+        }
+
+        void trim() {
+            for (int vertex = 0; vertex < hubs.length; vertex++) {
+                if (hubs[vertex].length != sizes[vertex]) {
+                    hubs[vertex] = Arrays.copyOf(hubs[vertex], sizes[vertex]);
+                    distances[vertex] = Arrays.copyOf(distances[vertex], sizes[vertex]);
+                }
+            }
+        }
+    }
+}
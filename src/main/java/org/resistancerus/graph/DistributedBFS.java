@@ -0,0 +1,198 @@
+package org.resistancerus.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Coordinator of level-synchronous BFS over shards of a PartitionedGraph. Every superstep all shards which have
+ * a frontier or received batches expand them in parallel through ShardTransport: neighbours a shard owns are visited
+ * at once, neighbours owned by other shards are returned in one FrontierBatch per destination shard. The coordinator
+ * waits for all shards and passes the batches to their destination shards in the next superstep, which visit
+ * received vertices they have not visited yet before expanding. Both local and received vertices of a superstep are
+ * one level farther from source, so the path has minimal number of edges as in sequential BFS.
+ * A shard reaching the destination stops at once, if it sent the destination to its owner, the owner receives it
+ * in one more superstep of its own. Frontiers and predecessors are kept by the shards owning the vertices, the path
+ * is reconstructed by following predecessors from shard to shard. The coordinator keeps only batches in flight between two supersteps.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphShard
+ * @see PathCalculator#getDistributedPath(PartitionedGraph, Object, Object)
+ */
+final class DistributedBFS<V> {
+
+    private static final Object[] NO_PATH = new Object[0];
+
+    private final PartitionedGraph<V> graph;
+    private final ShardTransport<V> transport;
+    private final int shardCount;
+    private final long query;
+    private final V destination;
+
+    private long expanded;
+    private long scanned;
+    private int frontierPeak;
+    private long supersteps;
+    private long batchCount;
+    private long messageCount;
+
+    private DistributedBFS(final PartitionedGraph<V> graph, final V destination) {
+        this.graph = graph;
+        this.transport = graph.getTransport();
+        this.shardCount = graph.getShardCount();
+        this.query = graph.nextQueryId();
+        this.destination = destination;
+    }
+
+    /**
+     * Returns vertices of a path between two different vertices of the partitioned graph
+     * or empty array if path does not exist.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    static <V> Object[] getPath(final PartitionedGraph<V> graph,
+                                final V source,
+                                final V destination,
+                                final QueryStatistics statistics) {
+        final DistributedBFS<V> search = new DistributedBFS<>(graph, destination);
+        try {
+            return search.search(source);
+        } finally {
+            search.release();
+            graph.recordQuery(search.supersteps, search.batchCount, search.messageCount);
+            if (statistics != null) {
+                statistics.add(search.expanded, search.scanned, search.frontierPeak);
+            }
+        }
+    }
+
+    private Object[] search(final V source) {
+        final int sourceShard = graph.getShardOf(source);
+        final FrontierBatch<V> start = new FrontierBatch<>(sourceShard, sourceShard);
+        start.add(source, source);
+        List<List<FrontierBatch<V>>> received = createInboxes();
+        received.get(sourceShard).add(start);
+        final int[] frontierSizes = new int[shardCount];
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<ShardStep<V>>[] steps = new CompletableFuture[shardCount];
+
+        while (true) {
+            QueryDeadline.checkCurrent();
+            int frontierSize = 0;
+            boolean active = false;
+            for (int shard = 0; shard < shardCount; shard++) {
+                final List<FrontierBatch<V>> batches = received.get(shard);
+                if (frontierSizes[shard] > 0 || !batches.isEmpty()) {
+                    steps[shard] = transport.expand(shard, query, destination, batches);
+                    active = true;
+                } else {
+                    steps[shard] = null;
+                }
+                frontierSize += frontierSizes[shard];
+                for (final FrontierBatch<V> batch : batches) {
+                    frontierSize += batch.size();
+                }
+            }
+            if (!active) {
+                return NO_PATH;
+            }
+            supersteps++;
+            frontierPeak = Math.max(frontierPeak, frontierSize);
+
+            received = createInboxes();
+            ShardStep<V> reached = null;
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (steps[shard] == null) {
+                    continue;
+                }
+                final ShardStep<V> step = join(steps, shard);
+                expanded += step.getExpanded();
+                scanned += step.getScanned();
+                frontierSizes[shard] = step.getFrontierSize();
+                if (step.isReached() && (reached == null || step.getBatches().isEmpty())) {
+                    reached = step;
+                }
+                for (final FrontierBatch<V> batch : step.getBatches()) {
+                    received.get(batch.getDestinationShard()).add(batch);
+                    batchCount++;
+                    messageCount += batch.size();
+                }
+            }
+            if (reached != null) {
+                if (!reached.getBatches().isEmpty()) {
+                    deliver(reached.getBatches().get(0));
+                }
+                return createPathArray();
+            }
+        }
+    }
+
+    /**
+     * Delivers batch carrying the destination to its owner, which visits the destination.
+     */
+    private void deliver(final FrontierBatch<V> batch) {
+        final int owner = batch.getDestinationShard();
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<ShardStep<V>>[] steps = new CompletableFuture[] {
+                transport.expand(owner, query, destination, Collections.singletonList(batch))
+        };
+        join(steps, 0);
+    }
+
+    /**
+     * Follows predecessors from destination to source through shards owning them.
+     */
+    private Object[] createPathArray() {
+        final List<V> reversed = new ArrayList<>();
+        V current = destination;
+        while (true) {
+            reversed.add(current);
+            final V predecessor = transport.getPredecessor(graph.getShardOf(current), query, current);
+            if (predecessor.equals(current)) {
+                break;
+            }
+            current = predecessor;
+        }
+
+        final Object[] result = new Object[reversed.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = reversed.get(result.length - 1 - i);
+        }
+        return result;
+    }
+
+    private void release() {
+        for (int shard = 0; shard < shardCount; shard++) {
+            transport.release(shard, query);
+        }
+    }
+
+    /**
+     * Waits for a superstep of a shard. If the shard failed, waits for the other shards, so none of them is still
+     * running when the query is released, and rethrows the exception of the shard as it is.
+     */
+    private static <T> T join(final CompletableFuture<T>[] steps, final int shard) {
+        try {
+            return steps[shard].join();
+        } catch (RuntimeException e) {
+            for (final CompletableFuture<T> step : steps) {
+                if (step != null) {
+                    step.handle((result, error) -> null).join();
+                }
+            }
+            if (e instanceof CompletionException && e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private List<List<FrontierBatch<V>>> createInboxes() {
+        final List<List<FrontierBatch<V>>> result = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            result.add(new ArrayList<>());
+        }
+        return result;
+    }
+}
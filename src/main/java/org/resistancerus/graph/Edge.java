@@ -7,7 +7,7 @@ import lombok.Getter;
 import java.util.Objects;
 
 /**
- * Edge object containing source and destination vertices.
+ * Edge object containing source and destination vertices and edge weight.
  * @author Malishevskii Oleg
  * @version 1.0
  */
@@ -20,6 +20,16 @@ public class Edge<V> {
     @Getter
     private V destination;
 
+    @Getter
+    private double weight;
+
+    /**
+     * Creates edge with weight 1.
+     */
+    public Edge(final V source, final V destination) {
+        this(source, destination, 1.0);
+    }
+
     @Override
     public String toString() {
         return source + " - " + destination;
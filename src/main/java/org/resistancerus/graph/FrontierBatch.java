@@ -0,0 +1,87 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Frontier vertices discovered by one shard during a superstep of distributed BFS and owned by another shard.
+ * Every vertex is sent together with its predecessor, so the owner shard could reconstruct the path.
+ * Vertices and predecessors are kept in two growing arrays, a transport sending batches over network
+ * serializes them pair by pair and rebuilds the batch on the receiving side with add.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see ShardTransport
+ */
+public final class FrontierBatch<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int sourceShard;
+    private final int destinationShard;
+    private Object[] vertices = new Object[INITIAL_CAPACITY];
+    private Object[] predecessors = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    public FrontierBatch(final int sourceShard, final int destinationShard) {
+        if (sourceShard < 0 || destinationShard < 0) {
+            throw new IllegalArgumentException("Shard numbers must not be negative.");
+        }
+
+        this.sourceShard = sourceShard;
+        this.destinationShard = destinationShard;
+    }
+
+    /**
+     * Appends vertex reached from provided predecessor.
+     */
+    public void add(final V vertex, final V predecessor) {
+        if (vertex == null || predecessor == null) {
+            throw new IllegalArgumentException("Vertex and predecessor could not be null.");
+        }
+
+        if (size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, size * 2);
+            predecessors = Arrays.copyOf(predecessors, size * 2);
+        }
+        vertices[size] = vertex;
+        predecessors[size] = predecessor;
+        size++;
+    }
+
+    public int getSourceShard() {
+        return sourceShard;
+    }
+
+    public int getDestinationShard() {
+        return destinationShard;
+    }
+
+    /**
+     * Returns number of vertices in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getVertex(final int index) {
+        checkIndex(index);
+        return (V) vertices[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getPredecessor(final int index) {
+        checkIndex(index);
+        return (V) predecessors[index];
+    }
+
+    @Override
+    public String toString() {
+        return "FrontierBatch " + sourceShard + " -> " + destinationShard + ": " + size + " vertices";
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+}
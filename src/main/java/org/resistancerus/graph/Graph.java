@@ -1,5 +1,7 @@
 package org.resistancerus.graph;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -29,6 +31,17 @@ public interface Graph<V> {
      */
     boolean addEdge(final V start, final V end);
 
+    /**
+     * Adds new weighted edge to graph. Both vertices must exist, weight must be a non-negative number.
+     * Edges added without weight have weight 1. Default implementation supports only weight 1.
+     */
+    default boolean addEdge(final V start, final V end, final double weight) {
+        if (weight != 1.0) {
+            throw new UnsupportedOperationException("Graph does not support weighted edges.");
+        }
+        return addEdge(start, end);
+    }
+
     /**
      * Removes edge from the graph. If directed edges are not supported, reverse edge will also be deleted.
      */
@@ -39,6 +52,13 @@ public interface Graph<V> {
      */
     boolean hasEdge(final V start, final V end);
 
+    /**
+     * Returns weight of the edge or NaN if edge does not exist. Default implementation returns 1 for every edge.
+     */
+    default double getEdgeWeight(final V start, final V end) {
+        return hasEdge(start, end) ? 1.0 : Double.NaN;
+    }
+
     /**
      * Checks if graph supports directed edges.
      */
@@ -58,4 +78,37 @@ public interface Graph<V> {
      * Returns a set of adjacent vertices for provided vertices or null.
      */
     Set<V> getAdjacentVertices(final V vertex);
+
+    /**
+     * Returns a set of vertices which have edges to provided vertex or null.
+     * If directed edges are not supported, it is the same set as adjacent vertices.
+     * Default implementation of a directed graph scans adjacent vertices of all vertices.
+     */
+    default Set<V> getIncomingVertices(final V vertex) {
+        if (!hasVertex(vertex)) {
+            return null;
+        }
+
+        if (!isDirected()) {
+            return getAdjacentVertices(vertex);
+        }
+
+        final Set<V> result = new HashSet<>();
+        for (final V current : getVertices()) {
+            if (getAdjacentVertices(current).contains(vertex)) {
+                result.add(current);
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Returns number of modifications of the graph. Graphs tracking their modifications return a positive number
+     * which grows every time a vertex or an edge is added or removed, so two equal values mean that the graph
+     * has not been changed in between. Immutable graphs return 1. Default implementation returns 0 which means
+     * that modifications are not tracked.
+     */
+    default long getModificationCount() {
+        return 0;
+    }
 }
@@ -0,0 +1,202 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Builder for bulk loading of a graph.
+ * Edges are buffered as pairs of int vertex ids, so build() knows the degree of every vertex, pre-sizes all adjacency
+ * sets and inserts edges without per-edge vertex and edge existence checks. Duplicate edges are dropped.
+ * Vertices of added edges are added to the graph implicitly.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createGraphBuilder(boolean, boolean)
+ */
+public final class GraphBuilder<V> {
+
+    private static Logger logger = LoggerFactory.getLogger(GraphBuilder.class);
+
+    private final boolean directed;
+    private final boolean loopsAllowed;
+
+    private final VertexIndex<V> index = new VertexIndex<>(16);
+    private Object[] vertices = new Object[16];
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private double[] weights;
+    private int edgeCount;
+
+    GraphBuilder(final boolean directed, final boolean loopsAllowed) {
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+    }
+
+    /**
+     * Reserves room for provided number of edges.
+     */
+    public GraphBuilder<V> expectedEdges(final int count) {
+        ensureEdgeCapacity(count);
+        return this;
+    }
+
+    /**
+     * Adds vertex to the graph.
+     */
+    public GraphBuilder<V> addVertex(final V vertex) {
+        idOf(vertex);
+        return this;
+    }
+
+    /**
+     * Adds all provided vertices to the graph.
+     */
+    public GraphBuilder<V> addVertices(final Iterable<? extends V> vertices) {
+        if (vertices == null) {
+            throw new IllegalArgumentException("Vertices could not be null.");
+        }
+        vertices.forEach(this::addVertex);
+        return this;
+    }
+
+    /**
+     * Adds edge with weight 1 to the graph.
+     */
+    public GraphBuilder<V> addEdge(final V start, final V end) {
+        return addEdge(start, end, 1.0);
+    }
+
+    /**
+     * Adds weighted edge to the graph. Weight must be a non-negative number.
+     */
+    public GraphBuilder<V> addEdge(final V start, final V end, final double weight) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be a non-negative number.");
+        }
+
+        if (!loopsAllowed && start.equals(end)) {
+            throw new IllegalArgumentException("Loop creation is not allowed.");
+        }
+
+        ensureEdgeCapacity(edgeCount + 1);
+        starts[edgeCount] = idOf(start);
+        ends[edgeCount] = idOf(end);
+        if (weight != 1.0 && weights == null) {
+            weights = new double[starts.length];
+            Arrays.fill(weights, 0, edgeCount, 1.0);
+        }
+        if (weights != null) {
+            weights[edgeCount] = weight;
+        }
+        edgeCount++;
+        return this;
+    }
+
+    /**
+     * Adds edges with weight 1, i-th edge connects starts[i] and ends[i].
+     */
+    public GraphBuilder<V> addEdges(final V[] starts, final V[] ends) {
+        return addEdges(starts, ends, null);
+    }
+
+    /**
+     * Adds weighted edges, i-th edge connects starts[i] and ends[i] and has weight weights[i].
+     * Weights could be null, edges have weight 1 in that case.
+     */
+    public GraphBuilder<V> addEdges(final V[] starts, final V[] ends, final double[] weights) {
+        if (starts == null || ends == null) {
+            throw new IllegalArgumentException("Start and end vertices could not be null.");
+        }
+
+        if (starts.length != ends.length || (weights != null && weights.length != starts.length)) {
+            throw new IllegalArgumentException("Start vertices, end vertices and weights must have the same length.");
+        }
+
+        ensureEdgeCapacity(edgeCount + starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            addEdge(starts[i], ends[i], weights == null ? 1.0 : weights[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds all edges of provided stream.
+     */
+    public GraphBuilder<V> addEdges(final Stream<Edge<V>> edges) {
+        if (edges == null) {
+            throw new IllegalArgumentException("Edges could not be null.");
+        }
+        edges.sequential().forEach(edge -> addEdge(edge.getSource(), edge.getDestination(), edge.getWeight()));
+        return this;
+    }
+
+    /**
+     * @return new graph containing all added vertices and edges.
+     */
+    public Graph<V> build() {
+        final int vertexCount = index.size();
+        final int[] degrees = new int[vertexCount];
+        final int[] inDegrees = new int[directed ? vertexCount : 0];
+        for (int i = 0; i < edgeCount; i++) {
+            degrees[starts[i]]++;
+            if (directed) {
+                inDegrees[ends[i]]++;
+            } else if (starts[i] != ends[i]) {
+                degrees[ends[i]]++;
+            }
+        }
+
+        final GraphImpl<V> graph = new GraphImpl<>(directed, loopsAllowed, vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertexUnchecked(vertexAt(i), degrees[i], directed ? inDegrees[i] : 0);
+        }
+
+        int addedEdges = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            if (graph.addEdgeUnchecked(vertexAt(starts[i]), vertexAt(ends[i]), weights == null ? 1.0 : weights[i])) {
+                addedEdges++;
+            }
+        }
+        graph.repairConnectivity();
+
+        logger.debug("Built graph with {} vertices and {} edges.", vertexCount, addedEdges);
+        return graph;
+    }
+
+    private int idOf(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex could not be null.");
+        }
+
+        final int id = index.getOrPut(vertex, index.size());
+        if (id == vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+        vertices[id] = vertex;
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexAt(final int id) {
+        return (V) vertices[id];
+    }
+
+    private void ensureEdgeCapacity(final int capacity) {
+        if (capacity <= starts.length) {
+            return;
+        }
+
+        final int newCapacity = Math.max(capacity, starts.length * 2);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        if (weights != null) {
+            weights = Arrays.copyOf(weights, newCapacity);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.resistancerus.graph;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Factory class to get instances of directed or undirected graph.
  * @author Malishevskii Oleg
@@ -25,4 +27,270 @@ public abstract class GraphFactory {
     public static <V> Graph<V> createGraph(final boolean directed) {
         return createGraph(directed, false);
     }
+
+    /**
+     * @return Thread-safe Graph instance which allows concurrent reads and writes.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @see Graph
+     */
+    public static <V> Graph<V> createConcurrentGraph(final boolean directed, final boolean loopsAllowed) {
+        return new ConcurrentGraphImpl<>(directed, loopsAllowed);
+    }
+
+    /**
+     * @return Thread-safe Graph instance which allows concurrent reads and writes.
+     * @param directed specifies directed edges support.
+     * @see Graph
+     */
+    public static <V> Graph<V> createConcurrentGraph(final boolean directed) {
+        return createConcurrentGraph(directed, false);
+    }
+
+    /**
+     * @return Thread-safe graph providing immutable snapshots of its versions.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @see VersionedGraph
+     */
+    public static <V> VersionedGraph<V> createVersionedGraph(final boolean directed, final boolean loopsAllowed) {
+        return new VersionedGraph<>(directed, loopsAllowed);
+    }
+
+    /**
+     * @return Thread-safe graph providing immutable snapshots of its versions.
+     * @param directed specifies directed edges support.
+     * @see VersionedGraph
+     */
+    public static <V> VersionedGraph<V> createVersionedGraph(final boolean directed) {
+        return createVersionedGraph(directed, false);
+    }
+
+    /**
+     * @return Graph with timestamped edges, edges expire when they become older than the latest timestamp minus retention.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @param bucketWidth width of time buckets edges expire by.
+     * @param retention time edges are kept for, Long.MAX_VALUE if edges expire only by TemporalGraph.expireBefore.
+     * @see TemporalGraph
+     */
+    public static <V> TemporalGraph<V> createTemporalGraph(final boolean directed,
+                                                           final boolean loopsAllowed,
+                                                           final long bucketWidth,
+                                                           final long retention) {
+        return new TemporalGraph<>(directed, loopsAllowed, bucketWidth, retention);
+    }
+
+    /**
+     * @return Graph with timestamped edges which expire only by TemporalGraph.expireBefore.
+     * @param directed specifies directed edges support.
+     * @param bucketWidth width of time buckets edges expire by.
+     * @see TemporalGraph
+     */
+    public static <V> TemporalGraph<V> createTemporalGraph(final boolean directed, final long bucketWidth) {
+        return createTemporalGraph(directed, false, bucketWidth, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return Graph split into shards which calculates paths via distributed BFS.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @param shardCount number of shards.
+     * @param partitioner assigns vertices to shards.
+     * @param transport delivers frontier batches between shards.
+     * @see PartitionedGraph
+     */
+    public static <V> PartitionedGraph<V> createPartitionedGraph(final boolean directed,
+                                                                 final boolean loopsAllowed,
+                                                                 final int shardCount,
+                                                                 final ShardPartitioner<V> partitioner,
+                                                                 final ShardTransport<V> transport) {
+        return new PartitionedGraph<>(directed, loopsAllowed, shardCount, partitioner, transport);
+    }
+
+    /**
+     * @return Graph split into shards by vertex hash codes, shards exchange frontier batches in process.
+     * @param directed specifies directed edges support.
+     * @param shardCount number of shards.
+     * @see PartitionedGraph
+     * @see LoopbackTransport
+     */
+    public static <V> PartitionedGraph<V> createPartitionedGraph(final boolean directed, final int shardCount) {
+        return createPartitionedGraph(directed, false, shardCount, ShardPartitioner.hash(), new LoopbackTransport<>());
+    }
+
+    /**
+     * @return Graph with primitive int vertices.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @see IntGraph
+     */
+    public static IntGraph createIntGraph(final boolean directed, final boolean loopsAllowed) {
+        return new IntGraphImpl(directed, loopsAllowed);
+    }
+
+    /**
+     * @return Graph with primitive int vertices.
+     * @param directed specifies directed edges support.
+     * @see IntGraph
+     */
+    public static IntGraph createIntGraph(final boolean directed) {
+        return createIntGraph(directed, false);
+    }
+
+    /**
+     * @return Graph with primitive long vertices.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @see LongGraph
+     */
+    public static LongGraph createLongGraph(final boolean directed, final boolean loopsAllowed) {
+        return new LongGraphImpl(directed, loopsAllowed);
+    }
+
+    /**
+     * @return Graph with primitive long vertices.
+     * @param directed specifies directed edges support.
+     * @see LongGraph
+     */
+    public static LongGraph createLongGraph(final boolean directed) {
+        return createLongGraph(directed, false);
+    }
+
+    /**
+     * @return Builder for bulk loading of a graph.
+     * @param directed specifies directed edges support.
+     * @param loopsAllowed specifies loop edges support.
+     * @see GraphBuilder
+     */
+    public static <V> GraphBuilder<V> createGraphBuilder(final boolean directed, final boolean loopsAllowed) {
+        return new GraphBuilder<>(directed, loopsAllowed);
+    }
+
+    /**
+     * @return Builder for bulk loading of a graph.
+     * @param directed specifies directed edges support.
+     * @see GraphBuilder
+     */
+    public static <V> GraphBuilder<V> createGraphBuilder(final boolean directed) {
+        return createGraphBuilder(directed, false);
+    }
+
+    /**
+     * @return Immutable compact snapshot of provided graph.
+     * @param graph graph to take snapshot of.
+     * @see CompactGraph
+     */
+    public static <V> CompactGraph<V> createCompactGraph(final Graph<V> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph could not be null.");
+        }
+        return new CompactGraph<>(graph);
+    }
+
+    /**
+     * @return Immutable compact snapshot of provided graph with vertex ids in provided order.
+     * @param graph graph to take snapshot of.
+     * @param ordering order of vertex ids.
+     * @see CompactGraph#reorder(VertexOrdering)
+     */
+    public static <V> CompactGraph<V> createCompactGraph(final Graph<V> graph, final VertexOrdering ordering) {
+        return createCompactGraph(graph).reorder(ordering);
+    }
+
+    /**
+     * @return Cache of paths of provided graph which evicts least recently used paths.
+     * @param graph graph to calculate paths for.
+     * @param maximumSize maximal number of cached paths.
+     * @see PathCache
+     */
+    public static <V> PathCache<V> createPathCache(final Graph<V> graph, final int maximumSize) {
+        return new PathCache<>(graph, maximumSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return Cache of paths of provided graph which evicts least recently used paths and paths older than time to live.
+     * @param graph graph to calculate paths for.
+     * @param maximumSize maximal number of cached paths.
+     * @param timeToLive time during which a cached path is returned.
+     * @param unit unit of time to live.
+     * @see PathCache
+     */
+    public static <V> PathCache<V> createPathCache(final Graph<V> graph,
+                                                   final int maximumSize,
+                                                   final long timeToLive,
+                                                   final TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Time unit could not be null.");
+        }
+        return new PathCache<>(graph, maximumSize, unit.toNanos(timeToLive));
+    }
+
+    /**
+     * @return Asynchronous path query service of provided graph running queries on platform threads without timeout.
+     * @param graph graph to calculate paths for, must be safe for concurrent reads.
+     * @param parallelism maximal number of concurrently running queries.
+     * @param queueCapacity maximal number of admitted queries waiting to run.
+     * @see PathQueryService
+     */
+    public static <V> PathQueryService<V> createPathQueryService(final Graph<V> graph,
+                                                                 final int parallelism,
+                                                                 final int queueCapacity) {
+        return new PathQueryService<>(graph, parallelism, queueCapacity, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * @return Asynchronous path query service of provided graph.
+     * @param graph graph to calculate paths for, must be safe for concurrent reads.
+     * @param parallelism maximal number of concurrently running queries.
+     * @param queueCapacity maximal number of admitted queries waiting to run.
+     * @param timeout default time after submission a query must complete within.
+     * @param unit unit of timeout.
+     * @param virtualThreads run every query on its own virtual thread if the JDK supports them.
+     * @see PathQueryService
+     */
+    public static <V> PathQueryService<V> createPathQueryService(final Graph<V> graph,
+                                                                 final int parallelism,
+                                                                 final int queueCapacity,
+                                                                 final long timeout,
+                                                                 final TimeUnit unit,
+                                                                 final boolean virtualThreads) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Time unit could not be null.");
+        }
+        return new PathQueryService<>(graph, parallelism, queueCapacity, unit.toNanos(timeout), virtualThreads);
+    }
+
+    /**
+     * @return Exact hop distance index of provided graph. Index is built on all available processors
+     * and does not reflect later changes of the graph.
+     * @param graph graph to build index for.
+     * @see DistanceIndex
+     */
+    public static <V> DistanceIndex<V> createDistanceIndex(final Graph<V> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph could not be null.");
+        }
+        return new DistanceIndex<>(graph instanceof IndexedGraph ? (IndexedGraph<V>) graph : new CompactGraph<>(graph));
+    }
+
+    /**
+     * @return Lazy breadth-first traversal of vertices reachable from provided vertex.
+     * @param graph graph to traverse.
+     * @param start start vertex.
+     * @see Traversal
+     */
+    public static <V> Traversal<V> createBreadthFirstTraversal(final Graph<V> graph, final V start) {
+        return new Traversal<>(graph, start, false);
+    }
+
+    /**
+     * @return Lazy depth-first traversal of vertices reachable from provided vertex.
+     * @param graph graph to traverse.
+     * @param start start vertex.
+     * @see Traversal
+     */
+    public static <V> Traversal<V> createDepthFirstTraversal(final Graph<V> graph, final V start) {
+        return new Traversal<>(graph, start, true);
+    }
 }
@@ -16,11 +16,25 @@ class GraphImpl<V> implements Graph<V> {
     private boolean directed;
     private boolean loopsAllowed;
 
-    private final Map<V, Set<V>> adjacentVerticesMap = new HashMap<>();
+    private final Map<V, AdjacencySet<V>> adjacentVerticesMap;
+    private final Map<V, AdjacencySet<V>> incomingVerticesMap;
+    private long modificationCount = 1;
+    private ConnectivityIndex<V> connectivity;
 
     GraphImpl(final boolean directed, boolean loopsAllowed) {
+        this(directed, loopsAllowed, 0);
+    }
+
+    /**
+     * Creates graph with room for provided number of vertices.
+     */
+    GraphImpl(final boolean directed, final boolean loopsAllowed, final int expectedVertices) {
         this.directed = directed;
         this.loopsAllowed = loopsAllowed;
+        final int capacity = (int) Math.min(Integer.MAX_VALUE, expectedVertices * 4L / 3 + 1);
+        this.adjacentVerticesMap = new HashMap<>(capacity);
+        this.incomingVerticesMap = new HashMap<>(directed ? capacity : 0);
+        this.connectivity = new ConnectivityIndex<>(directed);
     }
 
     @Override
@@ -43,18 +57,34 @@ class GraphImpl<V> implements Graph<V> {
         return adjacentVerticesMap.containsKey(vertex) ? Collections.unmodifiableSet(adjacentVerticesMap.get(vertex)) : null;
     }
 
+    @Override
+    public Set<V> getIncomingVertices(V vertex) {
+        if (!directed) {
+            return getAdjacentVertices(vertex);
+        }
+        return incomingVerticesMap.containsKey(vertex) ? Collections.unmodifiableSet(incomingVerticesMap.get(vertex)) : null;
+    }
+
     @Override
     public boolean addVertex(final V vertex) {
         if (vertex == null) {
             throw new IllegalArgumentException("Vertex could not be null.");
         }
 
+        final long started = Instrumentation.startMutation();
         if (hasVertex(vertex)) {
             logger.debug("Vertex {} already exist in the graph.", vertex);
             return false;
         }
 
-        adjacentVerticesMap.put(vertex, new HashSet<>());
+        adjacentVerticesMap.put(vertex, new AdjacencySet<>());
+        if (directed) {
+            incomingVerticesMap.put(vertex, new AdjacencySet<>());
+        }
+        modificationCount++;
+        connectivity.addVertex(vertex);
+        maintainConnectivity();
+        Instrumentation.endMutation(GraphOperation.ADD_VERTEX, started);
 
         logger.debug("Added new vertex: {}", vertex);
 
@@ -72,24 +102,45 @@ class GraphImpl<V> implements Graph<V> {
             throw new IllegalArgumentException("Couldn't remove null vertex.");
         }
 
+        final long started = Instrumentation.startMutation();
         if (!hasVertex(vertex)) {
             logger.error("Couldn't remove vertex which is not in graph.");
             return false;
         }
 
-        adjacentVerticesMap.remove(vertex);
-        adjacentVerticesMap.forEach((v, adjacentVertices) -> adjacentVertices.remove(vertex));
+        final AdjacencySet<V> adjacentVertices = adjacentVerticesMap.remove(vertex);
+        if (directed) {
+            final AdjacencySet<V> incomingVertices = incomingVerticesMap.remove(vertex);
+            adjacentVertices.forEach(adjacent -> removeReference(incomingVerticesMap, adjacent, vertex));
+            incomingVertices.forEach(incoming -> removeReference(adjacentVerticesMap, incoming, vertex));
+        } else {
+            adjacentVertices.forEach(adjacent -> removeReference(adjacentVerticesMap, adjacent, vertex));
+        }
+        modificationCount++;
+        connectivity.remove();
+        maintainConnectivity();
+        Instrumentation.endMutation(GraphOperation.REMOVE_VERTEX, started);
 
-        logger.debug("Removed vertex: " + vertex);
+        logger.debug("Removed vertex: {}", vertex);
         return true;
     }
 
     @Override
     public boolean addEdge(final V start, final V end) {
+        return addEdge(start, end, 1.0);
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
         if (start == null || end == null) {
             throw new IllegalArgumentException("Start or end vertex could not be null.");
         }
 
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be a non-negative number.");
+        }
+
+        final long started = Instrumentation.startMutation();
         if (!hasVertex(start) || !hasVertex(end)) {
             throw new IllegalArgumentException("Start or end vertex does not belong to graph.");
         }
@@ -103,15 +154,21 @@ class GraphImpl<V> implements Graph<V> {
             throw new IllegalArgumentException("Loop creation is not allowed.");
         }
 
-        addAdjacentVertex(start, end);
+        addAdjacentVertex(start, end, weight);
+        modificationCount++;
+        connectivity.addEdge(start, end);
         if (start.equals(end)) {
+            maintainConnectivity();
+            Instrumentation.endMutation(GraphOperation.ADD_EDGE, started);
             logger.debug("Added loop edge: {} - {}", start, end);
             return true;
         }
 
         if (!directed) {
-            addAdjacentVertex(end, start);
+            addAdjacentVertex(end, start, weight);
         }
+        maintainConnectivity();
+        Instrumentation.endMutation(GraphOperation.ADD_EDGE, started);
 
         logger.debug("Added edge: {} - {}", start, end);
         return true;
@@ -133,35 +190,132 @@ class GraphImpl<V> implements Graph<V> {
                 : adjacentVerticesMap.get(start).contains(end) || adjacentVerticesMap.get(end).contains(start);
     }
 
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final AdjacencySet<V> adjacentVertices = adjacentVerticesMap.get(start);
+        return adjacentVertices == null ? Double.NaN : adjacentVertices.getWeight(end);
+    }
+
     @Override
     public boolean removeEdge(final V start, final V end) {
         if (start == null || end == null) {
             throw new IllegalArgumentException("Start or end vertex could not be null.");
         }
 
+        final long started = Instrumentation.startMutation();
         if (!hasEdge(start, end)) {
             logger.error("Couldn't delete not existing edge.");
             return false;
         }
 
-        adjacentVerticesMap.forEach((v, adjacentVertices) -> {
-            adjacentVertices.remove(start);
-            adjacentVertices.remove(end);
-        });
+        adjacentVerticesMap.get(start).remove(end);
+        if (directed) {
+            incomingVerticesMap.get(end).remove(start);
+        } else {
+            adjacentVerticesMap.get(end).remove(start);
+        }
+        modificationCount++;
+        connectivity.remove();
+        maintainConnectivity();
+        Instrumentation.endMutation(GraphOperation.REMOVE_EDGE, started);
 
         logger.debug("Removed edge: {} - {}", start, end);
 
         return true;
     }
 
+    /**
+     * Adds vertex which does not belong to graph with room for provided number of adjacent and incoming vertices.
+     * Used for bulk loading, no checks are performed and connectivity index is not rebuilt.
+     * @see #repairConnectivity()
+     */
+    void addVertexUnchecked(final V vertex, final int expectedDegree, final int expectedInDegree) {
+        adjacentVerticesMap.put(vertex, new AdjacencySet<>(expectedDegree));
+        if (directed) {
+            incomingVerticesMap.put(vertex, new AdjacencySet<>(expectedInDegree));
+        }
+        modificationCount++;
+        connectivity.addVertex(vertex);
+    }
+
+    /**
+     * Adds edge between vertices which belong to graph. Used for bulk loading, vertices and weight are not checked
+     * and connectivity index is not rebuilt.
+     * @return false if edge already exists.
+     */
+    boolean addEdgeUnchecked(final V start, final V end, final double weight) {
+        if (!adjacentVerticesMap.get(start).add(end, weight)) {
+            return false;
+        }
+
+        if (directed) {
+            incomingVerticesMap.get(end).add(start);
+        } else if (!start.equals(end)) {
+            adjacentVerticesMap.get(end).add(start, weight);
+        }
+        modificationCount++;
+        connectivity.addEdge(start, end);
+        return true;
+    }
+
+    /**
+     * Returns false if there is no path from source to destination vertex, true if the path could exist.
+     * Connectivity index is kept up to date by graph mutations, queries never rebuild it.
+     * @see ConnectivityIndex
+     */
+    boolean mayReach(final V source, final V destination) {
+        return connectivity.mayReach(source, destination);
+    }
+
+    /**
+     * Rebuilds connectivity index if removals or edges against the topological order made it imprecise.
+     * Called by GraphBuilder after bulk loading.
+     */
+    void repairConnectivity() {
+        if (!connectivity.isPrecise()) {
+            logger.debug("Rebuilding connectivity index of the graph.");
+            connectivity = new ConnectivityIndex<>(this);
+        }
+    }
+
+    /**
+     * Rebuilds imprecise connectivity index after enough mutations to amortise the rebuild.
+     */
+    private void maintainConnectivity() {
+        if (connectivity.isStale()) {
+            logger.debug("Rebuilding connectivity index of the graph.");
+            connectivity = new ConnectivityIndex<>(this);
+        }
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public String toString() {
         return "Graph: " + adjacentVerticesMap;
     }
 
-    private void addAdjacentVertex(final V currentVertex, final V adjacentVertex) {
-        if (!adjacentVerticesMap.get(currentVertex).contains(adjacentVertex)) {
-            adjacentVerticesMap.get(currentVertex).add(adjacentVertex);
+    private void addAdjacentVertex(final V currentVertex, final V adjacentVertex, final double weight) {
+        adjacentVerticesMap.get(currentVertex).add(adjacentVertex, weight);
+        if (directed) {
+            incomingVerticesMap.get(adjacentVertex).add(currentVertex);
+        }
+    }
+
+    /**
+     * Removes removedVertex from the set of currentVertex. Does nothing for a loop of removed vertex.
+     */
+    private void removeReference(final Map<V, AdjacencySet<V>> verticesMap, final V currentVertex, final V removedVertex) {
+        final AdjacencySet<V> vertices = verticesMap.get(currentVertex);
+        if (vertices != null) {
+            vertices.remove(removedVertex);
         }
     }
 }
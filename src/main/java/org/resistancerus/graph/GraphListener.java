@@ -0,0 +1,29 @@
+package org.resistancerus.graph;
+
+/**
+ * Receives timings of graph mutations and statistics of path queries once a listener is installed
+ * via Instrumentation.setListener. Methods are called synchronously by the thread performing the operation,
+ * possibly by many threads at once, so implementations must be thread-safe and fast.
+ * Exceptions thrown by a listener are logged and do not affect the operation.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see Instrumentation
+ * @see GraphMetrics
+ */
+public interface GraphListener {
+
+    /**
+     * Called after a vertex or an edge has been added to or removed from a graph.
+     * Operations which did not change the graph are not reported.
+     * @param operation    - one of ADD_VERTEX, REMOVE_VERTEX, ADD_EDGE and REMOVE_EDGE.
+     * @param elapsedNanos - duration of the operation.
+     */
+    default void onMutation(final GraphOperation operation, final long elapsedNanos) {
+    }
+
+    /**
+     * Called after a path query has completed.
+     */
+    default void onQuery(final QueryStatistics statistics) {
+    }
+}
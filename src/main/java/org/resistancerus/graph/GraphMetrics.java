@@ -0,0 +1,115 @@
+package org.resistancerus.graph;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ready-made GraphListener aggregating counters and latency histograms of every graph operation,
+ * search counters of path queries and number of queries which found no path.
+ * All values could be read at any time and exported to an external monitoring system.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see Instrumentation#setListener(GraphListener)
+ */
+public final class GraphMetrics implements GraphListener {
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[GraphOperation.values().length];
+    private final LongAdder verticesExpanded = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+    private final LongAdder emptyResults = new LongAdder();
+    private final LongAccumulator frontierPeak = new LongAccumulator(Math::max, 0);
+
+    public GraphMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void onMutation(final GraphOperation operation, final long elapsedNanos) {
+        latencies[operation.ordinal()].record(elapsedNanos);
+    }
+
+    @Override
+    public void onQuery(final QueryStatistics statistics) {
+        latencies[statistics.getOperation().ordinal()].record(statistics.getElapsedNanos());
+        verticesExpanded.add(statistics.getVerticesExpanded());
+        edgesScanned.add(statistics.getEdgesScanned());
+        frontierPeak.accumulate(statistics.getFrontierPeak());
+        if (statistics.getPathLength() == 0) {
+            emptyResults.increment();
+        }
+    }
+
+    /**
+     * Returns number of reported operations of provided type.
+     */
+    public long getCount(final GraphOperation operation) {
+        return getLatency(operation).getCount();
+    }
+
+    /**
+     * Returns latency histogram of provided operation type.
+     */
+    public LatencyHistogram getLatency(final GraphOperation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation could not be null.");
+        }
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Returns total number of vertices expanded by path queries.
+     */
+    public long getVerticesExpanded() {
+        return verticesExpanded.sum();
+    }
+
+    /**
+     * Returns total number of adjacent vertices examined by path queries.
+     */
+    public long getEdgesScanned() {
+        return edgesScanned.sum();
+    }
+
+    /**
+     * Returns the largest search frontier of all path queries.
+     */
+    public long getFrontierPeak() {
+        return frontierPeak.get();
+    }
+
+    /**
+     * Returns number of path queries which found no path.
+     */
+    public long getEmptyResultCount() {
+        return emptyResults.sum();
+    }
+
+    /**
+     * Resets all counters and histograms.
+     */
+    public void reset() {
+        for (final LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+        verticesExpanded.reset();
+        edgesScanned.reset();
+        emptyResults.reset();
+        frontierPeak.reset();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        for (final GraphOperation operation : GraphOperation.values()) {
+            if (getCount(operation) > 0) {
+                result.append(operation).append(": ").append(getLatency(operation)).append('\n');
+            }
+        }
+        return result.append("vertices expanded=").append(getVerticesExpanded())
+                .append(", edges scanned=").append(getEdgesScanned())
+                .append(", frontier peak=").append(getFrontierPeak())
+                .append(", empty results=").append(getEmptyResultCount()).toString();
+    }
+}
@@ -0,0 +1,28 @@
+package org.resistancerus.graph;
+
+/**
+ * Graph operation reported to GraphListener.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphListener
+ */
+public enum GraphOperation {
+
+    ADD_VERTEX,
+
+    REMOVE_VERTEX,
+
+    ADD_EDGE,
+
+    REMOVE_EDGE,
+
+    /**
+     * Path search by PathCalculator.getPath.
+     */
+    GET_PATH,
+
+    /**
+     * Weighted path search by PathCalculator.getShortestPath.
+     */
+    GET_SHORTEST_PATH
+}
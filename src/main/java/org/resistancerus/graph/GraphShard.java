@@ -0,0 +1,150 @@
+package org.resistancerus.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shard side of distributed BFS over a PartitionedGraph: local graph of one shard and state of the queries running
+ * over it. The shard keeps frontier, predecessors and sent vertices of every query, so the coordinator only passes
+ * batches between shards and drives supersteps. A ShardTransport calls the shard in the JVM hosting it.
+ * Supersteps of one query are called one after another, different queries and different shards run concurrently.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see ShardTransport
+ * @see PartitionedGraph
+ */
+public final class GraphShard<V> {
+
+    private final int shard;
+    private final int shardCount;
+    private final Graph<V> graph;
+    private final ShardPartitioner<V> partitioner;
+    private final Map<Long, Search<V>> searches = new ConcurrentHashMap<>();
+
+    GraphShard(final int shard, final int shardCount, final Graph<V> graph, final ShardPartitioner<V> partitioner) {
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.graph = graph;
+        this.partitioner = partitioner;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    /**
+     * Runs one superstep of a query: visits received vertices this shard has not visited yet, then expands its frontier.
+     * Neighbours owned by this shard are visited at once and form the next frontier, neighbours owned by other shards
+     * are returned in one batch per destination shard. A shard sends every remote vertex at most once per query
+     * and never sends back the predecessor of an expanded vertex. Expansion stops as soon as the destination is visited
+     * or sent to its owner: the step then returns only the batch carrying the destination.
+     * Source of the query is received as a batch containing the source with itself as predecessor.
+     * @param query id of the query.
+     * @param destination destination vertex of the query.
+     * @param received batches sent to this shard during the previous superstep.
+     */
+    public ShardStep<V> expand(final long query, final V destination, final List<FrontierBatch<V>> received) {
+        if (destination == null || received == null) {
+            throw new IllegalArgumentException("Destination vertex and received batches could not be null.");
+        }
+
+        final Search<V> search = searches.computeIfAbsent(query, id -> new Search<>());
+        for (final FrontierBatch<V> batch : received) {
+            for (int i = 0; i < batch.size(); i++) {
+                final V vertex = batch.getVertex(i);
+                if (!search.predecessors.containsKey(vertex)) {
+                    search.predecessors.put(vertex, batch.getPredecessor(i));
+                    if (vertex.equals(destination)) {
+                        return ShardStep.reached(0, 0);
+                    }
+                    search.frontier.add(vertex);
+                }
+            }
+        }
+
+        final List<V> frontier = search.frontier;
+        search.frontier = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        final FrontierBatch<V>[] outgoing = new FrontierBatch[shardCount];
+        long expanded = 0;
+        long scanned = 0;
+        for (final V current : frontier) {
+            expanded++;
+            QueryDeadline.check(++search.expanded);
+            final V predecessor = search.predecessors.get(current);
+            for (final V adjacent : graph.getAdjacentVertices(current)) {
+                scanned++;
+                final int owner = partitioner.getShard(adjacent, shardCount);
+                if (owner == shard) {
+                    if (!search.predecessors.containsKey(adjacent)) {
+                        search.predecessors.put(adjacent, current);
+                        if (adjacent.equals(destination)) {
+                            return ShardStep.reached(expanded, scanned);
+                        }
+                        search.frontier.add(adjacent);
+                    }
+                } else if (!adjacent.equals(predecessor) && search.sent.add(adjacent)) {
+                    if (adjacent.equals(destination)) {
+                        return ShardStep.sent(shard, owner, destination, current, expanded, scanned);
+                    }
+                    if (outgoing[owner] == null) {
+                        outgoing[owner] = new FrontierBatch<>(shard, owner);
+                    }
+                    outgoing[owner].add(adjacent, current);
+                }
+            }
+        }
+
+        final List<FrontierBatch<V>> batches = new ArrayList<>();
+        for (final FrontierBatch<V> batch : outgoing) {
+            if (batch != null) {
+                batches.add(batch);
+            }
+        }
+        return new ShardStep<>(batches, search.frontier.size(), false, expanded, scanned);
+    }
+
+    /**
+     * Returns predecessor of a vertex owned by this shard visited by a query, the source is its own predecessor.
+     * @return predecessor or null if the query has not visited the vertex.
+     */
+    public V getPredecessor(final long query, final V vertex) {
+        final Search<V> search = searches.get(query);
+        return search == null ? null : search.predecessors.get(vertex);
+    }
+
+    /**
+     * Drops state of a finished query.
+     */
+    public void release(final long query) {
+        searches.remove(query);
+    }
+
+    /**
+     * Returns number of vertices a query expands during its next superstep on this shard, not counting received ones.
+     */
+    int getFrontierSize(final long query) {
+        final Search<V> search = searches.get(query);
+        return search == null ? 0 : search.frontier.size();
+    }
+
+    Graph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * State of one query on this shard.
+     */
+    private static final class Search<V> {
+
+        private final Map<V, V> predecessors = new HashMap<>();
+        private final Set<V> sent = new HashSet<>();
+        private List<V> frontier = new ArrayList<>();
+        private long expanded;
+    }
+}
@@ -0,0 +1,154 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+/**
+ * Immutable version of a VersionedGraph. Vertices and adjacency of every vertex are persistent maps shared with
+ * other versions, so taking a snapshot costs nothing and it is never affected by later changes of the graph.
+ * Mutation methods throw UnsupportedOperationException.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see VersionedGraph
+ */
+final class GraphSnapshot<V> implements Graph<V> {
+
+    private static Logger logger = LoggerFactory.getLogger(GraphSnapshot.class);
+
+    private final boolean directed;
+    private final boolean loopsAllowed;
+    private final PersistentMap<V, VertexEntry<V>> vertices;
+    private final long version;
+
+    GraphSnapshot(final boolean directed,
+                  final boolean loopsAllowed,
+                  final PersistentMap<V, VertexEntry<V>> vertices,
+                  final long version) {
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+        this.vertices = vertices;
+        this.version = version;
+    }
+
+    PersistentMap<V, VertexEntry<V>> getVertexMap() {
+        return vertices;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean areLoopsAllowed() {
+        return loopsAllowed;
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        throw new UnsupportedOperationException("Graph snapshot is immutable.");
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        throw new UnsupportedOperationException("Graph snapshot is immutable.");
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end) {
+        throw new UnsupportedOperationException("Graph snapshot is immutable.");
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
+        throw new UnsupportedOperationException("Graph snapshot is immutable.");
+    }
+
+    @Override
+    public boolean removeEdge(final V start, final V end) {
+        throw new UnsupportedOperationException("Graph snapshot is immutable.");
+    }
+
+    @Override
+    public boolean hasVertex(final V vertex) {
+        return vertex != null && vertices.containsKey(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final VertexEntry<V> startEntry = vertices.get(start);
+        if (startEntry == null || !vertices.containsKey(end)) {
+            logger.error("Start or end vertex does not belong to graph.");
+            return false;
+        }
+        return startEntry.outgoing.containsKey(end);
+    }
+
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final VertexEntry<V> startEntry = vertices.get(start);
+        final Double weight = startEntry == null ? null : startEntry.outgoing.get(end);
+        return weight == null ? Double.NaN : weight;
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return vertices.keySet();
+    }
+
+    @Override
+    public Set<V> getAdjacentVertices(final V vertex) {
+        final VertexEntry<V> entry = vertex == null ? null : vertices.get(vertex);
+        return entry == null ? null : entry.outgoing.keySet();
+    }
+
+    @Override
+    public Set<V> getIncomingVertices(final V vertex) {
+        final VertexEntry<V> entry = vertex == null ? null : vertices.get(vertex);
+        return entry == null ? null : (directed ? entry.incoming : entry.outgoing).keySet();
+    }
+
+    /**
+     * Returns version of the graph this snapshot was taken at.
+     */
+    @Override
+    public long getModificationCount() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "Graph: " + vertices.size() + " vertices, version " + version;
+    }
+
+    /**
+     * Adjacency of a vertex, maps adjacent vertices to edge weights. Incoming vertices are kept only by directed graph.
+     */
+    static final class VertexEntry<V> {
+        private final PersistentMap<V, Double> outgoing;
+        private final PersistentMap<V, Double> incoming;
+
+        VertexEntry(final PersistentMap<V, Double> outgoing, final PersistentMap<V, Double> incoming) {
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+        }
+
+        PersistentMap<V, Double> getOutgoing() {
+            return outgoing;
+        }
+
+        PersistentMap<V, Double> getIncoming() {
+            return incoming;
+        }
+    }
+}
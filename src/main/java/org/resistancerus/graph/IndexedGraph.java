@@ -0,0 +1,52 @@
+package org.resistancerus.graph;
+
+/**
+ * Read-only graph whose vertices are addressed by dense int ids from 0 to getVertexCount() - 1.
+ * Adjacency of every vertex is available as a sequence of neighbour ids, so traversals could run on primitive arrays
+ * instead of hash lookups.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see Graph
+ */
+public interface IndexedGraph<V> extends Graph<V> {
+
+    /**
+     * Returns number of graph vertices.
+     */
+    int getVertexCount();
+
+    /**
+     * Returns number of stored adjacency entries. Undirected edges are counted in both directions, loops are counted once.
+     */
+    long getEdgeCount();
+
+    /**
+     * Returns id of provided vertex or -1 if vertex does not belong to graph.
+     */
+    int indexOf(final V vertex);
+
+    /**
+     * Returns vertex by its id.
+     */
+    V vertexAt(final int id);
+
+    /**
+     * Returns number of adjacent vertices of vertex with provided id.
+     */
+    int getDegree(final int id);
+
+    /**
+     * Returns id of i-th adjacent vertex of vertex with provided id.
+     */
+    int getNeighbour(final int id, final int i);
+
+    /**
+     * Returns weight of the edge to i-th adjacent vertex of vertex with provided id.
+     */
+    double getWeight(final int id, final int i);
+
+    /**
+     * Returns graph with the same vertex ids and reversed edges. Undirected graph returns itself.
+     */
+    IndexedGraph<V> reverse();
+}
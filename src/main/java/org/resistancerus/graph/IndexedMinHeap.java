@@ -0,0 +1,129 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int ids with double keys supporting key decrease.
+ * Heap position of every id is kept in a primitive array, so operations do not allocate.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+final class IndexedMinHeap {
+
+    private int[] heap;
+    private int[] positions;
+    private double[] keys;
+    private int size;
+
+    IndexedMinHeap(final int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Makes heap able to store ids lower than provided capacity.
+     */
+    void ensureCapacity(final int capacity) {
+        if (capacity <= positions.length) {
+            return;
+        }
+
+        final int oldCapacity = positions.length;
+        final int newCapacity = Math.max(capacity, oldCapacity * 2);
+        heap = Arrays.copyOf(heap, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+        Arrays.fill(positions, oldCapacity, newCapacity, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(final int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Inserts id with provided key or decreases key of id which is already in the heap.
+     */
+    void insertOrDecrease(final int id, final double key) {
+        if (positions[id] < 0) {
+            heap[size] = id;
+            positions[id] = size;
+            keys[id] = key;
+            siftUp(size++);
+        } else if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(positions[id]);
+        }
+    }
+
+    /**
+     * Removes and returns id with minimal key.
+     */
+    int poll() {
+        final int result = heap[0];
+        positions[result] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all ids from the heap in time proportional to heap size.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        final int id = heap[position];
+        final double key = keys[id];
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        final int id = heap[position];
+        final double key = keys[id];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (key <= keys[heap[child]]) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,87 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Global switch of graph instrumentation. Graph implementations and PathCalculator report mutations and path queries
+ * to the installed listener. Without a listener instrumented operations only read one volatile field:
+ * clock is not read and statistics are not allocated.
+ * Mutations of GraphImpl, ConcurrentGraphImpl and VersionedGraph and all getPath and getShortestPath queries
+ * of PathCalculator are reported.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphListener
+ * @see GraphMetrics
+ */
+public abstract class Instrumentation {
+
+    private static Logger logger = LoggerFactory.getLogger(Instrumentation.class);
+
+    private static volatile GraphListener listener;
+
+    /**
+     * Installs listener receiving all graph operations, null disables instrumentation.
+     */
+    public static void setListener(final GraphListener listener) {
+        Instrumentation.listener = listener;
+    }
+
+    /**
+     * Returns installed listener or null.
+     */
+    public static GraphListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Returns start time of a mutation or 0 if instrumentation is disabled.
+     */
+    static long startMutation() {
+        return listener == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Reports completed mutation started at provided time.
+     */
+    static void endMutation(final GraphOperation operation, final long started) {
+        final GraphListener current = listener;
+        if (current == null || started == 0) {
+            return;
+        }
+
+        try {
+            current.onMutation(operation, System.nanoTime() - started);
+        } catch (RuntimeException e) {
+            logger.error("Graph listener failed.", e);
+        }
+    }
+
+    /**
+     * Returns statistics of a starting query or null if instrumentation is disabled.
+     */
+    static QueryStatistics startQuery(final GraphOperation operation, final SearchMode mode) {
+        return listener == null ? null : new QueryStatistics(operation, mode, System.nanoTime());
+    }
+
+    /**
+     * Reports completed query, does nothing if statistics is null.
+     */
+    static void endQuery(final QueryStatistics statistics, final int pathLength) {
+        if (statistics == null) {
+            return;
+        }
+
+        statistics.finish(pathLength);
+        final GraphListener current = listener;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            current.onQuery(statistics);
+        } catch (RuntimeException e) {
+            logger.error("Graph listener failed.", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.resistancerus.graph;
+
+/**
+ * Implementation of IntGraph interface.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+class IntGraphImpl extends PrimitiveGraph implements IntGraph {
+
+    IntGraphImpl(final boolean directed, final boolean loopsAllowed) {
+        super(directed, loopsAllowed);
+    }
+
+    @Override
+    public boolean addVertex(final int vertex) {
+        return addVertexKey(vertex);
+    }
+
+    @Override
+    public boolean removeVertex(final int vertex) {
+        return removeVertexKey(vertex);
+    }
+
+    @Override
+    public boolean hasVertex(final int vertex) {
+        return indexOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean addEdge(final int start, final int end) {
+        return addEdgeKeys(start, end);
+    }
+
+    @Override
+    public boolean removeEdge(final int start, final int end) {
+        return removeEdgeKeys(start, end);
+    }
+
+    @Override
+    public boolean hasEdge(final int start, final int end) {
+        return hasEdgeKeys(start, end);
+    }
+
+    @Override
+    public int[] getVertices() {
+        return toVertices(vertexIndices());
+    }
+
+    @Override
+    public int[] getAdjacentVertices(final int vertex) {
+        final int id = indexOf(vertex);
+        return id < 0 ? null : toVertices(tableIndices(outgoingTable(id)));
+    }
+
+    @Override
+    public int[] getIncomingVertices(final int vertex) {
+        final int id = indexOf(vertex);
+        return id < 0 ? null : toVertices(tableIndices(incomingTable(id)));
+    }
+
+    /**
+     * Replaces vertex indices in provided array with vertices.
+     */
+    int[] toVertices(final int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = (int) vertexAt(indices[i]);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,77 @@
+package org.resistancerus.graph;
+
+/**
+ * Graph of primitive long vertices. Vertices are not boxed and adjacency is kept in primitive arrays,
+ * so it takes several times less memory than Graph&lt;Long&gt; and adding edges or calculating paths does not
+ * allocate objects per edge.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createLongGraph(boolean, boolean)
+ * @see PathCalculator#getPath(LongGraph, long, long)
+ */
+public interface LongGraph {
+
+    /**
+     * Adds new vertex to graph.
+     * @return false if vertex already exists.
+     */
+    boolean addVertex(final long vertex);
+
+    /**
+     * Removes vertex and all its edges from graph.
+     * @return false if vertex does not belong to graph.
+     */
+    boolean removeVertex(final long vertex);
+
+    /**
+     * Checks whether vertex belongs to graph.
+     */
+    boolean hasVertex(final long vertex);
+
+    /**
+     * Adds new edge to graph. Both vertices must belong to graph.
+     * @return false if edge already exists.
+     */
+    boolean addEdge(final long start, final long end);
+
+    /**
+     * Removes edge from graph.
+     * @return false if edge does not exist.
+     */
+    boolean removeEdge(final long start, final long end);
+
+    /**
+     * Checks whether edge belongs to graph.
+     */
+    boolean hasEdge(final long start, final long end);
+
+    /**
+     * Checks if graph supports directed edges.
+     */
+    boolean isDirected();
+
+    /**
+     * Checks if graph supports loop edges.
+     */
+    boolean areLoopsAllowed();
+
+    /**
+     * Returns number of graph vertices.
+     */
+    int getVertexCount();
+
+    /**
+     * Returns array of graph vertices.
+     */
+    long[] getVertices();
+
+    /**
+     * Returns array of vertices the provided vertex has edges to or null if vertex does not belong to graph.
+     */
+    long[] getAdjacentVertices(final long vertex);
+
+    /**
+     * Returns array of vertices which have edges to the provided vertex or null if vertex does not belong to graph.
+     */
+    long[] getIncomingVertices(final long vertex);
+}
@@ -0,0 +1,71 @@
+package org.resistancerus.graph;
+
+/**
+ * Implementation of LongGraph interface.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+class LongGraphImpl extends PrimitiveGraph implements LongGraph {
+
+    LongGraphImpl(final boolean directed, final boolean loopsAllowed) {
+        super(directed, loopsAllowed);
+    }
+
+    @Override
+    public boolean addVertex(final long vertex) {
+        return addVertexKey(vertex);
+    }
+
+    @Override
+    public boolean removeVertex(final long vertex) {
+        return removeVertexKey(vertex);
+    }
+
+    @Override
+    public boolean hasVertex(final long vertex) {
+        return indexOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean addEdge(final long start, final long end) {
+        return addEdgeKeys(start, end);
+    }
+
+    @Override
+    public boolean removeEdge(final long start, final long end) {
+        return removeEdgeKeys(start, end);
+    }
+
+    @Override
+    public boolean hasEdge(final long start, final long end) {
+        return hasEdgeKeys(start, end);
+    }
+
+    @Override
+    public long[] getVertices() {
+        return toVertices(vertexIndices());
+    }
+
+    @Override
+    public long[] getAdjacentVertices(final long vertex) {
+        final int id = indexOf(vertex);
+        return id < 0 ? null : toVertices(tableIndices(outgoingTable(id)));
+    }
+
+    @Override
+    public long[] getIncomingVertices(final long vertex) {
+        final int id = indexOf(vertex);
+        return id < 0 ? null : toVertices(tableIndices(incomingTable(id)));
+    }
+
+    /**
+     * Converts array of vertex indices to vertices.
+     */
+    long[] toVertices(final int[] indices) {
+        final long[] result = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            result[i] = vertexAt(indices[i]);
+        }
+        return result;
+    }
+}
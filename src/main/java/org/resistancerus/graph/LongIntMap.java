@@ -0,0 +1,112 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing map from long key to non-negative int value. Keys and values are kept in primitive arrays,
+ * so no object is allocated per entry and lookups do not box keys.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+final class LongIntMap {
+
+    private static final int EMPTY = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap(final int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns value of key or -1 if key is absent.
+     */
+    int get(final long key) {
+        final int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Stores value of a key. Key must not be already present, value must be non-negative.
+     */
+    void put(final long key, final int value) {
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        insert(key, value);
+    }
+
+    /**
+     * Removes key and returns its value or -1 if key is absent.
+     */
+    int remove(final long key) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == EMPTY) {
+            return EMPTY;
+        }
+
+        final int value = values[slot];
+        int next = (slot + 1) & mask;
+        while (values[next] != EMPTY) {
+            final int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[slot] = EMPTY;
+        size--;
+        return value;
+    }
+
+    private void insert(final long key, final int value) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,123 @@
+package org.resistancerus.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-process ShardTransport for shards hosted by one JVM. Batches are handed to their destination shards by reference
+ * and supersteps of different shards run in parallel on an executor, so distributed queries could be run and tested
+ * on a single machine with the same frontier traffic a networked transport would carry. A superstep expanding fewer
+ * than PARALLEL_THRESHOLD vertices runs on the calling thread, as handing it to another thread costs more than
+ * expanding it. Deadline of the querying thread is checked by the shards as well. Transport is attached to one graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see PartitionedGraph
+ */
+public final class LoopbackTransport<V> implements ShardTransport<V> {
+
+    /**
+     * Minimal number of frontier and received vertices of a superstep run on the executor.
+     */
+    public static final int PARALLEL_THRESHOLD = 256;
+
+    private final Executor executor;
+    private volatile List<GraphShard<V>> shards;
+
+    /**
+     * Creates transport running shards on the common fork-join pool.
+     */
+    public LoopbackTransport() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates transport running shards on provided executor.
+     */
+    public LoopbackTransport(final Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor could not be null.");
+        }
+
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void attach(final List<GraphShard<V>> shards) {
+        if (shards == null) {
+            throw new IllegalArgumentException("Shards could not be null.");
+        }
+
+        if (this.shards != null) {
+            throw new IllegalStateException("Transport is already attached to a graph.");
+        }
+        this.shards = new ArrayList<>(shards);
+    }
+
+    @Override
+    public CompletableFuture<ShardStep<V>> expand(final int shard,
+                                                  final long query,
+                                                  final V destination,
+                                                  final List<FrontierBatch<V>> received) {
+        final GraphShard<V> target = getShard(shard);
+        int size = target.getFrontierSize(query);
+        for (final FrontierBatch<V> batch : received) {
+            size += batch.size();
+        }
+        if (size < PARALLEL_THRESHOLD) {
+            final CompletableFuture<ShardStep<V>> result = new CompletableFuture<>();
+            try {
+                result.complete(target.expand(query, destination, received));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        final QueryDeadline deadline = QueryDeadline.current();
+        return CompletableFuture.supplyAsync(() -> {
+            final QueryDeadline previous = QueryDeadline.current();
+            if (deadline == previous) {
+                return target.expand(query, destination, received);
+            }
+            if (deadline != null) {
+                deadline.enter();
+            } else {
+                QueryDeadline.exit();
+            }
+            try {
+                return target.expand(query, destination, received);
+            } finally {
+                if (previous != null) {
+                    previous.enter();
+                } else {
+                    QueryDeadline.exit();
+                }
+            }
+        }, executor);
+    }
+
+    @Override
+    public V getPredecessor(final int shard, final long query, final V vertex) {
+        return getShard(shard).getPredecessor(query, vertex);
+    }
+
+    @Override
+    public void release(final int shard, final long query) {
+        getShard(shard).release(query);
+    }
+
+    private GraphShard<V> getShard(final int shard) {
+        final List<GraphShard<V>> attached = shards;
+        if (attached == null) {
+            throw new IllegalStateException("Transport is not attached to a graph.");
+        }
+
+        if (shard < 0 || shard >= attached.size()) {
+            throw new IllegalArgumentException("Shard does not exist: " + shard);
+        }
+        return attached.get(shard);
+    }
+}
@@ -0,0 +1,201 @@
+package org.resistancerus.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Immutable graph served straight from a memory-mapped binary graph file.
+ * Adjacency is read from the mapped file without copying it to the heap, so opening a graph takes constant time
+ * and its size is limited by the address space instead of the heap. Vertices are decoded on demand,
+ * vertex lookup uses the hash table stored in the file.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see BinaryGraphFormat
+ */
+public final class MappedGraph<V> extends AbstractIndexedGraph<V> {
+
+    private final VertexCodec<V> codec;
+    private final int vertexCount;
+    private final long edgeCount;
+    private final IntBuffer vertexOffsets;
+    private final ByteBuffer vertexData;
+    private final IntBuffer table;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final MappedGraph<V> reverse;
+
+    private MappedGraph(final FileChannel channel, final ByteBuffer header, final VertexCodec<V> codec)
+            throws IOException {
+        super((header.getInt(8) & BinaryGraphFormat.DIRECTED) != 0,
+                (header.getInt(8) & BinaryGraphFormat.LOOPS_ALLOWED) != 0);
+
+        final boolean weighted = (header.getInt(8) & BinaryGraphFormat.WEIGHTED) != 0;
+        this.codec = codec;
+        this.vertexCount = header.getInt(12);
+        this.edgeCount = header.getLong(16);
+        final int tableSize = header.getInt(24);
+        final long rowsSize = 4L * (vertexCount + 1);
+
+        vertexOffsets = map(channel, header.getLong(32), rowsSize).asIntBuffer();
+        vertexData = map(channel, header.getLong(40), vertexOffsets.get(vertexCount));
+        table = map(channel, header.getLong(48), 4L * tableSize).asIntBuffer();
+        offsets = map(channel, header.getLong(56), rowsSize).asIntBuffer();
+        targets = map(channel, header.getLong(64), 4 * edgeCount).asIntBuffer();
+        weights = weighted ? map(channel, header.getLong(72), 8 * edgeCount).asDoubleBuffer() : null;
+
+        if (isDirected()) {
+            final IntBuffer reverseOffsets = map(channel, header.getLong(80), rowsSize).asIntBuffer();
+            final IntBuffer reverseTargets = map(channel, header.getLong(88), 4 * edgeCount).asIntBuffer();
+            final DoubleBuffer reverseWeights = weighted
+                    ? map(channel, header.getLong(96), 8 * edgeCount).asDoubleBuffer()
+                    : null;
+            reverse = new MappedGraph<>(this, reverseOffsets, reverseTargets, reverseWeights);
+        } else {
+            reverse = this;
+        }
+    }
+
+    private MappedGraph(final MappedGraph<V> graph, final IntBuffer offsets, final IntBuffer targets,
+                        final DoubleBuffer weights) {
+        super(graph.isDirected(), graph.areLoopsAllowed());
+        this.codec = graph.codec;
+        this.vertexCount = graph.vertexCount;
+        this.edgeCount = graph.edgeCount;
+        this.vertexOffsets = graph.vertexOffsets;
+        this.vertexData = graph.vertexData;
+        this.table = graph.table;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.reverse = graph;
+    }
+
+    static <V> MappedGraph<V> map(final File file, final VertexCodec<V> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < BinaryGraphFormat.HEADER_SIZE) {
+                throw new IOException("File " + file + " is not a graph file.");
+            }
+
+            final ByteBuffer header = map(channel, 0, BinaryGraphFormat.HEADER_SIZE);
+            if (header.getInt(0) != BinaryGraphFormat.MAGIC) {
+                throw new IOException("File " + file + " is not a graph file.");
+            }
+            if (header.getInt(4) != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported graph file version: " + header.getInt(4));
+            }
+            return new MappedGraph<>(channel, header, codec);
+        }
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int indexOf(final V vertex) {
+        final byte[] bytes = codec.encode(vertex);
+        final int mask = table.capacity() - 1;
+        int slot = BinaryGraphFormat.hash(bytes) & mask;
+        int id;
+        while ((id = table.get(slot) - 1) >= 0) {
+            if (hasEncoding(id, bytes)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public V vertexAt(final int id) {
+        final int offset = vertexOffsets.get(id);
+        return codec.decode(vertexData, offset, vertexOffsets.get(id + 1) - offset);
+    }
+
+    @Override
+    public int getDegree(final int id) {
+        return offsets.get(id + 1) - offsets.get(id);
+    }
+
+    @Override
+    public int getNeighbour(final int id, final int i) {
+        return targets.get(offsets.get(id) + i);
+    }
+
+    @Override
+    public double getWeight(final int id, final int i) {
+        return weights == null ? 1.0 : weights.get(offsets.get(id) + i);
+    }
+
+    /**
+     * Returns graph with reversed edges. Reversed adjacency of directed graph is stored in the same file.
+     */
+    @Override
+    public MappedGraph<V> reverse() {
+        return reverse;
+    }
+
+    @Override
+    boolean isAdjacent(final int id, final int target) {
+        return search(id, target) >= 0;
+    }
+
+    @Override
+    double edgeWeight(final int id, final int target) {
+        final int position = search(id, target);
+        return position < 0 ? Double.NaN : weights == null ? 1.0 : weights.get(position);
+    }
+
+    /**
+     * Binary search of target in the sorted adjacency row of vertex with provided id.
+     * @return position of target in targets or -1 if it is absent.
+     */
+    private int search(final int id, final int target) {
+        int low = offsets.get(id);
+        int high = offsets.get(id + 1) - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int value = targets.get(middle);
+            if (value < target) {
+                low = middle + 1;
+            } else if (value > target) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hasEncoding(final int id, final byte[] bytes) {
+        final int offset = vertexOffsets.get(id);
+        if (vertexOffsets.get(id + 1) - offset != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (vertexData.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer map(final FileChannel channel, final long position, final long size) throws IOException {
+        if (position < 0 || size < 0 || size > Integer.MAX_VALUE || position + size > channel.size()) {
+            throw new IOException("Graph file is corrupted.");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+}
@@ -0,0 +1,267 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Level-synchronous BFS which expands every frontier in parallel on the common fork/join pool.
+ * Every level runs in two passes over chunks of the frontier: the first one claims unvisited neighbours, so a vertex
+ * keeps the smallest frontier position having an edge to it, the second one collects claimed vertices chunk by chunk.
+ * Thus the next frontier has the same order and every vertex gets the same predecessor as in sequential BFS,
+ * and the resulting path does not depend on thread scheduling. Arrays of graph size are kept in a reusable state of
+ * the calling thread and are valid only if stamped by the epoch of the current search, so a search does not clear them.
+ * Deadline of the query is checked and statistics of the query are recorded once per level.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see SearchMode#PARALLEL_BFS
+ */
+final class ParallelBFS {
+
+    private static final int CHUNK_SIZE = 256;
+    private static final int UNCLAIMED = Integer.MAX_VALUE;
+    private static final int[] NO_PATH = new int[0];
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private final Adjacency graph;
+    private final QueryStatistics statistics;
+    private final State state;
+    private final long epoch;
+
+    private ParallelBFS(final Adjacency graph, final int vertexCount, final QueryStatistics statistics) {
+        this.graph = graph;
+        this.statistics = statistics;
+        final State threadState = STATE.get();
+        this.state = (threadState.searching ? new State() : threadState).begin(vertexCount);
+        this.epoch = state.epoch;
+    }
+
+    /**
+     * Returns vertex ids of a path between two vertices of the indexed graph or empty array if path does not exist.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    static int[] getPath(final IndexedGraph<?> graph,
+                         final int source,
+                         final int destination,
+                         final QueryStatistics statistics) {
+        final Adjacency adjacency = new Adjacency() {
+            @Override
+            public int getDegree(final int id) {
+                return graph.getDegree(id);
+            }
+
+            @Override
+            public int getNeighbour(final int id, final int i) {
+                return graph.getNeighbour(id, i);
+            }
+        };
+        return new ParallelBFS(adjacency, graph.getVertexCount(), statistics).search(source, destination);
+    }
+
+    /**
+     * Returns vertex indices of a path between two vertices of the primitive graph or empty array if path does not exist.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    static int[] getPath(final PrimitiveGraph graph,
+                         final int source,
+                         final int destination,
+                         final QueryStatistics statistics) {
+        final Adjacency adjacency = new Adjacency() {
+            @Override
+            public int getDegree(final int id) {
+                return graph.outgoingTable(id).length;
+            }
+
+            @Override
+            public int getNeighbour(final int id, final int i) {
+                return graph.outgoingTable(id)[i];
+            }
+        };
+        return new ParallelBFS(adjacency, graph.getIndexCount(), statistics).search(source, destination);
+    }
+
+    private int[] search(final int source, final int destination) {
+        try {
+            return searchLevels(source, destination);
+        } finally {
+            state.searching = false;
+        }
+    }
+
+    private int[] searchLevels(final int source, final int destination) {
+        visit(source, source);
+        int[] frontier = {source};
+
+        while (frontier.length > 0) {
+            QueryDeadline.checkCurrent();
+            final int[] current = frontier;
+            final int chunks = (current.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final int[][] collected = new int[chunks][];
+            final long[] scanned = new long[chunks];
+
+            IntStream.range(0, chunks).parallel().forEach(chunk -> scanned[chunk] = claim(current, chunk));
+            IntStream.range(0, chunks).parallel().forEach(chunk -> collected[chunk] = collect(current, chunk));
+            record(current.length, scanned);
+
+            if (isVisited(destination)) {
+                return createPath(source, destination);
+            }
+            frontier = concat(collected);
+        }
+        return NO_PATH;
+    }
+
+    /**
+     * Marks unvisited neighbours of frontier vertices of the chunk by the smallest frontier position reaching them.
+     * @return number of scanned edges.
+     */
+    private long claim(final int[] frontier, final int chunk) {
+        final int to = Math.min(frontier.length, (chunk + 1) * CHUNK_SIZE);
+        long scanned = 0;
+        for (int position = chunk * CHUNK_SIZE; position < to; position++) {
+            final int current = frontier[position];
+            final int degree = graph.getDegree(current);
+            scanned += degree;
+            for (int i = 0; i < degree; i++) {
+                final int adjacent = graph.getNeighbour(current, i);
+                if (adjacent < 0 || isVisited(adjacent)) {
+                    continue;
+                }
+
+                long claim = state.claims.get(adjacent);
+                while (position < getClaimedPosition(claim)
+                        && !state.claims.compareAndSet(adjacent, claim, epoch << 32 | position)) {
+                    claim = state.claims.get(adjacent);
+                }
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * Returns neighbours claimed by frontier vertices of the chunk in the order of sequential BFS and sets their predecessors.
+     */
+    private int[] collect(final int[] frontier, final int chunk) {
+        final int to = Math.min(frontier.length, (chunk + 1) * CHUNK_SIZE);
+        int[] result = new int[16];
+        int size = 0;
+        for (int position = chunk * CHUNK_SIZE; position < to; position++) {
+            final int current = frontier[position];
+            final int degree = graph.getDegree(current);
+            for (int i = 0; i < degree; i++) {
+                final int adjacent = graph.getNeighbour(current, i);
+                if (adjacent < 0 || isVisited(adjacent) || getClaimedPosition(state.claims.get(adjacent)) != position) {
+                    continue;
+                }
+
+                visit(adjacent, current);
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = adjacent;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Records one expanded level of provided frontier size to statistics of the query.
+     */
+    private void record(final int frontierSize, final long[] scanned) {
+        if (statistics == null) {
+            return;
+        }
+
+        long total = 0;
+        for (final long chunkScanned : scanned) {
+            total += chunkScanned;
+        }
+        statistics.add(frontierSize, total, frontierSize);
+    }
+
+    private boolean isVisited(final int vertex) {
+        return state.stamps[vertex] == epoch;
+    }
+
+    private void visit(final int vertex, final int predecessor) {
+        state.stamps[vertex] = (int) epoch;
+        state.predecessors[vertex] = predecessor;
+    }
+
+    /**
+     * Returns frontier position of the claim made in the current search or UNCLAIMED.
+     */
+    private int getClaimedPosition(final long claim) {
+        return claim >>> 32 == epoch ? (int) claim : UNCLAIMED;
+    }
+
+    private int[] createPath(final int source, final int destination) {
+        final int[] predecessors = state.predecessors;
+        int length = 1;
+        for (int current = destination; current != source; current = predecessors[current]) {
+            length++;
+        }
+
+        final int[] result = new int[length];
+        for (int current = destination; length > 0; current = predecessors[current]) {
+            result[--length] = current;
+        }
+        return result;
+    }
+
+    private static int[] concat(final int[][] parts) {
+        int size = 0;
+        for (final int[] part : parts) {
+            size += part.length;
+        }
+
+        final int[] result = new int[size];
+        size = 0;
+        for (final int[] part : parts) {
+            System.arraycopy(part, 0, result, size, part.length);
+            size += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * Reusable arrays of a thread running parallel searches. A vertex is visited in the current search if its stamp
+     * equals the epoch, a claim is made in the current search if its high half equals the epoch.
+     * A thread waiting for a level could run another search, which gets a new state while this one is searching.
+     */
+    private static final class State {
+        private boolean searching;
+        private int[] stamps = new int[0];
+        private int[] predecessors = new int[0];
+        private AtomicLongArray claims = new AtomicLongArray(0);
+        private int epoch;
+
+        State begin(final int vertexCount) {
+            if (stamps.length < vertexCount) {
+                stamps = new int[vertexCount];
+                predecessors = new int[vertexCount];
+                claims = new AtomicLongArray(vertexCount);
+                epoch = 0;
+            }
+
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                for (int i = 0; i < claims.length(); i++) {
+                    claims.set(i, 0);
+                }
+                epoch = 1;
+            }
+            searching = true;
+            return this;
+        }
+    }
+
+    /**
+     * Int-indexed adjacency traversed by BFS, negative neighbour ids are skipped.
+     */
+    private interface Adjacency {
+        int getDegree(final int id);
+
+        int getNeighbour(final int id, final int i);
+    }
+}
@@ -0,0 +1,447 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Graph split into shards by a ShardPartitioner, every shard is a local graph holding the vertices it owns.
+ * An edge is stored by the shards of both its vertices: an edge between two shards makes its remote vertex a ghost
+ * vertex of the shard, so every shard knows all outgoing and incoming edges of its own vertices and a search never
+ * reads adjacency of another shard. Ghost vertices are not vertices of the graph and disappear with their last edge.
+ * Every local graph is wrapped into a GraphShard attached to the ShardTransport on creation. Paths are calculated
+ * by PathCalculator via distributed BFS: the graph only coordinates supersteps, shards expand their frontiers
+ * and keep predecessors behind the transport. Edge cut and frontier traffic of the queries show how good
+ * the partitioning is.
+ * Mutations are reported to Instrumentation by shard graphs. Graph is not thread-safe, but queries
+ * could run concurrently while it is not modified.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createPartitionedGraph(boolean, boolean, int, ShardPartitioner, ShardTransport)
+ * @see PathCalculator#getDistributedPath(PartitionedGraph, Object, Object)
+ */
+public final class PartitionedGraph<V> implements Graph<V> {
+
+    private static Logger logger = LoggerFactory.getLogger(PartitionedGraph.class);
+
+    private final boolean directed;
+    private final boolean loopsAllowed;
+    private final ShardPartitioner<V> partitioner;
+    private final ShardTransport<V> transport;
+    private final List<Graph<V>> shards;
+    private final int[] shardVertexCounts;
+    private final Set<V> vertices = new VertexSet();
+    private int vertexCount;
+    private long edgeCount;
+    private long cutEdgeCount;
+    private long modificationCount = 1;
+
+    private final AtomicLong queryIds = new AtomicLong();
+    private final LongAdder queryCount = new LongAdder();
+    private final LongAdder superstepCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder messageCount = new LongAdder();
+
+    PartitionedGraph(final boolean directed,
+                     final boolean loopsAllowed,
+                     final int shardCount,
+                     final ShardPartitioner<V> partitioner,
+                     final ShardTransport<V> transport) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive.");
+        }
+
+        if (partitioner == null || transport == null) {
+            throw new IllegalArgumentException("Partitioner and transport could not be null.");
+        }
+
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+        this.partitioner = partitioner;
+        this.transport = transport;
+        this.shards = new ArrayList<>(shardCount);
+        final List<GraphShard<V>> graphShards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            final Graph<V> shard = new GraphImpl<>(directed, loopsAllowed);
+            shards.add(shard);
+            graphShards.add(new GraphShard<>(i, shardCount, shard, partitioner));
+        }
+        this.shardVertexCounts = new int[shardCount];
+        transport.attach(graphShards);
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean areLoopsAllowed() {
+        return loopsAllowed;
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex could not be null.");
+        }
+
+        final int shard = getShardOf(vertex);
+        if (!shards.get(shard).addVertex(vertex)) {
+            return false;
+        }
+
+        shardVertexCounts[shard]++;
+        vertexCount++;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Couldn't remove null vertex.");
+        }
+
+        if (!hasVertex(vertex)) {
+            logger.error("Couldn't remove vertex which is not in graph.");
+            return false;
+        }
+
+        final int shard = getShardOf(vertex);
+        final Graph<V> owner = shards.get(shard);
+        final Set<V> neighbours = new HashSet<>(owner.getAdjacentVertices(vertex));
+        edgeCount -= neighbours.size();
+        cutEdgeCount -= countRemote(neighbours, shard);
+        if (directed) {
+            final Set<V> incomingVertices = owner.getIncomingVertices(vertex);
+            edgeCount -= incomingVertices.size() - (incomingVertices.contains(vertex) ? 1 : 0);
+            cutEdgeCount -= countRemote(incomingVertices, shard);
+            neighbours.addAll(incomingVertices);
+        }
+
+        owner.removeVertex(vertex);
+        final Set<Integer> remoteShards = new HashSet<>();
+        for (final V neighbour : neighbours) {
+            final int neighbourShard = getShardOf(neighbour);
+            if (neighbourShard != shard) {
+                remoteShards.add(neighbourShard);
+                removeGhost(owner, neighbour);
+            }
+        }
+        for (final int remoteShard : remoteShards) {
+            shards.get(remoteShard).removeVertex(vertex);
+        }
+
+        shardVertexCounts[shard]--;
+        vertexCount--;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean hasVertex(final V vertex) {
+        return vertex != null && shards.get(getShardOf(vertex)).hasVertex(vertex);
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end) {
+        return addEdge(start, end, 1.0);
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        if (!hasVertex(start) || !hasVertex(end)) {
+            throw new IllegalArgumentException("Start or end vertex does not belong to graph.");
+        }
+
+        final int startShard = getShardOf(start);
+        final int endShard = getShardOf(end);
+        if (startShard == endShard) {
+            if (!shards.get(startShard).addEdge(start, end, weight)) {
+                return false;
+            }
+        } else {
+            if (hasEdge(start, end)) {
+                logger.debug("Edge {} - {} already exist in the graph.", start, end);
+                return false;
+            }
+
+            shards.get(startShard).addVertex(end);
+            shards.get(startShard).addEdge(start, end, weight);
+            shards.get(endShard).addVertex(start);
+            shards.get(endShard).addEdge(start, end, weight);
+            cutEdgeCount++;
+        }
+
+        edgeCount++;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        if (!hasEdge(start, end)) {
+            logger.error("Couldn't delete not existing edge.");
+            return false;
+        }
+
+        final int startShard = getShardOf(start);
+        final int endShard = getShardOf(end);
+        shards.get(startShard).removeEdge(start, end);
+        if (startShard != endShard) {
+            shards.get(endShard).removeEdge(start, end);
+            removeGhost(shards.get(startShard), end);
+            removeGhost(shards.get(endShard), start);
+            cutEdgeCount--;
+        }
+
+        edgeCount--;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean hasEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final Graph<V> shard = shards.get(getShardOf(start));
+        return shard.hasVertex(start) && shard.hasVertex(end) && shard.hasEdge(start, end);
+    }
+
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        return hasVertex(start) ? shards.get(getShardOf(start)).getEdgeWeight(start, end) : Double.NaN;
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return vertices;
+    }
+
+    @Override
+    public Set<V> getAdjacentVertices(final V vertex) {
+        return hasVertex(vertex) ? shards.get(getShardOf(vertex)).getAdjacentVertices(vertex) : null;
+    }
+
+    @Override
+    public Set<V> getIncomingVertices(final V vertex) {
+        return hasVertex(vertex) ? shards.get(getShardOf(vertex)).getIncomingVertices(vertex) : null;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Returns shard owning provided vertex, the vertex does not have to belong to graph.
+     */
+    public int getShardOf(final V vertex) {
+        final int shard = partitioner.getShard(vertex, shards.size());
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalStateException("Partitioner returned not existing shard " + shard + " for " + vertex);
+        }
+        return shard;
+    }
+
+    /**
+     * Returns number of vertices owned by provided shard.
+     */
+    public int getShardVertexCount(final int shard) {
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalArgumentException("Shard does not exist: " + shard);
+        }
+        return shardVertexCounts[shard];
+    }
+
+    /**
+     * Returns number of edges, an edge of undirected graph is counted once.
+     */
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns number of edges between vertices of different shards.
+     */
+    public long getCutEdgeCount() {
+        return cutEdgeCount;
+    }
+
+    /**
+     * Returns share of edges between vertices of different shards, 0 if graph has no edges.
+     */
+    public double getEdgeCutRatio() {
+        return edgeCount == 0 ? 0 : (double) cutEdgeCount / edgeCount;
+    }
+
+    /**
+     * Returns number of distributed path queries.
+     */
+    public long getQueryCount() {
+        return queryCount.sum();
+    }
+
+    /**
+     * Returns number of supersteps of all distributed path queries.
+     */
+    public long getSuperstepCount() {
+        return superstepCount.sum();
+    }
+
+    /**
+     * Returns number of frontier batches all distributed path queries sent between shards.
+     */
+    public long getFrontierBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * Returns number of frontier vertices all distributed path queries sent between shards.
+     */
+    public long getFrontierMessageCount() {
+        return messageCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionedGraph: " + vertexCount + " vertices, " + edgeCount + " edges, " + cutEdgeCount
+                + " cut edges, " + shards.size() + " shards";
+    }
+
+    /**
+     * Returns local graph of provided shard including ghost vertices.
+     */
+    Graph<V> getShard(final int shard) {
+        return shards.get(shard);
+    }
+
+    ShardTransport<V> getTransport() {
+        return transport;
+    }
+
+    /**
+     * Returns id of a new distributed path query, unique within the graph.
+     */
+    long nextQueryId() {
+        return queryIds.incrementAndGet();
+    }
+
+    /**
+     * Records frontier traffic of a finished distributed path query.
+     */
+    void recordQuery(final long supersteps, final long batches, final long messages) {
+        queryCount.increment();
+        superstepCount.add(supersteps);
+        batchCount.add(batches);
+        messageCount.add(messages);
+    }
+
+    private int countRemote(final Set<V> neighbours, final int shard) {
+        int result = 0;
+        for (final V neighbour : neighbours) {
+            if (getShardOf(neighbour) != shard) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes ghost vertex from local graph of a shard if it has no edges left.
+     */
+    private static <V> void removeGhost(final Graph<V> shard, final V ghost) {
+        if (shard.getAdjacentVertices(ghost).isEmpty() && shard.getIncomingVertices(ghost).isEmpty()) {
+            shard.removeVertex(ghost);
+        }
+    }
+
+    /**
+     * Read-only view of vertices owned by all shards.
+     */
+    private final class VertexSet extends AbstractSet<V> {
+
+        @Override
+        public int size() {
+            return vertexCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(final Object vertex) {
+            try {
+                return hasVertex((V) vertex);
+            } catch (ClassCastException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int shard = -1;
+                private Iterator<V> current = Collections.emptyIterator();
+                private V next = advance();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public V next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    final V result = next;
+                    next = advance();
+                    return result;
+                }
+
+                private V advance() {
+                    while (true) {
+                        while (current.hasNext()) {
+                            final V vertex = current.next();
+                            if (getShardOf(vertex) == shard) {
+                                return vertex;
+                            }
+                        }
+                        if (++shard == shards.size()) {
+                            return null;
+                        }
+                        current = shards.get(shard).getVertices().iterator();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -1,30 +1,169 @@
 package org.resistancerus.graph;
 
-import lombok.*;
-
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-
-import static java.util.stream.Collectors.toList;
+import java.util.RandomAccess;
 
 /**
  * Path containing list of Edges.
+ * Paths found by PathCalculator are backed by arrays of vertices and edge weights, their Edge objects are created
+ * lazily on access. Edges of found paths and of paths not found by PathCalculator are unmodifiable, a path created
+ * by a constructor returns a modifiable list.
  * @author Malishevskii Oleg
  * @version 1.0
  * @see Edge
  */
-
-@AllArgsConstructor
-@NoArgsConstructor
-@EqualsAndHashCode
 public class Path<V> {
 
-    @Getter
-    @Setter
-    private List<Edge<V>> edges = new LinkedList<>();
+    private static final Object[] NO_VERTICES = new Object[0];
+
+    private List<Edge<V>> edges;
+    private Object[] vertices;
+    private double[] weights;
+
+    /**
+     * Creates empty path with modifiable list of edges.
+     */
+    public Path() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates path containing provided list of edges.
+     */
+    public Path(final List<Edge<V>> edges) {
+        this.edges = edges;
+    }
+
+    /**
+     * Creates path backed by provided arrays.
+     * @param vertices vertices of the path from source to destination, empty or containing at least two vertices.
+     * @param weights weights of the path edges, null if all edges have weight 1.
+     */
+    Path(final Object[] vertices, final double[] weights) {
+        this.vertices = vertices;
+        this.weights = weights;
+        this.edges = new EdgeList<>(vertices, weights);
+    }
+
+    /**
+     * Returns empty path with unmodifiable list of edges, returned when a path is not found.
+     */
+    static <V> Path<V> empty() {
+        return new Path<>(NO_VERTICES, null);
+    }
+
+    public List<Edge<V>> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(final List<Edge<V>> edges) {
+        this.edges = edges;
+        this.vertices = null;
+        this.weights = null;
+    }
+
+    /**
+     * Returns vertices of the path from source to destination or empty list if the path is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getVertices() {
+        if (vertices != null) {
+            return Collections.unmodifiableList((List<V>) Arrays.asList(vertices));
+        }
+
+        final List<V> result = new ArrayList<>(edges.size() + 1);
+        for (final Edge<V> edge : edges) {
+            if (result.isEmpty()) {
+                result.add(edge.getSource());
+            }
+            result.add(edge.getDestination());
+        }
+        return result;
+    }
+
+    /**
+     * Returns number of edges of the path.
+     */
+    public int getLength() {
+        return edges.size();
+    }
+
+    /**
+     * Returns sum of edge weights of the path.
+     */
+    public double getWeight() {
+        double result = 0;
+        if (vertices != null) {
+            for (int i = 1; i < vertices.length; i++) {
+                result += weights == null ? 1.0 : weights[i - 1];
+            }
+            return result;
+        }
+
+        for (final Edge<V> edge : edges) {
+            result += edge.getWeight();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Path)) {
+            return false;
+        }
+
+        return edges.equals(((Path<?>) o).edges);
+    }
+
+    @Override
+    public int hashCode() {
+        return edges.hashCode();
+    }
 
     @Override
     public String toString() {
-        return String.join(", ", edges.stream().map(Object::toString).collect(toList()));
+        final StringBuilder result = new StringBuilder();
+        for (final Edge<V> edge : edges) {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            result.append(edge);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Unmodifiable view of array backed path creating Edge objects on access.
+     */
+    private static final class EdgeList<V> extends AbstractList<Edge<V>> implements RandomAccess {
+
+        private final Object[] vertices;
+        private final double[] weights;
+
+        EdgeList(final Object[] vertices, final double[] weights) {
+            this.vertices = vertices;
+            this.weights = weights;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Edge<V> get(final int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return new Edge<>((V) vertices[index], (V) vertices[index + 1], weights == null ? 1.0 : weights[index]);
+        }
+
+        @Override
+        public int size() {
+            return vertices.length == 0 ? 0 : vertices.length - 1;
+        }
     }
 }
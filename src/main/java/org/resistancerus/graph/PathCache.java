@@ -0,0 +1,202 @@
+package org.resistancerus.graph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded cache of paths calculated by PathCalculator for one graph. Least recently used paths are evicted when
+ * the cache is full, paths older than time to live are calculated again. Cache is cleared as soon as
+ * modification count of the graph changes, so it never returns a path of a previous version of the graph.
+ * Paths of a graph which does not track its modifications (modification count 0) are never cached:
+ * every query calculates its path and counts as a miss.
+ * Cache is thread-safe, paths are calculated outside of the cache lock.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see PathCalculator
+ * @see Graph#getModificationCount()
+ */
+public final class PathCache<V> {
+
+    private final Graph<V> graph;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+
+    private final Map<Key<V>, Entry<V>> entries;
+    private long version;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    PathCache(final Graph<V> graph, final int maximumSize, final long timeToLiveNanos) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph could not be null.");
+        }
+
+        if (maximumSize <= 0 || timeToLiveNanos <= 0) {
+            throw new IllegalArgumentException("Cache size and time to live must be positive.");
+        }
+
+        this.graph = graph;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.version = graph.getModificationCount();
+        this.entries = new LinkedHashMap<Key<V>, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key<V>, Entry<V>> eldest) {
+                if (size() > PathCache.this.maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a path between two vertices of the graph, calculated via BFS algorithm if it is not cached.
+     * @see PathCalculator#getPath(Graph, Object, Object)
+     */
+    public Path<V> getPath(final V source, final V destination) {
+        return getPath(source, destination, SearchMode.BFS);
+    }
+
+    /**
+     * Returns a path between two vertices of the graph, calculated by provided search algorithm if it is not cached.
+     * Returned path could be shared with other callers, so its list of edges is unmodifiable.
+     * @see PathCalculator#getPath(Graph, Object, Object, SearchMode)
+     */
+    public Path<V> getPath(final V source, final V destination, final SearchMode mode) {
+        if (source == null || destination == null || mode == null) {
+            throw new IllegalArgumentException("Source, destination vertices and search mode could not be null.");
+        }
+
+        final long currentVersion = graph.getModificationCount();
+        if (currentVersion == 0) {
+            synchronized (this) {
+                missCount++;
+            }
+            return new Path<>(Collections.unmodifiableList(calculate(source, destination, mode).getEdges()));
+        }
+
+        final Key<V> key = new Key<>(source, destination, mode);
+        final long now = timeToLiveNanos == Long.MAX_VALUE ? 0 : System.nanoTime();
+        synchronized (this) {
+            if (currentVersion != version) {
+                entries.clear();
+                version = currentVersion;
+            }
+
+            final Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.created < timeToLiveNanos) {
+                hitCount++;
+                return new Path<>(entry.edges);
+            }
+            missCount++;
+        }
+
+        final List<Edge<V>> edges = Collections.unmodifiableList(calculate(source, destination, mode).getEdges());
+
+        synchronized (this) {
+            if (currentVersion == version && currentVersion == graph.getModificationCount()) {
+                entries.put(key, new Entry<>(edges, now));
+            }
+        }
+        return new Path<>(edges);
+    }
+
+    private Path<V> calculate(final V source, final V destination, final SearchMode mode) {
+        return graph instanceof IndexedGraph
+                ? PathCalculator.getPath((IndexedGraph<V>) graph, source, destination, mode)
+                : PathCalculator.getPath(graph, source, destination, mode);
+    }
+
+    /**
+     * Removes all cached paths.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns number of cached paths.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns number of queries answered from the cache.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns number of queries which required path calculation.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns number of paths evicted because the cache was full.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns share of queries answered from the cache or NaN if there were no queries.
+     */
+    public synchronized double getHitRate() {
+        final long total = hitCount + missCount;
+        return total == 0 ? Double.NaN : (double) hitCount / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PathCache: " + entries.size() + " paths, " + hitCount + " hits, " + missCount + " misses";
+    }
+
+    private static final class Key<V> {
+        private final V source;
+        private final V destination;
+        private final SearchMode mode;
+
+        Key(final V source, final V destination, final SearchMode mode) {
+            this.source = source;
+            this.destination = destination;
+            this.mode = mode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key<?> key = (Key<?>) o;
+            return source.equals(key.source) && destination.equals(key.destination) && mode == key.mode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, destination, mode);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final List<Edge<V>> edges;
+        private final long created;
+
+        Entry(final List<Edge<V>> edges, final long created) {
+            this.edges = edges;
+            this.created = created;
+        }
+    }
+}
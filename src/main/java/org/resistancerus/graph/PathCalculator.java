@@ -4,6 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToDoubleBiFunction;
 
 /**
  * PathCalculator utility class.
@@ -12,6 +15,8 @@ import java.util.*;
  */
 public abstract class PathCalculator {
     private static Logger logger = LoggerFactory.getLogger(GraphImpl.class);
+    private static final ToDoubleBiFunction<Object, Object> NO_HEURISTIC = (vertex, destination) -> 0.0;
+    private static final int[] NO_PATH = new int[0];
 
     /**
      * Returns a path between two vertices of the graph.
@@ -24,74 +29,1432 @@ public abstract class PathCalculator {
     public static <V> Path<V> getPath(final Graph<V> graph,
                                       final V source,
                                       final V destination) {
+        return getPath(graph, source, destination, SearchMode.BFS);
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated by provided search algorithm.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param mode        - search algorithm.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see Graph
+     * @see SearchMode
+     */
+    public static <V> Path<V> getPath(final Graph<V> graph,
+                                      final V source,
+                                      final V destination,
+                                      final SearchMode mode) {
+        if (graph == null || source == null || destination == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        if (mode == null) {
+            throw new IllegalArgumentException("Search mode could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, mode);
+        final Path<V> result = findPath(graph, source, destination, mode, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated by provided search algorithm.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    private static <V> Path<V> findPath(final Graph<V> graph,
+                                        final V source,
+                                        final V destination,
+                                        final SearchMode mode,
+                                        final QueryStatistics statistics) {
+        if (!graph.hasVertex(source) || isDestinationReachable(graph, destination)) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (isSourceReachable(graph, source) || isDestinationReachable(graph, destination)) {
+            logger.error("Source or destination vertex is not reachable.");
+            return Path.empty();
+        }
+
+        if (graph.hasEdge(source, destination)) {
+            return new Path<>(new Object[] {source, destination}, new double[] {graph.getEdgeWeight(source, destination)});
+        }
+
+        if (source.equals(destination)) {
+            return Path.empty();
+        }
+
+        if (graph instanceof GraphImpl && !((GraphImpl<V>) graph).mayReach(source, destination)) {
+            logger.debug("Destination vertex {} is not reachable from {}.", destination, source);
+            return Path.empty();
+        }
+
+        final Path<V> result;
+        switch (mode) {
+            case BIDIRECTIONAL_BFS:
+                result = getPathBidirectionalBFS(graph, source, destination, statistics);
+                break;
+            default:
+                result = getPathBFS(graph, source, destination, statistics);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Path between {} and {} is: {}", source, destination, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     */
+    public static <V> Path<V> getPath(final IndexedGraph<V> graph,
+                                      final V source,
+                                      final V destination) {
+        return getPath(graph, source, destination, SearchMode.BFS);
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph calculated by provided search algorithm.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param mode        - search algorithm.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     * @see SearchMode
+     */
+    public static <V> Path<V> getPath(final IndexedGraph<V> graph,
+                                      final V source,
+                                      final V destination,
+                                      final SearchMode mode) {
+        if (graph == null || source == null || destination == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        if (mode == null) {
+            throw new IllegalArgumentException("Search mode could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, mode);
+        final Path<V> result = findPath(graph, source, destination, mode, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph calculated by provided search algorithm.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    private static <V> Path<V> findPath(final IndexedGraph<V> graph,
+                                        final V source,
+                                        final V destination,
+                                        final SearchMode mode,
+                                        final QueryStatistics statistics) {
+        final int sourceId = graph.indexOf(source);
+        final int destinationId = graph.indexOf(destination);
+        if (sourceId < 0 || destinationId < 0) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (sourceId == destinationId) {
+            return graph.hasEdge(source, destination) ? createLoopPath(graph, source) : Path.empty();
+        }
+
+        final Path<V> result;
+        switch (mode) {
+            case BIDIRECTIONAL_BFS:
+                result = getPathBidirectionalBFS(graph, sourceId, destinationId, statistics);
+                break;
+            case PARALLEL_BFS:
+                result = createPathObject(graph, ParallelBFS.getPath(graph, sourceId, destinationId, statistics));
+                break;
+            default:
+                result = getPathBFS(graph, sourceId, destinationId, statistics);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Path between {} and {} is: {}", source, destination, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the graph calculated via Dijkstra algorithm.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see Graph
+     */
+    public static <V> Path<V> getShortestPath(final Graph<V> graph,
+                                              final V source,
+                                              final V destination) {
+        return getShortestPath(graph, source, destination, NO_HEURISTIC);
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the graph calculated via A* algorithm.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param heuristic   - estimate of the distance from a vertex to destination. It must never exceed the real distance
+     *                      and must not decrease by more than edge weight along an edge, otherwise the path may be not shortest.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see Graph
+     */
+    public static <V> Path<V> getShortestPath(final Graph<V> graph,
+                                              final V source,
+                                              final V destination,
+                                              final ToDoubleBiFunction<? super V, ? super V> heuristic) {
         if (graph == null || source == null || destination == null) {
             throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
         }
 
-        if (!graph.hasVertex(source) || isDestinationReachable(graph, destination)) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_SHORTEST_PATH, null);
+        final Path<V> result = findShortestPath(graph, source, destination, heuristic, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the graph calculated via A* algorithm.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    private static <V> Path<V> findShortestPath(final Graph<V> graph,
+                                                final V source,
+                                                final V destination,
+                                                final ToDoubleBiFunction<? super V, ? super V> heuristic,
+                                                final QueryStatistics statistics) {
+        if (!graph.hasVertex(source) || !graph.hasVertex(destination)) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (source.equals(destination)) {
+            return graph.hasEdge(source, destination) ? createLoopPath(graph, source) : Path.empty();
+        }
+
+        final Path<V> result = getShortestPathAStar(graph, source, destination, heuristic, statistics);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Shortest path between {} and {} is: {}", source, destination, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the indexed graph calculated via Dijkstra algorithm.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     */
+    public static <V> Path<V> getShortestPath(final IndexedGraph<V> graph,
+                                              final V source,
+                                              final V destination) {
+        return getShortestPath(graph, source, destination, NO_HEURISTIC);
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the indexed graph calculated via A* algorithm.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param heuristic   - estimate of the distance from a vertex to destination. It must never exceed the real distance
+     *                      and must not decrease by more than edge weight along an edge, otherwise the path may be not shortest.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     */
+    public static <V> Path<V> getShortestPath(final IndexedGraph<V> graph,
+                                              final V source,
+                                              final V destination,
+                                              final ToDoubleBiFunction<? super V, ? super V> heuristic) {
+        if (graph == null || source == null || destination == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_SHORTEST_PATH, null);
+        final Path<V> result = findShortestPath(graph, source, destination, heuristic, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the indexed graph calculated via A* algorithm.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    private static <V> Path<V> findShortestPath(final IndexedGraph<V> graph,
+                                                final V source,
+                                                final V destination,
+                                                final ToDoubleBiFunction<? super V, ? super V> heuristic,
+                                                final QueryStatistics statistics) {
+        final int sourceId = graph.indexOf(source);
+        final int destinationId = graph.indexOf(destination);
+        if (sourceId < 0 || destinationId < 0) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (sourceId == destinationId) {
+            return graph.hasEdge(source, destination) ? createLoopPath(graph, source) : Path.empty();
+        }
+
+        final Path<V> result = getShortestPathAStar(graph, sourceId, destinationId, heuristic, statistics);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Shortest path between {} and {} is: {}", source, destination, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a path with minimal number of edges between two vertices of the temporal graph
+     * which consists of edges with timestamps within provided window.
+     * @param graph       - temporal graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param from        - start of the window, inclusive.
+     * @param to          - end of the window, exclusive.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see TemporalGraph
+     */
+    public static <V> Path<V> getPath(final TemporalGraph<V> graph,
+                                      final V source,
+                                      final V destination,
+                                      final long from,
+                                      final long to) {
+        if (graph == null || source == null || destination == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, SearchMode.BFS);
+        final Path<V> result = findTemporalPath(graph, source, destination, from, to, false, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a time-respecting path between two vertices of the temporal graph: timestamps of its edges are within
+     * provided window and do not decrease along the path. Of all such paths the one reaching destination
+     * by the earliest edge is returned.
+     * @param graph       - temporal graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param from        - start of the window, the earliest departure from source, inclusive.
+     * @param to          - end of the window, exclusive.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see TemporalGraph
+     */
+    public static <V> Path<V> getTimeRespectingPath(final TemporalGraph<V> graph,
+                                                    final V source,
+                                                    final V destination,
+                                                    final long from,
+                                                    final long to) {
+        if (graph == null || source == null || destination == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, null);
+        final Path<V> result = findTemporalPath(graph, source, destination, from, to, true, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the temporal graph restricted to a time window.
+     * @param timeRespecting - true if timestamps must not decrease along the path.
+     * @param statistics     - statistics of the query or null if instrumentation is disabled.
+     */
+    private static <V> Path<V> findTemporalPath(final TemporalGraph<V> graph,
+                                                final V source,
+                                                final V destination,
+                                                final long from,
+                                                final long to,
+                                                final boolean timeRespecting,
+                                                final QueryStatistics statistics) {
+        if (!graph.hasVertex(source) || !graph.hasVertex(destination)) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (source.equals(destination)) {
+            final long time = graph.getEdgeTime(source, source);
+            return time != TemporalGraph.NO_TIME && time >= from && time < to ? createLoopPath(graph, source) : Path.empty();
+        }
+
+        final Path<V> result = timeRespecting
+                ? getEarliestArrivalPath(graph, source, destination, from, to, statistics)
+                : getPathBFS(graph, source, destination, from, to, statistics);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Path between {} and {} is: {}", source, destination, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a path with minimal number of edges between two vertices of the partitioned graph calculated via
+     * distributed BFS, shards expand their frontiers in parallel behind the transport of the graph.
+     * @param graph       - partitioned graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see PartitionedGraph
+     */
+    public static <V> Path<V> getDistributedPath(final PartitionedGraph<V> graph, final V source, final V destination) {
+        if (graph == null || source == null || destination == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, SearchMode.BFS);
+        final Path<V> result = findDistributedPath(graph, source, destination, statistics);
+        Instrumentation.endQuery(statistics, result.getEdges().size());
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the partitioned graph.
+     * @param statistics - statistics of the query or null if instrumentation is disabled.
+     */
+    private static <V> Path<V> findDistributedPath(final PartitionedGraph<V> graph,
+                                                   final V source,
+                                                   final V destination,
+                                                   final QueryStatistics statistics) {
+        if (!graph.hasVertex(source) || !graph.hasVertex(destination)) {
+            logger.error("Source or destination vertices does not belong to graph.");
+            return Path.empty();
+        }
+
+        if (graph.hasEdge(source, destination)) {
+            return new Path<>(new Object[] {source, destination}, new double[] {graph.getEdgeWeight(source, destination)});
+        }
+
+        if (source.equals(destination)) {
+            return Path.empty();
+        }
+
+        final Object[] vertices = DistributedBFS.getPath(graph, source, destination, statistics);
+        final Path<V> result = vertices.length < 2 ? Path.empty() : createPathObject(graph, vertices);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Path between {} and {} is: {}", source, destination, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns paths from one vertex of the graph to many vertices. All paths are taken from one BFS traversal
+     * which stops as soon as every destination is reached.
+     * @param graph        - graph to calculate paths for.
+     * @param source       - source vertex.
+     * @param destinations - destination vertices.
+     * @return map from destination vertex to path, path is empty if it does not exist. Map keeps order of destinations.
+     * @see Graph
+     */
+    public static <V> Map<V, Path<V>> getPaths(final Graph<V> graph,
+                                               final V source,
+                                               final Collection<? extends V> destinations) {
+        if (graph == null || source == null || destinations == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        final Map<V, Path<V>> result = new LinkedHashMap<>();
+        final Set<V> pending = new HashSet<>();
+        for (final V destination : destinations) {
+            if (destination == null) {
+                throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+            }
+            result.put(destination, null);
+            if (!destination.equals(source) && graph.hasVertex(destination)) {
+                pending.add(destination);
+            }
+        }
+
+        final boolean sourceExists = graph.hasVertex(source);
+        final Map<V, V> predecessor = sourceExists
+                ? getPredecessorTree(graph, source, pending)
+                : Collections.emptyMap();
+        for (final Map.Entry<V, Path<V>> entry : result.entrySet()) {
+            final V destination = entry.getKey();
+            if (destination.equals(source)) {
+                entry.setValue(sourceExists && graph.hasEdge(source, source) ? createLoopPath(graph, source) : Path.empty());
+            } else {
+                entry.setValue(predecessor.containsKey(destination)
+                        ? createPathObject(graph, predecessor, destination)
+                        : Path.empty());
+            }
+        }
+        logger.debug("Paths from {} are: {}", source, result);
+        return result;
+    }
+
+    /**
+     * Returns paths between many pairs of vertices of the graph. Pairs are grouped by source vertex,
+     * paths of every group are taken from one BFS traversal.
+     * @param graph        - graph to calculate paths for.
+     * @param sources      - source vertices.
+     * @param destinations - destination vertices, i-th destination is paired with i-th source.
+     * @return list of paths in the order of pairs, path is empty if it does not exist.
+     * @see Graph
+     */
+    public static <V> List<Path<V>> getPaths(final Graph<V> graph,
+                                             final List<? extends V> sources,
+                                             final List<? extends V> destinations) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+        return getPaths(sources, destinations, (source, group) -> getPaths(graph, source, group));
+    }
+
+    /**
+     * Returns paths from one vertex of the indexed graph to many vertices. All paths are taken from one BFS traversal
+     * which stops as soon as every destination is reached.
+     * @param graph        - indexed graph to calculate paths for.
+     * @param source       - source vertex.
+     * @param destinations - destination vertices.
+     * @return map from destination vertex to path, path is empty if it does not exist. Map keeps order of destinations.
+     * @see IndexedGraph
+     */
+    public static <V> Map<V, Path<V>> getPaths(final IndexedGraph<V> graph,
+                                               final V source,
+                                               final Collection<? extends V> destinations) {
+        if (graph == null || source == null || destinations == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        final int sourceId = graph.indexOf(source);
+        final TraversalState targets = TraversalState.beginReverse(graph.getVertexCount());
+        int pending = 0;
+        for (final V destination : destinations) {
+            if (destination == null) {
+                throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+            }
+            final int id = graph.indexOf(destination);
+            if (id >= 0 && id != sourceId && !targets.isVisited(id)) {
+                targets.visit(id, id);
+                pending++;
+            }
+        }
+
+        final TraversalState state = sourceId < 0 ? null : getPredecessorTree(graph, sourceId, targets, pending);
+        final Map<V, Path<V>> result = new LinkedHashMap<>();
+        for (final V destination : destinations) {
+            final int id = graph.indexOf(destination);
+            if (id < 0 || state == null) {
+                result.put(destination, Path.empty());
+            } else if (id == sourceId) {
+                result.put(destination, graph.hasEdge(source, source) ? createLoopPath(graph, source) : Path.empty());
+            } else {
+                result.put(destination, state.isVisited(id) ? createPathObject(graph, state, id) : Path.empty());
+            }
+        }
+        logger.debug("Paths from {} are: {}", source, result);
+        return result;
+    }
+
+    /**
+     * Returns paths between many pairs of vertices of the indexed graph. Pairs are grouped by source vertex,
+     * paths of every group are taken from one BFS traversal.
+     * @param graph        - indexed graph to calculate paths for.
+     * @param sources      - source vertices.
+     * @param destinations - destination vertices, i-th destination is paired with i-th source.
+     * @return list of paths in the order of pairs, path is empty if it does not exist.
+     * @see IndexedGraph
+     */
+    public static <V> List<Path<V>> getPaths(final IndexedGraph<V> graph,
+                                             final List<? extends V> sources,
+                                             final List<? extends V> destinations) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+        return getPaths(sources, destinations, (source, group) -> getPaths(graph, source, group));
+    }
+
+    /**
+     * Returns a path between two vertices of the graph with primitive int vertices.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return vertices of the path from source to destination or empty array if path does not exist.
+     * Path of a loop edge contains its vertex twice.
+     * @see IntGraph
+     */
+    public static int[] getPath(final IntGraph graph,
+                                final int source,
+                                final int destination) {
+        return getPath(graph, source, destination, SearchMode.BFS);
+    }
+
+    /**
+     * Returns a path between two vertices of the graph with primitive int vertices calculated by provided search algorithm.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param mode        - search algorithm.
+     * @return vertices of the path from source to destination or empty array if path does not exist.
+     * Path of a loop edge contains its vertex twice.
+     * @see IntGraph
+     * @see SearchMode
+     */
+    public static int[] getPath(final IntGraph graph,
+                                final int source,
+                                final int destination,
+                                final SearchMode mode) {
+        final IntGraphImpl intGraph = (IntGraphImpl) checkPrimitiveGraph(graph);
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, mode);
+        final int[] result = intGraph.toVertices(getPathIndices(intGraph, source, destination, mode, statistics));
+        Instrumentation.endQuery(statistics, Math.max(0, result.length - 1));
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the graph with primitive long vertices.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return vertices of the path from source to destination or empty array if path does not exist.
+     * Path of a loop edge contains its vertex twice.
+     * @see LongGraph
+     */
+    public static long[] getPath(final LongGraph graph,
+                                 final long source,
+                                 final long destination) {
+        return getPath(graph, source, destination, SearchMode.BFS);
+    }
+
+    /**
+     * Returns a path between two vertices of the graph with primitive long vertices calculated by provided search algorithm.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @param mode        - search algorithm.
+     * @return vertices of the path from source to destination or empty array if path does not exist.
+     * Path of a loop edge contains its vertex twice.
+     * @see LongGraph
+     * @see SearchMode
+     */
+    public static long[] getPath(final LongGraph graph,
+                                 final long source,
+                                 final long destination,
+                                 final SearchMode mode) {
+        final LongGraphImpl longGraph = (LongGraphImpl) checkPrimitiveGraph(graph);
+        final QueryStatistics statistics = Instrumentation.startQuery(GraphOperation.GET_PATH, mode);
+        final long[] result = longGraph.toVertices(getPathIndices(longGraph, source, destination, mode, statistics));
+        Instrumentation.endQuery(statistics, Math.max(0, result.length - 1));
+        return result;
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated via BFS algorithm.
+     * Predecessor map is filled lazily, so memory and time depend only on the explored part of the graph.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see Graph
+     */
+    private static <V> Path<V> getPathBFS(final Graph<V> graph,
+                                          final V source,
+                                          final V destination,
+                                          final QueryStatistics statistics) {
+        final ArrayDeque<V> queue = new ArrayDeque<>();
+        final Map<V, V> predecessor = new HashMap<>();
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
+
+        predecessor.put(source, null);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            frontierPeak = Math.max(frontierPeak, queue.size());
+            final V current = queue.removeFirst();
+            final Set<V> adjacentVertices = graph.getAdjacentVertices(current);
+            if (adjacentVertices == null) {
+                continue;
+            }
+
+            expanded++;
+            QueryDeadline.check(expanded);
+            for (final V adjacent : adjacentVertices) {
+                scanned++;
+                if (predecessor.containsKey(adjacent)) {
+                    continue;
+                }
+
+                predecessor.put(adjacent, current);
+
+                if (adjacent.equals(destination)) {
+                    record(statistics, expanded, scanned, frontierPeak);
+                    return createPathObject(graph, predecessor, destination);
+                }
+
+                queue.addLast(adjacent);
+            }
+        }
+
+        record(statistics, expanded, scanned, frontierPeak);
+        return Path.empty();
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph calculated via BFS algorithm.
+     * Uses epoch-stamped traversal state of the current thread, so setup cost does not depend on graph size.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex id.
+     * @param destination - destination vertex id.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     */
+    private static <V> Path<V> getPathBFS(final IndexedGraph<V> graph,
+                                          final int source,
+                                          final int destination,
+                                          final QueryStatistics statistics) {
+        final TraversalState state = TraversalState.begin(graph.getVertexCount());
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
+        state.visit(source, source);
+        state.enqueue(source);
+
+        while (!state.isQueueEmpty()) {
+            frontierPeak = Math.max(frontierPeak, state.getQueueSize());
+            final int current = state.dequeue();
+            final int degree = graph.getDegree(current);
+            expanded++;
+            QueryDeadline.check(expanded);
+            for (int i = 0; i < degree; i++) {
+                scanned++;
+                final int adjacent = graph.getNeighbour(current, i);
+                if (state.isVisited(adjacent)) {
+                    continue;
+                }
+
+                state.visit(adjacent, current);
+
+                if (adjacent == destination) {
+                    record(statistics, expanded, scanned, frontierPeak);
+                    return createPathObject(graph, state, destination);
+                }
+
+                state.enqueue(adjacent);
+            }
+        }
+
+        record(statistics, expanded, scanned, frontierPeak);
+        return Path.empty();
+    }
+
+    /**
+     * Returns a path between two vertices of the temporal graph calculated via BFS algorithm over edges
+     * with timestamps within provided window.
+     * @see TemporalGraph
+     */
+    private static <V> Path<V> getPathBFS(final TemporalGraph<V> graph,
+                                          final V source,
+                                          final V destination,
+                                          final long from,
+                                          final long to,
+                                          final QueryStatistics statistics) {
+        final ArrayDeque<V> queue = new ArrayDeque<>();
+        final Map<V, V> predecessor = new HashMap<>();
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
+
+        predecessor.put(source, null);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            frontierPeak = Math.max(frontierPeak, queue.size());
+            final V current = queue.removeFirst();
+            expanded++;
+            QueryDeadline.check(expanded);
+            for (final Map.Entry<V, TemporalGraph.TemporalEdge<V>> entry : graph.getAdjacentEdges(current).entrySet()) {
+                scanned++;
+                final long time = entry.getValue().time;
+                final V adjacent = entry.getKey();
+                if (time < from || time >= to || predecessor.containsKey(adjacent)) {
+                    continue;
+                }
+
+                predecessor.put(adjacent, current);
+
+                if (adjacent.equals(destination)) {
+                    record(statistics, expanded, scanned, frontierPeak);
+                    return createPathObject(graph, predecessor, destination);
+                }
+
+                queue.addLast(adjacent);
+            }
+        }
+
+        record(statistics, expanded, scanned, frontierPeak);
+        return Path.empty();
+    }
+
+    /**
+     * Returns a time-respecting path between two vertices of the temporal graph reaching destination as early
+     * as possible. Vertices are settled in order of their earliest arrival, an edge could be followed from a vertex
+     * if its timestamp is not earlier than arrival to the vertex.
+     * @see TemporalGraph
+     */
+    private static <V> Path<V> getEarliestArrivalPath(final TemporalGraph<V> graph,
+                                                      final V source,
+                                                      final V destination,
+                                                      final long from,
+                                                      final long to,
+                                                      final QueryStatistics statistics) {
+        final Map<V, Long> arrival = new HashMap<>();
+        final Map<V, V> predecessor = new HashMap<>();
+        final PriorityQueue<Arrival<V>> queue = new PriorityQueue<>();
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
+
+        arrival.put(source, from);
+        predecessor.put(source, null);
+        queue.add(new Arrival<>(source, from));
+
+        while (!queue.isEmpty()) {
+            frontierPeak = Math.max(frontierPeak, queue.size());
+            final Arrival<V> current = queue.poll();
+            if (current.time != arrival.get(current.vertex)) {
+                continue;
+            }
+
+            if (current.vertex.equals(destination)) {
+                record(statistics, expanded, scanned, frontierPeak);
+                return createPathObject(graph, predecessor, destination);
+            }
+
+            expanded++;
+            QueryDeadline.check(expanded);
+            for (final Map.Entry<V, TemporalGraph.TemporalEdge<V>> entry : graph.getAdjacentEdges(current.vertex).entrySet()) {
+                scanned++;
+                final long time = entry.getValue().time;
+                if (time < current.time || time >= to) {
+                    continue;
+                }
+
+                final V adjacent = entry.getKey();
+                final Long known = arrival.get(adjacent);
+                if (known == null || time < known) {
+                    arrival.put(adjacent, time);
+                    predecessor.put(adjacent, current.vertex);
+                    queue.add(new Arrival<>(adjacent, time));
+                }
+            }
+        }
+
+        record(statistics, expanded, scanned, frontierPeak);
+        return Path.empty();
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated via bidirectional BFS algorithm.
+     * On every step the smaller frontier is expanded by one level, destination side follows incoming edges.
+     * The first vertex reached by both sides lies on a shortest path.
+     * @param graph       - graph to calculate path for.
+     * @param source      - source vertex.
+     * @param destination - destination vertex, must differ from source.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see Graph
+     */
+    private static <V> Path<V> getPathBidirectionalBFS(final Graph<V> graph,
+                                                       final V source,
+                                                       final V destination,
+                                                       final QueryStatistics statistics) {
+        final ArrayDeque<V> forwardQueue = new ArrayDeque<>();
+        final ArrayDeque<V> backwardQueue = new ArrayDeque<>();
+        final Map<V, V> predecessor = new HashMap<>();
+        final Map<V, V> successor = new HashMap<>();
+
+        predecessor.put(source, null);
+        successor.put(destination, null);
+        forwardQueue.add(source);
+        backwardQueue.add(destination);
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            QueryDeadline.checkCurrent();
+            final V meeting = forwardQueue.size() <= backwardQueue.size()
+                    ? expandLevel(forwardQueue, predecessor, successor, graph::getAdjacentVertices, statistics)
+                    : expandLevel(backwardQueue, successor, predecessor, graph::getIncomingVertices, statistics);
+
+            if (meeting != null) {
+                return createPathObject(graph, predecessor, successor, meeting);
+            }
+        }
+
+        return Path.empty();
+    }
+
+    /**
+     * Expands one BFS level of a bidirectional search.
+     * @param queue         contains vertices of the current level, replaced with vertices of the next one.
+     * @param visited       contains pairs of visited vertex and its parent for the expanded side.
+     * @param otherVisited  contains visited vertices of the opposite side.
+     * @param neighbours    function returning vertices to expand to.
+     * @param statistics    statistics of the query or null.
+     * @return first vertex visited by both sides or null.
+     */
+    private static <V> V expandLevel(final ArrayDeque<V> queue,
+                                     final Map<V, V> visited,
+                                     final Map<V, V> otherVisited,
+                                     final Function<V, Set<V>> neighbours,
+                                     final QueryStatistics statistics) {
+        final int frontier = queue.size();
+        long expanded = 0;
+        long scanned = 0;
+        for (int count = frontier; count > 0; count--) {
+            final V current = queue.removeFirst();
+            final Set<V> adjacentVertices = neighbours.apply(current);
+            if (adjacentVertices == null) {
+                continue;
+            }
+
+            expanded++;
+            QueryDeadline.check(expanded);
+            for (final V adjacent : adjacentVertices) {
+                scanned++;
+                if (visited.containsKey(adjacent)) {
+                    continue;
+                }
+
+                visited.put(adjacent, current);
+
+                if (otherVisited.containsKey(adjacent)) {
+                    record(statistics, expanded, scanned, frontier);
+                    return adjacent;
+                }
+
+                queue.addLast(adjacent);
+            }
+        }
+        record(statistics, expanded, scanned, frontier);
+        return null;
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph calculated via bidirectional BFS algorithm.
+     * Destination side follows edges of the reversed graph.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex id.
+     * @param destination - destination vertex id, must differ from source.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     */
+    private static <V> Path<V> getPathBidirectionalBFS(final IndexedGraph<V> graph,
+                                                       final int source,
+                                                       final int destination,
+                                                       final QueryStatistics statistics) {
+        final IndexedGraph<V> reverse = graph.reverse();
+        final TraversalState forward = TraversalState.begin(graph.getVertexCount());
+        final TraversalState backward = TraversalState.beginReverse(graph.getVertexCount());
+
+        forward.visit(source, source);
+        forward.enqueue(source);
+        backward.visit(destination, destination);
+        backward.enqueue(destination);
+
+        while (!forward.isQueueEmpty() && !backward.isQueueEmpty()) {
+            QueryDeadline.checkCurrent();
+            final int meeting = forward.getQueueSize() <= backward.getQueueSize()
+                    ? expandLevel(graph, forward, backward, statistics)
+                    : expandLevel(reverse, backward, forward, statistics);
+
+            if (meeting >= 0) {
+                return createPathObject(graph, createPathArray(forward, meeting, backward));
+            }
+        }
+
+        return Path.empty();
+    }
+
+    /**
+     * Expands one BFS level of a bidirectional search over indexed graph.
+     * @return id of the first vertex visited by both sides or -1.
+     */
+    private static int expandLevel(final IndexedGraph<?> graph,
+                                   final TraversalState state,
+                                   final TraversalState otherState,
+                                   final QueryStatistics statistics) {
+        final int frontier = state.getQueueSize();
+        long scanned = 0;
+        for (int count = frontier; count > 0; count--) {
+            QueryDeadline.check(count);
+            final int current = state.dequeue();
+            final int degree = graph.getDegree(current);
+            for (int i = 0; i < degree; i++) {
+                scanned++;
+                final int adjacent = graph.getNeighbour(current, i);
+                if (state.isVisited(adjacent)) {
+                    continue;
+                }
+
+                state.visit(adjacent, current);
+
+                if (otherState.isVisited(adjacent)) {
+                    record(statistics, frontier - count + 1, scanned, frontier);
+                    return adjacent;
+                }
+
+                state.enqueue(adjacent);
+            }
+        }
+        record(statistics, frontier, scanned, frontier);
+        return -1;
+    }
+
+    /**
+     * Groups pairs of vertices by source and calculates paths of every group at once.
+     * @param oneToMany - function returning paths from a source to a group of destinations.
+     * @return list of paths in the order of pairs.
+     */
+    private static <V> List<Path<V>> getPaths(final List<? extends V> sources,
+                                              final List<? extends V> destinations,
+                                              final BiFunction<V, List<V>, Map<V, Path<V>>> oneToMany) {
+        if (sources == null || destinations == null) {
+            throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+        }
+
+        if (sources.size() != destinations.size()) {
+            throw new IllegalArgumentException("Sources and destinations must have the same size.");
+        }
+
+        final Map<V, List<V>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i) == null) {
+                throw new IllegalArgumentException("Graph, source and destination vertices could not be null.");
+            }
+            groups.computeIfAbsent(sources.get(i), source -> new ArrayList<>()).add(destinations.get(i));
+        }
+
+        final Map<V, Map<V, Path<V>>> paths = new HashMap<>();
+        groups.forEach((source, group) -> paths.put(source, oneToMany.apply(source, group)));
+
+        final List<Path<V>> result = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            result.add(paths.get(sources.get(i)).get(destinations.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Runs BFS from source until all pending vertices are reached.
+     * @param pending - vertices to reach, the set is emptied by traversal.
+     * @return map of visited vertices to their predecessors, source has null predecessor.
+     */
+    private static <V> Map<V, V> getPredecessorTree(final Graph<V> graph,
+                                                    final V source,
+                                                    final Set<V> pending) {
+        final ArrayDeque<V> queue = new ArrayDeque<>();
+        final Map<V, V> predecessor = new HashMap<>();
+
+        predecessor.put(source, null);
+        queue.add(source);
+
+        while (!pending.isEmpty() && !queue.isEmpty()) {
+            final V current = queue.removeFirst();
+            final Set<V> adjacentVertices = graph.getAdjacentVertices(current);
+            if (adjacentVertices == null) {
+                continue;
+            }
+
+            for (final V adjacent : adjacentVertices) {
+                if (predecessor.containsKey(adjacent)) {
+                    continue;
+                }
+
+                predecessor.put(adjacent, current);
+
+                if (pending.remove(adjacent) && pending.isEmpty()) {
+                    return predecessor;
+                }
+
+                queue.addLast(adjacent);
+            }
+        }
+        return predecessor;
+    }
+
+    /**
+     * Runs BFS from source over the indexed graph until all target vertices are reached.
+     * @param targets - state whose visited vertices are the targets.
+     * @param pending - number of targets.
+     * @return traversal state holding predecessors of visited vertices.
+     */
+    private static TraversalState getPredecessorTree(final IndexedGraph<?> graph,
+                                                     final int source,
+                                                     final TraversalState targets,
+                                                     int pending) {
+        final TraversalState state = TraversalState.begin(graph.getVertexCount());
+        state.visit(source, source);
+        state.enqueue(source);
+
+        while (pending > 0 && !state.isQueueEmpty()) {
+            final int current = state.dequeue();
+            final int degree = graph.getDegree(current);
+            for (int i = 0; i < degree; i++) {
+                final int adjacent = graph.getNeighbour(current, i);
+                if (state.isVisited(adjacent)) {
+                    continue;
+                }
+
+                state.visit(adjacent, current);
+
+                if (targets.isVisited(adjacent) && --pending == 0) {
+                    return state;
+                }
+
+                state.enqueue(adjacent);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Returns graph implementation of primitive graph created by GraphFactory.
+     */
+    private static PrimitiveGraph checkPrimitiveGraph(final Object graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph could not be null.");
+        }
+
+        if (!(graph instanceof PrimitiveGraph)) {
+            throw new IllegalArgumentException("Graph must be created by GraphFactory.");
+        }
+        return (PrimitiveGraph) graph;
+    }
+
+    /**
+     * Returns vertex indices of a path between two vertices of the primitive graph.
+     */
+    private static int[] getPathIndices(final PrimitiveGraph graph,
+                                        final long source,
+                                        final long destination,
+                                        final SearchMode mode,
+                                        final QueryStatistics statistics) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Search mode could not be null.");
+        }
+
+        final int sourceId = graph.indexOf(source);
+        final int destinationId = graph.indexOf(destination);
+        if (sourceId < 0 || destinationId < 0) {
             logger.error("Source or destination vertices does not belong to graph.");
-            return new Path<>();
+            return NO_PATH;
         }
 
-        if (isSourceReachable(graph, source) || isDestinationReachable(graph, destination)) {
-            logger.error("Source or destination vertex is not reachable.");
-            return new Path<>();
+        if (sourceId == destinationId) {
+            return graph.hasLoop(sourceId) ? new int[] {sourceId, sourceId} : NO_PATH;
         }
 
-        if (graph.hasEdge(source, destination)) {
-            LinkedList<Edge<V>> result = new LinkedList<>();
-            result.add(new Edge<>(source, destination));
-            logger.debug("Path in graph {} between {} and {} is: {}", graph, source, destination, result);
-            return new Path<>(result);
+        switch (mode) {
+            case BIDIRECTIONAL_BFS:
+                return getPathBidirectionalBFS(graph, sourceId, destinationId, statistics);
+            case PARALLEL_BFS:
+                return ParallelBFS.getPath(graph, sourceId, destinationId, statistics);
+            default:
+                return getPathBFS(graph, sourceId, destinationId, statistics);
+        }
+    }
+
+    /**
+     * Returns vertex indices of a path between two vertices of the primitive graph calculated via BFS algorithm.
+     * Adjacency tables are scanned in place and traversal state is reused, so no objects are allocated except the result.
+     * @param graph       - primitive graph to calculate path for.
+     * @param source      - source vertex index.
+     * @param destination - destination vertex index.
+     * @return vertex indices of the path or empty array if path does not exist.
+     */
+    private static int[] getPathBFS(final PrimitiveGraph graph,
+                                    final int source,
+                                    final int destination,
+                                    final QueryStatistics statistics) {
+        final TraversalState state = TraversalState.begin(graph.getIndexCount());
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
+        state.visit(source, source);
+        state.enqueue(source);
+
+        while (!state.isQueueEmpty()) {
+            frontierPeak = Math.max(frontierPeak, state.getQueueSize());
+            final int current = state.dequeue();
+            expanded++;
+            for (final int adjacent : graph.outgoingTable(current)) {
+                if (adjacent < 0) {
+                    continue;
+                }
+
+                scanned++;
+                if (state.isVisited(adjacent)) {
+                    continue;
+                }
+
+                state.visit(adjacent, current);
+
+                if (adjacent == destination) {
+                    record(statistics, expanded, scanned, frontierPeak);
+                    return createPathArray(state, destination, null);
+                }
+
+                state.enqueue(adjacent);
+            }
+        }
+
+        record(statistics, expanded, scanned, frontierPeak);
+        return NO_PATH;
+    }
+
+    /**
+     * Returns vertex indices of a path between two vertices of the primitive graph calculated via bidirectional BFS algorithm.
+     * @param graph       - primitive graph to calculate path for.
+     * @param source      - source vertex index.
+     * @param destination - destination vertex index, must differ from source.
+     * @return vertex indices of the path or empty array if path does not exist.
+     */
+    private static int[] getPathBidirectionalBFS(final PrimitiveGraph graph,
+                                                 final int source,
+                                                 final int destination,
+                                                 final QueryStatistics statistics) {
+        final TraversalState forward = TraversalState.begin(graph.getIndexCount());
+        final TraversalState backward = TraversalState.beginReverse(graph.getIndexCount());
+
+        forward.visit(source, source);
+        forward.enqueue(source);
+        backward.visit(destination, destination);
+        backward.enqueue(destination);
+
+        while (!forward.isQueueEmpty() && !backward.isQueueEmpty()) {
+            final int meeting = forward.getQueueSize() <= backward.getQueueSize()
+                    ? expandLevel(graph, false, forward, backward, statistics)
+                    : expandLevel(graph, true, backward, forward, statistics);
+
+            if (meeting >= 0) {
+                return createPathArray(forward, meeting, backward);
+            }
+        }
+
+        return NO_PATH;
+    }
+
+    /**
+     * Expands one BFS level of a bidirectional search over the primitive graph.
+     * @param incoming  whether incoming edges are followed.
+     * @return first vertex index visited by both sides or -1.
+     */
+    private static int expandLevel(final PrimitiveGraph graph,
+                                   final boolean incoming,
+                                   final TraversalState state,
+                                   final TraversalState otherState,
+                                   final QueryStatistics statistics) {
+        final int frontier = state.getQueueSize();
+        long scanned = 0;
+        for (int count = frontier; count > 0; count--) {
+            final int current = state.dequeue();
+            for (final int adjacent : incoming ? graph.incomingTable(current) : graph.outgoingTable(current)) {
+                if (adjacent < 0) {
+                    continue;
+                }
+
+                scanned++;
+                if (state.isVisited(adjacent)) {
+                    continue;
+                }
+
+                state.visit(adjacent, current);
+
+                if (otherState.isVisited(adjacent)) {
+                    record(statistics, frontier - count + 1, scanned, frontier);
+                    return adjacent;
+                }
+
+                state.enqueue(adjacent);
+            }
+        }
+        record(statistics, frontier, scanned, frontier);
+        return -1;
+    }
+
+    /**
+     * Returns vertex indices of the path from the root of forward traversal to meeting vertex
+     * followed by the path from meeting vertex to the root of backward traversal if it is provided.
+     */
+    private static int[] createPathArray(final TraversalState forward,
+                                         final int meeting,
+                                         final TraversalState backward) {
+        int forwardLength = 1;
+        for (int current = meeting; forward.getPredecessor(current) != current; current = forward.getPredecessor(current)) {
+            forwardLength++;
+        }
+        int length = forwardLength;
+        if (backward != null) {
+            for (int current = meeting; backward.getPredecessor(current) != current; current = backward.getPredecessor(current)) {
+                length++;
+            }
         }
 
-        final Path<V> result = getPathBFS(graph, source, destination);
-        logger.debug("Path in graph {} between {} and {} is: {}", graph, source, destination, result);
+        final int[] result = new int[length];
+        int current = meeting;
+        for (int i = forwardLength - 1; i >= 0; i--) {
+            result[i] = current;
+            current = forward.getPredecessor(current);
+        }
+        current = meeting;
+        for (int i = forwardLength; i < length; i++) {
+            current = backward.getPredecessor(current);
+            result[i] = current;
+        }
         return result;
     }
 
     /**
-     * Returns a path between two vertices of the graph calculated via BFS algorithm.
+     * Returns a path with minimal sum of edge weights between two vertices of the graph calculated via A* algorithm.
+     * Vertices get int ids in order of discovery, so search state is kept in primitive arrays and an indexed heap.
      * @param graph       - graph to calculate path for.
      * @param source      - source vertex.
-     * @param destination - destination vertex.
+     * @param destination - destination vertex, must differ from source.
+     * @param heuristic   - estimate of the distance from a vertex to destination.
      * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
      * @see Graph
      */
-    private static <V> Path<V> getPathBFS(final Graph<V> graph,
-                                          final V source,
-                                          final V destination) {
-        final LinkedList<V> queue = new LinkedList<>();
-        final Map<V, Boolean> visited = new HashMap<>();
-        final Map<V, V> predecessor = new HashMap<>();
+    private static <V> Path<V> getShortestPathAStar(final Graph<V> graph,
+                                                    final V source,
+                                                    final V destination,
+                                                    final ToDoubleBiFunction<? super V, ? super V> heuristic,
+                                                    final QueryStatistics statistics) {
+        final Map<V, Integer> ids = new HashMap<>();
+        final List<V> vertices = new ArrayList<>();
+        final ShortestPathState state = ShortestPathState.begin(0);
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
 
-        graph.getVertices().forEach(vertex -> {
-            visited.put(vertex, false);
-            predecessor.put(vertex, null);
-        });
+        ids.put(source, 0);
+        vertices.add(source);
+        state.relax(0, 0.0, 0, heuristic.applyAsDouble(source, destination));
 
-        visited.put(source, true);
-        queue.add(source);
+        while (!state.isQueueEmpty()) {
+            frontierPeak = Math.max(frontierPeak, state.getQueueSize());
+            final int current = state.settleNext();
+            final V currentVertex = vertices.get(current);
+            if (currentVertex.equals(destination)) {
+                record(statistics, expanded, scanned, frontierPeak);
+                return createPathObject(graph, vertices, state, current);
+            }
 
-        while (!queue.isEmpty()) {
-            final V current = queue.removeFirst();
-            for (final V adjacent : graph.getAdjacentVertices(current)) {
-                if (visited.get(adjacent)) {
+            final Set<V> adjacentVertices = graph.getAdjacentVertices(currentVertex);
+            if (adjacentVertices == null) {
+                continue;
+            }
+
+            expanded++;
+            QueryDeadline.check(expanded);
+            final double distance = state.getDistance(current);
+            for (final V adjacent : adjacentVertices) {
+                scanned++;
+                Integer adjacentId = ids.get(adjacent);
+                if (adjacentId == null) {
+                    adjacentId = vertices.size();
+                    ids.put(adjacent, adjacentId);
+                    vertices.add(adjacent);
+                    state.ensureCapacity(adjacentId + 1);
+                } else if (state.isSettled(adjacentId)) {
                     continue;
                 }
 
-                visited.put(adjacent, true);
-                predecessor.put(adjacent, current);
+                final double weight = graph.getEdgeWeight(currentVertex, adjacent);
+                if (Double.isNaN(weight)) {
+                    continue;
+                }
 
-                if (adjacent.equals(destination)) {
-                    return createPathObject(predecessor, destination);
+                final double candidate = distance + weight;
+                if (!state.isDiscovered(adjacentId) || candidate < state.getDistance(adjacentId)) {
+                    state.relax(adjacentId, candidate, current, candidate + heuristic.applyAsDouble(adjacent, destination));
+                }
+            }
+        }
+
+        record(statistics, expanded, scanned, frontierPeak);
+        return Path.empty();
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the indexed graph calculated via A* algorithm.
+     * @param graph       - indexed graph to calculate path for.
+     * @param source      - source vertex id.
+     * @param destination - destination vertex id, must differ from source.
+     * @param heuristic   - estimate of the distance from a vertex to destination.
+     * @return Stringed list of edges between two provided vertices or empty list if path does not exist.
+     * @see IndexedGraph
+     */
+    private static <V> Path<V> getShortestPathAStar(final IndexedGraph<V> graph,
+                                                    final int source,
+                                                    final int destination,
+                                                    final ToDoubleBiFunction<? super V, ? super V> heuristic,
+                                                    final QueryStatistics statistics) {
+        final V destinationVertex = graph.vertexAt(destination);
+        final ShortestPathState state = ShortestPathState.begin(graph.getVertexCount());
+        long expanded = 0;
+        long scanned = 0;
+        int frontierPeak = 0;
+        state.relax(source, 0.0, source, heuristic.applyAsDouble(graph.vertexAt(source), destinationVertex));
+
+        while (!state.isQueueEmpty()) {
+            frontierPeak = Math.max(frontierPeak, state.getQueueSize());
+            final int current = state.settleNext();
+            if (current == destination) {
+                record(statistics, expanded, scanned, frontierPeak);
+                return createPathObject(graph, state, current);
+            }
+
+            expanded++;
+            QueryDeadline.check(expanded);
+            final double distance = state.getDistance(current);
+            final int degree = graph.getDegree(current);
+            for (int i = 0; i < degree; i++) {
+                scanned++;
+                final int adjacent = graph.getNeighbour(current, i);
+                if (state.isSettled(adjacent)) {
+                    continue;
                 }
 
-                queue.addLast(adjacent);
+                final double candidate = distance + graph.getWeight(current, i);
+                if (!state.isDiscovered(adjacent) || candidate < state.getDistance(adjacent)) {
+                    final double estimate = heuristic.applyAsDouble(graph.vertexAt(adjacent), destinationVertex);
+                    state.relax(adjacent, candidate, current, candidate + estimate);
+                }
             }
         }
 
-        return new Path<>();
+        record(statistics, expanded, scanned, frontierPeak);
+        return Path.empty();
+    }
+
+    /**
+     * Adds search counters to statistics of the query if instrumentation is enabled.
+     */
+    private static void record(final QueryStatistics statistics,
+                               final long expanded,
+                               final long scanned,
+                               final int frontierPeak) {
+        if (statistics != null) {
+            statistics.add(expanded, scanned, frontierPeak);
+        }
     }
 
     /**
@@ -125,19 +1488,191 @@ public abstract class PathCalculator {
 
     /**
      * Returns a path between two vertices of the graph.
+     * @param graph graph the path belongs to.
      * @param previousVertexMap contains pairs of vertex and its predecessor vertex.
      * @param finalVertex destination vertex of the path.
-     * @return Path object containing list of Edge<V> objects.
+     * @return Path object backed by array of path vertices.
+     * @see Path
+     */
+    private static <V> Path<V> createPathObject(final Graph<V> graph,
+                                                final Map<V, V> previousVertexMap,
+                                                final V finalVertex) {
+        return createPathObject(graph, previousVertexMap, Collections.emptyMap(), finalVertex);
+    }
+
+    /**
+     * Returns a path found by a bidirectional search over the graph.
+     * @param graph graph the path belongs to.
+     * @param previousVertexMap contains pairs of vertex and its predecessor vertex on the way from source.
+     * @param nextVertexMap contains pairs of vertex and its successor vertex on the way to destination.
+     * @param meeting vertex both parts of the path pass through.
+     * @return Path object backed by array of path vertices.
      * @see Path
      */
-    private static <V> Path<V> createPathObject(final Map<V, V> previousVertexMap, final V finalVertex) {
-        final LinkedList<Edge<V>> result = new LinkedList<>();
+    private static <V> Path<V> createPathObject(final Graph<V> graph,
+                                                final Map<V, V> previousVertexMap,
+                                                final Map<V, V> nextVertexMap,
+                                                final V meeting) {
+        int forwardLength = 0;
+        for (V current = previousVertexMap.get(meeting); current != null; current = previousVertexMap.get(current)) {
+            forwardLength++;
+        }
+        int backwardLength = 0;
+        for (V current = nextVertexMap.get(meeting); current != null; current = nextVertexMap.get(current)) {
+            backwardLength++;
+        }
+        if (forwardLength + backwardLength == 0) {
+            return Path.empty();
+        }
 
-        V current = finalVertex;
-        while (previousVertexMap.get(current) != null) {
-            result.addFirst(new Edge<>(previousVertexMap.get(current), current));
+        final Object[] vertices = new Object[forwardLength + backwardLength + 1];
+        V current = meeting;
+        for (int i = forwardLength; i >= 0; i--) {
+            vertices[i] = current;
             current = previousVertexMap.get(current);
         }
-        return new Path<>(result);
+        current = meeting;
+        for (int i = forwardLength + 1; i < vertices.length; i++) {
+            current = nextVertexMap.get(current);
+            vertices[i] = current;
+        }
+        return createPathObject(graph, vertices);
+    }
+
+    /**
+     * Returns a path over provided vertices of the graph.
+     * @param graph graph the path belongs to.
+     * @param vertices vertices of the path from source to destination.
+     * @return Path object backed by provided array.
+     * @see Path
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> Path<V> createPathObject(final Graph<V> graph, final Object[] vertices) {
+        final double[] weights = new double[vertices.length - 1];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = graph.getEdgeWeight((V) vertices[i], (V) vertices[i + 1]);
+        }
+        return new Path<>(vertices, weights);
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph.
+     * @param graph indexed graph the path belongs to.
+     * @param state traversal state containing predecessor of every visited vertex, source is a predecessor of itself.
+     * @param finalVertex destination vertex id of the path.
+     * @return Path object backed by array of path vertices.
+     * @see Path
+     */
+    private static <V> Path<V> createPathObject(final IndexedGraph<V> graph,
+                                                final TraversalState state,
+                                                final int finalVertex) {
+        return createPathObject(graph, createPathArray(state, finalVertex, null));
+    }
+
+    /**
+     * Returns a path between two vertices of the indexed graph.
+     * @param graph indexed graph the path belongs to.
+     * @param vertices ids of path vertices from source to destination, empty if path does not exist.
+     * @return Path object backed by array of path vertices.
+     * @see Path
+     */
+    private static <V> Path<V> createPathObject(final IndexedGraph<V> graph, final int[] vertices) {
+        if (vertices.length < 2) {
+            return Path.empty();
+        }
+
+        final Object[] result = new Object[vertices.length];
+        final double[] weights = new double[vertices.length - 1];
+        result[0] = graph.vertexAt(vertices[0]);
+        for (int i = 1; i < vertices.length; i++) {
+            final V previous = graph.vertexAt(vertices[i - 1]);
+            final V vertex = graph.vertexAt(vertices[i]);
+            result[i] = vertex;
+            weights[i - 1] = graph.getEdgeWeight(previous, vertex);
+        }
+        return new Path<>(result, weights);
+    }
+
+    /**
+     * Returns a path found by a shortest path search over the graph.
+     * @param graph graph the path belongs to.
+     * @param vertices contains vertices by their ids assigned during the search.
+     * @param state search state containing predecessor of every discovered vertex id, source is a predecessor of itself.
+     * @param finalVertex destination vertex id of the path.
+     * @return Path object backed by array of path vertices.
+     * @see Path
+     */
+    private static <V> Path<V> createPathObject(final Graph<V> graph,
+                                                final List<V> vertices,
+                                                final ShortestPathState state,
+                                                final int finalVertex) {
+        final int[] ids = createPathArray(state, finalVertex);
+        if (ids.length < 2) {
+            return Path.empty();
+        }
+
+        final Object[] result = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = vertices.get(ids[i]);
+        }
+        return createPathObject(graph, result);
+    }
+
+    /**
+     * Returns a path found by a shortest path search over the indexed graph.
+     * @param graph indexed graph the path belongs to.
+     * @param state search state containing predecessor of every discovered vertex id, source is a predecessor of itself.
+     * @param finalVertex destination vertex id of the path.
+     * @return Path object backed by array of path vertices.
+     * @see Path
+     */
+    private static <V> Path<V> createPathObject(final IndexedGraph<V> graph,
+                                                final ShortestPathState state,
+                                                final int finalVertex) {
+        return createPathObject(graph, createPathArray(state, finalVertex));
+    }
+
+    /**
+     * Returns ids of path vertices found by a shortest path search, source is a predecessor of itself.
+     */
+    private static int[] createPathArray(final ShortestPathState state, final int finalVertex) {
+        int length = 0;
+        for (int current = finalVertex; state.getPredecessor(current) != current; current = state.getPredecessor(current)) {
+            length++;
+        }
+
+        final int[] result = new int[length + 1];
+        int current = finalVertex;
+        for (int i = length; i >= 0; i--) {
+            result[i] = current;
+            current = state.getPredecessor(current);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a path consisting of the single loop edge of provided vertex.
+     */
+    private static <V> Path<V> createLoopPath(final Graph<V> graph, final V vertex) {
+        return new Path<>(new Object[] {vertex, vertex}, new double[] {graph.getEdgeWeight(vertex, vertex)});
+    }
+
+    /**
+     * Vertex reached by a time-respecting search at provided time.
+     */
+    private static final class Arrival<V> implements Comparable<Arrival<V>> {
+
+        private final V vertex;
+        private final long time;
+
+        Arrival(final V vertex, final long time) {
+            this.vertex = vertex;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(final Arrival<V> other) {
+            return Long.compare(time, other.time);
+        }
     }
 }
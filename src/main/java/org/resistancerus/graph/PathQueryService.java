@@ -0,0 +1,352 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade of PathCalculator for one graph.
+ * At most parallelism queries run at the same time and at most queueCapacity admitted queries wait for them.
+ * A query submitted to a full service is not queued: its future completes at once with RejectedExecutionException,
+ * so overload sheds load instead of piling up threads and memory.
+ * Every query has a deadline. Its future completes with TimeoutException at the deadline even if the query still
+ * waits to run, such a query is not started and a running search is aborted within QueryDeadline.CHECK_INTERVAL
+ * expanded vertices, then the query releases its place in the service. Cancelling a future aborts its query the same way. PARALLEL_BFS searches check the deadline
+ * once per level.
+ * When virtual threads are requested and supported by the JDK every query runs on its own virtual thread, otherwise
+ * a fixed pool of daemon platform threads is used. Queries on virtual threads take search states from a pool
+ * holding at most parallelism states instead of allocating thread local ones per query.
+ * Graph must be safe for concurrent reads, queries to VersionedGraph use its snapshot.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createPathQueryService(Graph, int, int, long, TimeUnit, boolean)
+ */
+public final class PathQueryService<V> implements AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(PathQueryService.class);
+    private static final AtomicInteger SERVICE_COUNT = new AtomicInteger();
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final Graph<V> graph;
+    private final long defaultTimeoutNanos;
+    private final int capacity;
+    private final Semaphore admission;
+    private final Semaphore running;
+    private final ConcurrentLinkedQueue<SearchStates> states;
+    private final ExecutorService executor;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    PathQueryService(final Graph<V> graph,
+                     final int parallelism,
+                     final int queueCapacity,
+                     final long defaultTimeoutNanos,
+                     final boolean virtualThreads) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph could not be null.");
+        }
+
+        if (parallelism <= 0 || queueCapacity < 0 || (long) parallelism + queueCapacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Parallelism must be positive and queue capacity must not be negative.");
+        }
+
+        if (defaultTimeoutNanos <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive.");
+        }
+
+        this.graph = graph;
+        this.defaultTimeoutNanos = defaultTimeoutNanos;
+        this.capacity = parallelism + queueCapacity;
+        this.admission = new Semaphore(capacity);
+
+        final ExecutorService virtualExecutor = virtualThreads ? createVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            this.executor = virtualExecutor;
+            this.running = new Semaphore(parallelism);
+            this.states = new ConcurrentLinkedQueue<>();
+        } else {
+            final String prefix = "path-query-" + SERVICE_COUNT.incrementAndGet() + "-";
+            final AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(parallelism, task -> {
+                final Thread thread = new Thread(task, prefix + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.running = null;
+            this.states = null;
+        }
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated via BFS algorithm.
+     * @see PathCalculator#getPath(Graph, Object, Object)
+     */
+    public CompletableFuture<Path<V>> getPath(final V source, final V destination) {
+        return getPath(source, destination, SearchMode.BFS);
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated by provided search algorithm within default timeout.
+     * @see PathCalculator#getPath(Graph, Object, Object, SearchMode)
+     */
+    public CompletableFuture<Path<V>> getPath(final V source, final V destination, final SearchMode mode) {
+        return getPath(source, destination, mode, defaultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a path between two vertices of the graph calculated by provided search algorithm.
+     * @param timeout time after submission the query must complete within.
+     * @param unit unit of timeout.
+     * @see PathCalculator#getPath(Graph, Object, Object, SearchMode)
+     */
+    public CompletableFuture<Path<V>> getPath(final V source,
+                                              final V destination,
+                                              final SearchMode mode,
+                                              final long timeout,
+                                              final TimeUnit unit) {
+        if (source == null || destination == null || mode == null) {
+            throw new IllegalArgumentException("Source, destination vertices and search mode could not be null.");
+        }
+
+        return submit(() -> {
+            final Graph<V> target = getTargetGraph();
+            return target instanceof IndexedGraph
+                    ? PathCalculator.getPath((IndexedGraph<V>) target, source, destination, mode)
+                    : PathCalculator.getPath(target, source, destination, mode);
+        }, timeout, unit);
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the graph within default timeout.
+     * @see PathCalculator#getShortestPath(Graph, Object, Object)
+     */
+    public CompletableFuture<Path<V>> getShortestPath(final V source, final V destination) {
+        return getShortestPath(source, destination, defaultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a path with minimal sum of edge weights between two vertices of the graph.
+     * @param timeout time after submission the query must complete within.
+     * @param unit unit of timeout.
+     * @see PathCalculator#getShortestPath(Graph, Object, Object)
+     */
+    public CompletableFuture<Path<V>> getShortestPath(final V source,
+                                                      final V destination,
+                                                      final long timeout,
+                                                      final TimeUnit unit) {
+        if (source == null || destination == null) {
+            throw new IllegalArgumentException("Source and destination vertices could not be null.");
+        }
+
+        return submit(() -> {
+            final Graph<V> target = getTargetGraph();
+            return target instanceof IndexedGraph
+                    ? PathCalculator.getShortestPath((IndexedGraph<V>) target, source, destination)
+                    : PathCalculator.getShortestPath(target, source, destination);
+        }, timeout, unit);
+    }
+
+    /**
+     * Returns true if queries run on virtual threads.
+     */
+    public boolean isUsingVirtualThreads() {
+        return running != null;
+    }
+
+    /**
+     * Returns number of admitted queries which are running or waiting to run.
+     */
+    public int getPendingCount() {
+        return capacity - admission.availablePermits();
+    }
+
+    /**
+     * Returns number of queries rejected because the service was full or closed.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Returns number of queries completed with TimeoutException.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * Stops accepting queries, already admitted queries are completed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "PathQueryService: " + getPendingCount() + " pending, " + getRejectedCount() + " rejected, "
+                + getTimeoutCount() + " timed out";
+    }
+
+    private Graph<V> getTargetGraph() {
+        return graph instanceof VersionedGraph ? ((VersionedGraph<V>) graph).snapshot() : graph;
+    }
+
+    /**
+     * Admits a query if the service is not full and schedules its execution.
+     */
+    private CompletableFuture<Path<V>> submit(final Supplier<Path<V>> query, final long timeout, final TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Time unit could not be null.");
+        }
+
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive.");
+        }
+
+        final CompletableFuture<Path<V>> result = new CompletableFuture<>();
+        if (!admission.tryAcquire()) {
+            rejectedCount.increment();
+            result.completeExceptionally(new RejectedExecutionException("Path query service is full."));
+            return result;
+        }
+
+        final QueryDeadline deadline = new QueryDeadline(System.nanoTime() + unit.toNanos(timeout));
+        final ScheduledFuture<?> timer = TIMER.schedule(() -> timeOut(result, deadline),
+                deadline.getRemainingNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((path, error) -> {
+            timer.cancel(false);
+            if (result.isCancelled()) {
+                deadline.cancel();
+            }
+        });
+        try {
+            executor.execute(() -> execute(query, deadline, result));
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            rejectedCount.increment();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Executes admitted query and completes its future after the query releases its place in the service.
+     */
+    private void execute(final Supplier<Path<V>> query,
+                         final QueryDeadline deadline,
+                         final CompletableFuture<Path<V>> result) {
+        Path<V> path = null;
+        Throwable error = null;
+        try {
+            path = run(query, deadline, result);
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            admission.release();
+        }
+
+        if (error instanceof CancellationException) {
+            timeOut(result, deadline);
+        } else if (error != null) {
+            result.completeExceptionally(error);
+        } else if (path != null) {
+            result.complete(path);
+        }
+    }
+
+    /**
+     * Runs query under its deadline.
+     * @return path or null if the query was cancelled before start.
+     * @throws CancellationException if the query is cancelled or its deadline is exceeded.
+     */
+    private Path<V> run(final Supplier<Path<V>> query,
+                        final QueryDeadline deadline,
+                        final CompletableFuture<Path<V>> result) throws InterruptedException {
+        if (result.isDone()) {
+            return null;
+        }
+
+        if (running == null) {
+            return runUnderDeadline(query, deadline);
+        }
+
+        if (!running.tryAcquire(deadline.getRemainingNanos(), TimeUnit.NANOSECONDS)) {
+            throw new CancellationException("Query deadline exceeded.");
+        }
+        SearchStates searchStates = states.poll();
+        if (searchStates == null) {
+            searchStates = new SearchStates();
+        }
+        try {
+            searchStates.attach();
+            return runUnderDeadline(query, deadline);
+        } finally {
+            SearchStates.detach();
+            states.offer(searchStates);
+            running.release();
+        }
+    }
+
+    private Path<V> runUnderDeadline(final Supplier<Path<V>> query, final QueryDeadline deadline) {
+        deadline.check();
+        deadline.enter();
+        try {
+            return query.get();
+        } finally {
+            QueryDeadline.exit();
+        }
+    }
+
+    /**
+     * Completes future of a query which exceeded its deadline and aborts the query. The query keeps its place
+     * in the service until the search is aborted. Timeout is counted before the future completes.
+     */
+    private void timeOut(final CompletableFuture<Path<V>> result, final QueryDeadline deadline) {
+        timeoutCount.increment();
+        if (!result.completeExceptionally(new TimeoutException("Path query deadline exceeded."))) {
+            timeoutCount.decrement();
+        }
+        deadline.cancel();
+    }
+
+    /**
+     * Returns daemon timer completing futures of queries at their deadlines.
+     */
+    private static ScheduledThreadPoolExecutor createTimer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            final Thread thread = new Thread(task, "path-query-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Returns executor starting a virtual thread per task or null if the JDK does not support virtual threads.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.info("Virtual threads are not supported, platform threads are used.");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package org.resistancerus.graph;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable hash array mapped trie. put and remove return a new map which shares all nodes with this one except
+ * the O(log32 n) nodes on the path to the changed key, so keeping an old version costs nothing until it is changed,
+ * and unreachable versions are collected by GC. Trie levels consume 5 bits of the hash each, keys with equal hashes
+ * are kept in collision nodes.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see VersionedGraph
+ */
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new BitmapNode(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(final Object key) {
+        final Leaf leaf = root.find(hash(key), key, 0);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    boolean containsKey(final Object key) {
+        return root.find(hash(key), key, 0) != null;
+    }
+
+    /**
+     * Returns map with provided value of the key, returns this map if the key already has the same value.
+     */
+    PersistentMap<K, V> put(final K key, final V value) {
+        final Leaf leaf = new Leaf(hash(key), key, value);
+        final Object result = root.put(0, leaf);
+        if (result == root) {
+            return this;
+        }
+        return new PersistentMap<>(asNode(result), root.find(leaf.hash, key, 0) == null ? size + 1 : size);
+    }
+
+    /**
+     * Returns map without the key, returns this map if the key is absent.
+     */
+    PersistentMap<K, V> remove(final Object key) {
+        final Object result = root.remove(hash(key), key, 0);
+        if (result == root) {
+            return this;
+        }
+        return new PersistentMap<>(result == null ? empty().root : asNode(result), size - 1);
+    }
+
+    /**
+     * Returns unmodifiable view of keys of this version of the map.
+     */
+    Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new KeyIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return o != null && containsKey(o);
+            }
+        };
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Node asNode(final Object child) {
+        return child instanceof Leaf ? new BitmapNode(bit(((Leaf) child).hash, 0), new Object[] {child}) : (Node) child;
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Returns node containing two leaves with different keys.
+     */
+    private static Node merge(final int shift, final Leaf first, final Leaf second) {
+        if (first.hash == second.hash) {
+            return new CollisionNode(first.hash, new Leaf[] {first, second});
+        }
+
+        final int firstBit = bit(first.hash, shift);
+        final int secondBit = bit(second.hash, shift);
+        if (firstBit == secondBit) {
+            return new BitmapNode(firstBit, new Object[] {merge(shift + BITS, first, second)});
+        }
+        return new BitmapNode(firstBit | secondBit,
+                Integer.compareUnsigned(firstBit, secondBit) < 0 ? new Object[] {first, second} : new Object[] {second, first});
+    }
+
+    private static final class Leaf {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        Leaf(final int hash, final Object key, final Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Trie node. put returns this node if nothing changed, remove returns this node if the key is absent,
+     * null if the node became empty or the only remaining leaf.
+     */
+    private abstract static class Node {
+        abstract Leaf find(final int hash, final Object key, final int shift);
+
+        abstract Object put(final int shift, final Leaf leaf);
+
+        abstract Object remove(final int hash, final Object key, final int shift);
+    }
+
+    private static final class BitmapNode extends Node {
+        private final int bitmap;
+        private final Object[] children;
+
+        BitmapNode(final int bitmap, final Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        @Override
+        Leaf find(final int hash, final Object key, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final Object child = children[Integer.bitCount(bitmap & (bit - 1))];
+            if (child instanceof Leaf) {
+                final Leaf leaf = (Leaf) child;
+                return leaf.hash == hash && leaf.key.equals(key) ? leaf : null;
+            }
+            return ((Node) child).find(hash, key, shift + BITS);
+        }
+
+        @Override
+        Object put(final int shift, final Leaf leaf) {
+            final int bit = bit(leaf.hash, shift);
+            final int index = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                final Object[] result = new Object[children.length + 1];
+                System.arraycopy(children, 0, result, 0, index);
+                result[index] = leaf;
+                System.arraycopy(children, index, result, index + 1, children.length - index);
+                return new BitmapNode(bitmap | bit, result);
+            }
+
+            final Object child = children[index];
+            final Object replacement;
+            if (child instanceof Leaf) {
+                final Leaf existing = (Leaf) child;
+                if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                    if (existing.value == leaf.value || existing.value.equals(leaf.value)) {
+                        return this;
+                    }
+                    replacement = leaf;
+                } else {
+                    replacement = merge(shift + BITS, existing, leaf);
+                }
+            } else {
+                replacement = ((Node) child).put(shift + BITS, leaf);
+                if (replacement == child) {
+                    return this;
+                }
+            }
+            return new BitmapNode(bitmap, with(index, replacement));
+        }
+
+        @Override
+        Object remove(final int hash, final Object key, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int index = Integer.bitCount(bitmap & (bit - 1));
+            final Object child = children[index];
+            final Object replacement;
+            if (child instanceof Leaf) {
+                final Leaf leaf = (Leaf) child;
+                if (leaf.hash != hash || !leaf.key.equals(key)) {
+                    return this;
+                }
+                replacement = null;
+            } else {
+                replacement = ((Node) child).remove(hash, key, shift + BITS);
+                if (replacement == child) {
+                    return this;
+                }
+            }
+
+            if (replacement != null) {
+                return new BitmapNode(bitmap, with(index, replacement));
+            }
+
+            if (children.length == 1) {
+                return null;
+            }
+            if (children.length == 2 && children[1 - index] instanceof Leaf) {
+                return children[1 - index];
+            }
+            final Object[] result = new Object[children.length - 1];
+            System.arraycopy(children, 0, result, 0, index);
+            System.arraycopy(children, index + 1, result, index, children.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, result);
+        }
+
+        private Object[] with(final int index, final Object child) {
+            final Object[] result = children.clone();
+            result[index] = child;
+            return result;
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        CollisionNode(final int hash, final Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        @Override
+        Leaf find(final int hash, final Object key, final int shift) {
+            if (hash == this.hash) {
+                for (final Leaf leaf : leaves) {
+                    if (leaf.key.equals(key)) {
+                        return leaf;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Object put(final int shift, final Leaf leaf) {
+            if (leaf.hash != hash) {
+                return new BitmapNode(bit(hash, shift), new Object[] {this}).put(shift, leaf);
+            }
+
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(leaf.key)) {
+                    if (leaves[i].value == leaf.value || leaves[i].value.equals(leaf.value)) {
+                        return this;
+                    }
+                    final Leaf[] result = leaves.clone();
+                    result[i] = leaf;
+                    return new CollisionNode(hash, result);
+                }
+            }
+
+            final Leaf[] result = new Leaf[leaves.length + 1];
+            System.arraycopy(leaves, 0, result, 0, leaves.length);
+            result[leaves.length] = leaf;
+            return new CollisionNode(hash, result);
+        }
+
+        @Override
+        Object remove(final int hash, final Object key, final int shift) {
+            if (hash != this.hash) {
+                return this;
+            }
+
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    final Leaf[] result = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, result, 0, i);
+                    System.arraycopy(leaves, i + 1, result, i, leaves.length - i - 1);
+                    return new CollisionNode(hash, result);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Depth-first iterator over leaves keeping a stack of node children arrays and positions in them.
+     */
+    private static final class KeyIterator<K> implements Iterator<K> {
+        private final Object[][] arrays = new Object[Integer.SIZE / BITS + 2][];
+        private final int[] positions = new int[arrays.length];
+        private int depth;
+        private Leaf next;
+
+        KeyIterator(final Node root) {
+            arrays[0] = childrenOf(root);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Leaf result = next;
+            advance();
+            return (K) result.key;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                if (positions[depth] == arrays[depth].length) {
+                    depth--;
+                    continue;
+                }
+
+                final Object child = arrays[depth][positions[depth]++];
+                if (child instanceof Leaf) {
+                    next = (Leaf) child;
+                    return;
+                }
+                depth++;
+                arrays[depth] = childrenOf((Node) child);
+                positions[depth] = 0;
+            }
+        }
+
+        private static Object[] childrenOf(final Node node) {
+            return node instanceof BitmapNode ? ((BitmapNode) node).children : ((CollisionNode) node).leaves;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Base class of graphs with primitive vertices. Every vertex gets a dense int index, indices of removed vertices
+ * are reused. Adjacency of a vertex is an open addressing table of neighbour indices where -1 marks an empty slot,
+ * so edges take 5-11 bytes each and neither mutations nor traversals allocate objects per edge.
+ * Incoming tables are kept only by directed graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see IntGraph
+ * @see LongGraph
+ */
+abstract class PrimitiveGraph {
+
+    private static final int[] EMPTY_TABLE = new int[0];
+    private static final int NONE = -1;
+
+    private final boolean directed;
+    private final boolean loopsAllowed;
+
+    private final LongIntMap index = new LongIntMap(16);
+    private long[] keys = new long[16];
+    private int[][] outgoing = new int[16][];
+    private int[] outgoingSizes = new int[16];
+    private int[][] incoming;
+    private int[] incomingSizes;
+    private int[] freeIndices = new int[16];
+    private int freeCount;
+    private int indexCount;
+
+    PrimitiveGraph(final boolean directed, final boolean loopsAllowed) {
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+        if (directed) {
+            incoming = new int[16][];
+            incomingSizes = new int[16];
+        }
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public boolean areLoopsAllowed() {
+        return loopsAllowed;
+    }
+
+    /**
+     * Returns number of graph vertices.
+     */
+    public int getVertexCount() {
+        return index.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Graph: " + getVertexCount() + " vertices";
+    }
+
+    /**
+     * Returns index of vertex or -1 if vertex does not belong to graph.
+     */
+    final int indexOf(final long vertex) {
+        return index.get(vertex);
+    }
+
+    final long vertexAt(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns upper bound of vertex indices.
+     */
+    final int getIndexCount() {
+        return indexCount;
+    }
+
+    /**
+     * Returns adjacency table of vertex with provided index, empty slots contain -1.
+     */
+    final int[] outgoingTable(final int index) {
+        return outgoing[index];
+    }
+
+    /**
+     * Returns table of vertices having edges to vertex with provided index, empty slots contain -1.
+     */
+    final int[] incomingTable(final int index) {
+        return directed ? incoming[index] : outgoing[index];
+    }
+
+    final boolean hasLoop(final int index) {
+        return contains(outgoing[index], index);
+    }
+
+    final boolean addVertexKey(final long vertex) {
+        if (index.get(vertex) >= 0) {
+            return false;
+        }
+
+        final int id = freeCount > 0 ? freeIndices[--freeCount] : newIndex();
+        keys[id] = vertex;
+        outgoing[id] = EMPTY_TABLE;
+        outgoingSizes[id] = 0;
+        if (directed) {
+            incoming[id] = EMPTY_TABLE;
+            incomingSizes[id] = 0;
+        }
+        index.put(vertex, id);
+        return true;
+    }
+
+    final boolean removeVertexKey(final long vertex) {
+        final int id = index.remove(vertex);
+        if (id < 0) {
+            return false;
+        }
+
+        final int[] outgoingVertices = outgoing[id];
+        outgoing[id] = null;
+        for (final int adjacent : outgoingVertices) {
+            if (adjacent >= 0 && adjacent != id) {
+                if (directed) {
+                    remove(incoming, incomingSizes, adjacent, id);
+                } else {
+                    remove(outgoing, outgoingSizes, adjacent, id);
+                }
+            }
+        }
+        if (directed) {
+            final int[] incomingVertices = incoming[id];
+            incoming[id] = null;
+            for (final int adjacent : incomingVertices) {
+                if (adjacent >= 0 && adjacent != id) {
+                    remove(outgoing, outgoingSizes, adjacent, id);
+                }
+            }
+        }
+
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+        }
+        freeIndices[freeCount++] = id;
+        return true;
+    }
+
+    final boolean addEdgeKeys(final long start, final long end) {
+        final int startId = index.get(start);
+        final int endId = index.get(end);
+        if (startId < 0 || endId < 0) {
+            throw new IllegalArgumentException("Start or end vertex does not belong to graph.");
+        }
+
+        if (contains(outgoing[startId], endId)) {
+            return false;
+        }
+
+        if (startId == endId && !loopsAllowed) {
+            throw new IllegalArgumentException("Loop creation is not allowed.");
+        }
+
+        add(outgoing, outgoingSizes, startId, endId);
+        if (directed) {
+            add(incoming, incomingSizes, endId, startId);
+        } else if (startId != endId) {
+            add(outgoing, outgoingSizes, endId, startId);
+        }
+        return true;
+    }
+
+    final boolean hasEdgeKeys(final long start, final long end) {
+        final int startId = index.get(start);
+        final int endId = index.get(end);
+        return startId >= 0 && endId >= 0 && contains(outgoing[startId], endId);
+    }
+
+    final boolean removeEdgeKeys(final long start, final long end) {
+        final int startId = index.get(start);
+        final int endId = index.get(end);
+        if (startId < 0 || endId < 0 || !remove(outgoing, outgoingSizes, startId, endId)) {
+            return false;
+        }
+
+        if (directed) {
+            remove(incoming, incomingSizes, endId, startId);
+        } else if (startId != endId) {
+            remove(outgoing, outgoingSizes, endId, startId);
+        }
+        return true;
+    }
+
+    /**
+     * Returns indices of all vertices.
+     */
+    final int[] vertexIndices() {
+        final int[] result = new int[getVertexCount()];
+        int count = 0;
+        for (int id = 0; id < indexCount; id++) {
+            if (outgoing[id] != null) {
+                result[count++] = id;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns indices of vertices stored in provided table.
+     */
+    static int[] tableIndices(final int[] table) {
+        int count = 0;
+        for (final int id : table) {
+            if (id >= 0) {
+                count++;
+            }
+        }
+
+        final int[] result = new int[count];
+        count = 0;
+        for (final int id : table) {
+            if (id >= 0) {
+                result[count++] = id;
+            }
+        }
+        return result;
+    }
+
+    private int newIndex() {
+        if (indexCount == keys.length) {
+            final int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            outgoing = Arrays.copyOf(outgoing, capacity);
+            outgoingSizes = Arrays.copyOf(outgoingSizes, capacity);
+            if (directed) {
+                incoming = Arrays.copyOf(incoming, capacity);
+                incomingSizes = Arrays.copyOf(incomingSizes, capacity);
+            }
+        }
+        return indexCount++;
+    }
+
+    private static boolean contains(final int[] table, final int value) {
+        if (table.length == 0) {
+            return false;
+        }
+
+        final int mask = table.length - 1;
+        for (int slot = hash(value) & mask; table[slot] != NONE; slot = (slot + 1) & mask) {
+            if (table[slot] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds value which is absent in the table of provided row, table is resized when it gets 3/4 full.
+     */
+    private static void add(final int[][] tables, final int[] sizes, final int row, final int value) {
+        int[] table = tables[row];
+        if ((sizes[row] + 1) * 4L > table.length * 3L) {
+            table = resize(table, Math.max(4, table.length * 2));
+            tables[row] = table;
+        }
+        insert(table, value);
+        sizes[row]++;
+    }
+
+    /**
+     * Removes value from the table of provided row via backward shift deletion.
+     */
+    private static boolean remove(final int[][] tables, final int[] sizes, final int row, final int value) {
+        final int[] table = tables[row];
+        if (table.length == 0) {
+            return false;
+        }
+
+        final int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != NONE && table[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        if (table[slot] == NONE) {
+            return false;
+        }
+
+        int next = (slot + 1) & mask;
+        while (table[next] != NONE) {
+            final int home = hash(table[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = table[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[slot] = NONE;
+        sizes[row]--;
+        return true;
+    }
+
+    private static int[] resize(final int[] table, final int capacity) {
+        final int[] result = new int[capacity];
+        Arrays.fill(result, NONE);
+        for (final int value : table) {
+            if (value != NONE) {
+                insert(result, value);
+            }
+        }
+        return result;
+    }
+
+    private static void insert(final int[] table, final int value) {
+        final int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+    }
+
+    private static int hash(final int value) {
+        final int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
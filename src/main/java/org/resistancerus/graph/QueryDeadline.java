@@ -0,0 +1,97 @@
+package org.resistancerus.graph;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Deadline of a path query executed by the current thread. Searches of PathCalculator check it once per
+ * CHECK_INTERVAL expanded vertices and abort by throwing CancellationException when the deadline is exceeded
+ * or the query is cancelled. Queries executed without a deadline only pay for a thread local lookup per check.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see PathQueryService
+ */
+final class QueryDeadline {
+
+    /**
+     * Number of expanded vertices between two checks, must be a power of two.
+     */
+    static final int CHECK_INTERVAL = 256;
+
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    QueryDeadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Checks deadline of the current thread if provided step of a search is a multiple of CHECK_INTERVAL.
+     * @throws CancellationException if the query is cancelled or its deadline is exceeded.
+     */
+    static void check(final long step) {
+        if ((step & (CHECK_INTERVAL - 1)) == 0) {
+            checkCurrent();
+        }
+    }
+
+    /**
+     * Checks deadline of the current thread.
+     * @throws CancellationException if the query is cancelled or its deadline is exceeded.
+     */
+    static void checkCurrent() {
+        final QueryDeadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+    /**
+     * Returns deadline of the current thread or null if it runs without a deadline.
+     */
+    static QueryDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes this deadline the deadline of queries executed by the current thread.
+     */
+    void enter() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Removes deadline of the current thread.
+     */
+    static void exit() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @throws CancellationException if the query is cancelled or its deadline is exceeded.
+     */
+    void check() {
+        if (cancelled) {
+            throw new CancellationException("Query was cancelled.");
+        }
+        if (isExpired()) {
+            throw new CancellationException("Query deadline exceeded.");
+        }
+    }
+
+    boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Returns nanoseconds left before the deadline, not positive if it is exceeded.
+     */
+    long getRemainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+}
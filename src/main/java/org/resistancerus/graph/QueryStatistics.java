@@ -0,0 +1,93 @@
+package org.resistancerus.graph;
+
+/**
+ * Statistics of one path query reported to GraphListener. Search counters are collected by breadth-first
+ * and A* searches, they stay zero for queries answered without a search. PARALLEL_BFS records them once per level.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphListener
+ */
+public final class QueryStatistics {
+
+    private final GraphOperation operation;
+    private final SearchMode mode;
+    private final long started;
+    private long elapsedNanos;
+    private long verticesExpanded;
+    private long edgesScanned;
+    private int frontierPeak;
+    private int pathLength;
+
+    QueryStatistics(final GraphOperation operation, final SearchMode mode, final long started) {
+        this.operation = operation;
+        this.mode = mode;
+        this.started = started;
+    }
+
+    /**
+     * Returns GET_PATH or GET_SHORTEST_PATH.
+     */
+    public GraphOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns search mode of GET_PATH query or null for GET_SHORTEST_PATH.
+     */
+    public SearchMode getMode() {
+        return mode;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns number of vertices whose adjacent vertices were scanned.
+     */
+    public long getVerticesExpanded() {
+        return verticesExpanded;
+    }
+
+    /**
+     * Returns number of adjacent vertices examined by the search.
+     */
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    /**
+     * Returns the largest number of vertices waiting in the search queue.
+     */
+    public int getFrontierPeak() {
+        return frontierPeak;
+    }
+
+    /**
+     * Returns number of edges in the found path, 0 if path does not exist.
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Adds counters of a finished search or one level of it.
+     */
+    void add(final long verticesExpanded, final long edgesScanned, final int frontierPeak) {
+        this.verticesExpanded += verticesExpanded;
+        this.edgesScanned += edgesScanned;
+        this.frontierPeak = Math.max(this.frontierPeak, frontierPeak);
+    }
+
+    void finish(final int pathLength) {
+        this.pathLength = pathLength;
+        this.elapsedNanos = System.nanoTime() - started;
+    }
+
+    @Override
+    public String toString() {
+        return operation + (mode == null ? "" : " " + mode) + ": " + elapsedNanos + " ns, " + verticesExpanded
+                + " vertices expanded, " + edgesScanned + " edges scanned, frontier peak " + frontierPeak
+                + ", path length " + pathLength;
+    }
+}
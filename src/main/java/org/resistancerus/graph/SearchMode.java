@@ -0,0 +1,30 @@
+package org.resistancerus.graph;
+
+/**
+ * Algorithm used by PathCalculator to find a shortest path in terms of edges count.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see PathCalculator
+ */
+public enum SearchMode {
+
+    /**
+     * Breadth-first search from source vertex.
+     */
+    BFS,
+
+    /**
+     * Breadth-first search from both source and destination vertices. Destination side follows incoming edges.
+     * Explores much smaller part of large low-diameter graphs than BFS.
+     */
+    BIDIRECTIONAL_BFS,
+
+    /**
+     * Level-synchronous breadth-first search from source vertex, every level is expanded in parallel
+     * on the common fork/join pool. Returns the same path as BFS over the same indexed graph regardless of thread
+     * scheduling and pays off on large graphs with wide levels. Only indexed and primitive graphs are searched
+     * in parallel, a Graph is searched by sequential BFS: take its CompactGraph snapshot explicitly
+     * via GraphFactory.createCompactGraph to search it in parallel.
+     */
+    PARALLEL_BFS
+}
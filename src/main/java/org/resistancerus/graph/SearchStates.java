@@ -0,0 +1,32 @@
+package org.resistancerus.graph;
+
+/**
+ * Traversal and shortest path states of one running query. PathQueryService running queries on virtual threads
+ * keeps a pool of them: a virtual thread lives for one query only, so its thread local states would be allocated
+ * for every query. The pool never holds more states than queries which may run at the same time.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see PathQueryService
+ */
+final class SearchStates {
+
+    private final TraversalState forward = new TraversalState();
+    private final TraversalState reverse = new TraversalState();
+    private final ShortestPathState shortestPath = new ShortestPathState();
+
+    /**
+     * Makes these states the states of searches executed by the current thread.
+     */
+    void attach() {
+        TraversalState.attach(forward, reverse);
+        ShortestPathState.attach(shortestPath);
+    }
+
+    /**
+     * Removes states of the current thread, so they could be attached to another thread.
+     */
+    static void detach() {
+        TraversalState.detach();
+        ShortestPathState.detach();
+    }
+}
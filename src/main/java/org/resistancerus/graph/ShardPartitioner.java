@@ -0,0 +1,54 @@
+package org.resistancerus.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Assigns vertices of a PartitionedGraph to shards. Assignment must depend only on the vertex and number of shards,
+ * so every shard finds the owner of a vertex without asking other shards.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see PartitionedGraph
+ */
+@FunctionalInterface
+public interface ShardPartitioner<V> {
+
+    /**
+     * Returns shard owning provided vertex, a number from 0 to shardCount - 1.
+     */
+    int getShard(final V vertex, final int shardCount);
+
+    /**
+     * Returns partitioner spreading vertices over shards by their hash codes.
+     */
+    static <V> ShardPartitioner<V> hash() {
+        return (vertex, shardCount) -> {
+            final int hash = vertex.hashCode();
+            return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+        };
+    }
+
+    /**
+     * Returns partitioner splitting ordered vertices into ranges: shard i owns vertices not less than upper bound
+     * of shard i - 1 and less than upperBounds[i]. Vertices not less than the last bound belong to the last shard.
+     * @param upperBounds ascending exclusive upper bounds of all shards but the last one.
+     */
+    static <V extends Comparable<? super V>> ShardPartitioner<V> range(final List<V> upperBounds) {
+        if (upperBounds == null || upperBounds.contains(null)) {
+            throw new IllegalArgumentException("Upper bounds could not be null.");
+        }
+
+        final List<V> bounds = new ArrayList<>(upperBounds);
+        for (int i = 1; i < bounds.size(); i++) {
+            if (bounds.get(i - 1).compareTo(bounds.get(i)) >= 0) {
+                throw new IllegalArgumentException("Upper bounds must be ascending.");
+            }
+        }
+
+        return (vertex, shardCount) -> {
+            final int index = Collections.binarySearch(bounds, vertex);
+            return Math.min(index >= 0 ? index + 1 : -index - 1, shardCount - 1);
+        };
+    }
+}
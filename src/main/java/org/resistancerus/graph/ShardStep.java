@@ -0,0 +1,88 @@
+package org.resistancerus.graph;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of one superstep of distributed BFS on one shard: batches sent to other shards, size of the next local
+ * frontier and whether the destination was reached, that is visited by the shard or sent to its owner. A transport serializes these fields and rebuilds the step
+ * on the coordinator side with the constructor.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphShard#expand(long, Object, List)
+ */
+public final class ShardStep<V> {
+
+    private final List<FrontierBatch<V>> batches;
+    private final int frontierSize;
+    private final boolean reached;
+    private final long expanded;
+    private final long scanned;
+
+    /**
+     * @param batches batches sent to other shards.
+     * @param frontierSize number of vertices the shard expands during the next superstep.
+     * @param reached true if the destination was visited by the shard or is the only vertex of the only batch.
+     * @param expanded number of expanded vertices.
+     * @param scanned number of scanned edges.
+     */
+    public ShardStep(final List<FrontierBatch<V>> batches,
+                     final int frontierSize,
+                     final boolean reached,
+                     final long expanded,
+                     final long scanned) {
+        if (batches == null) {
+            throw new IllegalArgumentException("Batches could not be null.");
+        }
+
+        this.batches = Collections.unmodifiableList(batches);
+        this.frontierSize = frontierSize;
+        this.reached = reached;
+        this.expanded = expanded;
+        this.scanned = scanned;
+    }
+
+    static <V> ShardStep<V> reached(final long expanded, final long scanned) {
+        return new ShardStep<>(Collections.emptyList(), 0, true, expanded, scanned);
+    }
+
+    /**
+     * Returns step which sent the destination to its owner.
+     */
+    static <V> ShardStep<V> sent(final int shard,
+                                 final int owner,
+                                 final V destination,
+                                 final V predecessor,
+                                 final long expanded,
+                                 final long scanned) {
+        final FrontierBatch<V> batch = new FrontierBatch<>(shard, owner);
+        batch.add(destination, predecessor);
+        return new ShardStep<>(Collections.singletonList(batch), 0, true, expanded, scanned);
+    }
+
+    public List<FrontierBatch<V>> getBatches() {
+        return batches;
+    }
+
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+
+    public boolean isReached() {
+        return reached;
+    }
+
+    public long getExpanded() {
+        return expanded;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardStep: " + batches.size() + " batches, " + frontierSize + " frontier vertices"
+                + (reached ? ", destination reached" : "");
+    }
+}
@@ -0,0 +1,47 @@
+package org.resistancerus.graph;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport between the coordinator of distributed BFS and shards of a PartitionedGraph. Distributed BFS runs
+ * in supersteps: the coordinator asks every active shard to expand its frontier, waits for all of them and passes
+ * batches they sent to their destination shards in the next superstep. Frontiers and predecessors stay on the shards,
+ * the coordinator follows predecessors from shard to shard to reconstruct the path and releases query state after it.
+ * An implementation may call shards hosted by the same JVM or send requests to shards hosted by other nodes,
+ * shards of one superstep should run in parallel. Several queries could use the transport concurrently.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see LoopbackTransport
+ * @see GraphShard
+ * @see PartitionedGraph
+ */
+public interface ShardTransport<V> {
+
+    /**
+     * Connects the transport to shards of a graph hosted by this JVM, called once by the graph on creation.
+     * @param shards shards in order of their numbers.
+     */
+    void attach(final List<GraphShard<V>> shards);
+
+    /**
+     * Runs one superstep of a query on provided shard.
+     * @see GraphShard#expand(long, Object, List)
+     */
+    CompletableFuture<ShardStep<V>> expand(final int shard,
+                                           final long query,
+                                           final V destination,
+                                           final List<FrontierBatch<V>> received);
+
+    /**
+     * Returns predecessor of a vertex visited by a query on the shard owning the vertex.
+     * @see GraphShard#getPredecessor(long, Object)
+     */
+    V getPredecessor(final int shard, final long query, final V vertex);
+
+    /**
+     * Drops state of a finished query on provided shard.
+     * @see GraphShard#release(long)
+     */
+    void release(final int shard, final long query);
+}
@@ -0,0 +1,119 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Reusable per-thread state of a shortest path search over weighted graph, a state could also be attached
+ * to a thread for one query.
+ * Like TraversalState it uses epoch stamps, so a new search does not clear arrays of graph size.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see TraversalState
+ */
+final class ShortestPathState {
+
+    private static final ThreadLocal<ShortestPathState> STATE = ThreadLocal.withInitial(ShortestPathState::new);
+
+    private final IndexedMinHeap heap = new IndexedMinHeap(16);
+    private int[] discovered = new int[16];
+    private int[] settled = new int[16];
+    private int[] predecessors = new int[16];
+    private double[] distances = new double[16];
+    private int epoch;
+
+    ShortestPathState() {
+    }
+
+    /**
+     * Returns state of the current thread prepared for a new search over a graph with provided vertex count.
+     */
+    static ShortestPathState begin(final int vertexCount) {
+        final ShortestPathState state = STATE.get();
+        state.heap.clear();
+        state.ensureCapacity(vertexCount);
+        if (++state.epoch == Integer.MAX_VALUE) {
+            Arrays.fill(state.discovered, 0);
+            Arrays.fill(state.settled, 0);
+            state.epoch = 1;
+        }
+        return state;
+    }
+
+    /**
+     * Makes provided state the state of the current thread.
+     * @see SearchStates
+     */
+    static void attach(final ShortestPathState state) {
+        STATE.set(state);
+    }
+
+    /**
+     * Removes state of the current thread.
+     */
+    static void detach() {
+        STATE.remove();
+    }
+
+    /**
+     * Makes state able to store vertices with ids lower than provided capacity.
+     */
+    void ensureCapacity(final int capacity) {
+        if (capacity <= discovered.length) {
+            return;
+        }
+
+        final int newCapacity = Math.max(capacity, discovered.length * 2);
+        discovered = Arrays.copyOf(discovered, newCapacity);
+        settled = Arrays.copyOf(settled, newCapacity);
+        predecessors = Arrays.copyOf(predecessors, newCapacity);
+        distances = Arrays.copyOf(distances, newCapacity);
+        heap.ensureCapacity(newCapacity);
+    }
+
+    boolean isDiscovered(final int vertex) {
+        return discovered[vertex] == epoch;
+    }
+
+    boolean isSettled(final int vertex) {
+        return settled[vertex] == epoch;
+    }
+
+    double getDistance(final int vertex) {
+        return distances[vertex];
+    }
+
+    int getPredecessor(final int vertex) {
+        return predecessors[vertex];
+    }
+
+    /**
+     * Stores distance and predecessor of vertex if it is shorter than known one and queues vertex with provided priority.
+     */
+    void relax(final int vertex, final double distance, final int predecessor, final double priority) {
+        if (discovered[vertex] == epoch && distances[vertex] <= distance) {
+            return;
+        }
+
+        discovered[vertex] = epoch;
+        distances[vertex] = distance;
+        predecessors[vertex] = predecessor;
+        heap.insertOrDecrease(vertex, priority);
+    }
+
+    boolean isQueueEmpty() {
+        return heap.isEmpty();
+    }
+
+    int getQueueSize() {
+        return heap.size();
+    }
+
+    /**
+     * Removes vertex with minimal priority from the queue and marks it as settled.
+     */
+    int settleNext() {
+        final int vertex = heap.poll();
+        settled[vertex] = epoch;
+        return vertex;
+    }
+}
@@ -0,0 +1,440 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Graph whose edges carry timestamps. Time unit is chosen by the caller, for example epoch milliseconds.
+ * Every edge is also recorded in the bucket of bucketWidth time units containing its timestamp, so expireBefore
+ * drops whole buckets and touches only expired edges instead of scanning vertices. With a retention set, buckets
+ * older than the latest timestamp minus retention expire automatically while edges are added.
+ * A pair of vertices has at most one edge: adding it again with a later timestamp refreshes timestamp and weight,
+ * the record left in the older bucket is skipped when that bucket expires.
+ * Paths restricted to a time window and time-respecting paths are calculated by PathCalculator.
+ * Graph is not thread-safe.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createTemporalGraph(boolean, boolean, long, long)
+ * @see PathCalculator#getPath(TemporalGraph, Object, Object, long, long)
+ * @see PathCalculator#getTimeRespectingPath(TemporalGraph, Object, Object, long, long)
+ */
+public final class TemporalGraph<V> implements Graph<V> {
+
+    /**
+     * Timestamp returned for an edge which does not belong to graph.
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static Logger logger = LoggerFactory.getLogger(TemporalGraph.class);
+
+    private final boolean directed;
+    private final boolean loopsAllowed;
+    private final long bucketWidth;
+    private final long retention;
+
+    private final Map<V, Map<V, TemporalEdge<V>>> outgoing = new HashMap<>();
+    private final Map<V, Map<V, TemporalEdge<V>>> incoming;
+    private final TreeMap<Long, List<TemporalEdge<V>>> buckets = new TreeMap<>();
+    private long lastBucketIndex = NO_TIME;
+    private List<TemporalEdge<V>> lastBucket;
+    private long retainedBucketIndex = NO_TIME;
+    private long latestTime = NO_TIME;
+    private long edgeCount;
+    private long modificationCount = 1;
+
+    TemporalGraph(final boolean directed, final boolean loopsAllowed, final long bucketWidth, final long retention) {
+        if (bucketWidth <= 0 || retention <= 0) {
+            throw new IllegalArgumentException("Bucket width and retention must be positive.");
+        }
+
+        this.directed = directed;
+        this.loopsAllowed = loopsAllowed;
+        this.bucketWidth = bucketWidth;
+        this.retention = retention;
+        this.incoming = directed ? new HashMap<>() : outgoing;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean areLoopsAllowed() {
+        return loopsAllowed;
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex could not be null.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        if (outgoing.containsKey(vertex)) {
+            logger.debug("Vertex {} already exist in the graph.", vertex);
+            return false;
+        }
+
+        outgoing.put(vertex, new HashMap<>());
+        if (directed) {
+            incoming.put(vertex, new HashMap<>());
+        }
+        modificationCount++;
+        Instrumentation.endMutation(GraphOperation.ADD_VERTEX, started);
+
+        logger.debug("Added new vertex: {}", vertex);
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Couldn't remove null vertex.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.remove(vertex);
+        if (adjacentEdges == null) {
+            logger.error("Couldn't remove vertex which is not in graph.");
+            return false;
+        }
+
+        edgeCount -= adjacentEdges.size();
+        for (final V adjacent : adjacentEdges.keySet()) {
+            removeReference(incoming, adjacent, vertex);
+        }
+        if (directed) {
+            final Map<V, TemporalEdge<V>> incomingEdges = incoming.remove(vertex);
+            edgeCount -= incomingEdges.size() - (incomingEdges.containsKey(vertex) ? 1 : 0);
+            for (final V start : incomingEdges.keySet()) {
+                removeReference(outgoing, start, vertex);
+            }
+        }
+        modificationCount++;
+        Instrumentation.endMutation(GraphOperation.REMOVE_VERTEX, started);
+
+        logger.debug("Removed vertex: {}", vertex);
+        return true;
+    }
+
+    /**
+     * Adds edge with weight 1 and the latest timestamp of the graph, 0 if the graph has no timestamps yet.
+     */
+    @Override
+    public boolean addEdge(final V start, final V end) {
+        return addEdge(start, end, 1.0);
+    }
+
+    /**
+     * Adds edge with the latest timestamp of the graph, 0 if the graph has no timestamps yet.
+     */
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
+        return addEdgeAt(start, end, weight, latestTime == NO_TIME ? 0 : latestTime);
+    }
+
+    /**
+     * Adds edge with weight 1 and provided timestamp.
+     * @see #addEdgeAt(Object, Object, double, long)
+     */
+    public boolean addEdgeAt(final V start, final V end, final long time) {
+        return addEdgeAt(start, end, 1.0, time);
+    }
+
+    /**
+     * Adds edge with provided weight and timestamp or refreshes existing edge if provided timestamp is later.
+     * @return true if the edge was added or refreshed, false if the edge has the same or later timestamp
+     * or the timestamp is already out of retention.
+     */
+    public boolean addEdgeAt(final V start, final V end, final double weight, final long time) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be a non-negative number.");
+        }
+
+        if (time == NO_TIME) {
+            throw new IllegalArgumentException("Edge timestamp must be greater than Long.MIN_VALUE.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.get(start);
+        if (adjacentEdges == null || !outgoing.containsKey(end)) {
+            throw new IllegalArgumentException("Start or end vertex does not belong to graph.");
+        }
+
+        if (start.equals(end) && !loopsAllowed) {
+            throw new IllegalArgumentException("Loop creation is not allowed.");
+        }
+
+        final TemporalEdge<V> existing = adjacentEdges.get(end);
+        if (existing != null && existing.time >= time) {
+            logger.debug("Edge {} - {} already exist in the graph.", start, end);
+            return false;
+        }
+
+        if (isExpired(time)) {
+            logger.debug("Edge {} - {} is out of retention.", start, end);
+            return false;
+        }
+
+        final TemporalEdge<V> edge = new TemporalEdge<>(start, end, weight, time);
+        adjacentEdges.put(end, edge);
+        incoming.get(end).put(start, edge);
+        getBucket(Math.floorDiv(time, bucketWidth)).add(edge);
+        if (existing == null) {
+            edgeCount++;
+        }
+        modificationCount++;
+        if (time > latestTime) {
+            latestTime = time;
+            if (retention != Long.MAX_VALUE && Math.floorDiv(getRetentionCutoff(), bucketWidth) > retainedBucketIndex) {
+                retainedBucketIndex = Math.floorDiv(getRetentionCutoff(), bucketWidth);
+                expireBefore(getRetentionCutoff());
+            }
+        }
+        Instrumentation.endMutation(GraphOperation.ADD_EDGE, started);
+
+        logger.debug("Added edge: {} - {}", start, end);
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.get(start);
+        if (adjacentEdges == null || !adjacentEdges.containsKey(end)) {
+            logger.error("Couldn't delete not existing edge.");
+            return false;
+        }
+
+        remove(adjacentEdges.get(end));
+        modificationCount++;
+        Instrumentation.endMutation(GraphOperation.REMOVE_EDGE, started);
+
+        logger.debug("Removed edge: {} - {}", start, end);
+        return true;
+    }
+
+    /**
+     * Removes all edges of buckets which end not later than provided time. Edges of the bucket containing provided time
+     * stay until it expires entirely, so expiry granularity is one bucket.
+     * @return number of removed edges.
+     */
+    public int expireBefore(final long time) {
+        final SortedMap<Long, List<TemporalEdge<V>>> expired = buckets.headMap(Math.floorDiv(time, bucketWidth));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        int result = 0;
+        for (final List<TemporalEdge<V>> bucket : expired.values()) {
+            for (final TemporalEdge<V> edge : bucket) {
+                if (isCurrent(edge)) {
+                    remove(edge);
+                    result++;
+                }
+            }
+        }
+        final int bucketCount = expired.size();
+        expired.clear();
+        if (lastBucketIndex < Math.floorDiv(time, bucketWidth)) {
+            lastBucketIndex = NO_TIME;
+            lastBucket = null;
+        }
+        if (result > 0) {
+            modificationCount++;
+        }
+
+        logger.debug("Expired {} edges of {} buckets before {}.", result, bucketCount, time);
+        return result;
+    }
+
+    @Override
+    public boolean hasVertex(final V vertex) {
+        return outgoing.containsKey(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.get(start);
+        return adjacentEdges != null && adjacentEdges.containsKey(end);
+    }
+
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        final TemporalEdge<V> edge = getEdge(start, end);
+        return edge == null ? Double.NaN : edge.weight;
+    }
+
+    /**
+     * Returns timestamp of the edge or NO_TIME if the edge does not belong to graph.
+     */
+    public long getEdgeTime(final V start, final V end) {
+        final TemporalEdge<V> edge = getEdge(start, end);
+        return edge == null ? NO_TIME : edge.time;
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return Collections.unmodifiableSet(outgoing.keySet());
+    }
+
+    @Override
+    public Set<V> getAdjacentVertices(final V vertex) {
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.get(vertex);
+        return adjacentEdges == null ? null : Collections.unmodifiableSet(adjacentEdges.keySet());
+    }
+
+    @Override
+    public Set<V> getIncomingVertices(final V vertex) {
+        final Map<V, TemporalEdge<V>> incomingEdges = incoming.get(vertex);
+        return incomingEdges == null ? null : Collections.unmodifiableSet(incomingEdges.keySet());
+    }
+
+    /**
+     * Returns number of edges, an edge of undirected graph is counted once.
+     */
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns number of time buckets, including buckets which contain only refreshed or removed edges.
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Returns the latest timestamp of added edges or NO_TIME if no edge was added.
+     */
+    public long getLatestTime() {
+        return latestTime;
+    }
+
+    public long getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Returns retention of edges or Long.MAX_VALUE if edges expire only by expireBefore.
+     */
+    public long getRetention() {
+        return retention;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporalGraph: " + outgoing.size() + " vertices, " + edgeCount + " edges, " + buckets.size() + " buckets";
+    }
+
+    /**
+     * Returns edges leaving provided vertex by adjacent vertex or null if it does not belong to graph.
+     */
+    Map<V, TemporalEdge<V>> getAdjacentEdges(final V vertex) {
+        return outgoing.get(vertex);
+    }
+
+    private TemporalEdge<V> getEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.get(start);
+        return adjacentEdges == null ? null : adjacentEdges.get(end);
+    }
+
+    /**
+     * Returns bucket with provided index, the bucket of the latest edge is cached as timestamps mostly grow.
+     */
+    private List<TemporalEdge<V>> getBucket(final long index) {
+        if (index != lastBucketIndex || lastBucket == null) {
+            lastBucket = buckets.computeIfAbsent(index, bucket -> new ArrayList<>());
+            lastBucketIndex = index;
+        }
+        return lastBucket;
+    }
+
+    /**
+     * Returns true if the bucket of provided time is already expired by retention.
+     */
+    private boolean isExpired(final long time) {
+        return retention != Long.MAX_VALUE && latestTime != NO_TIME
+                && Math.floorDiv(time, bucketWidth) < Math.floorDiv(getRetentionCutoff(), bucketWidth);
+    }
+
+    /**
+     * Returns the earliest timestamp kept by retention.
+     */
+    private long getRetentionCutoff() {
+        return latestTime < Long.MIN_VALUE + retention ? Long.MIN_VALUE : latestTime - retention;
+    }
+
+    /**
+     * Returns true if the edge is still stored in the graph, false if it was refreshed or removed.
+     */
+    private boolean isCurrent(final TemporalEdge<V> edge) {
+        final Map<V, TemporalEdge<V>> adjacentEdges = outgoing.get(edge.start);
+        return adjacentEdges != null && adjacentEdges.get(edge.end) == edge;
+    }
+
+    /**
+     * Removes current edge from adjacency of both its vertices. Its bucket record is skipped on expiry.
+     */
+    private void remove(final TemporalEdge<V> edge) {
+        outgoing.get(edge.start).remove(edge.end);
+        removeReference(incoming, edge.end, edge.start);
+        edgeCount--;
+    }
+
+    private static <V> void removeReference(final Map<V, Map<V, TemporalEdge<V>>> edges, final V vertex, final V removed) {
+        final Map<V, TemporalEdge<V>> vertexEdges = edges.get(vertex);
+        if (vertexEdges != null) {
+            vertexEdges.remove(removed);
+        }
+    }
+
+    /**
+     * Edge with timestamp. Undirected edge is shared by adjacency of both its vertices.
+     */
+    static final class TemporalEdge<V> {
+
+        final V start;
+        final V end;
+        final double weight;
+        final long time;
+
+        TemporalEdge(final V start, final V end, final double weight, final long time) {
+            this.start = start;
+            this.end = end;
+            this.weight = weight;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Utility class to read graphs from text edge lists and adjacency lists and to write them back.
+ * <p>
+ * Supported layouts:
+ * <ul>
+ *     <li>TSV and CSV: one edge per line, start and end vertices followed by optional weight separated by a tab
+ *     or a comma, a line with a single vertex adds the vertex;</li>
+ *     <li>ADJACENCY_LIST: vertex followed by its adjacent vertices separated by spaces or tabs, edges have weight 1.</li>
+ * </ul>
+ * Empty lines and lines starting with '#' or '%' are skipped, blanks around values and '\r' at line end are ignored.
+ * Quoted CSV values are not supported.
+ * <p>
+ * File is memory-mapped in chunks split at line boundaries. Chunks are parsed in parallel on the common fork/join pool,
+ * vertices are decoded by VertexCodec straight from mapped bytes, so numeric vertices are parsed without creating
+ * strings. Parsed chunks are added to GraphBuilder in file order by the calling thread while next chunks are parsed.
+ * Writing streams vertices and adjacency of the graph through a direct buffer without copying the graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphBuilder
+ * @see VertexCodec
+ */
+public abstract class TextGraphFormat {
+
+    /**
+     * Layout of graph text file.
+     */
+    public enum Layout {
+
+        /**
+         * Tab separated edge list.
+         */
+        TSV,
+
+        /**
+         * Comma separated edge list.
+         */
+        CSV,
+
+        /**
+         * Vertex followed by its adjacent vertices on every line.
+         */
+        ADJACENCY_LIST
+    }
+
+    /**
+     * Integer vertices written as decimal numbers.
+     */
+    public static final VertexCodec<Integer> INTEGER = new VertexCodec<Integer>() {
+        @Override
+        public byte[] encode(final Integer vertex) {
+            return vertex.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer, final int offset, final int length) {
+            final long value = parseLong(buffer, offset, length);
+            if (value != (int) value) {
+                throw new IllegalArgumentException("Vertex " + value + " is out of integer range.");
+            }
+            return (int) value;
+        }
+    };
+
+    /**
+     * Long vertices written as decimal numbers.
+     */
+    public static final VertexCodec<Long> LONG = new VertexCodec<Long>() {
+        @Override
+        public byte[] encode(final Long vertex) {
+            return vertex.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public Long decode(final ByteBuffer buffer, final int offset, final int length) {
+            return parseLong(buffer, offset, length);
+        }
+    };
+
+    static final int CHUNK_SIZE = 8 << 20;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int SCAN_BLOCK_SIZE = 64 << 10;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private static Logger logger = LoggerFactory.getLogger(TextGraphFormat.class);
+
+    /**
+     * Reads graph from text file.
+     * @param file file to read.
+     * @param layout layout of the file.
+     * @param codec converts text of a vertex to vertex, STRING, INTEGER and LONG codecs are provided.
+     * @param directed whether edges of the graph are directed.
+     * @param loopsAllowed whether loop edges are allowed.
+     * @return new graph containing vertices and edges of the file.
+     */
+    public static <V> Graph<V> read(final File file,
+                                    final Layout layout,
+                                    final VertexCodec<V> codec,
+                                    final boolean directed,
+                                    final boolean loopsAllowed) throws IOException {
+        return read(file, layout, codec, new GraphBuilder<>(directed, loopsAllowed)).build();
+    }
+
+    /**
+     * Adds vertices and edges of text file to provided builder.
+     * @param file file to read.
+     * @param layout layout of the file.
+     * @param codec converts text of a vertex to vertex, STRING, INTEGER and LONG codecs are provided.
+     * @param builder builder to add vertices and edges to.
+     * @return provided builder.
+     */
+    public static <V> GraphBuilder<V> read(final File file,
+                                           final Layout layout,
+                                           final VertexCodec<V> codec,
+                                           final GraphBuilder<V> builder) throws IOException {
+        return read(file, layout, codec, builder, CHUNK_SIZE);
+    }
+
+    /**
+     * Writes graph to text file. Undirected edges are written once in edge lists and from both ends in adjacency lists.
+     * Weights are written to edge lists if some weight differs from 1 and are not written to adjacency lists.
+     * A vertex without outgoing edges is written to edge lists on its own line.
+     * Vertices are encoded while their adjacency is written, so the graph is not copied: memory used besides the output
+     * buffer is proportional to the number of undirected edges whose vertices have equal hash codes.
+     * @param graph graph to write.
+     * @param file file to write graph to, it is overwritten if exists.
+     * @param layout layout of the file.
+     * @param codec converts vertices to text, encoded vertices must not contain separators and line breaks.
+     */
+    public static <V> void write(final Graph<V> graph,
+                                 final File file,
+                                 final Layout layout,
+                                 final VertexCodec<V> codec) throws IOException {
+        if (graph == null || file == null || layout == null || codec == null) {
+            throw new IllegalArgumentException("Graph, file, layout and codec could not be null.");
+        }
+
+        final boolean adjacencyList = layout == Layout.ADJACENCY_LIST;
+        final boolean weighted = !adjacencyList && isWeighted(graph);
+        final boolean directed = graph.isDirected();
+        final byte separator = layout == Layout.TSV ? (byte) '\t' : layout == Layout.CSV ? (byte) ',' : (byte) ' ';
+        final Set<V> collided = new HashSet<>();
+        long vertexCount = 0;
+        try (Output out = new Output(FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            for (final V vertex : graph.getVertices()) {
+                vertexCount++;
+                final Set<V> adjacentVertices = graph.getAdjacentVertices(vertex);
+                final byte[] encoded = codec.encode(vertex);
+                if (adjacencyList || adjacentVertices.isEmpty()) {
+                    out.put(encoded);
+                }
+
+                boolean collision = false;
+                for (final V adjacent : adjacentVertices) {
+                    if (adjacencyList) {
+                        out.put(separator);
+                        out.put(codec.encode(adjacent));
+                        continue;
+                    }
+
+                    if (!directed && !adjacent.equals(vertex)) {
+                        final int hash = vertex.hashCode();
+                        final int adjacentHash = adjacent.hashCode();
+                        if (hash > adjacentHash) {
+                            continue;
+                        }
+                        if (hash == adjacentHash) {
+                            collision = true;
+                            if (collided.contains(adjacent)) {
+                                continue;
+                            }
+                        }
+                    }
+
+                    out.put(encoded);
+                    out.put(separator);
+                    out.put(codec.encode(adjacent));
+                    if (weighted) {
+                        out.put(separator);
+                        out.put(Double.toString(graph.getEdgeWeight(vertex, adjacent)).getBytes(StandardCharsets.US_ASCII));
+                    }
+                    out.put((byte) '\n');
+                }
+                if (collision) {
+                    collided.add(vertex);
+                }
+
+                if (adjacencyList || adjacentVertices.isEmpty()) {
+                    out.put((byte) '\n');
+                }
+            }
+        }
+        logger.debug("Written graph with {} vertices to {}.", vertexCount, file);
+    }
+
+    /**
+     * Checks whether some edge of the graph has weight other than 1.
+     */
+    private static <V> boolean isWeighted(final Graph<V> graph) {
+        if (graph instanceof IndexedGraph) {
+            return BinaryGraphFormat.isWeighted((IndexedGraph<V>) graph);
+        }
+
+        for (final V vertex : graph.getVertices()) {
+            for (final V adjacent : graph.getAdjacentVertices(vertex)) {
+                if (graph.getEdgeWeight(vertex, adjacent) != 1.0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds vertices and edges of text file to provided builder reading it in chunks of provided size.
+     */
+    static <V> GraphBuilder<V> read(final File file,
+                                    final Layout layout,
+                                    final VertexCodec<V> codec,
+                                    final GraphBuilder<V> builder,
+                                    final int chunkSize) throws IOException {
+        if (file == null || layout == null || codec == null || builder == null) {
+            throw new IllegalArgumentException("File, layout, codec and builder could not be null.");
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long[] boundaries = findChunkBoundaries(channel, chunkSize);
+            final int chunkCount = boundaries.length - 1;
+            final int window = 2 * ForkJoinPool.getCommonPoolParallelism() + 1;
+            final ArrayDeque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+            int next = 0;
+            try {
+                while (next < chunkCount || !pending.isEmpty()) {
+                    while (next < chunkCount && pending.size() < window) {
+                        final long start = boundaries[next];
+                        final long end = boundaries[++next];
+                        pending.addLast(CompletableFuture.supplyAsync(
+                                () -> parse(channel, start, end, layout, codec), ForkJoinPool.commonPool()));
+                    }
+                    pending.removeFirst().join().addTo(builder);
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            } finally {
+                pending.forEach(future -> future.cancel(false));
+            }
+            logger.debug("Read {} bytes of {} in {} chunks.", boundaries[chunkCount], file, chunkCount);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns positions of chunk starts followed by file size. Every chunk except the first starts after a line break,
+     * chunks are about provided size unless a line is longer.
+     */
+    private static long[] findChunkBoundaries(final FileChannel channel, final int chunkSize) throws IOException {
+        final long size = channel.size();
+        final ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        final List<Long> boundaries = new ArrayList<>();
+        long boundary = 0;
+        while (boundary < size) {
+            boundaries.add(boundary);
+            long position = boundary + chunkSize - 1;
+            boundary = size;
+            while (position < size) {
+                block.clear();
+                final int read = channel.read(block, position);
+                if (read <= 0) {
+                    break;
+                }
+                final int lineEnd = indexOf(block, read, (byte) '\n');
+                if (lineEnd >= 0) {
+                    boundary = position + lineEnd + 1;
+                    break;
+                }
+                position += read;
+            }
+        }
+        boundaries.add(size);
+
+        final long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private static int indexOf(final ByteBuffer block, final int length, final byte value) {
+        for (int i = 0; i < length; i++) {
+            if (block.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses lines of file located between provided positions.
+     */
+    private static <V> Chunk parse(final FileChannel channel,
+                                   final long start,
+                                   final long end,
+                                   final Layout layout,
+                                   final VertexCodec<V> codec) {
+        final MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final Chunk chunk = new Chunk();
+        final int limit = buffer.limit();
+        int[] tokens = new int[16];
+        int position = 0;
+        while (position < limit) {
+            int lineEnd = position;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int count = 0;
+            int i = position;
+            while (i < lineEnd) {
+                int tokenStart = i;
+                while (i < lineEnd && !isSeparator(layout, buffer.get(i))) {
+                    i++;
+                }
+                int tokenEnd = i++;
+                while (tokenStart < tokenEnd && isBlank(buffer.get(tokenStart))) {
+                    tokenStart++;
+                }
+                while (tokenEnd > tokenStart && isBlank(buffer.get(tokenEnd - 1))) {
+                    tokenEnd--;
+                }
+                if (tokenEnd > tokenStart) {
+                    if (2 * count == tokens.length) {
+                        tokens = Arrays.copyOf(tokens, tokens.length * 2);
+                    }
+                    tokens[2 * count] = tokenStart;
+                    tokens[2 * count + 1] = tokenEnd - tokenStart;
+                    count++;
+                }
+            }
+
+            if (count > 0 && buffer.get(tokens[0]) != '#' && buffer.get(tokens[0]) != '%') {
+                try {
+                    parseLine(buffer, tokens, count, layout, codec, chunk);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Malformed line at byte " + (start + position) + ": "
+                            + e.getMessage(), e);
+                }
+            }
+            position = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private static <V> void parseLine(final ByteBuffer buffer,
+                                      final int[] tokens,
+                                      final int count,
+                                      final Layout layout,
+                                      final VertexCodec<V> codec,
+                                      final Chunk chunk) {
+        final V vertex = codec.decode(buffer, tokens[0], tokens[1]);
+        if (count == 1) {
+            chunk.add(vertex, null, 1.0);
+            return;
+        }
+
+        if (layout == Layout.ADJACENCY_LIST) {
+            for (int i = 1; i < count; i++) {
+                chunk.add(vertex, codec.decode(buffer, tokens[2 * i], tokens[2 * i + 1]), 1.0);
+            }
+            return;
+        }
+
+        if (count > 3) {
+            throw new IllegalArgumentException("Edge list line must contain two vertices and optional weight.");
+        }
+        chunk.add(vertex, codec.decode(buffer, tokens[2], tokens[3]),
+                count == 3 ? parseWeight(buffer, tokens[4], tokens[5]) : 1.0);
+    }
+
+    private static boolean isSeparator(final Layout layout, final byte value) {
+        switch (layout) {
+            case TSV:
+                return value == '\t';
+            case CSV:
+                return value == ',';
+            default:
+                return value == ' ' || value == '\t';
+        }
+    }
+
+    private static boolean isBlank(final byte value) {
+        return value == ' ' || value == '\t' || value == '\r';
+    }
+
+    /**
+     * Parses decimal number with optional minus sign.
+     */
+    static long parseLong(final ByteBuffer buffer, final int offset, final int length) {
+        final boolean negative = length > 0 && buffer.get(offset) == '-';
+        int i = negative ? 1 : 0;
+        if (i == length) {
+            throw new IllegalArgumentException("Malformed number: " + text(buffer, offset, length));
+        }
+
+        long result = 0;
+        for (; i < length; i++) {
+            final int digit = buffer.get(offset + i) - '0';
+            if (digit < 0 || digit > 9 || result < (Long.MIN_VALUE + digit) / 10) {
+                throw new IllegalArgumentException("Malformed number: " + text(buffer, offset, length));
+            }
+            result = result * 10 - digit;
+        }
+
+        if (!negative && result == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Malformed number: " + text(buffer, offset, length));
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses edge weight. Plain decimals with up to 15 digits are converted exactly without creating a string.
+     */
+    static double parseWeight(final ByteBuffer buffer, final int offset, final int length) {
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (int i = 0; i < length; i++) {
+            final byte value = buffer.get(offset + i);
+            if (value == '.' && fraction < 0) {
+                fraction = 0;
+            } else if (value >= '0' && value <= '9' && digits < 15) {
+                mantissa = mantissa * 10 + value - '0';
+                digits++;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else {
+                digits = -1;
+                break;
+            }
+        }
+
+        if (digits > 0) {
+            return fraction <= 0 ? mantissa : mantissa / POWERS_OF_TEN[fraction];
+        }
+
+        try {
+            return Double.parseDouble(text(buffer, offset, length));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed weight: " + text(buffer, offset, length));
+        }
+    }
+
+    private static String text(final ByteBuffer buffer, final int offset, final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Vertices and edges of one parsed chunk, end vertex is null for a single vertex.
+     */
+    private static final class Chunk {
+        private Object[] starts = new Object[1024];
+        private Object[] ends = new Object[1024];
+        private double[] weights;
+        private int size;
+
+        void add(final Object start, final Object end, final double weight) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                if (weights != null) {
+                    weights = Arrays.copyOf(weights, size * 2);
+                }
+            }
+
+            if (weight != 1.0 && weights == null) {
+                weights = new double[starts.length];
+                Arrays.fill(weights, 0, size, 1.0);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            if (weights != null) {
+                weights[size] = weight;
+            }
+            size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> void addTo(final GraphBuilder<V> builder) {
+            for (int i = 0; i < size; i++) {
+                if (ends[i] == null) {
+                    builder.addVertex((V) starts[i]);
+                } else {
+                    builder.addEdge((V) starts[i], (V) ends[i], weights == null ? 1.0 : weights[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffered writer to a file channel.
+     */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        Output(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void put(final byte value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(value);
+        }
+
+        void put(final byte[] bytes) throws IOException {
+            if (bytes.length > buffer.remaining()) {
+                flush();
+                if (bytes.length > buffer.capacity()) {
+                    writeFully(ByteBuffer.wrap(bytes));
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(final ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
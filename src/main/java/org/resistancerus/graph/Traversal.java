@@ -0,0 +1,270 @@
+package org.resistancerus.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy breadth-first or depth-first traversal of vertices reachable from a start vertex along outgoing edges.
+ * Vertices are discovered only when the caller asks for the next one, so a traversal which is stopped early,
+ * e.g. via Stream.limit or Stream.filter(...).findFirst(), touches only a small part of the graph.
+ * Adjacency of a returned vertex is read when the next vertex is requested. Traversal keeps only the frontier
+ * and the set of discovered vertices. Depth limit stops expansion at provided number of edges from the start vertex,
+ * vertices rejected by the filter are neither returned nor expanded. Traversal is immutable, withMaxDepth and withFilter
+ * return a new traversal. Every call of iterator() or stream() starts a new traversal. Graph must not be changed during a traversal unless it is
+ * a concurrent graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createBreadthFirstTraversal(Graph, Object)
+ * @see GraphFactory#createDepthFirstTraversal(Graph, Object)
+ */
+public final class Traversal<V> implements Iterable<V> {
+
+    private static final Object LEVEL_END = new Object();
+
+    private static Logger logger = LoggerFactory.getLogger(Traversal.class);
+
+    private final Graph<V> graph;
+    private final V start;
+    private final boolean depthFirst;
+    private final int maxDepth;
+    private final Predicate<? super V> filter;
+
+    Traversal(final Graph<V> graph, final V start, final boolean depthFirst) {
+        this(graph, start, depthFirst, Integer.MAX_VALUE, vertex -> true);
+    }
+
+    private Traversal(final Graph<V> graph,
+                      final V start,
+                      final boolean depthFirst,
+                      final int maxDepth,
+                      final Predicate<? super V> filter) {
+        if (graph == null || start == null) {
+            throw new IllegalArgumentException("Graph and start vertex could not be null.");
+        }
+
+        this.graph = graph;
+        this.start = start;
+        this.depthFirst = depthFirst;
+        this.maxDepth = maxDepth;
+        this.filter = filter;
+    }
+
+    /**
+     * Returns traversal limited to vertices at most provided number of edges away from the start vertex.
+     * Depth-first traversal expands a vertex again when it reaches the vertex by a shorter path than before,
+     * so it returns the same vertices as breadth-first traversal, but could read adjacency of a vertex several times.
+     */
+    public Traversal<V> withMaxDepth(final int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximal depth could not be negative.");
+        }
+        return new Traversal<>(graph, start, depthFirst, maxDepth, filter);
+    }
+
+    /**
+     * Returns traversal restricted to vertices matching the predicate, the predicate replaces previous filter.
+     * Rejected vertices are not returned and traversal does not go through them. Predicate is called at most once per vertex.
+     */
+    public Traversal<V> withFilter(final Predicate<? super V> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter could not be null.");
+        }
+        return new Traversal<>(graph, start, depthFirst, maxDepth, filter);
+    }
+
+    /**
+     * Returns iterator over reachable vertices starting from the start vertex.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        if (!graph.hasVertex(start)) {
+            logger.error("Start vertex does not belong to graph.");
+            return Collections.emptyIterator();
+        }
+
+        if (!filter.test(start)) {
+            return Collections.emptyIterator();
+        }
+        return depthFirst ? new DepthFirstIterator() : new BreadthFirstIterator();
+    }
+
+    @Override
+    public Spliterator<V> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns sequential stream of reachable vertices starting from the start vertex.
+     */
+    public Stream<V> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private Set<V> adjacentVertices(final V vertex) {
+        final Set<V> result = graph.getAdjacentVertices(vertex);
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    /**
+     * Queue contains vertices of the current level followed by LEVEL_END marker and vertices of the next level.
+     */
+    private final class BreadthFirstIterator implements Iterator<V> {
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+        private final Set<V> discovered = new HashSet<>();
+        private V expanding;
+        private int depth;
+
+        BreadthFirstIterator() {
+            discovered.add(start);
+            queue.add(start);
+            queue.add(LEVEL_END);
+        }
+
+        @Override
+        public boolean hasNext() {
+            expand();
+            while (queue.peekFirst() == LEVEL_END) {
+                queue.removeFirst();
+                if (queue.isEmpty()) {
+                    return false;
+                }
+                depth++;
+                queue.addLast(LEVEL_END);
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            expanding = (V) queue.removeFirst();
+            return expanding;
+        }
+
+        private void expand() {
+            if (expanding == null) {
+                return;
+            }
+
+            if (depth < maxDepth) {
+                for (final V adjacent : adjacentVertices(expanding)) {
+                    if (discovered.add(adjacent) && filter.test(adjacent)) {
+                        queue.addLast(adjacent);
+                    }
+                }
+            }
+            expanding = null;
+        }
+    }
+
+    /**
+     * Stack contains iterators over adjacent vertices of the vertices on the current path, so vertices returned
+     * by the top iterator are as deep as the stack size. If depth is limited, discovered vertices are mapped
+     * to the smallest depth they have been reached at and rejected vertices are mapped to -1.
+     */
+    private final class DepthFirstIterator implements Iterator<V> {
+        private static final int REJECTED = -1;
+
+        private final ArrayDeque<Iterator<V>> stack = new ArrayDeque<>();
+        private final Set<V> discovered = new HashSet<>();
+        private final Map<V, Integer> depths = maxDepth == Integer.MAX_VALUE ? null : new HashMap<>();
+        private V expanding;
+        private V next;
+
+        DepthFirstIterator() {
+            discovered.add(start);
+            if (depths != null) {
+                depths.put(start, 0);
+            }
+            next = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+
+            if (expanding != null) {
+                if (stack.size() < maxDepth) {
+                    stack.push(adjacentVertices(expanding).iterator());
+                }
+                expanding = null;
+            }
+
+            while (!stack.isEmpty()) {
+                final Iterator<V> adjacentVertices = stack.peek();
+                if (!adjacentVertices.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+
+                final V adjacent = adjacentVertices.next();
+                if (depths != null) {
+                    if (discover(adjacent)) {
+                        return true;
+                    }
+                } else if (discovered.add(adjacent) && filter.test(adjacent)) {
+                    next = adjacent;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Handles vertex reached at the depth of the stack size when depth is limited. A vertex reached
+         * for the first time is returned next, a vertex reached by a shorter path is expanded again without
+         * being returned.
+         * @return true if the vertex is the next one.
+         */
+        private boolean discover(final V vertex) {
+            final int depth = stack.size();
+            final Integer known = depths.get(vertex);
+            if (known == null) {
+                final boolean accepted = filter.test(vertex);
+                depths.put(vertex, accepted ? depth : REJECTED);
+                if (accepted) {
+                    next = vertex;
+                }
+                return accepted;
+            }
+
+            if (known > depth) {
+                depths.put(vertex, depth);
+                if (depth < maxDepth) {
+                    stack.push(adjacentVertices(vertex).iterator());
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            expanding = next;
+            next = null;
+            return expanding;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Reusable state of a traversal over an indexed graph, either owned by a thread, attached to it for one query
+ * or created by a caller which reuses it.
+ * Vertex is visited in the current traversal if its stamp equals current epoch, so starting a new traversal costs O(1)
+ * instead of clearing arrays of graph size. Arrays are allocated once per state and grow only for bigger graphs,
+ * queue grows with the number of reached vertices.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+final class TraversalState {
+
+    private static final ThreadLocal<TraversalState> STATE = ThreadLocal.withInitial(TraversalState::new);
+    private static final ThreadLocal<TraversalState> REVERSE_STATE = ThreadLocal.withInitial(TraversalState::new);
+
+    private int[] stamps = new int[0];
+    private int[] predecessors = new int[0];
+    private int[] queue = new int[16];
+    private int epoch;
+    private int head;
+    private int tail;
+
+    TraversalState() {
+    }
+
+    /**
+     * Returns state of the current thread prepared for a new traversal over a graph with provided vertex count.
+     */
+    static TraversalState begin(final int vertexCount) {
+        return STATE.get().reset(vertexCount);
+    }
+
+    /**
+     * Returns second state of the current thread, used by searches running from both ends of a path.
+     */
+    static TraversalState beginReverse(final int vertexCount) {
+        return REVERSE_STATE.get().reset(vertexCount);
+    }
+
+    /**
+     * Makes provided states the states of the current thread.
+     * @see SearchStates
+     */
+    static void attach(final TraversalState state, final TraversalState reverseState) {
+        STATE.set(state);
+        REVERSE_STATE.set(reverseState);
+    }
+
+    /**
+     * Removes states of the current thread.
+     */
+    static void detach() {
+        STATE.remove();
+        REVERSE_STATE.remove();
+    }
+
+    TraversalState reset(final int vertexCount) {
+        if (stamps.length < vertexCount) {
+            stamps = new int[vertexCount];
+            predecessors = new int[vertexCount];
+            epoch = 0;
+        }
+
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+
+        head = 0;
+        tail = 0;
+        return this;
+    }
+
+    boolean isVisited(final int vertex) {
+        return stamps[vertex] == epoch;
+    }
+
+    /**
+     * Marks vertex as visited and stores its predecessor.
+     */
+    void visit(final int vertex, final int predecessor) {
+        stamps[vertex] = epoch;
+        predecessors[vertex] = predecessor;
+    }
+
+    int getPredecessor(final int vertex) {
+        return predecessors[vertex];
+    }
+
+    void enqueue(final int vertex) {
+        if (tail == queue.length) {
+            queue = Arrays.copyOf(queue, queue.length * 2);
+        }
+        queue[tail++] = vertex;
+    }
+
+    int dequeue() {
+        return queue[head++];
+    }
+
+    boolean isQueueEmpty() {
+        return head == tail;
+    }
+
+    int getQueueSize() {
+        return tail - head;
+    }
+}
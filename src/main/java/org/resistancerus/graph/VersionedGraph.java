@@ -0,0 +1,250 @@
+package org.resistancerus.graph;
+
+import org.resistancerus.graph.GraphSnapshot.VertexEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe graph with snapshot isolation. Vertex set and adjacency of every vertex are persistent hash tries,
+ * a mutation creates a new version sharing everything but O(log n) trie nodes with the previous one and publishes it
+ * atomically. snapshot() pins the current version in O(1): readers traverse an immutable graph without locks
+ * and are not affected by writers, which are serialized by a lock. Versions not referenced by any snapshot
+ * are collected by GC.
+ * Read methods of the graph itself use the latest version on every call, so a long traversal should use a snapshot.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see GraphFactory#createVersionedGraph(boolean, boolean)
+ */
+public final class VersionedGraph<V> implements Graph<V> {
+
+    private static Logger logger = LoggerFactory.getLogger(VersionedGraph.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile GraphSnapshot<V> current;
+
+    VersionedGraph(final boolean directed, final boolean loopsAllowed) {
+        current = new GraphSnapshot<>(directed, loopsAllowed, PersistentMap.empty(), 1);
+    }
+
+    /**
+     * Returns immutable view of the current version of the graph.
+     */
+    public Graph<V> snapshot() {
+        return current;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return current.isDirected();
+    }
+
+    @Override
+    public boolean areLoopsAllowed() {
+        return current.areLoopsAllowed();
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex could not be null.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        lock.lock();
+        try {
+            final PersistentMap<V, VertexEntry<V>> vertices = current.getVertexMap();
+            if (vertices.containsKey(vertex)) {
+                logger.debug("Vertex {} already exist in the graph.", vertex);
+                return false;
+            }
+
+            final VertexEntry<V> entry = new VertexEntry<>(PersistentMap.empty(), isDirected() ? PersistentMap.empty() : null);
+            publish(vertices.put(vertex, entry));
+        } finally {
+            lock.unlock();
+        }
+        Instrumentation.endMutation(GraphOperation.ADD_VERTEX, started);
+
+        logger.debug("Added new vertex: {}", vertex);
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Couldn't remove null vertex.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        lock.lock();
+        try {
+            PersistentMap<V, VertexEntry<V>> vertices = current.getVertexMap();
+            final VertexEntry<V> entry = vertices.get(vertex);
+            if (entry == null) {
+                logger.error("Couldn't remove vertex which is not in graph.");
+                return false;
+            }
+
+            vertices = vertices.remove(vertex);
+            for (final V adjacent : entry.getOutgoing().keySet()) {
+                final VertexEntry<V> adjacentEntry = vertices.get(adjacent);
+                if (adjacentEntry != null) {
+                    vertices = vertices.put(adjacent, isDirected()
+                            ? new VertexEntry<>(adjacentEntry.getOutgoing(), adjacentEntry.getIncoming().remove(vertex))
+                            : new VertexEntry<>(adjacentEntry.getOutgoing().remove(vertex), null));
+                }
+            }
+            if (isDirected()) {
+                for (final V incoming : entry.getIncoming().keySet()) {
+                    final VertexEntry<V> incomingEntry = vertices.get(incoming);
+                    if (incomingEntry != null) {
+                        vertices = vertices.put(incoming,
+                                new VertexEntry<>(incomingEntry.getOutgoing().remove(vertex), incomingEntry.getIncoming()));
+                    }
+                }
+            }
+            publish(vertices);
+        } finally {
+            lock.unlock();
+        }
+        Instrumentation.endMutation(GraphOperation.REMOVE_VERTEX, started);
+
+        logger.debug("Removed vertex: {}", vertex);
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end) {
+        return addEdge(start, end, 1.0);
+    }
+
+    @Override
+    public boolean addEdge(final V start, final V end, final double weight) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be a non-negative number.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        lock.lock();
+        try {
+            PersistentMap<V, VertexEntry<V>> vertices = current.getVertexMap();
+            final VertexEntry<V> startEntry = vertices.get(start);
+            if (startEntry == null || !vertices.containsKey(end)) {
+                throw new IllegalArgumentException("Start or end vertex does not belong to graph.");
+            }
+
+            if (startEntry.getOutgoing().containsKey(end)) {
+                logger.debug("Edge {} - {} already exist in the graph.", start, end);
+                return false;
+            }
+
+            if (start.equals(end) && !areLoopsAllowed()) {
+                throw new IllegalArgumentException("Loop creation is not allowed.");
+            }
+
+            vertices = vertices.put(start, new VertexEntry<>(startEntry.getOutgoing().put(end, weight), startEntry.getIncoming()));
+            final VertexEntry<V> endEntry = vertices.get(end);
+            if (isDirected()) {
+                vertices = vertices.put(end, new VertexEntry<>(endEntry.getOutgoing(), endEntry.getIncoming().put(start, weight)));
+            } else if (!start.equals(end)) {
+                vertices = vertices.put(end, new VertexEntry<>(endEntry.getOutgoing().put(start, weight), null));
+            }
+            publish(vertices);
+        } finally {
+            lock.unlock();
+        }
+        Instrumentation.endMutation(GraphOperation.ADD_EDGE, started);
+
+        logger.debug("Added edge: {} - {}", start, end);
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(final V start, final V end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start or end vertex could not be null.");
+        }
+
+        final long started = Instrumentation.startMutation();
+        lock.lock();
+        try {
+            PersistentMap<V, VertexEntry<V>> vertices = current.getVertexMap();
+            final VertexEntry<V> startEntry = vertices.get(start);
+            if (startEntry == null || !startEntry.getOutgoing().containsKey(end)) {
+                logger.error("Couldn't delete not existing edge.");
+                return false;
+            }
+
+            vertices = vertices.put(start, new VertexEntry<>(startEntry.getOutgoing().remove(end), startEntry.getIncoming()));
+            final VertexEntry<V> endEntry = vertices.get(end);
+            if (isDirected()) {
+                vertices = vertices.put(end, new VertexEntry<>(endEntry.getOutgoing(), endEntry.getIncoming().remove(start)));
+            } else if (!start.equals(end)) {
+                vertices = vertices.put(end, new VertexEntry<>(endEntry.getOutgoing().remove(start), null));
+            }
+            publish(vertices);
+        } finally {
+            lock.unlock();
+        }
+        Instrumentation.endMutation(GraphOperation.REMOVE_EDGE, started);
+
+        logger.debug("Removed edge: {} - {}", start, end);
+        return true;
+    }
+
+    @Override
+    public boolean hasVertex(final V vertex) {
+        return current.hasVertex(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(final V start, final V end) {
+        return current.hasEdge(start, end);
+    }
+
+    @Override
+    public double getEdgeWeight(final V start, final V end) {
+        return current.getEdgeWeight(start, end);
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return current.getVertices();
+    }
+
+    @Override
+    public Set<V> getAdjacentVertices(final V vertex) {
+        return current.getAdjacentVertices(vertex);
+    }
+
+    @Override
+    public Set<V> getIncomingVertices(final V vertex) {
+        return current.getIncomingVertices(vertex);
+    }
+
+    @Override
+    public long getModificationCount() {
+        return current.getModificationCount();
+    }
+
+    @Override
+    public String toString() {
+        return current.toString();
+    }
+
+    /**
+     * Makes new version of the graph visible to readers. Must be called under the lock.
+     */
+    private void publish(final PersistentMap<V, VertexEntry<V>> vertices) {
+        final GraphSnapshot<V> previous = current;
+        current = new GraphSnapshot<>(previous.isDirected(), previous.areLoopsAllowed(), vertices,
+                previous.getModificationCount() + 1);
+    }
+}
@@ -0,0 +1,73 @@
+package org.resistancerus.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts vertices to bytes and back for binary graph files.
+ * Different vertices must have different encodings.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see BinaryGraphFormat
+ */
+public interface VertexCodec<V> {
+
+    /**
+     * Vertices are encoded as UTF-8 strings.
+     */
+    VertexCodec<String> STRING = new VertexCodec<String>() {
+        @Override
+        public byte[] encode(final String vertex) {
+            return vertex.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(final ByteBuffer buffer, final int offset, final int length) {
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Vertices are encoded as 8 bytes.
+     */
+    VertexCodec<Long> LONG = new VertexCodec<Long>() {
+        @Override
+        public byte[] encode(final Long vertex) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(vertex).array();
+        }
+
+        @Override
+        public Long decode(final ByteBuffer buffer, final int offset, final int length) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Vertices are encoded as 4 bytes.
+     */
+    VertexCodec<Integer> INTEGER = new VertexCodec<Integer>() {
+        @Override
+        public byte[] encode(final Integer vertex) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(vertex).array();
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer, final int offset, final int length) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Returns bytes representing provided vertex.
+     */
+    byte[] encode(final V vertex);
+
+    /**
+     * Returns vertex stored in buffer at provided position. Must use absolute reads only, buffer is shared by threads.
+     */
+    V decode(final ByteBuffer buffer, final int offset, final int length);
+}
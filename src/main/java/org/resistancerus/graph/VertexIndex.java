@@ -0,0 +1,109 @@
+package org.resistancerus.graph;
+
+/**
+ * Open addressing map from vertex to its int id. Keys are stored in a flat array, so lookups do not allocate
+ * and no boxed Integer is kept per vertex.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+final class VertexIndex<V> {
+
+    private Object[] keys;
+    private int[] ids;
+    private int mask;
+    private int size;
+
+    VertexIndex(final int expectedSize) {
+        int capacity = 2;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        keys = new Object[capacity];
+        ids = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Stores id of a vertex. Vertex must not be already present.
+     */
+    void put(final V vertex, final int id) {
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        insert(vertex, id);
+    }
+
+    /**
+     * Returns id of vertex or -1 if vertex is absent.
+     */
+    int get(final Object vertex) {
+        int slot = spread(vertex.hashCode()) & mask;
+        Object key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(vertex)) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns id of vertex, stores provided id for vertex if it is absent.
+     */
+    int getOrPut(final V vertex, final int id) {
+        final int existing = get(vertex);
+        if (existing >= 0) {
+            return existing;
+        }
+        put(vertex, id);
+        return id;
+    }
+
+    /**
+     * Stores id of a vertex replacing previous id of the vertex if it is present.
+     */
+    void set(final V vertex, final int id) {
+        int slot = spread(vertex.hashCode()) & mask;
+        Object key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(vertex)) {
+                ids[slot] = id;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        put(vertex, id);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void insert(final Object vertex, final int id) {
+        int slot = spread(vertex.hashCode()) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = vertex;
+        ids[slot] = id;
+    }
+
+    private void resize(final int capacity) {
+        final Object[] oldKeys = keys;
+        final int[] oldIds = ids;
+        keys = new Object[capacity];
+        ids = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldIds[i]);
+            }
+        }
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,141 @@
+package org.resistancerus.graph;
+
+import java.util.Arrays;
+
+/**
+ * Order of vertex ids of a CompactGraph. Vertex ids of a snapshot follow iteration order of the source graph,
+ * so neighbours of a vertex are scattered over the whole arrays and a traversal misses cache on almost every step.
+ * Renumbering vertices by one of these orders puts vertices visited close in time close in memory.
+ * Directed graphs are ordered by their edges of both directions.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ * @see CompactGraph#reorder(VertexOrdering)
+ */
+public enum VertexOrdering {
+
+    /**
+     * Breadth-first order, every connected component is traversed from its vertex with the smallest id.
+     * Vertices of one BFS level and neighbours of one vertex get consecutive ids.
+     */
+    BFS {
+        @Override
+        int[] order(final CompactGraph<?> graph) {
+            return traverse(graph, identity(graph.getVertexCount()), false);
+        }
+    },
+
+    /**
+     * Reverse Cuthill-McKee order: breadth-first order starting every component from a vertex of minimal degree,
+     * neighbours are visited by ascending degree and the resulting order is reversed.
+     * Minimizes bandwidth of the adjacency matrix, so neighbour ids are as close as possible.
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        int[] order(final CompactGraph<?> graph) {
+            final int[] result = traverse(graph, sortByDegree(graph, false), true);
+            for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+                final int id = result[i];
+                result[i] = result[j];
+                result[j] = id;
+            }
+            return result;
+        }
+    },
+
+    /**
+     * Vertices by descending degree, ties keep their current order. Hubs of power-law graphs which almost every
+     * traversal passes get the first ids and stay in cache together.
+     */
+    DEGREE_DESCENDING {
+        @Override
+        int[] order(final CompactGraph<?> graph) {
+            return sortByDegree(graph, true);
+        }
+    };
+
+    /**
+     * Returns current ids of graph vertices in the new order, element i is the current id of the vertex getting id i.
+     */
+    abstract int[] order(final CompactGraph<?> graph);
+
+    /**
+     * Traverses all components breadth-first.
+     * @param starts   - vertices in order of preference to start a component from.
+     * @param byDegree - true if neighbours are visited by ascending degree.
+     */
+    private static int[] traverse(final CompactGraph<?> graph, final int[] starts, final boolean byDegree) {
+        final int vertexCount = graph.getVertexCount();
+        final CompactGraph<?> reverse = graph.reverse();
+        final boolean[] visited = new boolean[vertexCount];
+        final int[] result = new int[vertexCount];
+        long[] row = new long[0];
+        int head = 0;
+        int tail = 0;
+
+        for (final int start : starts) {
+            if (visited[start]) {
+                continue;
+            }
+            visited[start] = true;
+            result[tail++] = start;
+
+            while (head < tail) {
+                final int current = result[head++];
+                final int degree = graph.getDegree(current);
+                final int rowSize = reverse == graph ? degree : degree + reverse.getDegree(current);
+                if (row.length < rowSize) {
+                    row = new long[Math.max(rowSize, row.length * 2)];
+                }
+                int count = 0;
+                for (int i = 0; i < rowSize; i++) {
+                    final int adjacent = i < degree
+                            ? graph.getNeighbour(current, i)
+                            : reverse.getNeighbour(current, i - degree);
+                    if (!visited[adjacent]) {
+                        visited[adjacent] = true;
+                        row[count++] = byDegree ? (long) getTotalDegree(graph, reverse, adjacent) << 32 | adjacent : adjacent;
+                    }
+                }
+                if (byDegree) {
+                    Arrays.sort(row, 0, count);
+                }
+                for (int i = 0; i < count; i++) {
+                    result[tail++] = (int) row[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns vertex ids sorted by degree, ties keep their order.
+     */
+    private static int[] sortByDegree(final CompactGraph<?> graph, final boolean descending) {
+        final int vertexCount = graph.getVertexCount();
+        final CompactGraph<?> reverse = graph.reverse();
+        final long[] keys = new long[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final long degree = getTotalDegree(graph, reverse, i);
+            keys[i] = (descending ? Integer.MAX_VALUE - degree : degree) << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        final int[] result = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    private static int getTotalDegree(final CompactGraph<?> graph, final CompactGraph<?> reverse, final int id) {
+        return reverse == graph ? graph.getDegree(id) : graph.getDegree(id) + reverse.getDegree(id);
+    }
+
+    private static int[] identity(final int size) {
+        final int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+}
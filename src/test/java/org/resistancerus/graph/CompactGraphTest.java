@@ -0,0 +1,278 @@
+package org.resistancerus.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.resistancerus.graph.entity.TestVertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createCompactGraph;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.PathCalculator.getPath;
+import static org.resistancerus.graph.PathCalculator.getShortestPath;
+
+/**
+ * Tests of compact graph snapshot and path calculation on it.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class CompactGraphTest {
+
+    private final TestVertex a = new TestVertex("a");
+    private final TestVertex b = new TestVertex("b");
+    private final TestVertex c = new TestVertex("c");
+    private final TestVertex d = new TestVertex("d");
+    private final TestVertex e = new TestVertex("e");
+
+    private Graph<TestVertex> graph;
+
+    @Before
+    public void setUp() {
+        graph = createGraph(false);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+        graph.addVertex(e);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNullGraph() {
+        createCompactGraph(null);
+    }
+
+    @Test
+    public void testSnapshotContainsVerticesAndEdges() {
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+
+        final CompactGraph<TestVertex> snapshot = createCompactGraph(graph);
+
+        assertEquals(5, snapshot.getVertexCount());
+        assertEquals(4L, snapshot.getEdgeCount());
+        assertTrue(snapshot.hasVertex(e));
+        assertTrue(snapshot.hasEdge(a, b));
+        assertTrue(snapshot.hasEdge(c, b));
+        assertFalse(snapshot.hasEdge(a, c));
+        assertEquals(graph.getAdjacentVertices(b), snapshot.getAdjacentVertices(b));
+        assertEquals(graph.getVertices(), snapshot.getVertices());
+        assertNull(snapshot.getAdjacentVertices(new TestVertex("f")));
+    }
+
+    @Test
+    public void testSnapshotOfGraphChangedMeanwhile() {
+        final Graph<TestVertex> changing = new GraphImpl<TestVertex>(true, false) {
+            @Override
+            public Set<TestVertex> getVertices() {
+                final Set<TestVertex> result = new HashSet<>(super.getVertices());
+                result.remove(c);
+                result.add(e);
+                return result;
+            }
+
+            @Override
+            public Set<TestVertex> getAdjacentVertices(final TestVertex vertex) {
+                return vertex.equals(e) ? null : super.getAdjacentVertices(vertex);
+            }
+        };
+        changing.addVertex(a);
+        changing.addVertex(b);
+        changing.addVertex(c);
+        changing.addEdge(a, b);
+        changing.addEdge(a, c);
+        changing.addEdge(c, b);
+
+        final CompactGraph<TestVertex> snapshot = createCompactGraph(changing);
+
+        assertEquals(3, snapshot.getVertexCount());
+        assertEquals(1L, snapshot.getEdgeCount());
+        assertTrue(snapshot.hasEdge(a, b));
+        assertTrue(snapshot.getAdjacentVertices(e).isEmpty());
+        assertFalse(snapshot.hasVertex(c));
+    }
+
+    @Test
+    public void testVertexIdsAreDense() {
+        final CompactGraph<TestVertex> snapshot = createCompactGraph(graph);
+
+        for (int id = 0; id < snapshot.getVertexCount(); id++) {
+            assertEquals(id, snapshot.indexOf(snapshot.vertexAt(id)));
+        }
+        assertEquals(-1, snapshot.indexOf(new TestVertex("f")));
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByGraphChanges() {
+        final CompactGraph<TestVertex> snapshot = createCompactGraph(graph);
+        graph.addEdge(a, b);
+
+        assertFalse(snapshot.hasEdge(a, b));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsImmutable() {
+        createCompactGraph(graph).addEdge(a, b);
+    }
+
+    @Test
+    public void testGetPathOnSnapshot() {
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        graph.addEdge(c, d);
+        graph.addEdge(a, d);
+
+        final Path<TestVertex> result = getPath(createCompactGraph(graph), a, c);
+        assertEquals(2L, result.getEdges().size());
+        assertEquals(a, result.getEdges().get(0).getSource());
+        assertEquals(c, result.getEdges().get(1).getDestination());
+    }
+
+    @Test
+    public void testGetDirectedPathOnSnapshot() {
+        graph = createGraph(true);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addEdge(a, b);
+        graph.addEdge(c, b);
+
+        final CompactGraph<TestVertex> snapshot = createCompactGraph(graph);
+        assertTrue(getPath(snapshot, a, c).getEdges().isEmpty());
+        assertEquals(new Edge<>(a, b), getPath(snapshot, a, b).getEdges().get(0));
+    }
+
+    @Test
+    public void testGetPathBetweenTwoIdenticalVerticesOnSnapshot() {
+        graph = createGraph(false, true);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b);
+        graph.addEdge(b, b);
+
+        final CompactGraph<TestVertex> snapshot = createCompactGraph(graph);
+        assertTrue(getPath(snapshot, a, a).getEdges().isEmpty());
+        assertEquals(new Edge<>(b, b), getPath(snapshot, b, b).getEdges().get(0));
+    }
+
+    @Test
+    public void testGetPathWhenVertexNotInSnapshot() {
+        assertTrue(getPath(createCompactGraph(graph), a, new TestVertex("f")).getEdges().isEmpty());
+    }
+
+    @Test
+    public void testRepeatedQueriesOnDifferentSnapshots() {
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        final CompactGraph<TestVertex> small = createCompactGraph(graph);
+
+        graph.addEdge(c, d);
+        graph.addEdge(d, e);
+        final CompactGraph<TestVertex> big = createCompactGraph(graph);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2L, getPath(small, a, c).getEdges().size());
+            assertTrue(getPath(small, a, e).getEdges().isEmpty());
+            assertEquals(4L, getPath(big, a, e).getEdges().size());
+        }
+    }
+
+    @Test
+    public void testReorderKeepsGraph() {
+        final Random random = new Random(3);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> source = createGraph(directed, true);
+            for (int i = 0; i < 200; i++) {
+                source.addVertex(i * 7919 % 1000);
+            }
+            final Object[] vertices = source.getVertices().toArray();
+            for (int i = 0; i < 500; i++) {
+                source.addEdge((Integer) vertices[random.nextInt(200)], (Integer) vertices[random.nextInt(200)],
+                        random.nextInt(5));
+            }
+
+            final CompactGraph<Integer> snapshot = createCompactGraph(source);
+            for (final VertexOrdering ordering : VertexOrdering.values()) {
+                final CompactGraph<Integer> reordered = createCompactGraph(source, ordering);
+                assertEquals(snapshot.getVertexCount(), reordered.getVertexCount());
+                assertEquals(snapshot.getEdgeCount(), reordered.getEdgeCount());
+                assertEquals(source.getVertices(), reordered.getVertices());
+                for (final Integer vertex : source.getVertices()) {
+                    assertEquals(vertex, reordered.vertexAt(reordered.indexOf(vertex)));
+                    assertEquals(source.getAdjacentVertices(vertex), reordered.getAdjacentVertices(vertex));
+                    assertEquals(source.getIncomingVertices(vertex), reordered.getIncomingVertices(vertex));
+                    for (final Integer adjacent : source.getAdjacentVertices(vertex)) {
+                        assertEquals(source.getEdgeWeight(vertex, adjacent), reordered.getEdgeWeight(vertex, adjacent), 0);
+                    }
+                }
+
+                for (int i = 0; i < 50; i++) {
+                    final Integer start = (Integer) vertices[random.nextInt(200)];
+                    final Integer end = (Integer) vertices[random.nextInt(200)];
+                    assertEquals(getPath(source, start, end).getLength(), getPath(reordered, start, end).getLength());
+                    assertEquals(getShortestPath(source, start, end).getWeight(),
+                            getShortestPath(reordered, start, end).getWeight(), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReorderImprovesLocality() {
+        final int side = 40;
+        final List<Integer> labels = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) {
+            labels.add(i);
+        }
+        Collections.shuffle(labels, new Random(5));
+
+        final Graph<Integer> grid = createGraph(false);
+        labels.forEach(grid::addVertex);
+        for (int i = 0; i < side * side; i++) {
+            if ((i + 1) % side != 0) {
+                grid.addEdge(labels.get(i), labels.get(i + 1));
+            }
+            if (i + side < side * side) {
+                grid.addEdge(labels.get(i), labels.get(i + side));
+            }
+        }
+
+        final CompactGraph<Integer> snapshot = createCompactGraph(grid);
+        assertTrue(getBandwidth(snapshot) > side * side / 2);
+        assertTrue(getBandwidth(snapshot.reorder(VertexOrdering.BFS)) < 2 * side);
+        assertTrue(getBandwidth(snapshot.reorder(VertexOrdering.REVERSE_CUTHILL_MCKEE)) <= side + 1);
+
+        grid.addVertex(-1);
+        for (int i = 0; i < 100; i++) {
+            grid.addEdge(-1, labels.get(i));
+        }
+        final CompactGraph<Integer> hub = createCompactGraph(grid, VertexOrdering.DEGREE_DESCENDING);
+        assertEquals(Integer.valueOf(-1), hub.vertexAt(0));
+        for (int i = 1; i < hub.getVertexCount(); i++) {
+            assertTrue(hub.getDegree(i - 1) >= hub.getDegree(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNullOrdering() {
+        createCompactGraph(graph).reorder(null);
+    }
+
+    /**
+     * Returns the largest difference between ids of adjacent vertices.
+     */
+    private static int getBandwidth(final CompactGraph<?> graph) {
+        int result = 0;
+        for (int id = 0; id < graph.getVertexCount(); id++) {
+            for (int i = 0; i < graph.getDegree(id); i++) {
+                result = Math.max(result, Math.abs(graph.getNeighbour(id, i) - id));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package org.resistancerus.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.resistancerus.graph.entity.TestVertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createConcurrentGraph;
+
+/**
+ * Tests of thread-safe Graph interface implementation.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class ConcurrentGraphImplTest {
+
+    private static final int THREADS = 8;
+
+    private Graph<TestVertex> graph;
+
+    @Before
+    public void setUp() {
+        graph = createConcurrentGraph(false);
+    }
+
+    @Test
+    public void testAddAndRemoveEdge() {
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+        final TestVertex c = new TestVertex("c");
+
+        assertTrue(graph.addVertex(a));
+        assertFalse(graph.addVertex(a));
+        graph.addVertex(b);
+        graph.addVertex(c);
+
+        assertTrue(graph.addEdge(a, b, 2.0));
+        assertFalse(graph.addEdge(b, a));
+        assertTrue(graph.addEdge(b, c));
+        assertTrue(graph.hasEdge(b, a));
+        assertEquals(2.0, graph.getEdgeWeight(b, a), 0.0);
+
+        assertTrue(graph.removeEdge(a, b));
+        assertFalse(graph.hasEdge(a, b));
+        assertTrue(graph.hasEdge(b, c));
+        assertFalse(graph.removeEdge(a, b));
+    }
+
+    @Test
+    public void testRemoveVertexOfDirectedGraph() {
+        graph = createConcurrentGraph(true);
+
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+        final TestVertex c = new TestVertex("c");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        graph.addEdge(c, a);
+
+        assertTrue(graph.removeVertex(b));
+        assertFalse(graph.hasVertex(b));
+        assertTrue(graph.getAdjacentVertices(a).isEmpty());
+        assertTrue(graph.getIncomingVertices(c).isEmpty());
+        assertTrue(graph.hasEdge(c, a));
+        assertFalse(graph.removeVertex(b));
+    }
+
+    @Test
+    public void testAdjacencyOfHub() {
+        final Graph<Integer> hubs = createConcurrentGraph(true);
+        final int size = ConcurrentGraphImpl.COPY_THRESHOLD * 3;
+        for (int i = 0; i <= size; i++) {
+            hubs.addVertex(i);
+        }
+        Set<Integer> small = null;
+        for (int i = 1; i <= size; i++) {
+            hubs.addEdge(0, i, i);
+            hubs.addEdge(i, 0);
+            if (i == ConcurrentGraphImpl.COPY_THRESHOLD) {
+                small = hubs.getAdjacentVertices(0);
+            }
+        }
+        final Set<Integer> large = hubs.getAdjacentVertices(0);
+
+        assertEquals(size, large.size());
+        assertEquals(size, hubs.getIncomingVertices(0).size());
+        assertEquals(ConcurrentGraphImpl.COPY_THRESHOLD, small.size());
+        for (int i = 1; i <= size; i++) {
+            assertTrue(hubs.hasEdge(0, i));
+            assertEquals(i, hubs.getEdgeWeight(0, i), 0.0);
+        }
+        assertTrue(Double.isNaN(hubs.getEdgeWeight(0, size + 1)));
+
+        for (int i = size; i > 1; i--) {
+            assertTrue(hubs.removeEdge(0, i));
+            assertFalse(hubs.hasEdge(0, i));
+        }
+        assertEquals(size, large.size());
+        assertEquals(new HashSet<>(Collections.singletonList(1)), hubs.getAdjacentVertices(0));
+        assertEquals(1.0, hubs.getEdgeWeight(0, 1), 0.0);
+        assertTrue(hubs.removeVertex(0));
+        for (int i = 1; i <= size; i++) {
+            assertTrue(hubs.getAdjacentVertices(i).isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnAddEdgeWithNotExistingVertex() {
+        final TestVertex a = new TestVertex("a");
+        graph.addVertex(a);
+        graph.addEdge(a, new TestVertex("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnAddLoopEdgeWhenItIsNotAllowed() {
+        final TestVertex a = new TestVertex("a");
+        graph.addVertex(a);
+        graph.addEdge(a, a);
+    }
+
+    @Test
+    public void testConcurrentEdgeInsertion() throws Exception {
+        final Graph<Integer> numbers = createConcurrentGraph(false);
+        final int size = 200;
+        for (int i = 0; i < size; i++) {
+            numbers.addVertex(i);
+        }
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1 + thread; j < size; j += THREADS) {
+                    numbers.addEdge(i, j);
+                }
+            }
+        });
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(size - 1, numbers.getAdjacentVertices(i).size());
+        }
+    }
+
+    @Test
+    public void testPathQueriesDuringMutations() throws Exception {
+        final Graph<Integer> numbers = createConcurrentGraph(true);
+        final int size = 300;
+        for (int i = 0; i < size; i++) {
+            numbers.addVertex(i);
+        }
+
+        final AtomicBoolean failed = new AtomicBoolean();
+        runConcurrently(thread -> {
+            final Random random = new Random(thread);
+            for (int i = 0; i < 3000; i++) {
+                final int start = random.nextInt(size);
+                final int end = random.nextInt(size);
+                try {
+                    if (thread % 2 == 0) {
+                        PathCalculator.getPath(numbers, start, end, SearchMode.BIDIRECTIONAL_BFS);
+                        PathCalculator.getShortestPath(numbers, start, end);
+                    } else if (start != end && random.nextInt(4) == 0) {
+                        numbers.removeVertex(start);
+                        numbers.addVertex(start);
+                    } else if (start != end) {
+                        numbers.addEdge(start, end);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // vertex was removed by another thread
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                }
+            }
+        });
+
+        assertFalse(failed.get());
+        for (final Integer vertex : numbers.getVertices()) {
+            for (final Integer adjacent : numbers.getAdjacentVertices(vertex)) {
+                assertTrue(numbers.hasVertex(adjacent));
+                assertTrue(numbers.getIncomingVertices(adjacent).contains(vertex));
+            }
+            for (final Integer incoming : numbers.getIncomingVertices(vertex)) {
+                assertTrue(numbers.getAdjacentVertices(incoming).contains(vertex));
+            }
+        }
+    }
+
+    private static void runConcurrently(final ThreadTask task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int thread = i;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
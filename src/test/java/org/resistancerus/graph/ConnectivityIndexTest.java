@@ -0,0 +1,135 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.PathCalculator.getPath;
+
+/**
+ * Tests of connectivity index maintained by the graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class ConnectivityIndexTest {
+
+    @Test
+    public void testUndirectedComponents() {
+        final GraphImpl<String> graph = new GraphImpl<>(false, false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("a", "b");
+
+        assertTrue(graph.mayReach("b", "a"));
+        assertFalse(graph.mayReach("a", "c"));
+
+        graph.addVertex("d");
+        graph.addEdge("c", "d");
+        graph.addEdge("b", "d");
+        assertTrue(graph.mayReach("a", "c"));
+        assertEquals(3, getPath(graph, "a", "c").getEdges().size());
+    }
+
+    @Test
+    public void testDirectedTopologicalOrder() {
+        final GraphImpl<String> graph = new GraphImpl<>(true, false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+
+        assertTrue(graph.mayReach("a", "c"));
+        assertFalse(graph.mayReach("c", "a"));
+        assertTrue(getPath(graph, "c", "a").getEdges().isEmpty());
+
+        graph.addEdge("c", "a");
+        assertTrue(graph.mayReach("c", "a"));
+        assertEquals(1, getPath(graph, "c", "a").getEdges().size());
+    }
+
+    @Test
+    public void testRepairAfterRemoval() {
+        final GraphImpl<String> graph = new GraphImpl<>(false, false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+        graph.addEdge("c", "d");
+        assertTrue(graph.mayReach("a", "c"));
+
+        graph.removeEdge("b", "c");
+        assertTrue(graph.mayReach("a", "c"));
+        assertTrue(getPath(graph, "a", "c").getEdges().isEmpty());
+        assertTrue(graph.mayReach("a", "c"));
+
+        for (int i = 0; i <= ConnectivityIndex.MIN_STALE_MUTATIONS; i++) {
+            graph.addVertex("x");
+            graph.removeVertex("x");
+        }
+        assertFalse(graph.mayReach("a", "c"));
+    }
+
+    @Test
+    public void testNewVerticesKeepTopologicalOrder() {
+        final GraphImpl<String> graph = new GraphImpl<>(true, false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "b");
+
+        graph.addVertex("x");
+        graph.addEdge("x", "a");
+        graph.addVertex("y");
+        graph.addEdge("b", "y");
+        graph.addVertex("z");
+        graph.addVertex("w");
+        graph.addEdge("z", "w");
+
+        assertTrue(graph.mayReach("x", "y"));
+        assertFalse(graph.mayReach("a", "x"));
+        assertFalse(graph.mayReach("y", "b"));
+        assertFalse(graph.mayReach("w", "z"));
+        assertFalse(graph.mayReach("z", "a"));
+
+        final GraphBuilder<Integer> builder = GraphFactory.createGraphBuilder(true);
+        builder.addEdge(2, 1);
+        builder.addEdge(1, 0);
+        final GraphImpl<Integer> built = (GraphImpl<Integer>) builder.build();
+        assertFalse(built.mayReach(0, 2));
+        assertTrue(built.mayReach(2, 0));
+    }
+
+    @Test
+    public void testIndexNeverRejectsExistingPath() {
+        final Random random = new Random(15);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final GraphImpl<Integer> graph = new GraphImpl<>(directed, false);
+            for (int i = 0; i < 100; i++) {
+                graph.addVertex(i);
+            }
+
+            for (int step = 0; step < 2000; step++) {
+                final int start = random.nextInt(100);
+                final int end = random.nextInt(100);
+                final int action = random.nextInt(10);
+                if (action < 5 && start != end) {
+                    graph.addEdge(start, end);
+                } else if (action < 7) {
+                    graph.removeEdge(start, end);
+                } else if (action < 8) {
+                    graph.removeVertex(start);
+                    graph.addVertex(start);
+                } else if (start != end) {
+                    final boolean exists = graph.hasEdge(start, end)
+                            || !getPath(new CompactGraph<>(graph), start, end).getEdges().isEmpty();
+                    assertTrue(!exists || graph.mayReach(start, end));
+                    assertEquals(exists, !getPath(graph, start, end).getEdges().isEmpty());
+                }
+            }
+        }
+    }
+}
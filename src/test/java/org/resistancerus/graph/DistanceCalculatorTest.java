@@ -0,0 +1,102 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.DistanceCalculator.getDistances;
+import static org.resistancerus.graph.DistanceCalculator.getReachableVertices;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.PathCalculator.getPath;
+
+/**
+ * Tests of multi-source hop distance calculation.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class DistanceCalculatorTest {
+
+    @Test
+    public void testDistancesOnDirectedChain() {
+        final Graph<String> graph = createGraph(true);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+
+        final int[][] distances = getDistances(graph, Arrays.asList("a", "c", "x"), Arrays.asList("c", "a", "b", "x"));
+
+        assertArrayEquals(new int[] {2, 0, 1, -1}, distances[0]);
+        assertArrayEquals(new int[] {0, -1, -1, -1}, distances[1]);
+        assertArrayEquals(new int[] {-1, -1, -1, -1}, distances[2]);
+    }
+
+    @Test
+    public void testReachableVertices() {
+        final Graph<String> graph = createGraph(true);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addEdge("a", "b");
+        graph.addEdge("c", "a");
+
+        final List<Set<String>> result = getReachableVertices(graph, Arrays.asList("c", "b", "x"));
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), result.get(0));
+        assertEquals(new HashSet<>(Arrays.asList("b")), result.get(1));
+        assertTrue(result.get(2).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNullGraph() {
+        getDistances((Graph<String>) null, Arrays.asList("a"), Arrays.asList("b"));
+    }
+
+    @Test
+    public void testDistancesMatchGetPath() {
+        final Random random = new Random(13);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> graph = createGraph(directed);
+            for (int i = 0; i < 300; i++) {
+                graph.addVertex(i);
+            }
+            for (int i = 0; i < 700; i++) {
+                final int start = random.nextInt(300);
+                final int end = random.nextInt(300);
+                if (start != end) {
+                    graph.addEdge(start, end);
+                }
+            }
+
+            final List<Integer> sources = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                sources.add(random.nextInt(300));
+            }
+            final List<Integer> targets = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                targets.add(i);
+            }
+
+            final int[][] distances = getDistances(graph, sources, targets);
+            final List<Set<Integer>> reachable = getReachableVertices(graph, sources);
+            for (int i = 0; i < sources.size(); i++) {
+                for (int j = 0; j < targets.size(); j++) {
+                    final int source = sources.get(i);
+                    final int target = targets.get(j);
+                    final int length = getPath(graph, source, target).getEdges().size();
+                    final int expected = source == target ? 0 : length == 0 ? -1 : length;
+                    assertEquals(expected, distances[i][j]);
+                    assertEquals(expected >= 0, reachable.get(i).contains(target));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createDistanceIndex;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.PathCalculator.getPath;
+
+/**
+ * Tests of hop distance index.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class DistanceIndexTest {
+
+    @Test
+    public void testDirectedDistancesAndPaths() {
+        final Graph<String> graph = createGraph(true, true);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addEdge("a", "b", 2.0);
+        graph.addEdge("b", "c");
+        graph.addEdge("c", "a");
+        graph.addEdge("d", "d");
+
+        final DistanceIndex<String> index = createDistanceIndex(graph);
+
+        assertEquals(2, index.getDistance("a", "c"));
+        assertEquals(1, index.getDistance("c", "a"));
+        assertEquals(0, index.getDistance("b", "b"));
+        assertEquals(-1, index.getDistance("a", "d"));
+        assertEquals(-1, index.getDistance("a", "x"));
+
+        final List<Edge<String>> edges = index.getPath("a", "c").getEdges();
+        assertEquals(2, edges.size());
+        assertEquals(new Edge<>("a", "b", 2.0), edges.get(0));
+        assertEquals(new Edge<>("b", "c"), edges.get(1));
+        assertEquals(1, index.getPath("d", "d").getEdges().size());
+        assertTrue(index.getPath("a", "a").getEdges().isEmpty());
+        assertTrue(index.getPath("d", "a").getEdges().isEmpty());
+    }
+
+    @Test
+    public void testDistancesMatchBFS() {
+        final Random random = new Random(16);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> graph = createGraph(directed);
+            for (int i = 0; i < 400; i++) {
+                graph.addVertex(i);
+            }
+            for (int i = 0; i < 900; i++) {
+                final int start = random.nextInt(400);
+                final int end = random.nextInt(400);
+                if (start != end) {
+                    graph.addEdge(start, end);
+                }
+            }
+
+            final DistanceIndex<Integer> index = createDistanceIndex(graph);
+            for (int i = 0; i < 500; i++) {
+                final int source = random.nextInt(400);
+                final int destination = random.nextInt(400);
+                if (source == destination) {
+                    continue;
+                }
+
+                final int length = getPath(graph, source, destination).getEdges().size();
+                assertEquals(length == 0 ? -1 : length, index.getDistance(source, destination));
+
+                final List<Edge<Integer>> edges = index.getPath(source, destination).getEdges();
+                assertEquals(length, edges.size());
+                for (int j = 0; j < edges.size(); j++) {
+                    assertTrue(graph.hasEdge(edges.get(j).getSource(), edges.get(j).getDestination()));
+                    assertEquals(j == 0 ? source : (int) edges.get(j - 1).getDestination(), (int) edges.get(j).getSource());
+                }
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSerialization() throws Exception {
+        final Graph<Integer> graph = createGraph(false);
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(i);
+            if (i > 0) {
+                graph.addEdge(i - 1, i);
+            }
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(createDistanceIndex(graph));
+        }
+        final DistanceIndex<Integer> index;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            index = (DistanceIndex<Integer>) input.readObject();
+        }
+
+        assertEquals(9, index.getDistance(0, 9));
+        assertEquals(9, index.getPath(9, 0).getEdges().size());
+    }
+}
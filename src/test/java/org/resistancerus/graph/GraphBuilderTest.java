@@ -0,0 +1,125 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+import org.resistancerus.graph.entity.TestVertex;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createGraphBuilder;
+
+/**
+ * Tests of bulk graph loading.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class GraphBuilderTest {
+
+    private final TestVertex a = new TestVertex("a");
+    private final TestVertex b = new TestVertex("b");
+    private final TestVertex c = new TestVertex("c");
+    private final TestVertex d = new TestVertex("d");
+
+    @Test
+    public void testEdgesAddVerticesImplicitly() {
+        final Graph<TestVertex> graph = GraphFactory.<TestVertex>createGraphBuilder(false)
+                .addVertex(d)
+                .addEdge(a, b)
+                .addEdge(b, c, 2.5)
+                .build();
+
+        assertEquals(new HashSet<>(Arrays.asList(a, b, c, d)), graph.getVertices());
+        assertTrue(graph.hasEdge(b, a));
+        assertEquals(2.5, graph.getEdgeWeight(c, b), 0);
+        assertEquals(1.0, graph.getEdgeWeight(a, b), 0);
+        assertTrue(graph.getAdjacentVertices(d).isEmpty());
+    }
+
+    @Test
+    public void testDuplicateEdgesAreDropped() {
+        final Graph<TestVertex> graph = GraphFactory.<TestVertex>createGraphBuilder(false)
+                .addEdges(new TestVertex[] {a, b, a, c}, new TestVertex[] {b, a, b, a})
+                .build();
+
+        assertEquals(new HashSet<>(Arrays.asList(b, c)), graph.getAdjacentVertices(a));
+        assertEquals(new HashSet<>(Arrays.asList(a)), graph.getAdjacentVertices(b));
+    }
+
+    @Test
+    public void testDirectedGraphFromStream() {
+        final Graph<TestVertex> graph = GraphFactory.<TestVertex>createGraphBuilder(true)
+                .addEdges(Stream.of(new Edge<>(a, b, 3.0), new Edge<>(b, c), new Edge<>(a, b)))
+                .build();
+
+        assertTrue(graph.isDirected());
+        assertTrue(graph.hasEdge(a, b));
+        assertFalse(graph.hasEdge(b, a));
+        assertEquals(3.0, graph.getEdgeWeight(a, b), 0);
+        assertEquals(new HashSet<>(Arrays.asList(b)), graph.getIncomingVertices(c));
+        assertEquals(new HashSet<>(Arrays.asList(a)), graph.getIncomingVertices(b));
+    }
+
+    @Test
+    public void testBuiltGraphIsMutable() {
+        final Graph<TestVertex> graph = GraphFactory.<TestVertex>createGraphBuilder(false, true)
+                .addEdge(a, a)
+                .addEdge(a, b)
+                .build();
+
+        assertTrue(graph.hasEdge(a, a));
+        assertTrue(graph.addVertex(c));
+        assertTrue(graph.addEdge(b, c));
+        assertTrue(graph.removeVertex(a));
+        assertEquals(new HashSet<>(Arrays.asList(c)), graph.getAdjacentVertices(b));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnLoopWhenNotAllowed() {
+        GraphFactory.<TestVertex>createGraphBuilder(false).addEdge(a, a);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNegativeWeight() {
+        GraphFactory.<TestVertex>createGraphBuilder(false).addEdge(a, b, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnArraysOfDifferentLength() {
+        GraphFactory.<TestVertex>createGraphBuilder(false).addEdges(new TestVertex[] {a}, new TestVertex[] {b, c});
+    }
+
+    @Test
+    public void testBuilderMatchesIncrementalGraph() {
+        final Random random = new Random(7);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> expected = createGraph(directed, true);
+            final GraphBuilder<Integer> builder = createGraphBuilder(directed, true);
+            for (int i = 0; i < 200; i++) {
+                expected.addVertex(i);
+            }
+            for (int i = 0; i < 200; i++) {
+                builder.addVertex(i);
+            }
+            for (int i = 0; i < 1000; i++) {
+                final int start = random.nextInt(200);
+                final int end = random.nextInt(200);
+                expected.addEdge(start, end, i);
+                builder.addEdge(start, end, i);
+            }
+
+            final Graph<Integer> actual = builder.build();
+            assertEquals(expected.getVertices(), actual.getVertices());
+            for (final Integer vertex : expected.getVertices()) {
+                assertEquals(expected.getAdjacentVertices(vertex), actual.getAdjacentVertices(vertex));
+                assertEquals(expected.getIncomingVertices(vertex), actual.getIncomingVertices(vertex));
+                for (final Integer adjacent : expected.getAdjacentVertices(vertex)) {
+                    assertEquals(expected.getEdgeWeight(vertex, adjacent), actual.getEdgeWeight(vertex, adjacent), 0);
+                }
+            }
+        }
+    }
+}
@@ -4,8 +4,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.resistancerus.graph.entity.TestVertex;
 
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
 import static org.resistancerus.graph.GraphFactory.createGraph;
 
 /**
@@ -192,4 +197,150 @@ public class GraphImplTest {
 
         graph.removeEdge(a, null);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetIncomingVerticesOfDirectedGraph() {
+        graph = createGraph(true);
+
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+        final TestVertex c = new TestVertex("c");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+
+        graph.addEdge(a, b);
+        graph.addEdge(c, b);
+
+        assertEquals(new HashSet<>(Arrays.asList(a, c)), graph.getIncomingVertices(b));
+        assertTrue(graph.getIncomingVertices(a).isEmpty());
+
+        graph.removeVertex(c);
+        assertEquals(Collections.singleton(a), graph.getIncomingVertices(b));
+        assertNull(graph.getIncomingVertices(c));
+    }
+
+    @Test
+    public void testGetIncomingVerticesOfUndirectedGraph() {
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b);
+
+        assertEquals(Collections.singleton(b), graph.getIncomingVertices(a));
+    }
+
+    @Test
+    public void testAdjacencyIsConsistentAfterManyChanges() {
+        final Graph<Integer> numbers = createGraph(true);
+        final Random random = new Random(1);
+        final Set<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < 500; i++) {
+            numbers.addVertex(i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            final int end = 1 + random.nextInt(499);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(end), numbers.addEdge(0, end, end));
+            } else {
+                assertEquals(expected.remove(end), numbers.hasEdge(0, end) && numbers.removeEdge(0, end));
+            }
+        }
+
+        assertEquals(expected, numbers.getAdjacentVertices(0));
+        for (final Integer end : expected) {
+            assertEquals(end, numbers.getEdgeWeight(0, end), 0.0);
+        }
+    }
+
+    @Test
+    public void testRemoveEdgeKeepsOtherEdges() {
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+        final TestVertex c = new TestVertex("c");
+        final TestVertex d = new TestVertex("d");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        graph.addEdge(a, d);
+        graph.addEdge(c, d);
+
+        assertTrue(graph.removeEdge(a, b));
+        assertFalse(graph.hasEdge(a, b));
+        assertTrue(graph.hasEdge(b, c));
+        assertTrue(graph.hasEdge(a, d));
+        assertTrue(graph.hasEdge(c, d));
+    }
+
+    @Test
+    public void testRemoveDirectedEdgeKeepsReverseEdge() {
+        graph = createGraph(true);
+
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+
+        graph.addEdge(a, b);
+        graph.addEdge(b, a);
+
+        assertTrue(graph.removeEdge(a, b));
+        assertFalse(graph.hasEdge(a, b));
+        assertTrue(graph.hasEdge(b, a));
+        assertTrue(graph.getIncomingVertices(b).isEmpty());
+        assertEquals(Collections.singleton(b), graph.getIncomingVertices(a));
+    }
+
+    @Test
+    public void testRemoveVertexWithLoop() {
+        for (final boolean directed : new boolean[] {false, true}) {
+            graph = createGraph(directed, true);
+
+            final TestVertex a = new TestVertex("a");
+            final TestVertex b = new TestVertex("b");
+
+            graph.addVertex(a);
+            graph.addVertex(b);
+
+            graph.addEdge(a, a);
+            graph.addEdge(a, b);
+            graph.addEdge(b, a);
+
+            assertTrue(graph.removeVertex(a));
+            assertFalse(graph.hasVertex(a));
+            assertTrue(graph.getAdjacentVertices(b).isEmpty());
+            assertTrue(graph.getIncomingVertices(b).isEmpty());
+        }
+    }
+
+    @Test
+    public void testModificationCount() {
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+
+        final long initial = graph.getModificationCount();
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(a);
+        assertEquals(initial + 2, graph.getModificationCount());
+
+        graph.addEdge(a, b);
+        graph.addEdge(b, a);
+        graph.removeEdge(a, b);
+        graph.removeEdge(a, b);
+        assertEquals(initial + 4, graph.getModificationCount());
+
+        graph.removeVertex(a);
+        assertEquals(initial + 5, graph.getModificationCount());
+    }
+}
@@ -0,0 +1,186 @@
+package org.resistancerus.graph;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.*;
+
+/**
+ * Tests of graph instrumentation and metrics.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class InstrumentationTest {
+
+    private GraphMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new GraphMetrics();
+        Instrumentation.setListener(metrics);
+    }
+
+    @After
+    public void tearDown() {
+        Instrumentation.setListener(null);
+    }
+
+    @Test
+    public void testMutations() {
+        for (final Graph<String> graph : createGraphs()) {
+            metrics.reset();
+            graph.addVertex("a");
+            graph.addVertex("b");
+            graph.addVertex("b");
+            graph.addEdge("a", "b");
+            graph.addEdge("a", "b");
+            graph.removeEdge("a", "b");
+            graph.removeEdge("a", "b");
+            graph.removeVertex("b");
+
+            assertEquals(2, metrics.getCount(GraphOperation.ADD_VERTEX));
+            assertEquals(1, metrics.getCount(GraphOperation.ADD_EDGE));
+            assertEquals(1, metrics.getCount(GraphOperation.REMOVE_EDGE));
+            assertEquals(1, metrics.getCount(GraphOperation.REMOVE_VERTEX));
+            assertEquals(0, metrics.getCount(GraphOperation.GET_PATH));
+        }
+    }
+
+    @Test
+    public void testQueryStatistics() {
+        final Graph<Integer> graph = createGraph(true);
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 4; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        graph.addEdge(0, 2);
+
+        final List<QueryStatistics> queries = new ArrayList<>();
+        Instrumentation.setListener(new GraphListener() {
+            @Override
+            public void onQuery(final QueryStatistics statistics) {
+                queries.add(statistics);
+            }
+        });
+
+        assertEquals(3, PathCalculator.getPath(graph, 0, 4).getEdges().size());
+        assertEquals(3, PathCalculator.getPath(createCompactGraph(graph), 0, 4, SearchMode.BIDIRECTIONAL_BFS).getEdges().size());
+        assertEquals(3, PathCalculator.getShortestPath(graph, 0, 4).getEdges().size());
+        assertTrue(PathCalculator.getPath(graph, 4, 0).getEdges().isEmpty());
+        assertEquals(3, PathCalculator.getPath(createCompactGraph(graph), 0, 4, SearchMode.PARALLEL_BFS).getEdges().size());
+
+        assertEquals(5, queries.size());
+        final QueryStatistics bfs = queries.get(0);
+        assertEquals(GraphOperation.GET_PATH, bfs.getOperation());
+        assertEquals(SearchMode.BFS, bfs.getMode());
+        assertEquals(3, bfs.getPathLength());
+        assertEquals(4, bfs.getVerticesExpanded());
+        assertEquals(5, bfs.getEdgesScanned());
+        assertEquals(2, bfs.getFrontierPeak());
+        assertTrue(bfs.getElapsedNanos() > 0);
+
+        assertEquals(SearchMode.BIDIRECTIONAL_BFS, queries.get(1).getMode());
+        assertTrue(queries.get(1).getVerticesExpanded() > 0);
+
+        assertEquals(GraphOperation.GET_SHORTEST_PATH, queries.get(2).getOperation());
+        assertNull(queries.get(2).getMode());
+        assertEquals(4, queries.get(2).getVerticesExpanded());
+
+        assertEquals(0, queries.get(3).getPathLength());
+
+        final QueryStatistics parallel = queries.get(4);
+        assertEquals(SearchMode.PARALLEL_BFS, parallel.getMode());
+        assertEquals(4, parallel.getVerticesExpanded());
+        assertEquals(5, parallel.getEdgesScanned());
+        assertEquals(2, parallel.getFrontierPeak());
+    }
+
+    @Test
+    public void testMetricsAggregation() {
+        final IntGraph graph = createIntGraph(false);
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 9; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        graph.addVertex(100);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(10, PathCalculator.getPath(graph, 0, 9).length);
+        }
+        assertEquals(0, PathCalculator.getPath(graph, 0, 100).length);
+
+        assertEquals(11, metrics.getCount(GraphOperation.GET_PATH));
+        assertEquals(1, metrics.getEmptyResultCount());
+        assertEquals(10 * 9 + 10, metrics.getVerticesExpanded());
+        assertEquals(1, metrics.getFrontierPeak());
+        assertTrue(metrics.getLatency(GraphOperation.GET_PATH).getPercentile(50) > 0);
+
+        metrics.reset();
+        assertEquals(0, metrics.getCount(GraphOperation.GET_PATH));
+        assertEquals(0, metrics.getVerticesExpanded());
+    }
+
+    @Test
+    public void testDisabledAndFailingListener() {
+        final Graph<String> graph = createGraph(false);
+        Instrumentation.setListener(null);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        assertEquals(0, metrics.getCount(GraphOperation.ADD_VERTEX));
+
+        Instrumentation.setListener(new GraphListener() {
+            @Override
+            public void onMutation(final GraphOperation operation, final long elapsedNanos) {
+                throw new IllegalStateException("Listener failure.");
+            }
+        });
+        assertTrue(graph.addEdge("a", "b"));
+        assertTrue(graph.hasEdge("a", "b"));
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(1000, histogram.getPercentile(100));
+        assertEquals(500, histogram.getPercentile(50), 500 * 0.125);
+        assertEquals(990, histogram.getPercentile(99), 990 * 0.125);
+
+        for (long value = 0; value < 1 << 20; value += 7) {
+            final int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+        }
+        assertEquals(LatencyHistogram.bucketOf(Long.MAX_VALUE), LatencyHistogram.bucketOf(Long.MAX_VALUE - 1));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    private static List<Graph<String>> createGraphs() {
+        final List<Graph<String>> graphs = new ArrayList<>();
+        graphs.add(createGraph(true));
+        graphs.add(createConcurrentGraph(false));
+        graphs.add(createVersionedGraph(true));
+        return graphs;
+    }
+}
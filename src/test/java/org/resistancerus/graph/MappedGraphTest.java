@@ -0,0 +1,135 @@
+package org.resistancerus.graph;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.PathCalculator.getPath;
+import static org.resistancerus.graph.PathCalculator.getShortestPath;
+
+/**
+ * Tests of binary graph format and memory-mapped graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class MappedGraphTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testUndirectedGraphRoundTrip() throws IOException {
+        final Graph<String> graph = createGraph(false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("isolated");
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+
+        final MappedGraph<String> mapped = writeAndRead(graph, VertexCodec.STRING);
+
+        assertEquals(graph.getVertices(), mapped.getVertices());
+        assertEquals(4L, mapped.getEdgeCount());
+        assertTrue(mapped.hasVertex("isolated"));
+        assertFalse(mapped.hasVertex("d"));
+        assertTrue(mapped.hasEdge("c", "b"));
+        assertFalse(mapped.hasEdge("a", "c"));
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), mapped.getAdjacentVertices("b"));
+        assertNull(mapped.getAdjacentVertices("d"));
+        assertEquals(2, getPath(mapped, "a", "c").getEdges().size());
+        assertTrue(getPath(mapped, "a", "isolated").getEdges().isEmpty());
+    }
+
+    @Test
+    public void testDirectedWeightedGraphRoundTrip() throws IOException {
+        final Graph<Long> graph = createGraph(true, true);
+        for (long i = 0; i < 4; i++) {
+            graph.addVertex(i);
+        }
+        graph.addEdge(0L, 1L, 5);
+        graph.addEdge(1L, 2L, 1);
+        graph.addEdge(0L, 3L, 1);
+        graph.addEdge(3L, 2L, 2);
+        graph.addEdge(2L, 2L);
+
+        final MappedGraph<Long> mapped = writeAndRead(graph, VertexCodec.LONG);
+
+        assertTrue(mapped.isDirected());
+        assertTrue(mapped.areLoopsAllowed());
+        assertFalse(mapped.hasEdge(1L, 0L));
+        assertEquals(5.0, mapped.getEdgeWeight(0L, 1L), 0);
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L)), mapped.getIncomingVertices(2L));
+        assertEquals(3.0, getShortestPath(mapped, 0L, 2L).getWeight(), 0);
+        assertEquals(2, getPath(mapped, 0L, 2L, SearchMode.BIDIRECTIONAL_BFS).getEdges().size());
+    }
+
+    @Test
+    public void testMappedGraphMatchesSource() throws IOException {
+        final Random random = new Random(3);
+        final Graph<Integer> graph = createGraph(true);
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            final int start = random.nextInt(500);
+            final int end = random.nextInt(500);
+            if (start != end) {
+                graph.addEdge(start, end, random.nextInt(10));
+            }
+        }
+
+        final MappedGraph<Integer> mapped = writeAndRead(graph, VertexCodec.INTEGER);
+
+        for (final Integer vertex : graph.getVertices()) {
+            assertEquals(graph.getAdjacentVertices(vertex), mapped.getAdjacentVertices(vertex));
+            assertEquals(graph.getIncomingVertices(vertex), mapped.getIncomingVertices(vertex));
+            for (final Integer adjacent : graph.getAdjacentVertices(vertex)) {
+                assertEquals(graph.getEdgeWeight(vertex, adjacent), mapped.getEdgeWeight(vertex, adjacent), 0);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            final int source = random.nextInt(500);
+            final int destination = random.nextInt(500);
+            final Path<Integer> expected = getShortestPath(graph, source, destination);
+            final Path<Integer> actual = getShortestPath(mapped, source, destination);
+            assertEquals(expected == null, actual == null);
+            if (expected != null) {
+                assertEquals(expected.getWeight(), actual.getWeight(), 1e-9);
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMappedGraphIsImmutable() throws IOException {
+        final Graph<Integer> graph = createGraph(false);
+        graph.addVertex(1);
+
+        writeAndRead(graph, VertexCodec.INTEGER).addVertex(2);
+    }
+
+    @Test(expected = IOException.class)
+    public void testExceptionOnNotGraphFile() throws IOException {
+        final File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[BinaryGraphFormat.HEADER_SIZE]);
+        }
+
+        BinaryGraphFormat.read(file, VertexCodec.INTEGER);
+    }
+
+    private <V> MappedGraph<V> writeAndRead(final Graph<V> graph, final VertexCodec<V> codec) throws IOException {
+        final File file = folder.newFile();
+        BinaryGraphFormat.write(graph, file, codec);
+        return BinaryGraphFormat.read(file, codec);
+    }
+}
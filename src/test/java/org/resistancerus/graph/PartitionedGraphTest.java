@@ -0,0 +1,225 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createPartitionedGraph;
+
+/**
+ * Tests of partitioned graph and distributed path queries.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class PartitionedGraphTest {
+
+    @Test
+    public void testMutationsAndEdgeCut() {
+        for (final boolean directed : new boolean[] {false, true}) {
+            final PartitionedGraph<Integer> graph = createPartitionedGraph(directed, true, 3,
+                    ShardPartitioner.range(Arrays.asList(10, 20)), new LoopbackTransport<>());
+            addVertices(graph, 1, 2, 11, 12, 21);
+
+            assertEquals(2, graph.getShardVertexCount(0));
+            assertEquals(2, graph.getShardVertexCount(1));
+            assertEquals(1, graph.getShardVertexCount(2));
+            assertEquals(new HashSet<>(Arrays.asList(1, 2, 11, 12, 21)), graph.getVertices());
+
+            assertTrue(graph.addEdge(1, 2));
+            assertTrue(graph.addEdge(2, 11, 3.0));
+            assertTrue(graph.addEdge(12, 21));
+            assertTrue(graph.addEdge(21, 1));
+            assertTrue(graph.addEdge(11, 11));
+            assertFalse(graph.addEdge(2, 11));
+            assertEquals(directed, graph.addEdge(11, 2));
+
+            assertEquals(directed ? 6 : 5, graph.getEdgeCount());
+            assertEquals(directed ? 4 : 3, graph.getCutEdgeCount());
+            assertEquals(3.0, graph.getEdgeWeight(2, 11), 0);
+            assertEquals(directed ? 1.0 : 3.0, graph.getEdgeWeight(11, 2), 0);
+            assertEquals(new HashSet<>(directed ? Arrays.asList(21) : Arrays.asList(2, 21)), graph.getIncomingVertices(1));
+            assertEquals(5, graph.getVertices().size());
+            assertFalse(graph.hasVertex(30));
+            assertNull(graph.getAdjacentVertices(30));
+
+            assertTrue(graph.removeEdge(12, 21));
+            assertFalse(graph.getShard(1).hasVertex(21));
+            assertFalse(graph.getShard(2).hasVertex(12));
+            assertFalse(graph.hasEdge(12, 21));
+
+            assertTrue(graph.removeVertex(11));
+            assertFalse(graph.hasVertex(11));
+            assertFalse(graph.getShard(0).hasVertex(11));
+            assertEquals(2, graph.getEdgeCount());
+            assertEquals(1, graph.getCutEdgeCount());
+            assertEquals(0.5, graph.getEdgeCutRatio(), 0);
+            assertEquals(1, graph.getShardVertexCount(1));
+            assertFalse(graph.removeVertex(11));
+        }
+    }
+
+    @Test
+    public void testPathMatchesGraph() {
+        final Random random = new Random(7);
+        for (final boolean directed : new boolean[] {false, true}) {
+            for (final int shardCount : new int[] {1, 3, 7}) {
+                final Graph<Integer> expected = createGraph(directed, true);
+                final PartitionedGraph<Integer> graph = createPartitionedGraph(directed, true, shardCount,
+                        ShardPartitioner.hash(), new LoopbackTransport<>());
+                for (int i = 0; i < 300; i++) {
+                    expected.addVertex(i);
+                    graph.addVertex(i);
+                }
+                for (int i = 0; i < 700; i++) {
+                    final int start = random.nextInt(300);
+                    final int end = random.nextInt(300);
+                    assertEquals(expected.addEdge(start, end), graph.addEdge(start, end));
+                }
+                for (int i = 0; i < 30; i++) {
+                    final int vertex = random.nextInt(300);
+                    assertEquals(expected.removeVertex(vertex), graph.removeVertex(vertex));
+                    expected.addVertex(vertex);
+                    graph.addVertex(vertex);
+                }
+
+                for (int query = 0; query < 100; query++) {
+                    final int source = random.nextInt(300);
+                    final int destination = random.nextInt(300);
+                    final Path<Integer> path = PathCalculator.getDistributedPath(graph, source, destination);
+                    assertEquals(PathCalculator.getPath(expected, source, destination).getLength(), path.getLength());
+                    for (final Edge<Integer> edge : path.getEdges()) {
+                        assertTrue(expected.hasEdge(edge.getSource(), edge.getDestination()));
+                    }
+                }
+                assertEquals(expected.getVertices(), graph.getVertices());
+                if (shardCount == 1) {
+                    assertEquals(0, graph.getCutEdgeCount());
+                    assertEquals(0, graph.getFrontierMessageCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFrontierTraffic() {
+        final AtomicInteger expands = new AtomicInteger();
+        final AtomicInteger releases = new AtomicInteger();
+        final LoopbackTransport<Integer> loopback = new LoopbackTransport<>();
+        final ShardTransport<Integer> transport = new ShardTransport<Integer>() {
+            @Override
+            public void attach(final List<GraphShard<Integer>> shards) {
+                loopback.attach(shards);
+            }
+
+            @Override
+            public CompletableFuture<ShardStep<Integer>> expand(final int shard,
+                                                                final long query,
+                                                                final Integer destination,
+                                                                final List<FrontierBatch<Integer>> received) {
+                expands.incrementAndGet();
+                return loopback.expand(shard, query, destination, received);
+            }
+
+            @Override
+            public Integer getPredecessor(final int shard, final long query, final Integer vertex) {
+                return loopback.getPredecessor(shard, query, vertex);
+            }
+
+            @Override
+            public void release(final int shard, final long query) {
+                releases.incrementAndGet();
+                loopback.release(shard, query);
+            }
+        };
+
+        final PartitionedGraph<Integer> ranged = createPartitionedGraph(false, false, 2,
+                ShardPartitioner.range(Arrays.asList(50)), transport);
+        final PartitionedGraph<Integer> hashed = createPartitionedGraph(false, 2);
+        for (final PartitionedGraph<Integer> graph : Arrays.asList(ranged, hashed)) {
+            for (int i = 0; i < 100; i++) {
+                graph.addVertex(i);
+            }
+            for (int i = 1; i < 100; i++) {
+                graph.addEdge(i - 1, i);
+            }
+        }
+
+        assertEquals(1, ranged.getCutEdgeCount());
+        assertEquals(99, hashed.getCutEdgeCount());
+
+        final List<Integer> vertices = PathCalculator.getDistributedPath(ranged, 0, 99).getVertices();
+        assertEquals(100, vertices.size());
+        assertEquals(Integer.valueOf(50), vertices.get(50));
+        assertEquals(1, ranged.getQueryCount());
+        assertEquals(1, ranged.getFrontierBatchCount());
+        assertEquals(1, ranged.getFrontierMessageCount());
+        assertEquals(99, expands.get());
+        assertEquals(2, releases.get());
+        assertNull(transport.getPredecessor(1, 1, 99));
+        assertEquals(99, ranged.getSuperstepCount());
+
+        assertEquals(99, PathCalculator.getDistributedPath(hashed, 0, 99).getLength());
+        assertEquals(99, hashed.getFrontierMessageCount());
+
+        assertTrue(PathCalculator.getDistributedPath(ranged, 0, 0).getEdges().isEmpty());
+        assertEquals(1, PathCalculator.getDistributedPath(ranged, 49, 50).getLength());
+        assertEquals(1, ranged.getQueryCount());
+    }
+
+    @Test
+    public void testDeadlineAbortsShards() {
+        final PartitionedGraph<Integer> graph = createPartitionedGraph(false, 4);
+        for (int i = 0; i < 10000; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 1; i < 10000; i++) {
+            graph.addEdge(i - 1, i);
+        }
+
+        final QueryDeadline deadline = new QueryDeadline(System.nanoTime());
+        deadline.enter();
+        try {
+            PathCalculator.getDistributedPath(graph, 0, 9999);
+            fail("Query must exceed its deadline.");
+        } catch (CancellationException e) {
+            assertEquals(1, graph.getQueryCount());
+        } finally {
+            QueryDeadline.exit();
+        }
+        assertEquals(9999, PathCalculator.getDistributedPath(graph, 0, 9999).getLength());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionOnSharedTransport() {
+        final LoopbackTransport<Integer> transport = new LoopbackTransport<>();
+        createPartitionedGraph(true, false, 2, ShardPartitioner.hash(), transport);
+        createPartitionedGraph(true, false, 2, ShardPartitioner.hash(), transport);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionOnInvalidShard() {
+        final PartitionedGraph<Integer> graph = createPartitionedGraph(true, false, 2,
+                (vertex, shardCount) -> shardCount, new LoopbackTransport<>());
+        graph.addVertex(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnDescendingBounds() {
+        ShardPartitioner.range(Arrays.asList(20, 10));
+    }
+
+    @SafeVarargs
+    private static <V> void addVertices(final Graph<V> graph, final V... vertices) {
+        for (final V vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.resistancerus.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createPathCache;
+
+/**
+ * Tests of path cache.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class PathCacheTest {
+
+    private Graph<String> graph;
+
+    @Before
+    public void setUp() {
+        graph = createGraph(false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        final PathCache<String> cache = createPathCache(graph, 10);
+
+        assertEquals(2, cache.getPath("a", "c").getEdges().size());
+        assertEquals(2, cache.getPath("a", "c").getEdges().size());
+        assertEquals(2, cache.getPath("a", "c", SearchMode.BIDIRECTIONAL_BFS).getEdges().size());
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+        assertEquals(1.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testInvalidationOnMutations() {
+        final PathCache<String> cache = createPathCache(graph, 10);
+        assertEquals(2, cache.getPath("a", "c").getEdges().size());
+
+        graph.addEdge("a", "c");
+        assertEquals(1, cache.getPath("a", "c").getEdges().size());
+
+        graph.removeEdge("a", "c");
+        assertEquals(2, cache.getPath("a", "c").getEdges().size());
+
+        graph.removeVertex("b");
+        assertTrue(cache.getPath("a", "c").getEdges().isEmpty());
+
+        graph.addVertex("b");
+        assertTrue(cache.getPath("a", "b").getEdges().isEmpty());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final PathCache<String> cache = createPathCache(graph, 2);
+        cache.getPath("a", "b");
+        cache.getPath("a", "c");
+        cache.getPath("a", "b");
+        cache.getPath("b", "c");
+        cache.getPath("a", "b");
+        cache.getPath("a", "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        final PathCache<String> cache = createPathCache(graph, 10, 1, TimeUnit.MILLISECONDS);
+        cache.getPath("a", "c");
+        Thread.sleep(5);
+        cache.getPath("a", "c");
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCachedPathIsUnmodifiable() {
+        final PathCache<String> cache = createPathCache(graph, 10);
+        cache.getPath("a", "c").getEdges().clear();
+    }
+
+    @Test
+    public void testGraphWithoutModificationCount() {
+        final Graph<String> untracked = new UntrackedGraph<>(createGraph(true));
+        untracked.addVertex("a");
+        untracked.addVertex("b");
+        untracked.addVertex("c");
+        untracked.addEdge("a", "b", 1.0);
+        untracked.addEdge("c", "b");
+
+        assertEquals(0, untracked.getModificationCount());
+        assertEquals(1.0, untracked.getEdgeWeight("a", "b"), 0.0);
+        assertTrue(Double.isNaN(untracked.getEdgeWeight("b", "a")));
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), untracked.getIncomingVertices("b"));
+        assertEquals(Collections.emptySet(), untracked.getIncomingVertices("a"));
+        assertNull(untracked.getIncomingVertices("d"));
+        try {
+            untracked.addEdge("b", "c", 2.0);
+            fail("Weighted edge must be rejected.");
+        } catch (UnsupportedOperationException e) {
+            assertFalse(untracked.hasEdge("b", "c"));
+        }
+
+        final PathCache<String> cache = createPathCache(untracked, 10);
+        assertTrue(cache.getPath("a", "c").getEdges().isEmpty());
+        untracked.addEdge("b", "c");
+        assertEquals(2, cache.getPath("a", "c").getEdges().size());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNonPositiveSize() {
+        createPathCache(graph, 0);
+    }
+
+    /**
+     * Graph implementing only abstract methods of the interface.
+     */
+    private static final class UntrackedGraph<V> implements Graph<V> {
+
+        private final Graph<V> graph;
+
+        UntrackedGraph(final Graph<V> graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public boolean addVertex(final V vertex) {
+            return graph.addVertex(vertex);
+        }
+
+        @Override
+        public boolean removeVertex(final V vertex) {
+            return graph.removeVertex(vertex);
+        }
+
+        @Override
+        public boolean hasVertex(final V vertex) {
+            return graph.hasVertex(vertex);
+        }
+
+        @Override
+        public boolean addEdge(final V start, final V end) {
+            return graph.addEdge(start, end);
+        }
+
+        @Override
+        public boolean removeEdge(final V start, final V end) {
+            return graph.removeEdge(start, end);
+        }
+
+        @Override
+        public boolean hasEdge(final V start, final V end) {
+            return graph.hasEdge(start, end);
+        }
+
+        @Override
+        public boolean isDirected() {
+            return graph.isDirected();
+        }
+
+        @Override
+        public boolean areLoopsAllowed() {
+            return graph.areLoopsAllowed();
+        }
+
+        @Override
+        public Set<V> getVertices() {
+            return graph.getVertices();
+        }
+
+        @Override
+        public Set<V> getAdjacentVertices(final V vertex) {
+            return graph.getAdjacentVertices(vertex);
+        }
+    }
+}
@@ -4,8 +4,18 @@ import org.junit.Before;
 import org.junit.Test;
 import org.resistancerus.graph.entity.TestVertex;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
 import static org.junit.Assert.*;
 import static org.resistancerus.graph.PathCalculator.getPath;
+import static org.resistancerus.graph.PathCalculator.getPaths;
 
 /**
  * Tests for getPath static function.
@@ -263,4 +273,286 @@ public class PathCalculatorTest {
         assertEquals(result.getEdges().get(1), new Edge<>(d, f));
         assertEquals(result.getEdges().get(2), new Edge<>(f, g));
     }
-}
\ No newline at end of file
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNullSearchMode() {
+        final TestVertex a = new TestVertex("a");
+        graph.addVertex(a);
+
+        getPath(graph, a, a, null);
+    }
+
+    @Test
+    public void testGetDirectedBidirectionalPath() {
+        graph = GraphFactory.createGraph(true);
+
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+        final TestVertex c = new TestVertex("c");
+        final TestVertex d = new TestVertex("d");
+        final TestVertex e = new TestVertex("e");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+        graph.addVertex(e);
+
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        graph.addEdge(c, d);
+        graph.addEdge(e, a);
+        graph.addEdge(d, e);
+
+        final Path<TestVertex> result = getPath(graph, a, d, SearchMode.BIDIRECTIONAL_BFS);
+        assertEquals(3L, result.getEdges().size());
+        assertEquals(result.getEdges().get(0), new Edge<>(a, b));
+        assertEquals(result.getEdges().get(1), new Edge<>(b, c));
+        assertEquals(result.getEdges().get(2), new Edge<>(c, d));
+
+        assertTrue(getPath(graph, b, a, SearchMode.BIDIRECTIONAL_BFS).getEdges().size() == 4);
+    }
+
+    @Test
+    public void testGetBidirectionalPathBetweenTwoIdenticalVertices() {
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b);
+
+        assertTrue(getPath(graph, a, a, SearchMode.BIDIRECTIONAL_BFS).getEdges().isEmpty());
+    }
+
+    @Test
+    public void testBidirectionalPathLengthIsTheSameAsBFS() {
+        final Random random = new Random(42);
+
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> randomGraph = GraphFactory.createGraph(directed);
+            for (int i = 0; i < 200; i++) {
+                randomGraph.addVertex(i);
+            }
+            for (int i = 0; i < 400; i++) {
+                final int start = random.nextInt(200);
+                final int end = random.nextInt(200);
+                if (start != end) {
+                    randomGraph.addEdge(start, end);
+                }
+            }
+            final CompactGraph<Integer> compactGraph = GraphFactory.createCompactGraph(randomGraph);
+
+            for (int i = 0; i < 200; i++) {
+                final int source = random.nextInt(200);
+                final int destination = random.nextInt(200);
+                final int expected = getPath(randomGraph, source, destination).getEdges().size();
+
+                assertValidPath(getPath(randomGraph, source, destination, SearchMode.BIDIRECTIONAL_BFS),
+                        randomGraph, source, destination, expected);
+                assertValidPath(getPath(compactGraph, source, destination, SearchMode.BIDIRECTIONAL_BFS),
+                        randomGraph, source, destination, expected);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelPathIsTheSameAsBFS() {
+        final Random random = new Random(13);
+
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> randomGraph = GraphFactory.createGraph(directed);
+            for (int i = 0; i < 20000; i++) {
+                randomGraph.addVertex(i);
+            }
+            for (int i = 0; i < 50000; i++) {
+                final int start = random.nextInt(20000);
+                final int end = random.nextInt(20000);
+                if (start != end) {
+                    randomGraph.addEdge(start, end);
+                }
+            }
+            final CompactGraph<Integer> compactGraph = GraphFactory.createCompactGraph(randomGraph);
+
+            for (int i = 0; i < 20; i++) {
+                final int source = random.nextInt(20000);
+                final int destination = random.nextInt(20000);
+
+                assertEquals(getPath(compactGraph, source, destination).getEdges(),
+                        getPath(compactGraph, source, destination, SearchMode.PARALLEL_BFS).getEdges());
+                assertEquals(getPath(randomGraph, source, destination).getEdges(),
+                        getPath(randomGraph, source, destination, SearchMode.PARALLEL_BFS).getEdges());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelBFSFallbackAndDeadline() {
+        final int[] snapshots = {0};
+        final Graph<Integer> chain = new GraphImpl<Integer>(false, false) {
+            @Override
+            public Set<Integer> getVertices() {
+                snapshots[0]++;
+                return super.getVertices();
+            }
+        };
+        for (int i = 0; i < 1000; i++) {
+            chain.addVertex(i);
+            if (i > 0) {
+                chain.addEdge(i - 1, i);
+            }
+        }
+
+        assertEquals(999, getPath(chain, 0, 999, SearchMode.PARALLEL_BFS).getEdges().size());
+        chain.addEdge(1, 998);
+        assertEquals(3, getPath(chain, 0, 999, SearchMode.PARALLEL_BFS).getEdges().size());
+        assertEquals(0, snapshots[0]);
+
+        final CompactGraph<Integer> compactGraph = GraphFactory.createCompactGraph(chain);
+        assertEquals(3, getPath(compactGraph, 0, 999, SearchMode.PARALLEL_BFS).getEdges().size());
+        new QueryDeadline(System.nanoTime()).enter();
+        try {
+            getPath(compactGraph, 0, 999, SearchMode.PARALLEL_BFS);
+            fail("Expired deadline must abort parallel BFS.");
+        } catch (CancellationException e) {
+            assertEquals("Query deadline exceeded.", e.getMessage());
+        } finally {
+            QueryDeadline.exit();
+        }
+        assertEquals(3, getPath(compactGraph, 0, 999, SearchMode.PARALLEL_BFS).getEdges().size());
+    }
+
+    @Test
+    public void testGetPathsFromOneSource() {
+        final TestVertex a = new TestVertex("a");
+        final TestVertex b = new TestVertex("b");
+        final TestVertex c = new TestVertex("c");
+        final TestVertex d = new TestVertex("d");
+        final TestVertex e = new TestVertex("e");
+
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+
+        final Map<TestVertex, Path<TestVertex>> result = getPaths(graph, a, Arrays.asList(c, b, d, e, a));
+
+        assertEquals(Arrays.asList(c, b, d, e, a), new ArrayList<>(result.keySet()));
+        assertEquals(2, result.get(c).getEdges().size());
+        assertEquals(1, result.get(b).getEdges().size());
+        assertTrue(result.get(d).getEdges().isEmpty());
+        assertTrue(result.get(e).getEdges().isEmpty());
+        assertTrue(result.get(a).getEdges().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnGetPathsForPairsOfDifferentSize() {
+        getPaths(graph, Arrays.asList(new TestVertex("a")), Collections.<TestVertex>emptyList());
+    }
+
+    @Test
+    public void testGetPathsMatchesGetPath() {
+        final Random random = new Random(5);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> randomGraph = GraphFactory.createGraph(directed, true);
+            for (int i = 0; i < 200; i++) {
+                randomGraph.addVertex(i);
+            }
+            for (int i = 0; i < 400; i++) {
+                randomGraph.addEdge(random.nextInt(200), random.nextInt(200));
+            }
+            final CompactGraph<Integer> compactGraph = GraphFactory.createCompactGraph(randomGraph);
+
+            final List<Integer> sources = new ArrayList<>();
+            final List<Integer> destinations = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                sources.add(random.nextInt(10));
+                destinations.add(random.nextInt(200));
+            }
+
+            final List<Path<Integer>> paths = getPaths(randomGraph, sources, destinations);
+            final List<Path<Integer>> compactPaths = getPaths(compactGraph, sources, destinations);
+            for (int i = 0; i < sources.size(); i++) {
+                final int expected = getPath(randomGraph, sources.get(i), destinations.get(i)).getEdges().size();
+                if (sources.get(i).equals(destinations.get(i))) {
+                    assertEquals(expected, paths.get(i).getEdges().size());
+                    assertEquals(expected, compactPaths.get(i).getEdges().size());
+                    continue;
+                }
+                assertValidPath(paths.get(i), randomGraph, sources.get(i), destinations.get(i), expected);
+                assertValidPath(compactPaths.get(i), randomGraph, sources.get(i), destinations.get(i), expected);
+            }
+        }
+    }
+
+    @Test
+    public void testArrayBackedPath() {
+        final Graph<String> weighted = GraphFactory.createGraph(true);
+        for (final String vertex : new String[] {"a", "b", "c", "d"}) {
+            weighted.addVertex(vertex);
+        }
+        weighted.addEdge("a", "b", 2.0);
+        weighted.addEdge("b", "c", 0.5);
+        weighted.addEdge("c", "d", 1.5);
+
+        final List<Edge<String>> edges = new ArrayList<>();
+        edges.add(new Edge<>("a", "b", 2.0));
+        edges.add(new Edge<>("b", "c", 0.5));
+        edges.add(new Edge<>("c", "d", 1.5));
+        final Path<String> expected = new Path<>(edges);
+
+        for (final SearchMode mode : SearchMode.values()) {
+            final Path<String> path = getPath(weighted, "a", "d", mode);
+            assertEquals(expected, path);
+            assertEquals(expected.hashCode(), path.hashCode());
+            assertEquals(Arrays.asList("a", "b", "c", "d"), path.getVertices());
+            assertEquals(3, path.getLength());
+            assertEquals(4.0, path.getWeight(), 0);
+            assertEquals("a - b, b - c, c - d", path.toString());
+            try {
+                path.getEdges().remove(0);
+                fail("Edges of a found path must be unmodifiable.");
+            } catch (UnsupportedOperationException e) {
+                assertEquals(3, path.getLength());
+            }
+        }
+
+        assertEquals(expected, PathCalculator.getShortestPath(weighted, "a", "d"));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), expected.getVertices());
+
+        final Path<String> empty = getPath(weighted, "d", "a");
+        assertEquals(new Path<String>(), empty);
+        assertTrue(empty.getVertices().isEmpty());
+        assertEquals(0, empty.getWeight(), 0);
+        assertEquals("", empty.toString());
+        try {
+            empty.getEdges().add(new Edge<>("d", "a", 1.0));
+            fail("Edges of a path which is not found must be unmodifiable.");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(0, empty.getLength());
+        }
+    }
+
+    private static void assertValidPath(final Path<Integer> path,
+                                        final Graph<Integer> graph,
+                                        final Integer source,
+                                        final Integer destination,
+                                        final int expectedLength) {
+        assertEquals(expectedLength, path.getEdges().size());
+        if (expectedLength == 0) {
+            return;
+        }
+
+        assertEquals(source, path.getEdges().get(0).getSource());
+        assertEquals(destination, path.getEdges().get(expectedLength - 1).getDestination());
+        for (int i = 0; i < expectedLength; i++) {
+            final Edge<Integer> edge = path.getEdges().get(i);
+            assertTrue(graph.hasEdge(edge.getSource(), edge.getDestination()));
+            if (i > 0) {
+                assertEquals(path.getEdges().get(i - 1).getDestination(), edge.getSource());
+            }
+        }
+    }
+}
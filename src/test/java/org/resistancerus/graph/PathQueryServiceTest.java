@@ -0,0 +1,313 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.*;
+
+/**
+ * Tests of asynchronous path query service.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class PathQueryServiceTest {
+
+    @Test
+    public void testQueriesMatchPathCalculator() throws Exception {
+        final Graph<Integer> graph = createChain(100);
+        graph.addEdge(0, 50);
+
+        for (final boolean virtualThreads : new boolean[] {false, true}) {
+            try (PathQueryService<Integer> service = createPathQueryService(graph, 2, 10, 1, TimeUnit.MINUTES, virtualThreads)) {
+                final List<CompletableFuture<Path<Integer>>> futures = new ArrayList<>();
+                for (final SearchMode mode : SearchMode.values()) {
+                    futures.add(service.getPath(0, 99, mode));
+                }
+                futures.add(service.getShortestPath(0, 99));
+                futures.add(service.getPath(99, 0));
+
+                for (int i = 0; i < SearchMode.values().length; i++) {
+                    assertEquals(PathCalculator.getPath(graph, 0, 99), futures.get(i).get());
+                }
+                assertEquals(PathCalculator.getShortestPath(graph, 0, 99), futures.get(futures.size() - 2).get());
+                assertTrue(futures.get(futures.size() - 1).get().getEdges().isEmpty());
+                assertEquals(0, service.getRejectedCount());
+            }
+        }
+    }
+
+    @Test
+    public void testOverloadIsRejected() throws Exception {
+        final Graph<Integer> graph = createChain(10);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Graph<Integer> blocking = new HookedGraph(graph, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> { });
+
+        try (PathQueryService<Integer> service = createPathQueryService(blocking, 1, 2)) {
+            final CompletableFuture<Path<Integer>> first = service.getPath(0, 9);
+            started.await();
+            final CompletableFuture<Path<Integer>> second = service.getPath(0, 9);
+            final CompletableFuture<Path<Integer>> third = service.getPath(0, 9);
+            final CompletableFuture<Path<Integer>> rejected = service.getPath(0, 9);
+
+            assertEquals(3, service.getPendingCount());
+            assertTrue(rejected.isCompletedExceptionally());
+            assertCause(rejected, RejectedExecutionException.class);
+            assertEquals(1, service.getRejectedCount());
+
+            release.countDown();
+            assertEquals(9, first.get().getEdges().size());
+            assertEquals(9, second.get().getEdges().size());
+            assertEquals(9, third.get().getEdges().size());
+            assertEquals(9, service.getPath(0, 9).get().getEdges().size());
+        }
+    }
+
+    @Test
+    public void testDeadlineAbortsSearch() throws Exception {
+        final Graph<Integer> slow = new HookedGraph(createChain(100000), () -> { }, PathQueryServiceTest::sleep);
+
+        try (PathQueryService<Integer> service = createPathQueryService(slow, 1, 1)) {
+            for (final SearchMode mode : new SearchMode[] {SearchMode.BFS, SearchMode.BIDIRECTIONAL_BFS}) {
+                final long started = System.nanoTime();
+                final CompletableFuture<Path<Integer>> result = service.getPath(0, 99999, mode, 50, TimeUnit.MILLISECONDS);
+                assertCause(result, TimeoutException.class);
+                assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(10));
+                awaitIdle(service);
+            }
+            assertCause(service.getShortestPath(0, 99999, 50, TimeUnit.MILLISECONDS), TimeoutException.class);
+            awaitIdle(service);
+            assertEquals(3, service.getTimeoutCount());
+            assertEquals(3, service.getPath(0, 3).get().getEdges().size());
+        }
+    }
+
+    @Test
+    public void testQueuedQueryTimesOutAtDeadline() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Graph<Integer> blocking = new HookedGraph(createChain(10), () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> { });
+
+        try (PathQueryService<Integer> service = createPathQueryService(blocking, 1, 1, 1, TimeUnit.MINUTES, false)) {
+            final CompletableFuture<Path<Integer>> first = service.getPath(0, 9);
+            started.await();
+            final CompletableFuture<Path<Integer>> queued = service.getPath(0, 9, SearchMode.BFS, 50, TimeUnit.MILLISECONDS);
+            assertCause(queued, TimeoutException.class);
+            assertFalse(first.isDone());
+            assertEquals(1, service.getTimeoutCount());
+
+            release.countDown();
+            assertEquals(9, first.get().getEdges().size());
+            assertEquals(1, service.getTimeoutCount());
+        }
+    }
+
+    @Test
+    public void testSearchStatesMoveBetweenThreads() throws Exception {
+        final SearchStates states = new SearchStates();
+        final TraversalState[] attached = new TraversalState[2];
+        for (int i = 0; i < attached.length; i++) {
+            final int index = i;
+            final Thread thread = new Thread(() -> {
+                states.attach();
+                try {
+                    attached[index] = TraversalState.begin(8);
+                } finally {
+                    SearchStates.detach();
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+        assertNotNull(attached[0]);
+        assertSame(attached[0], attached[1]);
+        assertNotSame(attached[0], TraversalState.begin(8));
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final Graph<Integer> slow = new HookedGraph(createChain(100000), () -> { }, () -> {
+            started.countDown();
+            sleep();
+        });
+
+        try (PathQueryService<Integer> service = createPathQueryService(slow, 1, 1)) {
+            final CompletableFuture<Path<Integer>> running = service.getPath(0, 99999);
+            final CompletableFuture<Path<Integer>> queued = service.getPath(0, 99999);
+            started.await();
+            assertTrue(queued.cancel(true));
+            assertTrue(running.cancel(true));
+
+            awaitIdle(service);
+            assertEquals(0, service.getTimeoutCount());
+            try {
+                running.get();
+                fail("Cancelled query must not complete normally.");
+            } catch (CancellationException e) {
+                assertTrue(running.isCancelled());
+            }
+        }
+    }
+
+    @Test
+    public void testClosedServiceRejectsQueries() throws Exception {
+        final PathQueryService<Integer> service = createPathQueryService(createChain(3), 1, 0);
+        service.close();
+        assertCause(service.getPath(0, 2), RejectedExecutionException.class);
+        assertEquals(0, service.getPendingCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnInvalidCapacity() {
+        createPathQueryService(createChain(3), 0, 1);
+    }
+
+    private static Graph<Integer> createChain(final int size) {
+        final GraphBuilder<Integer> builder = createGraphBuilder(true);
+        for (int i = 1; i < size; i++) {
+            builder.addEdge(i - 1, i);
+        }
+        return builder.build();
+    }
+
+    private static void awaitIdle(final PathQueryService<?> service) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, service.getPendingCount());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(0, 100000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertCause(final CompletableFuture<?> future, final Class<? extends Throwable> type)
+            throws InterruptedException {
+        try {
+            future.get();
+            fail("Query must fail with " + type.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().toString(), type.isInstance(e.getCause()));
+        }
+    }
+
+    /**
+     * Graph running provided hooks before vertex lookups and adjacency reads of the delegate.
+     */
+    private static final class HookedGraph implements Graph<Integer> {
+
+        private final Graph<Integer> graph;
+        private final Runnable lookupHook;
+        private final Runnable adjacencyHook;
+
+        HookedGraph(final Graph<Integer> graph, final Runnable lookupHook, final Runnable adjacencyHook) {
+            this.graph = graph;
+            this.lookupHook = lookupHook;
+            this.adjacencyHook = adjacencyHook;
+        }
+
+        @Override
+        public boolean addVertex(final Integer vertex) {
+            return graph.addVertex(vertex);
+        }
+
+        @Override
+        public boolean removeVertex(final Integer vertex) {
+            return graph.removeVertex(vertex);
+        }
+
+        @Override
+        public boolean hasVertex(final Integer vertex) {
+            lookupHook.run();
+            return graph.hasVertex(vertex);
+        }
+
+        @Override
+        public boolean addEdge(final Integer start, final Integer end) {
+            return graph.addEdge(start, end);
+        }
+
+        @Override
+        public boolean addEdge(final Integer start, final Integer end, final double weight) {
+            return graph.addEdge(start, end, weight);
+        }
+
+        @Override
+        public boolean removeEdge(final Integer start, final Integer end) {
+            return graph.removeEdge(start, end);
+        }
+
+        @Override
+        public boolean hasEdge(final Integer start, final Integer end) {
+            return graph.hasEdge(start, end);
+        }
+
+        @Override
+        public double getEdgeWeight(final Integer start, final Integer end) {
+            return graph.getEdgeWeight(start, end);
+        }
+
+        @Override
+        public boolean isDirected() {
+            return graph.isDirected();
+        }
+
+        @Override
+        public boolean areLoopsAllowed() {
+            return graph.areLoopsAllowed();
+        }
+
+        @Override
+        public Set<Integer> getVertices() {
+            return graph.getVertices();
+        }
+
+        @Override
+        public Set<Integer> getAdjacentVertices(final Integer vertex) {
+            adjacencyHook.run();
+            return graph.getAdjacentVertices(vertex);
+        }
+
+        @Override
+        public Set<Integer> getIncomingVertices(final Integer vertex) {
+            adjacencyHook.run();
+            return graph.getIncomingVertices(vertex);
+        }
+
+        @Override
+        public long getModificationCount() {
+            return graph.getModificationCount();
+        }
+    }
+}
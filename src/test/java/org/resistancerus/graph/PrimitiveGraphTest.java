@@ -0,0 +1,150 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createIntGraph;
+import static org.resistancerus.graph.GraphFactory.createLongGraph;
+import static org.resistancerus.graph.PathCalculator.getPath;
+
+/**
+ * Tests of graphs with primitive vertices and path calculation on them.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class PrimitiveGraphTest {
+
+    @Test
+    public void testLongGraphVerticesAndEdges() {
+        final LongGraph graph = createLongGraph(false);
+        final long a = 10_000_000_000L;
+
+        assertTrue(graph.addVertex(a));
+        assertTrue(graph.addVertex(-1));
+        assertTrue(graph.addVertex(0));
+        assertFalse(graph.addVertex(a));
+        assertTrue(graph.addEdge(a, -1));
+        assertFalse(graph.addEdge(-1, a));
+
+        assertEquals(3, graph.getVertexCount());
+        assertTrue(graph.hasEdge(-1, a));
+        assertFalse(graph.hasEdge(a, 0));
+        assertArrayEquals(new long[] {-1}, graph.getAdjacentVertices(a));
+        assertArrayEquals(new long[] {a}, graph.getIncomingVertices(-1));
+        assertNull(graph.getAdjacentVertices(5));
+        assertFalse(graph.hasEdge(a, 5));
+
+        final long[] vertices = graph.getVertices();
+        Arrays.sort(vertices);
+        assertArrayEquals(new long[] {-1, 0, a}, vertices);
+    }
+
+    @Test
+    public void testDirectedIntGraphRemoval() {
+        final IntGraph graph = createIntGraph(true, true);
+        for (int i = 0; i < 4; i++) {
+            graph.addVertex(i);
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        graph.addEdge(1, 1);
+        graph.addEdge(3, 1);
+
+        assertFalse(graph.hasEdge(1, 0));
+        assertTrue(graph.removeEdge(2, 1));
+        assertFalse(graph.removeEdge(2, 1));
+        assertArrayEquals(new int[0], graph.getAdjacentVertices(2));
+
+        assertTrue(graph.removeVertex(1));
+        assertFalse(graph.removeVertex(1));
+        assertEquals(3, graph.getVertexCount());
+        assertArrayEquals(new int[0], graph.getAdjacentVertices(0));
+        assertArrayEquals(new int[0], graph.getIncomingVertices(2));
+
+        assertTrue(graph.addVertex(7));
+        assertArrayEquals(new int[0], graph.getAdjacentVertices(7));
+        assertTrue(graph.addEdge(7, 7));
+        assertArrayEquals(new int[] {7, 7}, getPath(graph, 7, 7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnLoopWhenNotAllowed() {
+        final IntGraph graph = createIntGraph(false);
+        graph.addVertex(1);
+        graph.addEdge(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnEdgeWithAbsentVertex() {
+        final LongGraph graph = createLongGraph(false);
+        graph.addVertex(1);
+        graph.addEdge(1, 2);
+    }
+
+    @Test
+    public void testGetPath() {
+        final LongGraph graph = createLongGraph(true);
+        for (long i = 0; i < 5; i++) {
+            graph.addVertex(i * 100);
+        }
+        graph.addEdge(0, 100);
+        graph.addEdge(100, 200);
+        graph.addEdge(200, 300);
+        graph.addEdge(0, 200);
+
+        assertArrayEquals(new long[] {0, 200, 300}, getPath(graph, 0, 300));
+        assertArrayEquals(new long[] {0, 200, 300}, getPath(graph, 0, 300, SearchMode.BIDIRECTIONAL_BFS));
+        assertArrayEquals(new long[0], getPath(graph, 300, 0));
+        assertArrayEquals(new long[0], getPath(graph, 0, 400, SearchMode.BIDIRECTIONAL_BFS));
+        assertArrayEquals(new long[0], getPath(graph, 0, 0));
+        assertArrayEquals(new long[0], getPath(graph, 0, 1));
+    }
+
+    @Test
+    public void testPathLengthMatchesGraph() {
+        final Random random = new Random(11);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> expected = createGraph(directed);
+            final IntGraph graph = createIntGraph(directed);
+            for (int i = 0; i < 300; i++) {
+                expected.addVertex(i);
+                graph.addVertex(i);
+            }
+            for (int i = 0; i < 900; i++) {
+                final int start = random.nextInt(300);
+                final int end = random.nextInt(300);
+                if (start != end) {
+                    assertEquals(expected.addEdge(start, end), graph.addEdge(start, end));
+                }
+            }
+            for (int i = 0; i < 30; i++) {
+                final int vertex = random.nextInt(300);
+                assertEquals(expected.removeVertex(vertex), graph.removeVertex(vertex));
+                assertEquals(expected.addVertex(vertex), graph.addVertex(vertex));
+            }
+
+            for (int i = 0; i < 200; i++) {
+                final int source = random.nextInt(300);
+                final int destination = random.nextInt(300);
+                if (source == destination) {
+                    continue;
+                }
+                final int length = expected.hasEdge(source, destination)
+                        ? 1
+                        : getPath(expected, source, destination).getEdges().size();
+                for (final SearchMode mode : SearchMode.values()) {
+                    final int[] path = getPath(graph, source, destination, mode);
+                    assertEquals(length, Math.max(0, path.length - 1));
+                    for (int j = 1; j < path.length; j++) {
+                        assertTrue(graph.hasEdge(path[j - 1], path[j]));
+                    }
+                }
+            }
+        }
+    }
+}
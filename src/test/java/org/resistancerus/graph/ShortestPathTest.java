@@ -0,0 +1,190 @@
+package org.resistancerus.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.resistancerus.graph.entity.TestVertex;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.PathCalculator.getShortestPath;
+
+/**
+ * Tests for getShortestPath static functions.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class ShortestPathTest {
+
+    private final TestVertex a = new TestVertex("a");
+    private final TestVertex b = new TestVertex("b");
+    private final TestVertex c = new TestVertex("c");
+    private final TestVertex d = new TestVertex("d");
+
+    private Graph<TestVertex> graph;
+
+    @Before
+    public void setUp() {
+        graph = GraphFactory.createGraph(false);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNegativeWeight() {
+        graph.addEdge(a, b, -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNaNWeight() {
+        graph.addEdge(a, b, Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceptionOnNullHeuristic() {
+        getShortestPath(graph, a, b, null);
+    }
+
+    @Test
+    public void testGetEdgeWeight() {
+        graph.addEdge(a, b, 2.5);
+        graph.addEdge(b, c);
+
+        assertEquals(2.5, graph.getEdgeWeight(a, b), 0.0);
+        assertEquals(2.5, graph.getEdgeWeight(b, a), 0.0);
+        assertEquals(1.0, graph.getEdgeWeight(c, b), 0.0);
+        assertTrue(Double.isNaN(graph.getEdgeWeight(a, c)));
+        assertTrue(Double.isNaN(graph.getEdgeWeight(a, new TestVertex("e"))));
+    }
+
+    @Test
+    public void testShortestPathPrefersLighterEdges() {
+        graph.addEdge(a, b, 1.0);
+        graph.addEdge(b, c, 1.0);
+        graph.addEdge(c, d, 1.0);
+        graph.addEdge(a, d, 5.0);
+
+        final Path<TestVertex> result = getShortestPath(graph, a, d);
+        assertEquals(3L, result.getEdges().size());
+        assertEquals(3.0, result.getWeight(), 0.0);
+        assertEquals(new Edge<>(a, b), result.getEdges().get(0));
+        assertEquals(new Edge<>(c, d), result.getEdges().get(2));
+
+        final Path<TestVertex> compactResult = getShortestPath(GraphFactory.createCompactGraph(graph), a, d);
+        assertEquals(result, compactResult);
+    }
+
+    @Test
+    public void testShortestPathBetweenNotConnectedVertices() {
+        graph.addEdge(a, b, 1.0);
+
+        assertTrue(getShortestPath(graph, a, c).getEdges().isEmpty());
+        assertTrue(getShortestPath(graph, a, new TestVertex("e")).getEdges().isEmpty());
+        assertTrue(getShortestPath(GraphFactory.createCompactGraph(graph), a, c).getEdges().isEmpty());
+    }
+
+    @Test
+    public void testShortestPathBetweenTwoIdenticalVertices() {
+        graph = GraphFactory.createGraph(true, true);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, a, 3.0);
+        graph.addEdge(a, b, 1.0);
+
+        assertEquals(3.0, getShortestPath(graph, a, a).getWeight(), 0.0);
+        assertTrue(getShortestPath(graph, b, b).getEdges().isEmpty());
+    }
+
+    @Test
+    public void testDirectedShortestPath() {
+        graph = GraphFactory.createGraph(true);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addEdge(a, b, 1.0);
+        graph.addEdge(c, b, 1.0);
+
+        assertTrue(getShortestPath(graph, a, c).getEdges().isEmpty());
+        assertEquals(1.0, getShortestPath(graph, c, b).getWeight(), 0.0);
+    }
+
+    @Test
+    public void testAStarOnGrid() {
+        final int size = 20;
+        final Graph<Integer> grid = GraphFactory.createGraph(false);
+        for (int i = 0; i < size * size; i++) {
+            grid.addVertex(i);
+        }
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                final int vertex = row * size + column;
+                if (column + 1 < size) {
+                    grid.addEdge(vertex, vertex + 1, 1.0);
+                }
+                if (row + 1 < size) {
+                    grid.addEdge(vertex, vertex + size, 1.0);
+                }
+            }
+        }
+
+        final Path<Integer> result = getShortestPath(grid, 0, size * size - 1,
+                (vertex, target) -> Math.abs(vertex / size - target / size) + Math.abs(vertex % size - target % size));
+        assertEquals(2.0 * (size - 1), result.getWeight(), 0.0);
+        assertEquals(2L * (size - 1), result.getEdges().size());
+    }
+
+    @Test
+    public void testShortestPathWeightIsMinimal() {
+        final Random random = new Random(7);
+        final int size = 60;
+
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> randomGraph = GraphFactory.createGraph(directed);
+            final double[][] distances = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                randomGraph.addVertex(i);
+                Arrays.fill(distances[i], Double.POSITIVE_INFINITY);
+                distances[i][i] = 0;
+            }
+            for (int i = 0; i < 200; i++) {
+                final int start = random.nextInt(size);
+                final int end = random.nextInt(size);
+                final double weight = random.nextInt(10);
+                if (start != end && randomGraph.addEdge(start, end, weight)) {
+                    distances[start][end] = weight;
+                    if (!directed) {
+                        distances[end][start] = weight;
+                    }
+                }
+            }
+            for (int k = 0; k < size; k++) {
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        distances[i][j] = Math.min(distances[i][j], distances[i][k] + distances[k][j]);
+                    }
+                }
+            }
+
+            final CompactGraph<Integer> compactGraph = GraphFactory.createCompactGraph(randomGraph);
+            for (int source = 0; source < size; source++) {
+                for (int destination = 0; destination < size; destination++) {
+                    if (source == destination) {
+                        continue;
+                    }
+                    final Path<Integer> result = getShortestPath(randomGraph, source, destination);
+                    final Path<Integer> compactResult = getShortestPath(compactGraph, source, destination);
+                    if (Double.isInfinite(distances[source][destination])) {
+                        assertTrue(result.getEdges().isEmpty());
+                        assertTrue(compactResult.getEdges().isEmpty());
+                    } else {
+                        assertEquals(distances[source][destination], result.getWeight(), 1e-9);
+                        assertEquals(distances[source][destination], compactResult.getWeight(), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createTemporalGraph;
+
+/**
+ * Tests of temporal graph and time-windowed path queries.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class TemporalGraphTest {
+
+    @Test
+    public void testAddRefreshAndRemove() {
+        for (final boolean directed : new boolean[] {false, true}) {
+            final TemporalGraph<String> graph = createTemporalGraph(directed, true, 10, Long.MAX_VALUE);
+            addVertices(graph, "a", "b", "c");
+
+            assertTrue(graph.addEdgeAt("a", "b", 2.0, 5));
+            assertTrue(graph.addEdgeAt("b", "c", 7));
+            assertTrue(graph.addEdgeAt("c", "c", 8));
+            assertFalse(graph.addEdgeAt("a", "b", 4));
+            assertEquals(5, graph.getEdgeTime("a", "b"));
+            assertEquals(directed ? TemporalGraph.NO_TIME : 5, graph.getEdgeTime("b", "a"));
+
+            assertTrue(graph.addEdgeAt("a", "b", 3.0, 15));
+            assertEquals(15, graph.getEdgeTime("a", "b"));
+            assertEquals(3.0, graph.getEdgeWeight("a", "b"), 0);
+            assertEquals(3, graph.getEdgeCount());
+            assertEquals(2, graph.getBucketCount());
+            assertEquals(15, graph.getLatestTime());
+
+            assertTrue(graph.addEdge("c", "a"));
+            assertEquals(15, graph.getEdgeTime("c", "a"));
+            assertEquals(4, graph.getEdgeCount());
+
+            assertTrue(graph.removeVertex("c"));
+            assertEquals(1, graph.getEdgeCount());
+            assertFalse(graph.hasEdge("b", "c"));
+            assertEquals(directed ? 0 : 1, graph.getIncomingVertices("a").size());
+
+            assertTrue(graph.removeEdge("a", "b"));
+            assertFalse(graph.removeEdge("a", "b"));
+            assertEquals(0, graph.getEdgeCount());
+            assertEquals(0, graph.expireBefore(Long.MAX_VALUE));
+            assertEquals(0, graph.getBucketCount());
+        }
+    }
+
+    @Test
+    public void testExpireBefore() {
+        final TemporalGraph<Integer> graph = createTemporalGraph(false, 10);
+        addVertices(graph, 1, 2, 3, 4, 5);
+        graph.addEdgeAt(1, 2, 1);
+        graph.addEdgeAt(2, 3, 5);
+        graph.addEdgeAt(3, 4, 15);
+        graph.addEdgeAt(4, 5, 25);
+        graph.addEdgeAt(3, 2, 26);
+
+        final long version = graph.getModificationCount();
+        assertEquals(0, graph.expireBefore(9));
+        assertEquals(2, graph.expireBefore(20));
+        assertTrue(graph.getModificationCount() > version);
+
+        assertFalse(graph.hasEdge(1, 2));
+        assertFalse(graph.hasEdge(3, 4));
+        assertTrue(graph.hasEdge(2, 3));
+        assertTrue(graph.hasEdge(4, 5));
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(1, graph.getBucketCount());
+        assertEquals(5, graph.getVertices().size());
+
+        assertEquals(2, graph.expireBefore(30));
+        assertEquals(0, graph.getEdgeCount());
+    }
+
+    @Test
+    public void testRetention() {
+        final TemporalGraph<Integer> graph = createTemporalGraph(true, false, 10, 100);
+        for (int i = 0; i < 50; i++) {
+            graph.addVertex(i);
+        }
+        for (int time = 0; time < 1000; time++) {
+            graph.addEdgeAt(time % 50, (time + 1) % 50, time);
+            assertTrue(graph.getBucketCount() <= 12);
+        }
+        assertEquals(50, graph.getEdgeCount());
+        assertFalse(graph.addEdgeAt(1, 3, 850));
+        assertTrue(graph.addEdgeAt(1, 3, 900));
+        assertTrue(graph.addEdgeAt(1, 4, 899));
+
+        graph.addEdgeAt(2, 4, 1200);
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(1, graph.getBucketCount());
+    }
+
+    @Test
+    public void testWindowPath() {
+        final TemporalGraph<String> graph = createTemporalGraph(true, 100);
+        addVertices(graph, "a", "b", "c", "d");
+        graph.addEdgeAt("a", "b", 10);
+        graph.addEdgeAt("b", "d", 20);
+        graph.addEdgeAt("a", "c", 30);
+        graph.addEdgeAt("c", "d", 5);
+
+        assertEquals(2, PathCalculator.getPath(graph, "a", "d", 0, 100).getLength());
+        assertEquals(Arrays.asList("a", "b", "d"), PathCalculator.getPath(graph, "a", "d", 10, 21).getVertices());
+        assertTrue(PathCalculator.getPath(graph, "a", "d", 0, 15).getEdges().isEmpty());
+        assertTrue(PathCalculator.getPath(graph, "a", "d", 11, 100).getEdges().isEmpty());
+        assertTrue(PathCalculator.getPath(graph, "a", "a", 0, 100).getEdges().isEmpty());
+
+        graph.removeEdge("a", "b");
+        assertEquals(Arrays.asList("a", "c", "d"), PathCalculator.getPath(graph, "a", "d", 0, 100).getVertices());
+    }
+
+    @Test
+    public void testTimeRespectingPath() {
+        final TemporalGraph<String> graph = createTemporalGraph(true, true, 100, Long.MAX_VALUE);
+        addVertices(graph, "a", "b", "c", "d", "e");
+        graph.addEdgeAt("a", "b", 5);
+        graph.addEdgeAt("b", "c", 3);
+        graph.addEdgeAt("a", "d", 1);
+        graph.addEdgeAt("d", "c", 4);
+        graph.addEdgeAt("b", "e", 6);
+        graph.addEdgeAt("e", "c", 6);
+        graph.addEdgeAt("a", "a", 2);
+
+        assertEquals(Arrays.asList("a", "d", "c"), PathCalculator.getTimeRespectingPath(graph, "a", "c", 0, 100).getVertices());
+        assertEquals(Arrays.asList("a", "b", "e", "c"),
+                PathCalculator.getTimeRespectingPath(graph, "a", "c", 2, 100).getVertices());
+        assertTrue(PathCalculator.getTimeRespectingPath(graph, "a", "c", 0, 4).getEdges().isEmpty());
+
+        assertEquals(Arrays.asList("a", "b", "c"), PathCalculator.getPath(graph, "a", "c", 3, 6).getVertices());
+        assertTrue(PathCalculator.getTimeRespectingPath(graph, "a", "c", 3, 6).getEdges().isEmpty());
+
+        assertEquals(1, PathCalculator.getTimeRespectingPath(graph, "a", "a", 0, 100).getLength());
+        assertTrue(PathCalculator.getTimeRespectingPath(graph, "a", "a", 3, 100).getEdges().isEmpty());
+    }
+
+    @Test
+    public void testWindowPathMatchesFilteredGraph() {
+        final Random random = new Random(5);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final TemporalGraph<Integer> graph = createTemporalGraph(directed, true, 16, Long.MAX_VALUE);
+            for (int i = 0; i < 200; i++) {
+                graph.addVertex(i);
+            }
+            for (int i = 0; i < 600; i++) {
+                graph.addEdgeAt(random.nextInt(200), random.nextInt(200), random.nextInt(1000));
+            }
+
+            for (int query = 0; query < 50; query++) {
+                final long from = random.nextInt(500);
+                final long to = from + random.nextInt(500);
+                final Graph<Integer> filtered = createGraph(directed, true);
+                for (final Integer vertex : graph.getVertices()) {
+                    filtered.addVertex(vertex);
+                }
+                for (final Integer vertex : graph.getVertices()) {
+                    for (final Integer adjacent : graph.getAdjacentVertices(vertex)) {
+                        final long time = graph.getEdgeTime(vertex, adjacent);
+                        if (time >= from && time < to) {
+                            filtered.addEdge(vertex, adjacent);
+                        }
+                    }
+                }
+
+                final int source = random.nextInt(200);
+                final int destination = random.nextInt(200);
+                final Path<Integer> path = PathCalculator.getPath(graph, source, destination, from, to);
+                assertEquals(PathCalculator.getPath(filtered, source, destination).getLength(), path.getLength());
+
+                final Path<Integer> respecting = PathCalculator.getTimeRespectingPath(graph, source, destination, from, to);
+                long previous = from;
+                for (final Edge<Integer> edge : respecting.getEdges()) {
+                    final long time = graph.getEdgeTime(edge.getSource(), edge.getDestination());
+                    assertTrue(time >= previous && time < to);
+                    previous = time;
+                }
+                assertTrue(respecting.getLength() == 0 || respecting.getLength() >= path.getLength());
+                if (path.getLength() == 0 && source != destination) {
+                    assertEquals(0, respecting.getLength());
+                }
+            }
+        }
+    }
+
+    @SafeVarargs
+    private static <V> void addVertices(final Graph<V> graph, final V... vertices) {
+        for (final V vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+    }
+}
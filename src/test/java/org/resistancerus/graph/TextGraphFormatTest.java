@@ -0,0 +1,179 @@
+package org.resistancerus.graph;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.resistancerus.graph.TextGraphFormat.Layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createGraphBuilder;
+
+/**
+ * Tests of text graph import and export.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class TextGraphFormatTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadEdgeLists() throws IOException {
+        final File tsv = write("# comment\r\na\tb\r\nb\tc\t2.5\n\n  c\t d \nNew York\ta\ne\n");
+        final Graph<String> graph = TextGraphFormat.read(tsv, Layout.TSV, VertexCodec.STRING, true, false);
+
+        assertEquals(6, graph.getVertices().size());
+        assertTrue(graph.hasEdge("a", "b"));
+        assertEquals(2.5, graph.getEdgeWeight("b", "c"), 0);
+        assertTrue(graph.hasEdge("c", "d"));
+        assertTrue(graph.hasEdge("New York", "a"));
+        assertTrue(graph.hasVertex("e"));
+        assertFalse(graph.hasEdge("b", "a"));
+
+        final File csv = write("% comment\n1,2\n2,3,0.125\n3, 1\n");
+        final Graph<Integer> numbers = TextGraphFormat.read(csv, Layout.CSV, TextGraphFormat.INTEGER, false, false);
+        assertEquals(3, numbers.getVertices().size());
+        assertTrue(numbers.hasEdge(2, 1));
+        assertEquals(0.125, numbers.getEdgeWeight(3, 2), 0);
+        assertTrue(numbers.hasEdge(1, 3));
+    }
+
+    @Test
+    public void testReadAdjacencyList() throws IOException {
+        final File file = write("1 2 3\n2\t3  4\n5\n");
+        final Graph<Long> graph = TextGraphFormat.read(file, Layout.ADJACENCY_LIST, TextGraphFormat.LONG, true, false);
+
+        assertEquals(5, graph.getVertices().size());
+        assertTrue(graph.hasEdge(1L, 2L));
+        assertTrue(graph.hasEdge(1L, 3L));
+        assertTrue(graph.hasEdge(2L, 3L));
+        assertTrue(graph.hasEdge(2L, 4L));
+        assertTrue(graph.getAdjacentVertices(5L).isEmpty());
+    }
+
+    @Test
+    public void testReadIntoBuilder() throws IOException {
+        final GraphBuilder<Integer> builder = createGraphBuilder(false);
+        builder.addEdge(100, 1);
+        final File file = write("1\t2\n");
+        final Graph<Integer> graph = TextGraphFormat.read(file, Layout.TSV, TextGraphFormat.INTEGER, builder).build();
+
+        assertTrue(graph.hasEdge(1, 100));
+        assertTrue(graph.hasEdge(2, 1));
+    }
+
+    @Test
+    public void testRoundTripInSmallChunks() throws IOException {
+        final Random random = new Random(11);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> graph = createGraph(directed, true);
+            for (int i = 0; i < 300; i++) {
+                graph.addVertex(i - 100);
+            }
+            for (int i = 0; i < 1000; i++) {
+                graph.addEdge(random.nextInt(300) - 100, random.nextInt(300) - 100, random.nextInt(4) + 0.5);
+            }
+
+            for (final Layout layout : Layout.values()) {
+                final File file = folder.newFile();
+                TextGraphFormat.write(graph, file, layout, TextGraphFormat.INTEGER);
+                for (final int chunkSize : new int[] {1, 7, 64, TextGraphFormat.CHUNK_SIZE}) {
+                    final Graph<Integer> result = TextGraphFormat.read(file, layout, TextGraphFormat.INTEGER,
+                            createGraphBuilder(directed, true), chunkSize).build();
+                    assertSameGraph(graph, result, layout != Layout.ADJACENCY_LIST);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWriteUndirectedEdgesOfEqualHashCodes() throws IOException {
+        final Graph<Long> graph = createGraph(false, true);
+        for (final long vertex : new long[] {0L, -1L, 5L, 7L}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge(0L, -1L);
+        graph.addEdge(-1L, -1L);
+        graph.addEdge(0L, 5L);
+        for (final Layout layout : Layout.values()) {
+            final File file = folder.newFile();
+            TextGraphFormat.write(graph, file, layout, TextGraphFormat.LONG);
+            final Graph<Long> result = TextGraphFormat.read(file, layout, TextGraphFormat.LONG, false, true);
+            assertEquals(graph.getVertices(), result.getVertices());
+            for (final Long vertex : graph.getVertices()) {
+                assertEquals(graph.getAdjacentVertices(vertex), result.getAdjacentVertices(vertex));
+            }
+            if (layout != Layout.ADJACENCY_LIST) {
+                assertEquals(4, Files.readAllLines(file.toPath()).size());
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedInput() throws IOException {
+        assertMalformed("1\t2\n3\tx\n", Layout.TSV, "byte 4");
+        assertMalformed("1\t2\t3\t4\n", Layout.TSV, "two vertices");
+        assertMalformed("1,2,weight\n", Layout.CSV, "weight");
+        assertMalformed("1 3000000000\n", Layout.ADJACENCY_LIST, "integer range");
+        assertMalformed("1,-\n", Layout.CSV, "number");
+    }
+
+    @Test
+    public void testParseNumbers() {
+        assertEquals(Long.MIN_VALUE, TextGraphFormat.parseLong(buffer("-9223372036854775808"), 0, 20));
+        assertEquals(Long.MAX_VALUE, TextGraphFormat.parseLong(buffer("9223372036854775807"), 0, 19));
+        try {
+            TextGraphFormat.parseLong(buffer("9223372036854775808"), 0, 19);
+            fail("Overflow must be detected.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("9223372036854775808"));
+        }
+
+        final Random random = new Random(3);
+        for (int i = 0; i < 10000; i++) {
+            final String text = random.nextInt(100000) + "." + random.nextInt(1000000);
+            assertEquals(Double.parseDouble(text), TextGraphFormat.parseWeight(buffer(text), 0, text.length()), 0);
+        }
+        assertEquals(1.5e-3, TextGraphFormat.parseWeight(buffer("1.5e-3"), 0, 6), 0);
+        assertEquals(0.1234567890123456789, TextGraphFormat.parseWeight(buffer("0.1234567890123456789"), 0, 21), 0);
+    }
+
+    private void assertMalformed(final String content, final Layout layout, final String message) throws IOException {
+        try {
+            TextGraphFormat.read(write(content), layout, TextGraphFormat.INTEGER, false, false);
+            fail("Malformed input must be rejected.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+    private File write(final String content) throws IOException {
+        final File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static ByteBuffer buffer(final String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void assertSameGraph(final Graph<Integer> expected, final Graph<Integer> actual, final boolean weighted) {
+        assertEquals(expected.getVertices(), actual.getVertices());
+        for (final Integer vertex : expected.getVertices()) {
+            assertEquals(expected.getAdjacentVertices(vertex), actual.getAdjacentVertices(vertex));
+            for (final Integer adjacent : expected.getAdjacentVertices(vertex)) {
+                assertEquals(weighted ? expected.getEdgeWeight(vertex, adjacent) : 1.0,
+                        actual.getEdgeWeight(vertex, adjacent), 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.resistancerus.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createBreadthFirstTraversal;
+import static org.resistancerus.graph.GraphFactory.createDepthFirstTraversal;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+
+/**
+ * Tests of lazy graph traversals.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class TraversalTest {
+
+    private Graph<Integer> graph;
+
+    /**
+     * Binary tree of 15 vertices directed from root 1, vertex i has children 2i and 2i + 1.
+     */
+    @Before
+    public void setUp() {
+        graph = createGraph(true);
+        for (int i = 1; i <= 15; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 1; i <= 7; i++) {
+            graph.addEdge(i, 2 * i);
+            graph.addEdge(i, 2 * i + 1);
+        }
+    }
+
+    @Test
+    public void testBreadthFirstOrderByLevels() {
+        final List<Integer> result = createBreadthFirstTraversal(graph, 1).stream().collect(toList());
+
+        assertEquals(15, result.size());
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), new HashSet<>(result.subList(1, 3)));
+        assertEquals(new HashSet<>(Arrays.asList(4, 5, 6, 7)), new HashSet<>(result.subList(3, 7)));
+    }
+
+    @Test
+    public void testDepthFirstOrder() {
+        final List<Integer> result = new ArrayList<>();
+        createDepthFirstTraversal(graph, 1).forEach(result::add);
+
+        assertEquals(15, result.size());
+        assertEquals(1, (int) result.get(0));
+        for (int i = 1; i < result.size(); i++) {
+            final int vertex = result.get(i);
+            assertTrue(result.indexOf(vertex / 2) < i);
+            if (vertex % 2 == 1 && vertex < 8) {
+                assertEquals(2 * vertex, (int) result.get(i + 1) & ~1);
+            }
+        }
+    }
+
+    @Test
+    public void testMaxDepthAndFilter() {
+        final Set<Integer> levels = createBreadthFirstTraversal(graph, 1).withMaxDepth(2).stream().collect(toSet());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7)), levels);
+
+        final Set<Integer> depthFirst = createDepthFirstTraversal(graph, 1).withMaxDepth(1).stream().collect(toSet());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), depthFirst);
+
+        final Set<Integer> pruned = createBreadthFirstTraversal(graph, 1)
+                .withFilter(vertex -> vertex != 2)
+                .stream()
+                .collect(toSet());
+        assertEquals(new HashSet<>(Arrays.asList(1, 3, 6, 7, 12, 13, 14, 15)), pruned);
+
+        assertFalse(createDepthFirstTraversal(graph, 1).withFilter(vertex -> vertex > 1).iterator().hasNext());
+    }
+
+    @Test
+    public void testDepthFirstMaxDepthReachesVerticesOfShorterBranches() {
+        final Graph<Integer> branches = createGraph(true);
+        for (int i = 1; i <= 6; i++) {
+            branches.addVertex(i);
+        }
+        branches.addEdge(1, 2);
+        branches.addEdge(2, 3);
+        branches.addEdge(3, 4);
+        branches.addEdge(1, 4);
+        branches.addEdge(4, 5);
+        branches.addEdge(5, 6);
+
+        final List<Integer> result = createDepthFirstTraversal(branches, 1).withMaxDepth(2).stream().collect(toList());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5)), new HashSet<>(result));
+        assertEquals(5, result.size());
+        assertEquals(createBreadthFirstTraversal(branches, 1).withMaxDepth(3).stream().collect(toSet()),
+                createDepthFirstTraversal(branches, 1).withMaxDepth(3).stream().collect(toSet()));
+        assertEquals(Collections.singletonList(1), createDepthFirstTraversal(branches, 1).withMaxDepth(0).stream()
+                .collect(toList()));
+    }
+
+    @Test
+    public void testWithMethodsReturnNewTraversal() {
+        final Traversal<Integer> traversal = createBreadthFirstTraversal(graph, 1);
+        final Traversal<Integer> limited = traversal.withMaxDepth(1);
+        final Traversal<Integer> filtered = limited.withFilter(vertex -> vertex != 3);
+
+        assertNotSame(traversal, limited);
+        assertEquals(15, traversal.stream().count());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), limited.stream().collect(toSet()));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), filtered.stream().collect(toSet()));
+    }
+
+    @Test
+    public void testEarlyTerminationDoesNotExpandGraph() {
+        final Set<Integer> expanded = new HashSet<>();
+        final Graph<Integer> tracked = new GraphImpl<Integer>(true, false) {
+            @Override
+            public Set<Integer> getAdjacentVertices(final Integer vertex) {
+                expanded.add(vertex);
+                return super.getAdjacentVertices(vertex);
+            }
+        };
+        for (final Integer vertex : graph.getVertices()) {
+            tracked.addVertex(vertex);
+        }
+        for (final Integer vertex : graph.getVertices()) {
+            for (final Integer adjacent : graph.getAdjacentVertices(vertex)) {
+                tracked.addEdge(vertex, adjacent);
+            }
+        }
+        expanded.clear();
+
+        assertEquals(3, (int) createBreadthFirstTraversal(tracked, 1).stream().filter(v -> v % 3 == 0).findFirst().get());
+        assertTrue(new HashSet<>(Arrays.asList(1, 2)).containsAll(expanded));
+
+        expanded.clear();
+        assertEquals(2, createDepthFirstTraversal(tracked, 1).stream().limit(2).count());
+        assertEquals(Collections.singleton(1), expanded);
+    }
+
+    @Test
+    public void testAbsentStartVertex() {
+        final Iterator<Integer> iterator = createBreadthFirstTraversal(graph, 100).iterator();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExceptionAfterLastVertex() {
+        final Iterator<Integer> iterator = createDepthFirstTraversal(graph, 15).iterator();
+        assertEquals(15, (int) iterator.next());
+        iterator.next();
+    }
+}
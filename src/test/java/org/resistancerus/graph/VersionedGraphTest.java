@@ -0,0 +1,200 @@
+package org.resistancerus.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.resistancerus.graph.GraphFactory.createGraph;
+import static org.resistancerus.graph.GraphFactory.createVersionedGraph;
+import static org.resistancerus.graph.PathCalculator.getPath;
+
+/**
+ * Tests of versioned graph and its snapshots.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public class VersionedGraphTest {
+
+    @Test
+    public void testSnapshotIsNotAffectedByWrites() {
+        final VersionedGraph<String> graph = createVersionedGraph(true);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "b", 3.0);
+        final Graph<String> snapshot = graph.snapshot();
+
+        graph.removeEdge("a", "b");
+        graph.addVertex("c");
+        graph.addEdge("b", "a");
+
+        assertTrue(snapshot.hasEdge("a", "b"));
+        assertEquals(3.0, snapshot.getEdgeWeight("a", "b"), 0.0);
+        assertFalse(snapshot.hasVertex("c"));
+        assertFalse(snapshot.hasEdge("b", "a"));
+        assertEquals(new HashSet<>(Arrays.asList("a")), snapshot.getIncomingVertices("b"));
+        assertEquals(4, snapshot.getModificationCount());
+
+        assertFalse(graph.hasEdge("a", "b"));
+        assertTrue(graph.hasEdge("b", "a"));
+        assertEquals(7, graph.getModificationCount());
+        assertEquals(1, getPath(snapshot, "a", "b").getEdges().size());
+        assertTrue(getPath(graph, "a", "b").getEdges().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsImmutable() {
+        final VersionedGraph<String> graph = createVersionedGraph(false);
+        graph.snapshot().addVertex("a");
+    }
+
+    @Test
+    public void testSameBehaviourAsGraph() {
+        final Random random = new Random(18);
+        for (final boolean directed : new boolean[] {false, true}) {
+            final Graph<Integer> expected = createGraph(directed, true);
+            final VersionedGraph<Integer> graph = createVersionedGraph(directed, true);
+            for (int step = 0; step < 5000; step++) {
+                final int start = random.nextInt(60);
+                final int end = random.nextInt(60);
+                switch (random.nextInt(5)) {
+                    case 0:
+                        assertEquals(expected.addVertex(start), graph.addVertex(start));
+                        break;
+                    case 1:
+                        assertEquals(expected.removeVertex(start), graph.removeVertex(start));
+                        break;
+                    case 2:
+                        assertEquals(expected.removeEdge(start, end), graph.removeEdge(start, end));
+                        break;
+                    default:
+                        if (expected.hasVertex(start) && expected.hasVertex(end)) {
+                            assertEquals(expected.addEdge(start, end, step), graph.addEdge(start, end, step));
+                        }
+                }
+            }
+
+            assertEquals(expected.getVertices(), graph.getVertices());
+            for (final Integer vertex : expected.getVertices()) {
+                assertEquals(expected.getAdjacentVertices(vertex), graph.getAdjacentVertices(vertex));
+                assertEquals(expected.getIncomingVertices(vertex), graph.getIncomingVertices(vertex));
+                for (final Integer adjacent : expected.getAdjacentVertices(vertex)) {
+                    assertEquals(expected.getEdgeWeight(vertex, adjacent), graph.getEdgeWeight(vertex, adjacent), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPersistentMapWithCollidingKeys() {
+        final Random random = new Random(7);
+        final Map<Key, Integer> expected = new HashMap<>();
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+        final List<PersistentMap<Key, Integer>> versions = new ArrayList<>();
+        final List<Map<Key, Integer>> expectedVersions = new ArrayList<>();
+
+        for (int step = 0; step < 20000; step++) {
+            final Key key = new Key(random.nextInt(2000), random.nextInt(3));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, step);
+                map = map.put(key, step);
+            }
+            if (step % 1000 == 0) {
+                versions.add(map);
+                expectedVersions.add(new HashMap<>(expected));
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            final PersistentMap<Key, Integer> version = versions.get(i);
+            final Map<Key, Integer> expectedVersion = expectedVersions.get(i);
+            assertEquals(expectedVersion.size(), version.size());
+            assertEquals(expectedVersion.keySet(), version.keySet());
+            for (final Map.Entry<Key, Integer> entry : expectedVersion.entrySet()) {
+                assertEquals(entry.getValue(), version.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    public void testReadersDuringWrites() throws Exception {
+        final VersionedGraph<Integer> graph = createVersionedGraph(false);
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 1; i < 500; i++) {
+            graph.addEdge(i - 1, i);
+        }
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> readers = new ArrayList<>();
+        for (int thread = 0; thread < 3; thread++) {
+            readers.add(executor.submit(() -> {
+                final Random random = new Random();
+                while (running.get()) {
+                    final Graph<Integer> snapshot = graph.snapshot();
+                    final int source = random.nextInt(500);
+                    final int destination = random.nextInt(500);
+                    final Path<Integer> path = getPath(snapshot, source, destination);
+                    for (final Edge<Integer> edge : path.getEdges()) {
+                        assertTrue(snapshot.hasEdge(edge.getSource(), edge.getDestination()));
+                    }
+                }
+                return null;
+            }));
+        }
+
+        final Random random = new Random(1);
+        for (int step = 0; step < 20000; step++) {
+            final int start = random.nextInt(500);
+            final int end = random.nextInt(500);
+            if (start != end && !graph.removeEdge(start, end)) {
+                graph.addEdge(start, end);
+            }
+        }
+        running.set(false);
+        for (final Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Key with many hash collisions.
+     */
+    private static final class Key {
+        private final int id;
+        private final int hash;
+
+        Key(final int id, final int hash) {
+            this.id = id * 3 + hash;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash == 0 ? 42 : id;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering many path queries sharing a few sources one by one and as a batch.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class BatchQueryBenchmark {
+
+    @Param({"RANDOM", "GRID"})
+    private GraphShape shape;
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"1000"})
+    private int queries;
+
+    @Param({"10"})
+    private int sourceCount;
+
+    private Graph<Integer> graph;
+    private final List<Integer> sources = new ArrayList<>();
+    private final List<Integer> destinations = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        graph = shape.generate(size, false, 42);
+        final Random random = new Random(7);
+        for (int i = 0; i < queries; i++) {
+            sources.add(random.nextInt(sourceCount));
+            destinations.add(random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public List<Path<Integer>> oneByOne() {
+        final List<Path<Integer>> result = new ArrayList<>(queries);
+        for (int i = 0; i < queries; i++) {
+            result.add(PathCalculator.getPath(graph, sources.get(i), destinations.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Path<Integer>> batch() {
+        return PathCalculator.getPaths(graph, sources, destinations);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+import org.resistancerus.graph.VersionedGraph;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of path queries running in parallel with edge inserts.
+ * Compares concurrent graph, versioned graph queried via snapshots and a graph guarded by one global lock.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentionBenchmark {
+
+    @Param({"concurrent", "versioned", "synchronized"})
+    private String implementation;
+
+    @Param({"10000"})
+    private int size;
+
+    private Graph<Integer> graph;
+    private VersionedGraph<Integer> versioned;
+    private Object lock;
+
+    @Setup
+    public void setUp() {
+        if ("concurrent".equals(implementation)) {
+            graph = GraphFactory.createConcurrentGraph(false);
+        } else if ("versioned".equals(implementation)) {
+            versioned = GraphFactory.createVersionedGraph(false);
+            graph = versioned;
+        } else {
+            graph = GraphFactory.createGraph(false);
+            lock = new Object();
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < size * 3; i++) {
+            final int start = random.nextInt(size);
+            final int end = random.nextInt(size);
+            if (start != end) {
+                graph.addEdge(start, end);
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public Path<Integer> query() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int source = random.nextInt(size);
+        final int destination = random.nextInt(size);
+        if (versioned != null) {
+            return PathCalculator.getPath(versioned.snapshot(), source, destination);
+        }
+        if (lock == null) {
+            return PathCalculator.getPath(graph, source, destination);
+        }
+        synchronized (lock) {
+            return PathCalculator.getPath(graph, source, destination);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean insert() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int start = random.nextInt(size);
+        final int end = random.nextInt(size);
+        if (start == end) {
+            return false;
+        }
+        if (lock == null) {
+            return graph.addEdge(start, end);
+        }
+        synchronized (lock) {
+            return graph.addEdge(start, end);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContentionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
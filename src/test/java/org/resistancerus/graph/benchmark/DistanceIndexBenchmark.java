@@ -0,0 +1,82 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.CompactGraph;
+import org.resistancerus.graph.DistanceIndex;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of point-to-point queries answered by BFS and by a prebuilt distance index.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class DistanceIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"POWER_LAW"})
+    private GraphShape shape;
+
+    @Param({"100000"})
+    private int size;
+
+    private CompactGraph<Integer> graph;
+    private DistanceIndex<Integer> index;
+    private final int[] sources = new int[QUERIES];
+    private final int[] destinations = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        graph = GraphFactory.createCompactGraph(shape.generate(size, false, 42));
+        index = GraphFactory.createDistanceIndex(graph);
+        final Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            destinations[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Path<Integer> bfsPath() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getPath(graph, sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public Path<Integer> indexPath() {
+        final int i = query++ & (QUERIES - 1);
+        return index.getPath(sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public int indexDistance() {
+        final int i = query++ & (QUERIES - 1);
+        return index.getDistance(sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public DistanceIndex<Integer> build() {
+        return GraphFactory.createDistanceIndex(graph);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DistanceIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package org.resistancerus.graph.benchmark;
+
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphBuilder;
+import org.resistancerus.graph.GraphFactory;
+
+import java.util.Random;
+
+/**
+ * Generators of benchmark graphs. Vertices are integers from 0 to size - 1, generation is deterministic for a seed.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+public enum GraphShape {
+
+    /**
+     * Random graph with 4 edges per vertex on average.
+     */
+    RANDOM {
+        @Override
+        void addEdges(final GraphBuilder<Integer> builder, final int size, final Random random) {
+            for (long i = 0; i < size * 4L; i++) {
+                final int start = random.nextInt(size);
+                final int end = random.nextInt(size);
+                if (start != end) {
+                    builder.addEdge(start, end);
+                }
+            }
+        }
+    },
+
+    /**
+     * Square grid, every vertex has edges to its right and bottom neighbours.
+     */
+    GRID {
+        @Override
+        void addEdges(final GraphBuilder<Integer> builder, final int size, final Random random) {
+            final int side = (int) Math.ceil(Math.sqrt(size));
+            for (int i = 0; i < size; i++) {
+                if ((i + 1) % side != 0 && i + 1 < size) {
+                    builder.addEdge(i, i + 1);
+                }
+                if (i + side < size) {
+                    builder.addEdge(i, i + side);
+                }
+            }
+        }
+    },
+
+    /**
+     * Preferential attachment graph with power-law degree distribution, every new vertex has 2 edges
+     * to existing vertices chosen proportionally to their degree.
+     */
+    POWER_LAW {
+        @Override
+        void addEdges(final GraphBuilder<Integer> builder, final int size, final Random random) {
+            final int[] endpoints = new int[Math.max(2, size * 4)];
+            int count = 0;
+            for (int i = 1; i < size; i++) {
+                final int existing = count;
+                for (int j = 0; j < 2; j++) {
+                    final int target = existing == 0 ? 0 : endpoints[random.nextInt(existing)];
+                    builder.addEdge(i, target);
+                    endpoints[count++] = i;
+                    endpoints[count++] = target;
+                }
+            }
+        }
+    },
+
+    /**
+     * Simple chain, the graph with the largest possible diameter.
+     */
+    CHAIN {
+        @Override
+        void addEdges(final GraphBuilder<Integer> builder, final int size, final Random random) {
+            for (int i = 1; i < size; i++) {
+                builder.addEdge(i - 1, i);
+            }
+        }
+    };
+
+    abstract void addEdges(GraphBuilder<Integer> builder, int size, Random random);
+
+    /**
+     * @return new mutable graph of this shape.
+     */
+    public Graph<Integer> generate(final int size, final boolean directed, final long seed) {
+        final GraphBuilder<Integer> builder = GraphFactory.createGraphBuilder(directed);
+        for (int i = 0; i < size; i++) {
+            builder.addVertex(i);
+        }
+        addEdges(builder, size, new Random(seed));
+        return builder.build();
+    }
+}
@@ -0,0 +1,75 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphMetrics;
+import org.resistancerus.graph.Instrumentation;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of instrumentation: path queries and edge inserts without a listener and with GraphMetrics installed.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class InstrumentationBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"none", "metrics"})
+    private String listener;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Graph<Integer> graph;
+    private final int[] sources = new int[QUERIES];
+    private final int[] destinations = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        graph = GraphShape.RANDOM.generate(size, false, 42);
+        final Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            do {
+                destinations[i] = random.nextInt(size);
+            } while (destinations[i] == sources[i]);
+        }
+        Instrumentation.setListener("metrics".equals(listener) ? new GraphMetrics() : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Instrumentation.setListener(null);
+    }
+
+    @Benchmark
+    public Path<Integer> getPath() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getPath(graph, sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public boolean addAndRemoveEdge() {
+        final int i = query++ & (QUERIES - 1);
+        return graph.addEdge(sources[i], destinations[i]) && graph.removeEdge(sources[i], destinations[i]);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InstrumentationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
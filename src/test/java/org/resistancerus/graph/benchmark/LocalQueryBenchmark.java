@@ -0,0 +1,60 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.CompactGraph;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a path query between two close vertices for different graph sizes.
+ * Latency should stay the same while graph grows because traversal setup depends only on visited vertices.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Graph<Integer> graph;
+    private CompactGraph<Integer> compactGraph;
+
+    @Setup
+    public void setUp() {
+        graph = GraphFactory.createGraph(false);
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 1; i < size; i++) {
+            graph.addEdge(i - 1, i);
+        }
+        compactGraph = GraphFactory.createCompactGraph(graph);
+    }
+
+    @Benchmark
+    public Path<Integer> localQuery() {
+        return PathCalculator.getPath(graph, size / 2, size / 2 + 2);
+    }
+
+    @Benchmark
+    public Path<Integer> localQueryOnCompactGraph() {
+        return PathCalculator.getPath(compactGraph, size / 2, size / 2 + 2);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LocalQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of vertex and edge inserts into plain and concurrent graphs. addHubEdges connects a new vertex
+ * to HUB_DEGREE existing ones, which shows the cost of growing adjacency of a hub.
+ * Every iteration starts with a fresh graph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+    private static final int HUB_DEGREE = 10000;
+
+    @Param({"false", "true"})
+    private boolean directed;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean concurrent;
+
+    private Graph<Integer> graph;
+    private int nextVertex;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        graph = concurrent ? GraphFactory.createConcurrentGraph(directed) : GraphFactory.createGraph(directed);
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        nextVertex = size;
+    }
+
+    @Benchmark
+    public boolean addVertex() {
+        return graph.addVertex(nextVertex++);
+    }
+
+    @Benchmark
+    public boolean addEdge() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int start = random.nextInt(size);
+        final int end = (start + 1 + random.nextInt(size - 1)) % size;
+        return graph.addEdge(start, end);
+    }
+
+    @Benchmark
+    public boolean addHubEdges() {
+        final int hub = nextVertex++;
+        graph.addVertex(hub);
+        boolean result = false;
+        for (int i = 0; i < HUB_DEGREE; i++) {
+            result |= graph.addEdge(hub, i);
+        }
+        return result;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MutationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,56 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.CompactGraph;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+import org.resistancerus.graph.SearchMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a query traversing the whole graph by sequential and parallel BFS.
+ * Destination is an isolated vertex, so every vertex reachable from source is visited.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class ParallelQueryBenchmark {
+
+    @Param({"RANDOM", "GRID"})
+    private GraphShape shape;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"BFS", "PARALLEL_BFS"})
+    private SearchMode mode;
+
+    private CompactGraph<Integer> graph;
+
+    @Setup
+    public void setUp() {
+        final Graph<Integer> generated = shape.generate(size, false, 42);
+        generated.addVertex(size);
+        graph = GraphFactory.createCompactGraph(generated);
+    }
+
+    @Benchmark
+    public Path<Integer> wholeGraphQuery() {
+        return PathCalculator.getPath(graph, 0, size, mode);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParallelQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
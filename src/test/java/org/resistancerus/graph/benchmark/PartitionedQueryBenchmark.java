@@ -0,0 +1,97 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.LoopbackTransport;
+import org.resistancerus.graph.PartitionedGraph;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+import org.resistancerus.graph.ShardPartitioner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of BFS over one local graph and of distributed BFS over the same graph split into shards
+ * by vertex hash codes and by vertex ranges, shards of a superstep run in parallel on the common fork-join pool.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class PartitionedQueryBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"GRID", "RANDOM"})
+    private GraphShape shape;
+
+    @Param({"4"})
+    private int shards;
+
+    @Param({"HASH", "RANGE"})
+    private String partitioning;
+
+    private Graph<Integer> graph;
+    private PartitionedGraph<Integer> partitioned;
+    private final int[] sources = new int[QUERIES];
+    private final int[] destinations = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        graph = shape.generate(size, false, 42);
+        final List<Integer> bounds = new ArrayList<>();
+        for (int i = 1; i < shards; i++) {
+            bounds.add((int) ((long) size * i / shards));
+        }
+        partitioned = GraphFactory.createPartitionedGraph(false, false, shards,
+                "HASH".equals(partitioning) ? ShardPartitioner.hash() : ShardPartitioner.range(bounds),
+                new LoopbackTransport<>());
+        for (final Integer vertex : graph.getVertices()) {
+            partitioned.addVertex(vertex);
+        }
+        for (final Integer vertex : graph.getVertices()) {
+            for (final Integer adjacent : graph.getAdjacentVertices(vertex)) {
+                if (vertex < adjacent) {
+                    partitioned.addEdge(vertex, adjacent);
+                }
+            }
+        }
+
+        final Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            destinations[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Path<Integer> local() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getPath(graph, sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public Path<Integer> distributed() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getDistributedPath(partitioned, sources[i], destinations[i]);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PartitionedQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
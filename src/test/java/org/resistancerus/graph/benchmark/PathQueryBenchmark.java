@@ -0,0 +1,62 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a path query between random vertices of generated graphs.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class PathQueryBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"RANDOM", "GRID", "POWER_LAW", "CHAIN"})
+    private GraphShape shape;
+
+    @Param({"false", "true"})
+    private boolean directed;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Graph<Integer> graph;
+    private final int[] sources = new int[QUERIES];
+    private final int[] destinations = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        graph = shape.generate(size, directed, 42);
+        final Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            destinations[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Path<Integer> getPath() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getPath(graph, sources[i], destinations[i]);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+import org.resistancerus.graph.PathQueryService;
+import org.resistancerus.graph.SearchMode;
+
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of path queries called directly and submitted to PathQueryService without and with a 1 ms deadline.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class QueryServiceBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"RANDOM", "GRID"})
+    private GraphShape shape;
+
+    @Param({"100000"})
+    private int size;
+
+    private Graph<Integer> graph;
+    private PathQueryService<Integer> service;
+    private final int[] sources = new int[QUERIES];
+    private final int[] destinations = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        graph = shape.generate(size, false, 42);
+        service = GraphFactory.createPathQueryService(graph, Runtime.getRuntime().availableProcessors(), 64);
+        final Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            destinations[i] = random.nextInt(size);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public Path<Integer> direct() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getPath(graph, sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public Path<Integer> service() {
+        final int i = query++ & (QUERIES - 1);
+        return service.getPath(sources[i], destinations[i]).join();
+    }
+
+    @Benchmark
+    public Path<Integer> serviceWithDeadline() {
+        final int i = query++ & (QUERIES - 1);
+        try {
+            return service.getPath(sources[i], destinations[i], SearchMode.BFS, 1, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(QueryServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
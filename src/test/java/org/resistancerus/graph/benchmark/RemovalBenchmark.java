@@ -0,0 +1,84 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of vertex and edge removal for different graph sizes. Average degree does not depend on size,
+ * so the cost should not grow with the graph. Removed vertex and its edges are restored after every invocation.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class RemovalBenchmark {
+
+    @Param({"false", "true"})
+    private boolean directed;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Graph<Integer> graph;
+    private final Random random = new Random(7);
+    private Integer vertex;
+    private Integer adjacent;
+    private final List<Integer> outgoing = new ArrayList<>();
+    private final List<Integer> incoming = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        graph = GraphShape.RANDOM.generate(size, directed, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void chooseVertex() {
+        vertex = random.nextInt(size);
+        outgoing.clear();
+        outgoing.addAll(graph.getAdjacentVertices(vertex));
+        incoming.clear();
+        incoming.addAll(graph.getIncomingVertices(vertex));
+        adjacent = outgoing.isEmpty() ? vertex : outgoing.get(0);
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        graph.addVertex(vertex);
+        for (final Integer end : outgoing) {
+            if (!graph.hasEdge(vertex, end)) {
+                graph.addEdge(vertex, end);
+            }
+        }
+        for (final Integer start : incoming) {
+            if (!graph.hasEdge(start, vertex)) {
+                graph.addEdge(start, vertex);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean removeVertex() {
+        return graph.removeVertex(vertex);
+    }
+
+    @Benchmark
+    public boolean removeEdge() {
+        return graph.removeEdge(vertex, adjacent);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RemovalBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.TemporalGraph;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a sliding window edge stream: every operation adds an edge with the next timestamp and expires
+ * edges older than the window, either one by one through removeEdge or by time buckets of TemporalGraph.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class TemporalExpiryBenchmark {
+
+    private static final int STREAM = 1 << 20;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"10000", "100000"})
+    private int window;
+
+    private final int[] starts = new int[STREAM];
+    private final int[] ends = new int[STREAM];
+    private Graph<Integer> graph;
+    private ArrayDeque<long[]> live;
+    private TemporalGraph<Integer> temporal;
+    private long time;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < STREAM; i++) {
+            starts[i] = random.nextInt(size);
+            ends[i] = (starts[i] + 1 + random.nextInt(size - 1)) % size;
+        }
+
+        graph = GraphFactory.createGraph(true);
+        temporal = GraphFactory.createTemporalGraph(true, false, Math.max(1, window / 16), window);
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+            temporal.addVertex(i);
+        }
+        live = new ArrayDeque<>();
+        time = 0;
+    }
+
+    @Benchmark
+    public boolean removeEdge() {
+        final int i = (int) (time & (STREAM - 1));
+        while (!live.isEmpty() && live.peekFirst()[2] <= time - window) {
+            final long[] expired = live.removeFirst();
+            graph.removeEdge((int) expired[0], (int) expired[1]);
+        }
+        time++;
+        if (graph.addEdge(starts[i], ends[i])) {
+            live.addLast(new long[] {starts[i], ends[i], time});
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean temporalGraph() {
+        final int i = (int) (time & (STREAM - 1));
+        return temporal.addEdgeAt(starts[i], ends[i], ++time);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TemporalExpiryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.TextGraphFormat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import of a tab separated edge list: reading line by line into addEdge compared to TextGraphFormat.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class TextImportBenchmark {
+
+    @Param({"RANDOM", "POWER_LAW"})
+    private GraphShape shape;
+
+    @Param({"100000"})
+    private int size;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("graph", ".tsv");
+        TextGraphFormat.write(shape.generate(size, true, 42), file, TextGraphFormat.Layout.TSV, TextGraphFormat.INTEGER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Graph<Integer> readLineByLine() throws IOException {
+        final Graph<Integer> graph = GraphFactory.createGraph(true);
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] tokens = line.split("\t");
+                final Integer start = Integer.valueOf(tokens[0]);
+                graph.addVertex(start);
+                if (tokens.length > 1) {
+                    final Integer end = Integer.valueOf(tokens[1]);
+                    graph.addVertex(end);
+                    graph.addEdge(start, end);
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> readTextGraphFormat() throws IOException {
+        return TextGraphFormat.read(file, TextGraphFormat.Layout.TSV, TextGraphFormat.INTEGER, true, false);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TextImportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package org.resistancerus.graph.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.resistancerus.graph.CompactGraph;
+import org.resistancerus.graph.Graph;
+import org.resistancerus.graph.GraphBuilder;
+import org.resistancerus.graph.GraphFactory;
+import org.resistancerus.graph.Path;
+import org.resistancerus.graph.PathCalculator;
+import org.resistancerus.graph.VertexOrdering;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of BFS and Dijkstra queries on compact snapshots with vertex ids in snapshot order (NONE) and renumbered
+ * by every VertexOrdering. Graph vertices are shuffled labels, so snapshot order is unrelated to graph structure
+ * as it is for vertices with arbitrary hash codes. Cache misses could be compared by running the benchmark
+ * with -prof perfnorm on Linux.
+ * @author Malishevskii Oleg
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class VertexOrderingBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"GRID", "POWER_LAW"})
+    private GraphShape shape;
+
+    @Param({"NONE", "BFS", "REVERSE_CUTHILL_MCKEE", "DEGREE_DESCENDING"})
+    private String ordering;
+
+    private CompactGraph<Integer> graph;
+    private final Integer[] sources = new Integer[QUERIES];
+    private final Integer[] destinations = new Integer[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        final Graph<Integer> generated = shape.generate(size, false, 42);
+        final List<Integer> labels = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            labels.add(i);
+        }
+        Collections.shuffle(labels, new Random(42));
+
+        final GraphBuilder<Integer> builder = GraphFactory.createGraphBuilder(false);
+        for (int i = 0; i < size; i++) {
+            builder.addVertex(labels.get(i));
+        }
+        for (final Integer vertex : generated.getVertices()) {
+            for (final Integer adjacent : generated.getAdjacentVertices(vertex)) {
+                if (vertex < adjacent) {
+                    builder.addEdge(labels.get(vertex), labels.get(adjacent));
+                }
+            }
+        }
+        final Graph<Integer> shuffled = builder.build();
+        graph = "NONE".equals(ordering)
+                ? GraphFactory.createCompactGraph(shuffled)
+                : GraphFactory.createCompactGraph(shuffled, VertexOrdering.valueOf(ordering));
+
+        final Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            destinations[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Path<Integer> bfs() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getPath(graph, sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public Path<Integer> dijkstra() {
+        final int i = query++ & (QUERIES - 1);
+        return PathCalculator.getShortestPath(graph, sources[i], destinations[i]);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VertexOrderingBenchmark.class.getSimpleName()).build()).run();
+    }
+}